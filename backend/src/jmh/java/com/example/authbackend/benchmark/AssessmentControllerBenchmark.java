@@ -0,0 +1,87 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.model.AssessmentRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@code MockAssessmentController} against a pre-populated store.
+ *
+ * <p>Throughput and sampled latency (with percentiles) are both reported; add
+ * {@code -prof gc} for allocation rate and {@code -t N} to vary the thread
+ * count. Larger datasets need a bigger heap, for example
+ * {@code -p submissions=10000000 -jvmArgsAppend -Xmx24g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AssessmentControllerBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int submissions;
+
+    // Average submissions per candidate
+    @Param({"10"})
+    public int perUser;
+
+    private Fixtures fixtures;
+    private int users;
+    private AssessmentRequest[] requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixtures = new Fixtures();
+        users = Math.max(1, submissions / perUser);
+        fixtures.populate(submissions, users);
+
+        requests = new AssessmentRequest[64];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = fixtures.request(i);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> submitAssessment() {
+        int seed = ThreadLocalRandom.current().nextInt(users);
+        return fixtures.controller.submitAssessment(
+            requests[seed % requests.length], null, Fixtures.user(Fixtures.candidate(seed, users)));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getMyAssessments() {
+        int seed = ThreadLocalRandom.current().nextInt(users);
+        return fixtures.controller.getMyAssessments(Fixtures.user(Fixtures.candidate(seed, users)));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getAssessmentStats() {
+        return fixtures.controller.getAssessmentStats(null, null, null, null);
+    }
+
+    @Benchmark
+    public void getAssessmentsPage() throws IOException {
+        ResponseEntity<StreamingResponseBody> response =
+            fixtures.controller.getAllAssessments(null, 100, "summary", null);
+        response.getBody().writeTo(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.config.PasswordConfig;
+import com.example.authbackend.controller.MockAuthController;
+import com.example.authbackend.repository.UserRegistry;
+import com.example.authbackend.security.CredentialVerifier;
+import com.example.authbackend.security.JwtProperties;
+import com.example.authbackend.security.PasswordProperties;
+import com.example.authbackend.security.RegistryAuthenticationProvider;
+import com.example.authbackend.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code MockAuthController.login} for a valid and an invalid password, and
+ * the HTTP Basic check that runs on every authenticated API call, with the
+ * verified-credential cache on ({@code cacheTtl=PT60S}) and off
+ * ({@code PT0S}). Failed logins are never cached, so {@code loginFailure}
+ * always pays for a full hash. Raise {@code -t} past the hashing pool size to
+ * see back-pressure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthControllerBenchmark {
+
+    @Param({"PT60S", "PT0S"})
+    public String cacheTtl;
+
+    @Param({"BCRYPT"})
+    public PasswordProperties.Encoder encoder;
+
+    private CredentialVerifier credentialVerifier;
+    private MockAuthController controller;
+    private RegistryAuthenticationProvider authenticationProvider;
+    private MockAuthController.LoginRequest validLogin;
+    private MockAuthController.LoginRequest invalidLogin;
+    private Authentication basicCredentials;
+
+    @Setup
+    public void setUp() {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setEncoder(encoder);
+        properties.getCache().setTtl(Duration.parse(cacheTtl));
+        // Benchmark threads wait on the pool instead of being turned away
+        properties.getVerification().setQueueCapacity(1024);
+        properties.getVerification().setTimeout(Duration.ofMinutes(1));
+
+        PasswordEncoder passwordEncoder = new PasswordConfig().passwordEncoder(properties);
+        UserRegistry registry = new UserRegistry(passwordEncoder, 64, 100_000);
+        credentialVerifier = new CredentialVerifier(registry, passwordEncoder, properties);
+        // Standalone, so the router never touches the store it is given
+        controller = new MockAuthController(registry, credentialVerifier, new TokenService(Fixtures.jwtProperties(JwtProperties.Algorithm.HS256)),
+            Fixtures.clusterRouter(null, null), Fixtures.NO_REPLICATION);
+        authenticationProvider = new RegistryAuthenticationProvider(credentialVerifier);
+
+        validLogin = login("testuser", "password123");
+        invalidLogin = login("testuser", "wrong-password");
+        basicCredentials = UsernamePasswordAuthenticationToken.unauthenticated("testuser", "password123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        credentialVerifier.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> loginSuccess() {
+        return controller.login(validLogin);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> loginFailure() {
+        return controller.login(invalidLogin);
+    }
+
+    @Benchmark
+    public Authentication basicAuth() {
+        return authenticationProvider.authenticate(basicCredentials);
+    }
+
+    private static MockAuthController.LoginRequest login(String username, String password) {
+        MockAuthController.LoginRequest request = new MockAuthController.LoginRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.authbackend.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic submissions shaped like the ones the assessment form sends.
+ */
+final class BenchmarkData {
+
+    static final List<String> EXPERIENCE_LEVELS = List.of("entry", "junior", "mid", "senior", "lead");
+    static final List<String> SKILLS = List.of(
+        "JavaScript", "TypeScript", "React", "Node.js", "Python", "Java", "Spring Boot", "SQL",
+        "MongoDB", "Docker", "Kubernetes", "AWS", "Git", "GraphQL", "Go", "Rust");
+    static final List<String> USER_AGENTS = List.of(
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36",
+        "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_1) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Safari/605.1.15",
+        "Mozilla/5.0 (X11; Linux x86_64; rv:121.0) Gecko/20100101 Firefox/121.0");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Request body for the {@code seed}-th synthetic candidate, as the frontend
+     * posts it.
+     */
+    static Map<String, Object> requestBody(int seed) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fullName", "Candidate " + seed);
+        body.put("email", "candidate" + seed + "@example.com");
+        body.put("experience", EXPERIENCE_LEVELS.get(seed % EXPERIENCE_LEVELS.size()));
+        for (int question = 1; question <= 15; question++) {
+            body.put("question" + question, "Option " + (char) ('A' + (seed + question) % 4));
+        }
+        body.put("codingExperience", "I have been writing production software for " + (seed % 12 + 1) + " years.");
+        body.put("projectDescription", "Built a service that ingests events, aggregates them in memory and "
+            + "serves dashboards to recruiters; project number " + seed + " focused on latency and reliability.");
+        body.put("problemSolving", "Reproduce, measure, form a hypothesis, change one thing at a time.");
+        body.put("skills", List.of(
+            SKILLS.get(seed % SKILLS.size()),
+            SKILLS.get((seed * 7 + 3) % SKILLS.size()),
+            SKILLS.get((seed * 13 + 5) % SKILLS.size())));
+        body.put("termsAccepted", true);
+        body.put("submittedAt", "2024-01-15T10:30:00.000Z");
+        body.put("userAgent", USER_AGENTS.get(seed % USER_AGENTS.size()));
+        return body;
+    }
+}
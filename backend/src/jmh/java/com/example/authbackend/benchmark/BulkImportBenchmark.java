@@ -0,0 +1,197 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.AssessmentCsvWriter;
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController;
+import com.example.authbackend.controller.VersionedResponseCache;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.ingest.BulkImporter;
+import com.example.authbackend.ingest.ImportJob;
+import com.example.authbackend.ingest.ImportProperties;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.IngestProperties;
+import com.example.authbackend.model.AssessmentRequest;
+import com.example.authbackend.persistence.InMemorySubmissionLog;
+import com.example.authbackend.persistence.PersistenceProperties;
+import com.example.authbackend.persistence.SubmissionLog;
+import com.example.authbackend.persistence.WriteAheadLog;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.AssessmentService;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading {@code records} submissions into an empty node: a bulk import of
+ * an NDJSON or CSV export, or the same submissions posted one at a time
+ * through the controller, each bound from its own JSON body and, with the
+ * ingest pipeline in {@code SYNC} mode, waiting for its own log append.
+ * Against a write-ahead log the import commits a whole batch at once.
+ * {@code BulkImporterTest} checks that an import stores every record and
+ * exports back to the upload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    private static final Set<AssessmentJsonWriter.Field> ALL_FIELDS = EnumSet.allOf(AssessmentJsonWriter.Field.class);
+
+    @Param({"MEMORY", "WAL"})
+    public PersistenceProperties.Mode log;
+
+    @Param({"20000"})
+    public int records;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AssessmentJsonWriter jsonWriter = new AssessmentJsonWriter(objectMapper);
+    private final AssessmentCsvWriter csvWriter = new AssessmentCsvWriter(objectMapper);
+    private byte[] ndjson;
+    private byte[] csv;
+    // One distinct submission body per record
+    private byte[][] bodies;
+    private UserPrincipal[] users;
+
+    private Path walDirectory;
+    private SubmissionLog submissionLog;
+    private SubmissionBroadcaster broadcaster;
+    private BulkImporter importer;
+    private MockAssessmentController controller;
+
+    @Setup(Level.Trial)
+    public void export() throws IOException {
+        users = new UserPrincipal[1000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = Fixtures.user(Fixtures.candidate(i, users.length));
+        }
+        bodies = new byte[records][];
+        Fixtures source = new Fixtures();
+        for (int i = 0; i < records; i++) {
+            bodies[i] = objectMapper.writeValueAsBytes(BenchmarkData.requestBody(i));
+            source.controller.submitAssessment(
+                objectMapper.readValue(bodies[i], AssessmentRequest.class), null, users[i % users.length]);
+        }
+        ndjson = exported(source.repository, false);
+        csv = exported(source.repository, true);
+    }
+
+    @Setup(Level.Iteration)
+    public void wire() throws IOException {
+        if (log == PersistenceProperties.Mode.WAL) {
+            walDirectory = Files.createTempDirectory("import-benchmark");
+            PersistenceProperties.Wal wal = new PersistenceProperties().getWal();
+            wal.setDirectory(walDirectory.toString());
+            submissionLog = new WriteAheadLog(wal, objectMapper);
+        } else {
+            submissionLog = new InMemorySubmissionLog();
+        }
+
+        AssessmentRepository repository = new AssessmentRepository(new HeapSubmissionStore());
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+        AssessmentStatsService statsService = new AssessmentStatsService(dictionaries);
+        TimeBucketedStats timeBucketedStats = new TimeBucketedStats(dictionaries, new StatsProperties());
+        broadcaster = Fixtures.broadcaster(statsService, objectMapper);
+        AssessmentService assessmentService = Fixtures.assessmentService(
+            repository, statsService, timeBucketedStats, submissionLog, dictionaries, broadcaster);
+
+        importer = new BulkImporter(new ImportProperties(), assessmentService, repository, Fixtures.STANDALONE,
+            Fixtures.NO_REPLICATION, objectMapper.getFactory());
+        controller = new MockAssessmentController(
+            repository, assessmentService, statsService, timeBucketedStats, jsonWriter, csvWriter, dictionaries,
+            new IngestPipeline(Fixtures.ingestProperties(IngestProperties.Mode.SYNC), assessmentService),
+            Fixtures.withoutContentDeduplication(), new VersionedResponseCache(256, 1000),
+            Fixtures.clusterRouter(repository, dictionaries));
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws IOException {
+        importer.close();
+        broadcaster.close();
+        submissionLog.close();
+        if (walDirectory != null) {
+            try (Stream<Path> files = Files.walk(walDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(BulkImportBenchmark::delete);
+            }
+            walDirectory = null;
+        }
+    }
+
+    @Benchmark
+    public ImportJob importNdjson() throws IOException {
+        return runImport(BulkImporter.Format.NDJSON, ndjson);
+    }
+
+    @Benchmark
+    public ImportJob importCsv() throws IOException {
+        return runImport(BulkImporter.Format.CSV, csv);
+    }
+
+    @Benchmark
+    public int submitEach() throws IOException {
+        for (int i = 0; i < records; i++) {
+            // Bound from its own body, as a request would be
+            AssessmentRequest request = objectMapper.readValue(bodies[i], AssessmentRequest.class);
+            int status = controller.submitAssessment(request, null, users[i % users.length]).getStatusCode().value();
+            if (status != 200) {
+                throw new IllegalStateException("Unexpected status " + status);
+            }
+        }
+        return records;
+    }
+
+    private ImportJob runImport(BulkImporter.Format format, byte[] upload) throws IOException {
+        ImportJob job = importer.begin(format, "admin");
+        importer.run(job, format, new ByteArrayInputStream(upload));
+        return job;
+    }
+
+    private byte[] exported(AssessmentRepository repository, boolean asCsv) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (asCsv) {
+            csvWriter.writeCsv(out, repository.findAll(), Integer.MAX_VALUE, ALL_FIELDS);
+        } else {
+            jsonWriter.writeNdjson(out, repository.findAll(), Integer.MAX_VALUE, ALL_FIELDS);
+        }
+        return out.toByteArray();
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.VersionedResponseCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A dashboard polling the admin read endpoints while nothing is submitted:
+ * full responses with the serialized-body cache off ({@code cachedViews=0})
+ * or on, and revalidations that match the current ETag and get a 304.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConditionalGetBenchmark {
+
+    @Param({"100000"})
+    public int submissions;
+
+    @Param({"0", "256"})
+    public int cachedViews;
+
+    private Fixtures fixtures;
+    private String statsEtag;
+    private String pageEtag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixtures = new Fixtures(new VersionedResponseCache(cachedViews, 1000));
+        fixtures.populate(submissions, Math.max(1, submissions / 10));
+        statsEtag = fixtures.controller.getAssessmentStats(10, null, null, null).getHeaders().getETag();
+        pageEtag = fixtures.controller.getAllAssessments(null, 100, "summary", null).getHeaders().getETag();
+    }
+
+    @Benchmark
+    public Object stats() {
+        return fixtures.controller.getAssessmentStats(10, null, null, null).getBody();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> statsNotModified() {
+        return fixtures.controller.getAssessmentStats(10, null, null, statsEtag);
+    }
+
+    @Benchmark
+    public void page() throws IOException {
+        ResponseEntity<StreamingResponseBody> response =
+            fixtures.controller.getAllAssessments(null, 100, "summary", null);
+        response.getBody().writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> pageNotModified() {
+        return fixtures.controller.getAllAssessments(null, 100, "summary", pageEtag);
+    }
+}
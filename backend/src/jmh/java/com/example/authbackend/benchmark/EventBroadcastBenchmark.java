@@ -0,0 +1,166 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.EventStreamProperties;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fan-out of new submissions to admin event streams. {@code broadcast}
+ * publishes a batch and waits until every fast subscriber has written all of
+ * it; with {@code slowSubscriber} one more stream takes a millisecond per
+ * frame. {@code serializePerSubscriber} is the encoding work the broadcaster
+ * avoids by encoding each event once. {@code SubmissionBroadcasterTest}
+ * checks that the fast subscribers get every event and the slow one is
+ * resynced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBroadcastBenchmark {
+
+    private static final int BATCH = 1000;
+    private static final byte[] SUBMISSION = "event: submission\n".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1", "10", "100"})
+    public int subscribers;
+
+    @Param({"false", "true"})
+    public boolean slowSubscriber;
+
+    private AssessmentJsonWriter jsonWriter;
+    private SubmissionBroadcaster broadcaster;
+    private AssessmentSubmission[] submissions;
+    private final List<CountingSink> fastSinks = new ArrayList<>();
+    private long published;
+
+    /**
+     * Counts submission frames written to one stream.
+     */
+    private static final class CountingSink implements SubmissionBroadcaster.FrameSink {
+
+        private final long nanosPerFrame;
+        final AtomicLong submissions = new AtomicLong();
+
+        CountingSink(long nanosPerFrame) {
+            this.nanosPerFrame = nanosPerFrame;
+        }
+
+        @Override
+        public void write(byte[] frame) {
+            if (startsWith(frame, SUBMISSION)) {
+                submissions.incrementAndGet();
+            }
+            if (nanosPerFrame > 0) {
+                LockSupport.parkNanos(nanosPerFrame);
+            }
+        }
+
+        private static boolean startsWith(byte[] frame, byte[] prefix) {
+            return frame.length >= prefix.length && Arrays.equals(frame, 0, prefix.length, prefix, 0, prefix.length);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        jsonWriter = new AssessmentJsonWriter(objectMapper);
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+        EventStreamProperties properties = new EventStreamProperties();
+        // Room for a whole batch, so only the slow subscriber ever falls a buffer behind
+        properties.setSubscriberBuffer(4 * BATCH);
+        properties.setMaxSubscribers(subscribers + 1);
+        broadcaster = new SubmissionBroadcaster(properties, new AssessmentStatsService(dictionaries), jsonWriter);
+
+        submissions = new AssessmentSubmission[BATCH];
+        for (int i = 0; i < submissions.length; i++) {
+            submissions[i] = objectMapper.convertValue(BenchmarkData.requestBody(i), AssessmentSubmission.class);
+            submissions[i].setId((long) i);
+        }
+
+        for (int i = 0; i < subscribers; i++) {
+            fastSinks.add(connect(new CountingSink(0)));
+        }
+        if (slowSubscriber) {
+            connect(new CountingSink(TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    private CountingSink connect(CountingSink sink) {
+        SubmissionBroadcaster.Subscription subscription = broadcaster.subscribe();
+        Thread.ofVirtual().start(() -> {
+            try {
+                subscription.stream(sink);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return sink;
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        broadcaster.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long broadcast() {
+        for (AssessmentSubmission submission : submissions) {
+            broadcaster.publish(submission);
+        }
+        published += BATCH;
+        for (CountingSink sink : fastSinks) {
+            while (sink.submissions.get() < published) {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        return published;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long serializePerSubscriber() throws IOException {
+        long bytes = 0;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        for (AssessmentSubmission submission : submissions) {
+            for (int i = 0; i < subscribers; i++) {
+                out.reset();
+                jsonWriter.writeSubmission(out, submission, AssessmentJsonWriter.SUMMARY_FIELDS);
+                bytes += out.size();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.AuthBackendApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent-request capacity of the servlet stack on Tomcat's platform-thread
+ * pool versus virtual threads. Each operation fires a burst of requests at an
+ * endpoint that blocks for {@code downstreamMillis}, standing in for a slow
+ * JWK fetch or persistence call, and waits for all of them; with 200 platform
+ * threads the burst is served in waves, with virtual threads all at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1000"})
+    public int concurrentRequests;
+
+    @Param({"50"})
+    public int downstreamMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        // SlowDownstream and SlowController are picked up by the application's component scan
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=200",
+                "server.tomcat.accept-count=" + concurrentRequests,
+                "logging.level.root=WARN")
+            .run();
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        request = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + port + "/benchmark/slow?millis=" + downstreamMillis))
+            .timeout(Duration.ofSeconds(60))
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+
+    @Configuration
+    static class SlowDownstream {
+
+        @Bean
+        @Order(0)
+        SecurityFilterChain benchmarkFilterChain(HttpSecurity http) throws Exception {
+            return http
+                .securityMatcher("/benchmark/**")
+                .authorizeHttpRequests(authz -> authz.anyRequest().permitAll())
+                .build();
+        }
+    }
+
+    @RestController
+    static class SlowController {
+
+        @GetMapping("/benchmark/slow")
+        public String slow(@RequestParam int millis) throws InterruptedException {
+            Thread.sleep(millis);
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.cluster.ClusterProperties;
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.cluster.PartitionedStats;
+import com.example.authbackend.cluster.PeerClient;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.controller.AssessmentCsvWriter;
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController;
+import com.example.authbackend.controller.VersionedResponseCache;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.EventStreamProperties;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.ingest.IdempotencyProperties;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.IngestProperties;
+import com.example.authbackend.ingest.SubmissionDeduplicator;
+import com.example.authbackend.model.AssessmentRequest;
+import com.example.authbackend.persistence.InMemorySubmissionLog;
+import com.example.authbackend.persistence.SubmissionLog;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.repository.SubmissionIdGenerator;
+import com.example.authbackend.search.SearchIndex;
+import com.example.authbackend.security.JwtProperties;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.AssessmentService;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Wires the assessment controller the way the application context does, minus
+ * Spring, so benchmarks call the handler methods directly.
+ */
+final class Fixtures {
+
+    // A cluster of one, as with assessment.cluster.enabled=false
+    static final ClusterProperties STANDALONE_PROPERTIES = new ClusterProperties();
+    static final ClusterTopology STANDALONE = new ClusterTopology(STANDALONE_PROPERTIES);
+    static final PeerClient PEERS = new PeerClient(STANDALONE_PROPERTIES);
+    static final SubmissionReplicator NO_REPLICATION =
+        new SubmissionReplicator(STANDALONE_PROPERTIES, STANDALONE, PEERS, new ObjectMapper());
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final AssessmentRepository repository = new AssessmentRepository(new HeapSubmissionStore());
+    final SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+    final AssessmentStatsService statsService = new AssessmentStatsService(dictionaries);
+    final TimeBucketedStats timeBucketedStats = new TimeBucketedStats(dictionaries, new StatsProperties());
+    final SearchIndex searchIndex = new SearchIndex();
+    final SubmissionBroadcaster broadcaster = broadcaster(statsService, objectMapper);
+    final AssessmentService assessmentService = new AssessmentService(
+        repository, statsService, timeBucketedStats, new InMemorySubmissionLog(), dictionaries, searchIndex,
+        broadcaster, new SubmissionIdGenerator(0), NO_REPLICATION, partitionedStats(dictionaries));
+    final IngestPipeline ingestPipeline = new IngestPipeline(ingestProperties(IngestProperties.Mode.SYNC), assessmentService);
+    final MockAssessmentController controller;
+
+    Fixtures() {
+        this(new VersionedResponseCache(256, 1000));
+    }
+
+    Fixtures(VersionedResponseCache responseCache) {
+        controller = new MockAssessmentController(
+            repository, assessmentService, statsService, timeBucketedStats, new AssessmentJsonWriter(objectMapper),
+            new AssessmentCsvWriter(objectMapper), dictionaries, ingestPipeline, withoutContentDeduplication(), responseCache,
+            clusterRouter(repository, dictionaries));
+    }
+
+    static AssessmentService assessmentService(AssessmentRepository repository, AssessmentStatsService statsService,
+                                               TimeBucketedStats timeBucketedStats, SubmissionLog submissionLog,
+                                               SubmissionDictionaries dictionaries, SubmissionBroadcaster broadcaster) {
+        return new AssessmentService(repository, statsService, timeBucketedStats, submissionLog, dictionaries,
+            new SearchIndex(), broadcaster, new SubmissionIdGenerator(0), NO_REPLICATION, partitionedStats(dictionaries));
+    }
+
+    static ClusterRouter clusterRouter(AssessmentRepository repository, SubmissionDictionaries dictionaries) {
+        return new ClusterRouter(STANDALONE, PEERS, NO_REPLICATION, partitionedStats(dictionaries),
+            repository, new ObjectMapper());
+    }
+
+    static PartitionedStats partitionedStats(SubmissionDictionaries dictionaries) {
+        return new PartitionedStats(STANDALONE, dictionaries, new StatsProperties());
+    }
+
+    static SubmissionBroadcaster broadcaster(AssessmentStatsService statsService, ObjectMapper objectMapper) {
+        return new SubmissionBroadcaster(new EventStreamProperties(), statsService, new AssessmentJsonWriter(objectMapper));
+    }
+
+    static IngestProperties ingestProperties(IngestProperties.Mode mode) {
+        IngestProperties properties = new IngestProperties();
+        properties.setMode(mode);
+        return properties;
+    }
+
+    // Synthetic datasets repeat request bodies per candidate, which content de-duplication would drop
+    static SubmissionDeduplicator withoutContentDeduplication() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setContentWindow(Duration.ZERO);
+        return new SubmissionDeduplicator(properties);
+    }
+
+    // A signing key of the given kind, as AUTH_JWT_SECRET or AUTH_JWT_SIGNING_KEY would configure
+    static JwtProperties jwtProperties(JwtProperties.Algorithm algorithm) {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setSecret("benchmark-secret-benchmark-secret-0123456789");
+        try {
+            properties.setSigningKey(new ECKeyGenerator(Curve.P_256).generate().toJSONString());
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return properties;
+    }
+
+    static UserPrincipal user(String username) {
+        return UserPrincipal.of(username, List.of("USER"));
+    }
+
+    static String candidate(int seed, int users) {
+        return "candidate" + (seed % users);
+    }
+
+    AssessmentRequest request(int seed) {
+        return objectMapper.convertValue(BenchmarkData.requestBody(seed), AssessmentRequest.class);
+    }
+
+    /**
+     * Submits {@code count} synthetic assessments spread over {@code users}
+     * candidates.
+     */
+    void populate(int count, int users) {
+        AssessmentRequest[] templates = new AssessmentRequest[64];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = request(i);
+        }
+        for (int i = 0; i < count; i++) {
+            controller.submitAssessment(templates[i % templates.length], null, user(candidate(i, users)));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.cluster.HashRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding a user's owners on the consistent hash ring, which every
+ * cluster request pays before it is served or forwarded. {@code HashRingTest}
+ * checks the ring's balance and how users move when a node is added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashRingBenchmark {
+
+    private static final int USERS = 100_000;
+
+    @Param({"3", "10"})
+    public int nodes;
+
+    @Param({"128"})
+    public int virtualNodes;
+
+    private HashRing ring;
+    private String[] users;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildRing() {
+        ring = new HashRing(nodeIds(nodes), virtualNodes);
+        users = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = "user" + i;
+        }
+    }
+
+    @Benchmark
+    public int primary() {
+        return ring.primary(nextUser());
+    }
+
+    @Benchmark
+    public int[] ownersRf2() {
+        return ring.owners(nextUser(), 2);
+    }
+
+    private String nextUser() {
+        int index = next++;
+        if (next == USERS) {
+            next = 0;
+        }
+        return users[index];
+    }
+
+    private static List<String> nodeIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("node-" + i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.AssessmentCsvWriter;
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController;
+import com.example.authbackend.controller.VersionedResponseCache;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.ingest.IdempotencyProperties;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.IngestProperties;
+import com.example.authbackend.ingest.SubmissionDeduplicator;
+import com.example.authbackend.model.AssessmentRequest;
+import com.example.authbackend.persistence.InMemorySubmissionLog;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.AssessmentService;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A retry storm: every submission is sent {@code attempts} times with the same
+ * {@code Idempotency-Key}, the copies racing across threads. With
+ * {@code attempts=1} every call takes the full submit path, which is the
+ * baseline for what a replayed retry saves. {@code SubmissionDeduplicatorTest}
+ * checks that each key stores exactly one record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class IdempotencyBenchmark {
+
+    @Param({"1", "8"})
+    public int attempts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AssessmentRequest[] requests;
+    private UserPrincipal[] users;
+
+    private SubmissionBroadcaster broadcaster;
+    private MockAssessmentController controller;
+    private final AtomicLong calls = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void createRequests() {
+        requests = new AssessmentRequest[64];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = objectMapper.convertValue(BenchmarkData.requestBody(i), AssessmentRequest.class);
+        }
+        users = new UserPrincipal[1024];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = Fixtures.user(Fixtures.candidate(i, users.length));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void wire() {
+        AssessmentRepository repository = new AssessmentRepository(new HeapSubmissionStore());
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+        AssessmentStatsService statsService = new AssessmentStatsService(dictionaries);
+        TimeBucketedStats timeBucketedStats = new TimeBucketedStats(dictionaries, new StatsProperties());
+        broadcaster = Fixtures.broadcaster(statsService, objectMapper);
+        AssessmentService assessmentService = Fixtures.assessmentService(
+            repository, statsService, timeBucketedStats, new InMemorySubmissionLog(), dictionaries, broadcaster);
+        IngestPipeline pipeline = new IngestPipeline(Fixtures.ingestProperties(IngestProperties.Mode.SYNC), assessmentService);
+
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntries(Integer.MAX_VALUE);
+        controller = new MockAssessmentController(
+            repository, assessmentService, statsService, timeBucketedStats, new AssessmentJsonWriter(objectMapper),
+            new AssessmentCsvWriter(objectMapper), dictionaries, pipeline, new SubmissionDeduplicator(properties),
+            new VersionedResponseCache(256, 1000), Fixtures.clusterRouter(repository, dictionaries));
+        calls.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+        broadcaster.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> submit() {
+        long key = calls.getAndIncrement() / attempts;
+        int slot = (int) (key % users.length);
+        return controller.submitAssessment(requests[slot % requests.length], "key-" + key, users[slot]);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.AssessmentCsvWriter;
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController;
+import com.example.authbackend.controller.VersionedResponseCache;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.IngestProperties;
+import com.example.authbackend.model.AssessmentRequest;
+import com.example.authbackend.persistence.InMemorySubmissionLog;
+import com.example.authbackend.persistence.PersistenceProperties;
+import com.example.authbackend.persistence.SubmissionLog;
+import com.example.authbackend.persistence.WriteAheadLog;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.AssessmentService;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A burst of concurrent submissions through the controller, stored on the
+ * request thread ({@code SYNC}) or queued for the batching consumer
+ * ({@code ASYNC}), against the in-memory log or a write-ahead log that fsyncs
+ * before a submission becomes visible. Submissions beyond the queue's
+ * capacity are answered 429. {@code IngestPipelineTest} checks that every
+ * queued submission is stored exactly once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class IngestPipelineBenchmark {
+
+    @Param({"SYNC", "ASYNC"})
+    public IngestProperties.Mode mode;
+
+    @Param({"MEMORY", "WAL"})
+    public PersistenceProperties.Mode log;
+
+    @Param({"16384"})
+    public int capacity;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AssessmentRequest[] requests;
+    private UserPrincipal[] users;
+
+    private Path walDirectory;
+    private SubmissionLog submissionLog;
+    private IngestPipeline pipeline;
+    private SubmissionBroadcaster broadcaster;
+    private MockAssessmentController controller;
+
+    @Setup(Level.Trial)
+    public void createRequests() {
+        requests = new AssessmentRequest[64];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = objectMapper.convertValue(BenchmarkData.requestBody(i), AssessmentRequest.class);
+        }
+        users = new UserPrincipal[1024];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = Fixtures.user(Fixtures.candidate(i, users.length));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void wire() throws IOException {
+        if (log == PersistenceProperties.Mode.WAL) {
+            walDirectory = Files.createTempDirectory("ingest-benchmark");
+            PersistenceProperties.Wal wal = new PersistenceProperties().getWal();
+            wal.setDirectory(walDirectory.toString());
+            submissionLog = new WriteAheadLog(wal, objectMapper);
+        } else {
+            submissionLog = new InMemorySubmissionLog();
+        }
+
+        AssessmentRepository repository = new AssessmentRepository(new HeapSubmissionStore());
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+        AssessmentStatsService statsService = new AssessmentStatsService(dictionaries);
+        TimeBucketedStats timeBucketedStats = new TimeBucketedStats(dictionaries, new StatsProperties());
+        broadcaster = Fixtures.broadcaster(statsService, objectMapper);
+        AssessmentService assessmentService = Fixtures.assessmentService(
+            repository, statsService, timeBucketedStats, submissionLog, dictionaries, broadcaster);
+
+        IngestProperties properties = Fixtures.ingestProperties(mode);
+        properties.setCapacity(capacity);
+        pipeline = new IngestPipeline(properties, assessmentService);
+        controller = new MockAssessmentController(
+            repository, assessmentService, statsService, timeBucketedStats, new AssessmentJsonWriter(objectMapper),
+            new AssessmentCsvWriter(objectMapper), dictionaries, pipeline, Fixtures.withoutContentDeduplication(),
+            new VersionedResponseCache(256, 1000), Fixtures.clusterRouter(repository, dictionaries));
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws IOException {
+        pipeline.close();
+        broadcaster.close();
+        submissionLog.close();
+        if (walDirectory != null) {
+            try (Stream<Path> files = Files.walk(walDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(IngestPipelineBenchmark::delete);
+            }
+            walDirectory = null;
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> submit() {
+        int seed = ThreadLocalRandom.current().nextInt(users.length);
+        return controller.submitAssessment(requests[seed % requests.length], null, users[seed]);
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
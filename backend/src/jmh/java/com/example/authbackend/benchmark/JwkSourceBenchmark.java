@@ -0,0 +1,130 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.security.CachingJwkSource;
+import com.example.authbackend.security.JwtProperties;
+import com.example.authbackend.security.MockJwkServer;
+import com.nimbusds.jose.jwk.ECKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CachingJwkSource} against a local mock JWK server that answers after
+ * {@code providerLatencyMillis}.
+ *
+ * <ul>
+ *   <li>{@code unknownKidBurst}: each iteration rotates the provider's key and
+ *       sends 16 concurrent requests bearing the new {@code kid}, which share
+ *       one fetch.</li>
+ *   <li>{@code knownKidDuringOutage}: the provider answers 503 to every refresh
+ *       while tokens keep being verified with the cached keys.</li>
+ * </ul>
+ *
+ * {@code CachingJwkSourceTest} checks the single fetch and the stale keys.
+ */
+@Fork(1)
+public class JwkSourceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Rotation {
+
+        @Param({"50"})
+        public int providerLatencyMillis;
+
+        MockJwkServer server;
+        CachingJwkSource source;
+        JwtDecoder decoder;
+        String token;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            server = new MockJwkServer(providerLatencyMillis);
+            ECKey key = server.rotate();
+            JwtProperties.JwkCache properties = new JwtProperties.JwkCache();
+            // Only the initial fetch runs in the background; every later one is a refetch on an unknown kid
+            properties.setRefreshInterval(Duration.ofHours(1));
+            properties.setMinRefetchInterval(Duration.ZERO);
+            source = new CachingJwkSource(server.uri(), properties);
+            decoder = source.decoder(MockJwkServer.ISSUER);
+            decoder.decode(MockJwkServer.sign(key));
+        }
+
+        @Setup(Level.Iteration)
+        public void rotate() throws Exception {
+            token = MockJwkServer.sign(server.rotate());
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            source.close();
+            server.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Outage {
+
+        @Param({"50"})
+        public int providerLatencyMillis;
+
+        MockJwkServer server;
+        CachingJwkSource source;
+        JwtDecoder decoder;
+        String token;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            server = new MockJwkServer(providerLatencyMillis);
+            ECKey key = server.rotate();
+            JwtProperties.JwkCache properties = new JwtProperties.JwkCache();
+            properties.setRefreshInterval(Duration.ofMillis(100));
+            source = new CachingJwkSource(server.uri(), properties);
+            decoder = source.decoder(MockJwkServer.ISSUER);
+            token = MockJwkServer.sign(key);
+            decoder.decode(token);
+            server.setFailing(true);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            source.close();
+            server.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    @Threads(16)
+    public Jwt unknownKidBurst(Rotation rotation) {
+        return rotation.decoder.decode(rotation.token);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Threads(4)
+    public Jwt knownKidDuringOutage(Outage outage) {
+        return outage.decoder.decode(outage.token);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.metrics.ResponseOutcomeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the metrics add to a request. {@code assessmentStats} is a cheap
+ * handler on its own, {@code assessmentStatsTimed} wraps it the way
+ * Actuator's {@code http.server.requests} observation does (look up the timer
+ * by its tags, then record), with and without the percentile histogram.
+ * {@code outcomeFilter} is {@link ResponseOutcomeFilter} around a chain that
+ * answers 403, and {@code unfiltered} is that chain alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final Tags TAGS = Tags.of(
+        "method", "GET", "uri", "/api/assessment-stats", "status", "200",
+        "outcome", "SUCCESS", "exception", "none", "error", "none");
+
+    @Param({"true", "false"})
+    public boolean histogram;
+
+    private Fixtures fixtures;
+    private MeterRegistry registry;
+    private ResponseOutcomeFilter outcomeFilter;
+    private final FilterChain forbiddenChain = (request, response) ->
+        ((MockHttpServletResponse) response).setStatus(403);
+
+    @Setup
+    public void setUp() {
+        fixtures = new Fixtures();
+        fixtures.populate(10_000, 1_000);
+
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        // Same settings as management.metrics.distribution in application.yml
+        prometheus.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(histogram)
+                    .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                    .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                    .build()
+                    .merge(config);
+            }
+        });
+        registry = prometheus;
+        outcomeFilter = new ResponseOutcomeFilter(registry);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> assessmentStats() {
+        return fixtures.controller.getAssessmentStats(10, null, null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> assessmentStatsTimed() {
+        long start = System.nanoTime();
+        ResponseEntity<?> response = fixtures.controller.getAssessmentStats(10, null, null, null);
+        Timer.builder("http.server.requests").tags(TAGS).register(registry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    @Benchmark
+    public int unfiltered() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        forbiddenChain.doFilter(new MockHttpServletRequest("GET", "/api/admin"), response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int outcomeFilter() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        outcomeFilter.doFilter(new MockHttpServletRequest("GET", "/api/admin"), response, forbiddenChain);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.security.Role;
+import com.example.authbackend.security.UserAuthentication;
+import com.example.authbackend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A handler's ADMIN check done the old way, by mapping the authorities to role
+ * names and searching them, against the bitmask test on the resolved
+ * {@link UserPrincipal}. Run with {@code -prof gc} to see the allocation
+ * difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleCheckBenchmark {
+
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        authentication = new UserAuthentication(UserPrincipal.of("admin", List.of("USER", "ADMIN")), null);
+    }
+
+    @Benchmark
+    public boolean authorityStrings() {
+        List<String> roles = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .map(role -> role.replace("ROLE_", ""))
+            .toList();
+        return roles.contains("ADMIN");
+    }
+
+    @Benchmark
+    public boolean principalMask() {
+        return authentication.getPrincipal() instanceof UserPrincipal principal && principal.hasRole(Role.ADMIN);
+    }
+
+    @Benchmark
+    public UserPrincipal resolve() {
+        return UserPrincipal.of("admin", List.of("USER", "ADMIN"));
+    }
+}
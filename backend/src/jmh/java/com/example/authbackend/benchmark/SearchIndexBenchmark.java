@@ -0,0 +1,167 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.search.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over an index of synthetic submissions whose text is drawn
+ * from a Zipf-distributed vocabulary, so common terms have postings covering
+ * most submissions and rare ones a handful. {@code scan} is the linear
+ * substring search over every description that clients did before, for
+ * comparison. {@code SearchIndexTest} checks the results against a
+ * brute-force scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int DESCRIPTION_WORDS = 40;
+    private static final int ANSWER_WORDS = 8;
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "ze", "pa", "do", "fi", "gu", "he", "jo", "qu"};
+
+    @Param({"1000000"})
+    public int documents;
+
+    private SearchIndex index;
+    private String[] words;
+    private String[] texts;
+
+    private SearchIndex.Query commonTerm;
+    private SearchIndex.Query twoTerms;
+    private SearchIndex.Query rareTerm;
+    private SearchIndex.Query termsWithFilters;
+    private SearchIndex.Query filtersOnly;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        words = new String[VOCABULARY];
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            words[rank] = word(rank);
+        }
+        double[] cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+
+        index = new SearchIndex();
+        texts = new String[documents];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int doc = 0; doc < documents; doc++) {
+            AssessmentSubmission submission = new AssessmentSubmission();
+            submission.setId((long) doc + 1);
+            String description = sentence(random, cumulative, total, DESCRIPTION_WORDS);
+            Map<String, String> answers = new LinkedHashMap<>();
+            answers.put("question1", sentence(random, cumulative, total, ANSWER_WORDS));
+            answers.put("question2", sentence(random, cumulative, total, ANSWER_WORDS));
+            submission.setProjectDescription(description);
+            submission.setTechnicalAnswers(answers);
+
+            submission.setExperience(
+                BenchmarkData.EXPERIENCE_LEVELS.get(random.nextInt(BenchmarkData.EXPERIENCE_LEVELS.size())));
+            submission.setSkills(List.of(
+                BenchmarkData.SKILLS.get(random.nextInt(BenchmarkData.SKILLS.size())),
+                BenchmarkData.SKILLS.get(random.nextInt(BenchmarkData.SKILLS.size()))));
+
+            index.add(submission);
+            texts[doc] = " " + description + " " + String.join(" ", answers.values()) + " ";
+        }
+
+        commonTerm = query(words[4], Set.of(), Set.of());
+        twoTerms = query(words[50] + " " + words[500], Set.of(), Set.of());
+        rareTerm = query(words[15_000], Set.of(), Set.of());
+        termsWithFilters = query(words[50] + " " + words[500], Set.of("senior"), Set.of("Java"));
+        filtersOnly = query(null, Set.of("senior", "lead"), Set.of("Java", "Docker"));
+    }
+
+    private static SearchIndex.Query query(String text, Set<String> experienceLevels, Set<String> skills) {
+        return new SearchIndex.Query(text, experienceLevels, skills, 20);
+    }
+
+    private String sentence(SplittableRandom random, double[] cumulative, double total, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(words[Math.min(rank < 0 ? -rank - 1 : rank, VOCABULARY - 1)]);
+        }
+        return text.toString();
+    }
+
+    // Distinct pronounceable words, one per rank
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        int value = rank;
+        do {
+            word.append(SYLLABLES[value % SYLLABLES.length]);
+            value /= SYLLABLES.length;
+        } while (value > 0);
+        return word.append('x').toString();
+    }
+
+    @Benchmark
+    public SearchIndex.Result commonTerm() {
+        return index.search(commonTerm);
+    }
+
+    @Benchmark
+    public SearchIndex.Result twoTerms() {
+        return index.search(twoTerms);
+    }
+
+    @Benchmark
+    public SearchIndex.Result rareTerm() {
+        return index.search(rareTerm);
+    }
+
+    @Benchmark
+    public SearchIndex.Result termsWithFilters() {
+        return index.search(termsWithFilters);
+    }
+
+    @Benchmark
+    public SearchIndex.Result filtersOnly() {
+        return index.search(filtersOnly);
+    }
+
+    @Benchmark
+    public int scan() {
+        String term = " " + words[500] + " ";
+        int matches = 0;
+        for (String text : texts) {
+            if (text.contains(term)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
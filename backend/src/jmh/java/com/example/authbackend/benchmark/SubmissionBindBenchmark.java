@@ -0,0 +1,95 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.model.AssessmentRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a submit-assessment body into an {@link AssessmentSubmission}:
+ * the original bind through {@code Map<String, Object>} with casts and a second
+ * pass for technical answers, against the streaming {@link AssessmentRequest}
+ * deserializer. Run with {@code -prof gc} to compare allocation per bind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmissionBindBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = objectMapper.writeValueAsBytes(BenchmarkData.requestBody(0));
+    }
+
+    @Benchmark
+    public AssessmentSubmission mapBind() throws IOException {
+        Map<String, Object> submission = objectMapper.readValue(body, MAP_TYPE);
+
+        AssessmentSubmission assessmentSubmission = new AssessmentSubmission();
+        assessmentSubmission.setId(1L);
+        assessmentSubmission.setUserId("candidate");
+        assessmentSubmission.setFullName((String) submission.get("fullName"));
+        assessmentSubmission.setEmail((String) submission.get("email"));
+        assessmentSubmission.setExperience((String) submission.get("experience"));
+        assessmentSubmission.setCodingExperience((String) submission.get("codingExperience"));
+        assessmentSubmission.setProjectDescription((String) submission.get("projectDescription"));
+        @SuppressWarnings("unchecked")
+        List<String> skills = (List<String>) submission.get("skills");
+        assessmentSubmission.setSkills(skills);
+        assessmentSubmission.setTermsAccepted((Boolean) submission.get("termsAccepted"));
+        assessmentSubmission.setUserAgent((String) submission.get("userAgent"));
+
+        Map<String, String> technicalAnswers = new HashMap<>();
+        for (Map.Entry<String, Object> entry : submission.entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith("question") || key.startsWith("tech")) {
+                technicalAnswers.put(key, (String) entry.getValue());
+            }
+        }
+        assessmentSubmission.setTechnicalAnswers(technicalAnswers);
+        return assessmentSubmission;
+    }
+
+    @Benchmark
+    public AssessmentSubmission typedBind() throws IOException {
+        AssessmentRequest request = objectMapper.readValue(body, AssessmentRequest.class);
+
+        AssessmentSubmission assessmentSubmission = new AssessmentSubmission();
+        assessmentSubmission.setId(1L);
+        assessmentSubmission.setUserId("candidate");
+        assessmentSubmission.setFullName(request.fullName());
+        assessmentSubmission.setEmail(request.email());
+        assessmentSubmission.setExperience(request.experience());
+        assessmentSubmission.setCodingExperience(request.codingExperience());
+        assessmentSubmission.setProjectDescription(request.projectDescription());
+        assessmentSubmission.setSkills(request.skills());
+        assessmentSubmission.setTermsAccepted(request.termsAccepted());
+        assessmentSubmission.setUserAgent(request.userAgent());
+        assessmentSubmission.setTechnicalAnswers(request.technicalAnswers());
+        return assessmentSubmission;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.repository.LongObjectHashMap;
+import com.example.authbackend.repository.LongOrderedMap;
+import com.example.authbackend.repository.LongPostings;
+import com.example.authbackend.repository.SubmissionIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary submission map and per-user index at 10M entries:
+ * <ul>
+ *   <li>{@code skipList}: the {@code ConcurrentSkipListMap<Long, ...>} store
+ *       and {@code ConcurrentLinkedQueue<Long>} user index used before.</li>
+ *   <li>{@code stringKeyed}: a {@code ConcurrentHashMap} keyed by
+ *       {@code username + "_" + id}, as the store was originally.</li>
+ *   <li>{@code primitive}: {@link LongObjectHashMap} and {@link LongOrderedMap}
+ *       as in the heap store now, with {@link LongPostings} per user.</li>
+ * </ul>
+ * Ids come from the Snowflake-style generator, with 1% arriving a little out
+ * of order as replicas from other nodes do. Every entry shares one value, so
+ * the results and the heap used are the maps' own. {@code LongOrderedMapTest},
+ * {@code LongObjectHashMapTest} and {@code LongPostingsTest} check the
+ * primitive maps over the same ids.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3500m")
+public class SubmissionMapBenchmark {
+
+    private static final int USERS = 1_000_000;
+
+    @Param({"10000000"})
+    public int entries;
+
+    @Param({"skipList", "stringKeyed", "primitive"})
+    public String map;
+
+    private final AssessmentSubmission value = new AssessmentSubmission();
+    private long[] ids;
+    private String[] users;
+    private SubmissionMap filled;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        long[] now = {SubmissionIdGenerator.EPOCH + 1_000_000};
+        SubmissionIdGenerator generator = new SubmissionIdGenerator(1, () -> now[0]);
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new long[entries];
+        users = new String[entries];
+        String[] names = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            names[i] = "user" + i;
+        }
+        for (int i = 0; i < entries; i++) {
+            if (i % 50 == 0) {
+                now[0]++;
+            }
+            ids[i] = generator.nextId();
+            users[i] = names[random.nextInt(USERS)];
+        }
+        for (int i = 64; i < entries; i++) {
+            if (random.nextInt(100) == 0) {
+                int earlier = i - 1 - random.nextInt(64);
+                long id = ids[i];
+                ids[i] = ids[earlier];
+                ids[earlier] = id;
+            }
+        }
+        filled = build();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public SubmissionMap insert() {
+        return build();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object get() {
+        int index = nextIndex();
+        return filled.get(ids[index], users[index]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public long iterate() {
+        return filled.iterate();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long userIds() {
+        return filled.userIds(users[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        // Strided, so consecutive lookups land on unrelated entries
+        next = (next + 7_919_993) % entries;
+        return next;
+    }
+
+    private SubmissionMap build() {
+        SubmissionMap built = switch (map) {
+            case "skipList" -> new SkipListMap();
+            case "stringKeyed" -> new StringKeyedMap();
+            case "primitive" -> new PrimitiveMap();
+            default -> throw new IllegalArgumentException(map);
+        };
+        for (int i = 0; i < entries; i++) {
+            built.put(ids[i], users[i], value);
+        }
+        return built;
+    }
+
+    public interface SubmissionMap {
+        void put(long id, String user, AssessmentSubmission submission);
+
+        Object get(long id, String user);
+
+        long iterate();
+
+        long userIds(String user);
+    }
+
+    static final class SkipListMap implements SubmissionMap {
+
+        private final ConcurrentNavigableMap<Long, AssessmentSubmission> byId = new ConcurrentSkipListMap<>();
+        private final Map<String, Queue<Long>> byUser = new ConcurrentHashMap<>();
+
+        @Override
+        public void put(long id, String user, AssessmentSubmission submission) {
+            byId.put(id, submission);
+            byUser.computeIfAbsent(user, key -> new ConcurrentLinkedQueue<>()).add(id);
+        }
+
+        @Override
+        public Object get(long id, String user) {
+            return byId.get(id);
+        }
+
+        @Override
+        public long iterate() {
+            long count = 0;
+            for (AssessmentSubmission submission : byId.tailMap(Long.MIN_VALUE, false).values()) {
+                count += submission != null ? 1 : 0;
+            }
+            return count;
+        }
+
+        @Override
+        public long userIds(String user) {
+            long sum = 0;
+            for (Long id : byUser.get(user)) {
+                sum += id;
+            }
+            return sum;
+        }
+    }
+
+    static final class StringKeyedMap implements SubmissionMap {
+
+        private final Map<String, AssessmentSubmission> byKey = new ConcurrentHashMap<>();
+        private final Map<String, Queue<Long>> byUser = new ConcurrentHashMap<>();
+
+        @Override
+        public void put(long id, String user, AssessmentSubmission submission) {
+            byKey.put(user + "_" + id, submission);
+            byUser.computeIfAbsent(user, key -> new ConcurrentLinkedQueue<>()).add(id);
+        }
+
+        @Override
+        public Object get(long id, String user) {
+            return byKey.get(user + "_" + id);
+        }
+
+        // Hash order: this map cannot page by id at all
+        @Override
+        public long iterate() {
+            long count = 0;
+            for (AssessmentSubmission submission : byKey.values()) {
+                count += submission != null ? 1 : 0;
+            }
+            return count;
+        }
+
+        @Override
+        public long userIds(String user) {
+            long sum = 0;
+            for (Long id : byUser.get(user)) {
+                sum += id;
+            }
+            return sum;
+        }
+    }
+
+    static final class PrimitiveMap implements SubmissionMap {
+
+        // Not presized, since the store grows from empty
+        private final LongObjectHashMap<AssessmentSubmission> byId = new LongObjectHashMap<>();
+        private final LongOrderedMap<AssessmentSubmission> inOrder = new LongOrderedMap<>();
+        private final Map<String, LongPostings> byUser = new ConcurrentHashMap<>();
+
+        @Override
+        public void put(long id, String user, AssessmentSubmission submission) {
+            inOrder.put(id, submission);
+            byId.put(id, submission);
+            byUser.computeIfAbsent(user, key -> new LongPostings()).add(id);
+        }
+
+        @Override
+        public Object get(long id, String user) {
+            return byId.get(id);
+        }
+
+        @Override
+        public long iterate() {
+            long count = 0;
+            for (Iterator<AssessmentSubmission> it = inOrder.valuesAfter(Long.MIN_VALUE); it.hasNext(); ) {
+                count += it.next() != null ? 1 : 0;
+            }
+            return count;
+        }
+
+        @Override
+        public long userIds(String user) {
+            long[] sum = {0};
+            byUser.get(user).forEach(id -> sum[0] += id);
+            return sum[0];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stats for the last {@code range} of submissions spread over 30 days:
+ * merged from the per-minute and per-hour buckets, or by scanning every
+ * submission and parsing its {@code submittedAt}, as answering the question
+ * took before the buckets. {@code TimeBucketedStatsTest} checks the buckets
+ * against a scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TimeWindowStatsBenchmark {
+
+    private static final long NOW = Instant.parse("2024-06-01T12:34:56.789Z").toEpochMilli();
+    private static final long SPREAD = Duration.ofDays(30).toMillis();
+
+    @Param({"1000000"})
+    public int submissions;
+
+    @Param({"PT1H", "PT24H", "P7D"})
+    public String range;
+
+    private AssessmentSubmission[] stored;
+    private TimeBucketedStats stats;
+    private long from;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+        stats = new TimeBucketedStats(dictionaries, new StatsProperties(), () -> NOW);
+        SplittableRandom random = new SplittableRandom(42);
+        stored = new AssessmentSubmission[submissions];
+        List<String> levels = BenchmarkData.EXPERIENCE_LEVELS;
+        List<String> skills = BenchmarkData.SKILLS;
+        for (int i = 0; i < submissions; i++) {
+            AssessmentSubmission submission = new AssessmentSubmission();
+            submission.setExperience(levels.get(random.nextInt(levels.size())));
+            submission.setSkills(List.of(skills.get(random.nextInt(skills.size())), skills.get(random.nextInt(skills.size()))));
+            submission.setSubmittedAt(Instant.ofEpochMilli(NOW - random.nextLong(SPREAD)).toString());
+            stats.record(submission, dictionaries.canonicalize(submission));
+            stored[i] = submission;
+        }
+        from = NOW - Duration.parse(range).toMillis();
+    }
+
+    @Benchmark
+    public TimeBucketedStats.Window buckets() {
+        return stats.window(from, NOW);
+    }
+
+    @Benchmark
+    public TimeBucketedStats.Window scan() {
+        return scan(from, NOW);
+    }
+
+    private TimeBucketedStats.Window scan(long from, long to) {
+        Map<String, Long> experienceLevels = new HashMap<>();
+        Map<String, Long> skillCounts = new HashMap<>();
+        long total = 0;
+        for (AssessmentSubmission submission : stored) {
+            long at = Instant.parse(submission.getSubmittedAt()).toEpochMilli();
+            if (at >= from && at < to) {
+                total++;
+                experienceLevels.merge(submission.getExperience(), 1L, Long::sum);
+                for (String skill : submission.getSkills()) {
+                    skillCounts.merge(skill, 1L, Long::sum);
+                }
+            }
+        }
+        return new TimeBucketedStats.Window(from, to, total, experienceLevels, skillCounts);
+    }
+}
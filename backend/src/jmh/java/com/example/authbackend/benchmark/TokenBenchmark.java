@@ -0,0 +1,68 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import com.example.authbackend.security.CachingJwtDecoder;
+import com.example.authbackend.security.JwtProperties;
+import com.example.authbackend.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing a login token, and decoding a bearer token with full signature
+ * verification against a hit in the validated-claims cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+
+    @Param({"HS256", "ES256"})
+    public JwtProperties.Algorithm algorithm;
+
+    private TokenService tokenService;
+    private RegisteredUser user;
+    private JwtDecoder verifyingDecoder;
+    private JwtDecoder cachingDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(Fixtures.jwtProperties(algorithm));
+        user = new RegisteredUser("testuser", "", "testuser@example.com", "Test User", List.of("USER"));
+        verifyingDecoder = tokenService.localDecoder();
+        cachingDecoder = new CachingJwtDecoder(tokenService.localDecoder(), 10_000);
+        token = tokenService.issue(user).value();
+    }
+
+    @Benchmark
+    public String issue() {
+        return tokenService.issue(user).value();
+    }
+
+    @Benchmark
+    public Jwt decodeVerified() {
+        return verifyingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCached() {
+        return cachingDecoder.decode(token);
+    }
+}
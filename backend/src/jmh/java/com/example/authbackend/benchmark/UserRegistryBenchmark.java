@@ -0,0 +1,89 @@
+package com.example.authbackend.benchmark;
+
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import com.example.authbackend.repository.UserRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent registration and lookup on {@link UserRegistry} preloaded with
+ * {@code preloaded} accounts. Every username in {@code register} is attempted
+ * by {@code contenders} operations spread across threads, so most attempts
+ * find the name taken. {@code UserRegistryTest} checks that racing
+ * registrations are neither lost nor duplicated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class UserRegistryBenchmark {
+
+    private static final List<String> ROLES = List.of("USER");
+    // Never verified here; registration stores whatever hash it is given
+    private static final String PASSWORD_HASH = "{bcrypt}$2a$04$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm";
+
+    @Param({"1000000"})
+    public int preloaded;
+
+    @Param({"4"})
+    public int contenders;
+
+    private String[] preloadedNames;
+    private UserRegistry registry;
+    private final AtomicLong attempts = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void createNames() {
+        preloadedNames = new String[preloaded];
+        for (int i = 0; i < preloaded; i++) {
+            preloadedNames[i] = "user-" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        registry = new UserRegistry(new BCryptPasswordEncoder(4), 64, preloaded * 2);
+        for (String username : preloadedNames) {
+            registry.register(user(username));
+        }
+        attempts.set(0);
+    }
+
+    @Benchmark
+    public boolean register() {
+        return registry.register(user(candidate(attempts.getAndIncrement() / contenders)));
+    }
+
+    @Benchmark
+    public RegisteredUser lookup() {
+        return registry.findByUsername(preloadedNames[ThreadLocalRandom.current().nextInt(preloadedNames.length)]);
+    }
+
+    private static String candidate(long index) {
+        return "candidate-" + index;
+    }
+
+    private static RegisteredUser user(String username) {
+        return new RegisteredUser(username, PASSWORD_HASH, username + "@example.com", "Benchmark User", ROLES);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.security.Role;
+import com.example.authbackend.security.UserAuthentication;
+import com.example.authbackend.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Authenticates requests from other cluster members by the shared secret.
+ * A forwarded user request runs as the user named in its headers, so the
+ * owning node applies the same role checks as the node the client called.
+ * Requests the cluster makes for itself, such as replication and scatter
+ * reads, run as a {@code cluster} principal with every role.
+ *
+ * <p>Peer requests are marked so handlers serve them from local data instead
+ * of routing them again. Outside cluster mode the headers are ignored.
+ */
+public class ClusterAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PEER_ATTRIBUTE = ClusterAuthenticationFilter.class.getName() + ".PEER";
+    private static final List<String> ALL_ROLES = Arrays.stream(Role.values()).map(Role::name).toList();
+
+    private final boolean enabled;
+    private final byte[] secret;
+
+    public ClusterAuthenticationFilter(ClusterTopology topology, ClusterProperties properties) {
+        this.enabled = topology.isEnabled();
+        this.secret = properties.getSecret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether the current request came from another cluster member.
+     */
+    public static boolean isPeerRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+            && attributes.getAttribute(PEER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    // Streamed responses finish on an async dispatch, which must run as the same principal
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(PeerClient.SECRET_HEADER);
+        if (!enabled || presented == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!MessageDigest.isEqual(presented.getBytes(StandardCharsets.UTF_8), secret)) {
+            response.setStatus(401);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Invalid cluster credentials\"}");
+            return;
+        }
+
+        String user = request.getHeader(PeerClient.USER_HEADER);
+        UserPrincipal principal = user != null
+            ? UserPrincipal.of(user, roles(request.getHeader(PeerClient.ROLES_HEADER)))
+            : UserPrincipal.of("cluster", ALL_ROLES);
+        SecurityContextHolder.getContext().setAuthentication(new UserAuthentication(principal, null));
+        request.setAttribute(PEER_ATTRIBUTE, Boolean.TRUE);
+        chain.doFilter(request, response);
+    }
+
+    private static List<String> roles(String header) {
+        return header == null || header.isEmpty() ? List.of() : Arrays.asList(header.split(","));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.authbackend.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "assessment.cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+    // This node's id; must be one of the ids in nodes
+    private String nodeId = "";
+    // Every member as id=base-url, e.g. a=http://localhost:8081, the same list on every node
+    private List<String> nodes = new ArrayList<>();
+    // Shared by all members; authenticates forwarded and replicated requests
+    private String secret = "";
+    private int replicationFactor = 2;
+    // Points per node on the hash ring; more points spread users more evenly
+    private int virtualNodes = 128;
+    private Duration connectTimeout = Duration.ofSeconds(1);
+    private Duration requestTimeout = Duration.ofSeconds(5);
+    // Replication messages held per peer while it is unreachable; beyond this they are dropped
+    private int replicationBacklog = 100_000;
+    private int replicationBatchSize = 256;
+    private Duration replicationRetryInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+
+    public List<String> getNodes() { return nodes; }
+    public void setNodes(List<String> nodes) { this.nodes = nodes; }
+
+    public String getSecret() { return secret; }
+    public void setSecret(String secret) { this.secret = secret; }
+
+    public int getReplicationFactor() { return replicationFactor; }
+    public void setReplicationFactor(int replicationFactor) { this.replicationFactor = replicationFactor; }
+
+    public int getVirtualNodes() { return virtualNodes; }
+    public void setVirtualNodes(int virtualNodes) { this.virtualNodes = virtualNodes; }
+
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+
+    public Duration getRequestTimeout() { return requestTimeout; }
+    public void setRequestTimeout(Duration requestTimeout) { this.requestTimeout = requestTimeout; }
+
+    public int getReplicationBacklog() { return replicationBacklog; }
+    public void setReplicationBacklog(int replicationBacklog) { this.replicationBacklog = replicationBacklog; }
+
+    public int getReplicationBatchSize() { return replicationBatchSize; }
+    public void setReplicationBatchSize(int replicationBatchSize) { this.replicationBatchSize = replicationBatchSize; }
+
+    public Duration getReplicationRetryInterval() { return replicationRetryInterval; }
+    public void setReplicationRetryInterval(Duration replicationRetryInterval) { this.replicationRetryInterval = replicationRetryInterval; }
+}
@@ -0,0 +1,353 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.TimeBucketedStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Routes requests in cluster mode. A user's submissions live on the nodes
+ * the {@link HashRing} assigns to the user, so requests for one user are
+ * forwarded to the first of those owners that answers. Admin reads and
+ * searches span every user and are scattered to all nodes and gathered here.
+ *
+ * <p>Requests arriving from a peer are always answered from local data, so
+ * a request is forwarded at most once however the nodes' views differ.
+ */
+public class ClusterRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRouter.class);
+
+    private static final TypeReference<Map<String, PartitionedStats.Partition>> PARTITIONS = new TypeReference<>() {};
+    private static final TypeReference<Map<String, PartitionedSearch.Partition>> SEARCH_PARTITIONS =
+        new TypeReference<>() {};
+
+    private final ClusterTopology topology;
+    private final PeerClient peerClient;
+    private final SubmissionReplicator submissionReplicator;
+    private final PartitionedStats partitionedStats;
+    private final AssessmentRepository assessmentRepository;
+    private final ObjectMapper objectMapper;
+
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    public ClusterRouter(ClusterTopology topology, PeerClient peerClient, SubmissionReplicator submissionReplicator,
+                         PartitionedStats partitionedStats, AssessmentRepository assessmentRepository,
+                         ObjectMapper objectMapper) {
+        this.topology = topology;
+        this.peerClient = peerClient;
+        this.submissionReplicator = submissionReplicator;
+        this.partitionedStats = partitionedStats;
+        this.assessmentRepository = assessmentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Whether an admin read should cover every node rather than this one.
+     */
+    public boolean gathers() {
+        return topology.isEnabled() && !ClusterAuthenticationFilter.isPeerRequest();
+    }
+
+    /**
+     * Sends the request to the owners of {@code routingKey}, primary first,
+     * and returns the first owner's response. Returns {@code null} when this
+     * node should answer itself: outside cluster mode, for requests from a
+     * peer, and when this node is the first owner that could be reached.
+     */
+    public ResponseEntity<byte[]> forward(String routingKey, UserPrincipal principal, String method,
+                                          String pathAndQuery, Object body, Map<String, String> headers) {
+        if (!topology.isEnabled() || ClusterAuthenticationFilter.isPeerRequest()) {
+            return null;
+        }
+        byte[] encoded = body != null ? encode(body) : null;
+        for (ClusterTopology.Node owner : topology.owners(routingKey)) {
+            if (owner.local()) {
+                return null;
+            }
+            try {
+                HttpResponse<byte[]> response =
+                    peerClient.send(owner, method, pathAndQuery, principal, headers, encoded);
+                forwarded.increment();
+                return relay(response);
+            } catch (IOException e) {
+                failovers.increment();
+                log.warn("Node {} owning {} is unreachable: {}", owner.id(), routingKey, e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return error(503, "No node holding this user's data is reachable");
+    }
+
+    private static ResponseEntity<byte[]> relay(HttpResponse<byte[]> response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.statusCode());
+        for (String header : List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.RETRY_AFTER, HttpHeaders.ETAG,
+                HttpHeaders.CACHE_CONTROL)) {
+            response.headers().firstValue(header).ifPresent(value -> builder.header(header, value));
+        }
+        return builder.body(response.body());
+    }
+
+    private ResponseEntity<byte[]> error(int status, String message) {
+        return ResponseEntity.status(status)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(encode(Map.of("error", message)));
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Submissions after {@code after} from every reachable node, merged in id
+     * order. Each node sends at most {@code limit + 1} so a page can tell
+     * whether there is more. The result must be closed.
+     */
+    public Gathered<MergedSubmissions> gatherSubmissions(Long after, int limit, Set<AssessmentJsonWriter.Field> fields) {
+        Set<String> fieldNames = new HashSet<>();
+        fieldNames.add(AssessmentJsonWriter.Field.ID.getJsonName());
+        for (AssessmentJsonWriter.Field field : fields) {
+            fieldNames.add(field.getJsonName());
+        }
+        StringBuilder query = new StringBuilder("/api/assessments?fields=").append(String.join(",", fieldNames));
+        if (after != null) {
+            query.append("&after=").append(after);
+        }
+        if (limit != Integer.MAX_VALUE) {
+            query.append("&limit=").append(limit + 1);
+        }
+
+        Map<ClusterTopology.Node, CompletableFuture<HttpResponse<InputStream>>> responses = new LinkedHashMap<>();
+        for (ClusterTopology.Node node : topology.nodes()) {
+            if (!node.local()) {
+                responses.put(node, peerClient.streamAsync(node, query.toString(), "application/x-ndjson"));
+            }
+        }
+
+        List<Iterator<AssessmentSubmission>> sources = new ArrayList<>();
+        List<Closeable> resources = new ArrayList<>();
+        List<String> unavailable = new ArrayList<>();
+        sources.add(assessmentRepository.findAllAfter(after != null ? after : Long.MIN_VALUE).iterator());
+        for (Map.Entry<ClusterTopology.Node, CompletableFuture<HttpResponse<InputStream>>> entry : responses.entrySet()) {
+            try {
+                HttpResponse<InputStream> response = entry.getValue().join();
+                if (response.statusCode() != 200) {
+                    response.body().close();
+                    throw new IOException("status " + response.statusCode());
+                }
+                MappingIterator<AssessmentSubmission> submissions =
+                    objectMapper.readerFor(AssessmentSubmission.class).readValues(response.body());
+                sources.add(submissions);
+                resources.add(submissions);
+            } catch (CompletionException | IOException e) {
+                log.warn("Node {} left out of the assessment list: {}", entry.getKey().id(),
+                    e instanceof CompletionException ? e.getCause().toString() : e.toString());
+                unavailable.add(entry.getKey().id());
+            }
+        }
+        return new Gathered<>(new MergedSubmissions(sources, resources), unavailable);
+    }
+
+    /**
+     * Statistics over every node, shaped like the standalone
+     * {@code /api/assessment-stats} response. Each owner group's partition
+     * is counted once: from its primary if it answered, otherwise from the
+     * replica furthest along, which may still be catching up.
+     *
+     * <p>With {@code from} and {@code to}, in epoch milliseconds, only the
+     * submissions made in that range are counted, as
+     * {@link PartitionedStats#snapshot(long, long)} counts them.
+     */
+    public Gathered<Map<String, Object>> gatherStats(Integer top, Long from, Long to) {
+        boolean ranged = from != null && to != null;
+        String path = ranged ? "/api/cluster/stats?from=" + from + "&to=" + to : "/api/cluster/stats";
+        Map<ClusterTopology.Node, CompletableFuture<HttpResponse<byte[]>>> responses = new LinkedHashMap<>();
+        for (ClusterTopology.Node node : topology.nodes()) {
+            if (!node.local()) {
+                responses.put(node, peerClient.getAsync(node, path));
+            }
+        }
+
+        Map<String, PartitionedStats.Partition> chosen = new HashMap<>();
+        Set<String> fromPrimary = new HashSet<>();
+        choose(topology.local().id(), ranged ? partitionedStats.snapshot(from, to) : partitionedStats.snapshot(),
+            chosen, fromPrimary, PartitionedStats.Partition::totalSubmissions);
+        List<String> unavailable = new ArrayList<>();
+        for (Map.Entry<ClusterTopology.Node, CompletableFuture<HttpResponse<byte[]>>> entry : responses.entrySet()) {
+            try {
+                HttpResponse<byte[]> response = entry.getValue().join();
+                if (response.statusCode() != 200) {
+                    throw new IOException("status " + response.statusCode());
+                }
+                choose(entry.getKey().id(), objectMapper.readValue(response.body(), PARTITIONS), chosen, fromPrimary,
+                    PartitionedStats.Partition::totalSubmissions);
+            } catch (CompletionException | IOException e) {
+                log.warn("Node {} left out of the assessment stats: {}", entry.getKey().id(),
+                    e instanceof CompletionException ? e.getCause().toString() : e.toString());
+                unavailable.add(entry.getKey().id());
+            }
+        }
+
+        long total = 0;
+        Map<String, Long> experienceLevels = new HashMap<>();
+        Map<String, Long> skills = new HashMap<>();
+        for (PartitionedStats.Partition partition : chosen.values()) {
+            total += partition.totalSubmissions();
+            partition.experienceLevels().forEach((level, count) -> experienceLevels.merge(level, count, Long::sum));
+            partition.skillCounts().forEach((skill, count) -> skills.merge(skill, count, Long::sum));
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        if (ranged) {
+            TimeBucketedStats.Span span = partitionedStats.span(from, to);
+            stats.put("from", Instant.ofEpochMilli(span.from()).toString());
+            stats.put("to", Instant.ofEpochMilli(span.to()).toString());
+        }
+        stats.put("totalSubmissions", total);
+        stats.put("experienceLevels", experienceLevels);
+        stats.put("topSkills", top != null ? AssessmentStatsService.top(skills, top) : skills);
+        return new Gathered<>(stats, unavailable);
+    }
+
+    /**
+     * Search results over every node, shaped like a standalone
+     * {@link com.example.authbackend.search.SearchIndex} result. {@code local}
+     * is this node's share, from {@link PartitionedSearch#search}; each owner
+     * group's partition is then taken once, as {@link #gatherStats} takes it.
+     */
+    public Gathered<PartitionedSearch.Merged> gatherSearch(String text, Set<String> experienceLevels,
+                                                          Set<String> skills, int limit,
+                                                          Map<String, PartitionedSearch.Partition> local) {
+        StringBuilder query = new StringBuilder("/api/cluster/search?limit=").append(limit);
+        if (text != null) {
+            query.append("&q=").append(URLEncoder.encode(text, StandardCharsets.UTF_8));
+        }
+        for (String experience : experienceLevels) {
+            query.append("&experience=").append(URLEncoder.encode(experience, StandardCharsets.UTF_8));
+        }
+        for (String skill : skills) {
+            query.append("&skills=").append(URLEncoder.encode(skill, StandardCharsets.UTF_8));
+        }
+        Map<ClusterTopology.Node, CompletableFuture<HttpResponse<byte[]>>> responses = new LinkedHashMap<>();
+        for (ClusterTopology.Node node : topology.nodes()) {
+            if (!node.local()) {
+                responses.put(node, peerClient.getAsync(node, query.toString()));
+            }
+        }
+
+        Map<String, PartitionedSearch.Partition> chosen = new HashMap<>();
+        Set<String> fromPrimary = new HashSet<>();
+        choose(topology.local().id(), local, chosen, fromPrimary, PartitionedSearch.Partition::totalHits);
+        List<String> unavailable = new ArrayList<>();
+        for (Map.Entry<ClusterTopology.Node, CompletableFuture<HttpResponse<byte[]>>> entry : responses.entrySet()) {
+            try {
+                HttpResponse<byte[]> response = entry.getValue().join();
+                if (response.statusCode() != 200) {
+                    throw new IOException("status " + response.statusCode());
+                }
+                choose(entry.getKey().id(), objectMapper.readValue(response.body(), SEARCH_PARTITIONS), chosen,
+                    fromPrimary, PartitionedSearch.Partition::totalHits);
+            } catch (CompletionException | IOException e) {
+                log.warn("Node {} left out of the search results: {}", entry.getKey().id(),
+                    e instanceof CompletionException ? e.getCause().toString() : e.toString());
+                unavailable.add(entry.getKey().id());
+            }
+        }
+        return new Gathered<>(PartitionedSearch.merge(chosen.values(), limit), unavailable);
+    }
+
+    // A group's primary is authoritative; without it, the replica with the most is furthest along
+    private static <P> void choose(String reporter, Map<String, P> reported, Map<String, P> chosen,
+                                   Set<String> fromPrimary, ToLongFunction<P> size) {
+        reported.forEach((group, partition) -> {
+            if (PartitionedStats.primaryOf(group).equals(reporter)) {
+                chosen.put(group, partition);
+                fromPrimary.add(group);
+            } else if (!fromPrimary.contains(group)) {
+                chosen.merge(group, partition,
+                    (current, candidate) -> size.applyAsLong(candidate) > size.applyAsLong(current) ? candidate : current);
+            }
+        });
+    }
+
+    public Map<String, Object> metrics() {
+        List<String> nodes = new ArrayList<>();
+        for (ClusterTopology.Node node : topology.nodes()) {
+            nodes.add(node.id());
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", topology.isEnabled());
+        metrics.put("nodeId", topology.local().id());
+        metrics.put("nodes", nodes);
+        metrics.put("replicationFactor", topology.replicationFactor());
+        metrics.put("forwarded", forwarded.sum());
+        metrics.put("failovers", failovers.sum());
+        metrics.put("replication", submissionReplicator.metrics());
+        return metrics;
+    }
+
+    public long forwardedCount() {
+        return forwarded.sum();
+    }
+
+    public long failoverCount() {
+        return failovers.sum();
+    }
+
+    /**
+     * A gathered result and the nodes that could not be included.
+     */
+    public record Gathered<T>(T value, List<String> unavailable) {
+
+        /**
+         * {@code X-Cluster-Unavailable} listing the missing nodes, if any.
+         */
+        public HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            if (!unavailable.isEmpty()) {
+                headers.add("X-Cluster-Unavailable", String.join(",", unavailable));
+            }
+            return headers;
+        }
+    }
+}
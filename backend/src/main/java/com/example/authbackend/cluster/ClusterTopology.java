@@ -0,0 +1,112 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.repository.SubmissionIdGenerator;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The cluster members and which of them own a user's submissions. Members are
+ * ordered by id, so every node derives the same indexes and the same ring
+ * from the same member list whatever order it was configured in. A node's
+ * index is also its submission id worker id, so a cluster has at most
+ * {@link SubmissionIdGenerator#MAX_WORKERS} members.
+ */
+public class ClusterTopology {
+
+    public record Node(int index, String id, URI url, boolean local) {}
+
+    private final boolean enabled;
+    private final List<Node> nodes;
+    private final Node local;
+    private final HashRing ring;
+    private final int replicationFactor;
+
+    public ClusterTopology(ClusterProperties properties) {
+        this.enabled = properties.isEnabled();
+        if (!enabled) {
+            this.local = new Node(0, "local", null, true);
+            this.nodes = List.of(local);
+            this.ring = new HashRing(List.of(local.id()), 1);
+            this.replicationFactor = 1;
+            return;
+        }
+
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("assessment.cluster.secret is required in cluster mode");
+        }
+        List<String[]> members = new ArrayList<>();
+        for (String member : properties.getNodes()) {
+            if (member.isBlank()) {
+                continue;
+            }
+            int separator = member.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("Cluster node must be id=url: " + member);
+            }
+            members.add(new String[] {member.substring(0, separator).trim(), member.substring(separator + 1).trim()});
+        }
+        members.sort(Comparator.comparing(member -> member[0]));
+        if (members.size() > SubmissionIdGenerator.MAX_WORKERS) {
+            throw new IllegalStateException(
+                "A cluster has at most " + SubmissionIdGenerator.MAX_WORKERS + " nodes: " + members.size());
+        }
+
+        List<Node> parsed = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        Node self = null;
+        for (String[] member : members) {
+            if (ids.contains(member[0])) {
+                throw new IllegalStateException("Duplicate cluster node id: " + member[0]);
+            }
+            Node node = new Node(parsed.size(), member[0], URI.create(member[1]), member[0].equals(properties.getNodeId()));
+            parsed.add(node);
+            ids.add(node.id());
+            if (node.local()) {
+                self = node;
+            }
+        }
+        if (self == null) {
+            throw new IllegalStateException(
+                "assessment.cluster.node-id '" + properties.getNodeId() + "' is not in assessment.cluster.nodes");
+        }
+        this.nodes = List.copyOf(parsed);
+        this.local = self;
+        this.ring = new HashRing(ids, properties.getVirtualNodes());
+        this.replicationFactor = Math.max(1, Math.min(properties.getReplicationFactor(), nodes.size()));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Node local() {
+        return local;
+    }
+
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    public int replicationFactor() {
+        return replicationFactor;
+    }
+
+    /**
+     * The nodes holding a copy of {@code userId}'s submissions, primary first.
+     */
+    public List<Node> owners(String userId) {
+        int[] owners = ring.owners(userId != null ? userId : "", replicationFactor);
+        List<Node> result = new ArrayList<>(owners.length);
+        for (int owner : owners) {
+            result.add(nodes.get(owner));
+        }
+        return result;
+    }
+
+    public int primary(String userId) {
+        return ring.primary(userId != null ? userId : "");
+    }
+}
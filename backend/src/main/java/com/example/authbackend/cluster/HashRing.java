@@ -0,0 +1,115 @@
+package com.example.authbackend.cluster;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistent hash ring over node indexes. Each node is placed at
+ * {@code virtualNodes} pseudo-random points, and a key belongs to the first
+ * distinct nodes found walking clockwise from the key's hash. Adding a node
+ * only takes over the keys just before its points, about {@code 1/n} of
+ * them, and every other key keeps its owners.
+ */
+public final class HashRing {
+
+    private final int nodeCount;
+    // Sorted ring positions and the node placed at each
+    private final long[] points;
+    private final int[] nodes;
+
+    public HashRing(List<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("A ring needs at least one node and one point per node");
+        }
+        this.nodeCount = nodeIds.size();
+
+        long[] placed = new long[nodeCount * virtualNodes];
+        for (int node = 0; node < nodeCount; node++) {
+            for (int point = 0; point < virtualNodes; point++) {
+                placed[node * virtualNodes + point] = hash(nodeIds.get(node) + "#" + point);
+            }
+        }
+        Integer[] order = new Integer[placed.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(placed[a], placed[b]));
+
+        this.points = new long[placed.length];
+        this.nodes = new int[placed.length];
+        for (int i = 0; i < order.length; i++) {
+            points[i] = placed[order[i]];
+            nodes[i] = order[i] / virtualNodes;
+        }
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int primary(String key) {
+        return nodes[firstPointAtOrAfter(hash(key))];
+    }
+
+    /**
+     * The first {@code count} distinct nodes clockwise from {@code key},
+     * primary first; fewer if the ring has fewer nodes.
+     */
+    public int[] owners(String key, int count) {
+        int[] owners = new int[Math.min(count, nodeCount)];
+        int found = 0;
+        int index = firstPointAtOrAfter(hash(key));
+        while (found < owners.length) {
+            int node = nodes[index];
+            if (!contains(owners, found, node)) {
+                owners[found++] = node;
+            }
+            index = index + 1 == points.length ? 0 : index + 1;
+        }
+        return owners;
+    }
+
+    private int firstPointAtOrAfter(long hash) {
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[middle], hash) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        // Past the last point wraps around to the first
+        return low == points.length ? 0 : low;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units followed by the MurmurHash3 64-bit
+     * finalizer, so similar ids such as {@code user1} and {@code user2} land
+     * far apart on the ring. Every node must compute the same positions, so
+     * this must never change while a cluster holds data.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
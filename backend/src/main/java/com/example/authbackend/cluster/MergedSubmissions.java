@@ -0,0 +1,94 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Id-ordered submissions from several nodes merged into one id-ordered
+ * sequence. A replicated submission arrives from each node holding it and is
+ * returned once. A source is only advanced when the next element is asked
+ * for, so one that reuses a flyweight is never moved while its current
+ * element is still being written out.
+ *
+ * <p>Iterable once; closing releases the peer response streams.
+ */
+public final class MergedSubmissions implements Iterable<AssessmentSubmission>, Closeable {
+
+    private final List<Iterator<AssessmentSubmission>> sources;
+    private final List<Closeable> resources;
+
+    MergedSubmissions(List<Iterator<AssessmentSubmission>> sources, List<Closeable> resources) {
+        this.sources = sources;
+        this.resources = resources;
+    }
+
+    @Override
+    public Iterator<AssessmentSubmission> iterator() {
+        return new Iterator<>() {
+            private final AssessmentSubmission[] heads = new AssessmentSubmission[sources.size()];
+            // Sources whose head was returned and must be advanced before the next comparison
+            private final boolean[] consumed = new boolean[sources.size()];
+
+            {
+                Arrays.fill(consumed, true);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return lowest() >= 0;
+            }
+
+            @Override
+            public AssessmentSubmission next() {
+                int lowest = lowest();
+                if (lowest < 0) {
+                    throw new NoSuchElementException();
+                }
+                long id = heads[lowest].getId();
+                // Every copy of this submission is used up by returning one of them
+                for (int i = 0; i < heads.length; i++) {
+                    if (heads[i] != null && heads[i].getId() == id) {
+                        consumed[i] = true;
+                    }
+                }
+                return heads[lowest];
+            }
+
+            private int lowest() {
+                int lowest = -1;
+                for (int i = 0; i < heads.length; i++) {
+                    if (consumed[i]) {
+                        Iterator<AssessmentSubmission> source = sources.get(i);
+                        heads[i] = source.hasNext() ? source.next() : null;
+                        consumed[i] = false;
+                    }
+                    if (heads[i] != null && (lowest < 0 || heads[i].getId() < heads[lowest].getId())) {
+                        lowest = i;
+                    }
+                }
+                return lowest;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Closeable resource : resources) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.search.SearchIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search results from this node's {@link SearchIndex}, split by owner group
+ * the way {@link PartitionedStats} splits statistics, so gathered results
+ * take each group from one node and count a replicated submission once.
+ * Each partition holds its total hits and those of its hits that made this
+ * node's top {@code limit}; every submission in the cluster-wide top
+ * {@code limit} is among them on whichever node its group is taken from.
+ *
+ * <p>Scores come from each node's own index statistics, so hits from
+ * different nodes rank against each other only approximately.
+ */
+public class PartitionedSearch {
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingDouble((Match match) -> match.score())
+        .reversed()
+        .thenComparingLong(match -> match.assessment().getId());
+
+    private final ClusterTopology topology;
+    private final SearchIndex searchIndex;
+    private final AssessmentRepository assessmentRepository;
+
+    public PartitionedSearch(ClusterTopology topology, SearchIndex searchIndex,
+                             AssessmentRepository assessmentRepository) {
+        this.topology = topology;
+        this.searchIndex = searchIndex;
+        this.assessmentRepository = assessmentRepository;
+    }
+
+    /**
+     * Runs {@code query} on this node and splits the matches by owner group.
+     */
+    public Map<String, Partition> search(SearchIndex.Query query) {
+        // Every match is looked up to find its user, so each user's group is only worked out once
+        Map<String, String> groups = new HashMap<>();
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        SearchIndex.Result result = searchIndex.search(query, id -> {
+            AssessmentSubmission submission = assessmentRepository.findById(id);
+            if (submission != null) {
+                totals.computeIfAbsent(groupOf(submission, groups), group -> new long[1])[0]++;
+            }
+        });
+
+        Map<String, List<Match>> matches = new HashMap<>();
+        for (SearchIndex.Hit hit : result.hits()) {
+            AssessmentSubmission submission = assessmentRepository.findById(hit.submissionId());
+            if (submission != null) {
+                matches.computeIfAbsent(groupOf(submission, groups), group -> new ArrayList<>())
+                    .add(new Match(hit.score(), submission));
+            }
+        }
+
+        Map<String, Partition> partitions = new LinkedHashMap<>();
+        totals.forEach((group, total) ->
+            partitions.put(group, new Partition(total[0], matches.getOrDefault(group, List.of()))));
+        return partitions;
+    }
+
+    private String groupOf(AssessmentSubmission submission, Map<String, String> groups) {
+        return groups.computeIfAbsent(submission.getUserId(), userId -> PartitionedStats.group(topology.owners(userId)));
+    }
+
+    /**
+     * The best {@code limit} hits of the given partitions, highest score
+     * first, and their total hits.
+     */
+    public static Merged merge(Collection<Partition> partitions, int limit) {
+        long totalHits = 0;
+        List<Match> all = new ArrayList<>();
+        for (Partition partition : partitions) {
+            totalHits += partition.totalHits();
+            all.addAll(partition.matches());
+        }
+        all.sort(BEST_FIRST);
+
+        List<SearchIndex.Hit> hits = new ArrayList<>(Math.min(limit, all.size()));
+        Map<Long, AssessmentSubmission> submissions = new HashMap<>();
+        for (Match match : all.subList(0, Math.min(limit, all.size()))) {
+            hits.add(new SearchIndex.Hit(match.assessment().getId(), match.score()));
+            submissions.put(match.assessment().getId(), match.assessment());
+        }
+        return new Merged(new SearchIndex.Result(hits, (int) Math.min(totalHits, Integer.MAX_VALUE)), submissions);
+    }
+
+    public record Match(float score, AssessmentSubmission assessment) {}
+
+    public record Partition(long totalHits, List<Match> matches) {}
+
+    /**
+     * A merged result and the submissions its hits refer to.
+     */
+    public record Merged(SearchIndex.Result result, Map<Long, AssessmentSubmission> submissions) {}
+}
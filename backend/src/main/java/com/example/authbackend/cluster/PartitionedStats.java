@@ -0,0 +1,108 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionCodes;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Statistics over the submissions stored on this node, split by the nodes
+ * that own each submission's user, such as {@code "a,b"} for users whose
+ * primary is {@code a} with a replica on {@code b}. Every owner of a group
+ * holds all of that group's submissions, so the cluster totals take each
+ * group exactly once: from its primary while that node answers, otherwise
+ * from a replica. Plain sums over nodes would count every replicated
+ * submission twice, and splitting by primary alone would not do, because a
+ * primary's users are replicated to different nodes.
+ *
+ * <p>Each partition also keeps its counts by time, so statistics for a time
+ * range are gathered the same way.
+ */
+public class PartitionedStats {
+
+    private final ClusterTopology topology;
+    private final SubmissionDictionaries dictionaries;
+    private final StatsProperties statsProperties;
+    // Keyed by owner group; empty outside cluster mode
+    private final Map<String, Counts> partitions = new ConcurrentHashMap<>();
+
+    public PartitionedStats(ClusterTopology topology, SubmissionDictionaries dictionaries,
+                            StatsProperties statsProperties) {
+        this.topology = topology;
+        this.dictionaries = dictionaries;
+        this.statsProperties = statsProperties;
+    }
+
+    public void record(AssessmentSubmission submission, SubmissionCodes codes) {
+        if (topology.isEnabled()) {
+            Counts counts = partitions.computeIfAbsent(group(topology.owners(submission.getUserId())),
+                group -> new Counts(new AssessmentStatsService(dictionaries),
+                    new TimeBucketedStats(dictionaries, statsProperties)));
+            counts.total().record(submission, codes);
+            counts.byTime().record(submission, codes);
+        }
+    }
+
+    /**
+     * The non-empty partitions held here, by owner group.
+     */
+    public Map<String, Partition> snapshot() {
+        Map<String, Partition> snapshot = new LinkedHashMap<>();
+        partitions.forEach((group, counts) -> {
+            AssessmentStatsService stats = counts.total();
+            long total = stats.getTotalSubmissions();
+            if (total > 0) {
+                snapshot.put(group, new Partition(total, stats.getExperienceLevels(), stats.getSkillCounts()));
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * The non-empty partitions held here for submissions made in
+     * {@code [from, to)}, counted as {@link TimeBucketedStats#window} does.
+     */
+    public Map<String, Partition> snapshot(long from, long to) {
+        Map<String, Partition> snapshot = new LinkedHashMap<>();
+        partitions.forEach((group, counts) -> {
+            TimeBucketedStats.Window window = counts.byTime().window(from, to);
+            if (window.totalSubmissions() > 0) {
+                snapshot.put(group, new Partition(window.totalSubmissions(), window.experienceLevels(),
+                    window.skillCounts()));
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * The part of {@code [from, to)} that {@link #snapshot(long, long)} covers.
+     */
+    public TimeBucketedStats.Span span(long from, long to) {
+        return TimeBucketedStats.span(from, to, System.currentTimeMillis(), statsProperties);
+    }
+
+    /**
+     * The primary node id of an owner group named in a {@link #snapshot()}.
+     */
+    public static String primaryOf(String group) {
+        int separator = group.indexOf(',');
+        return separator < 0 ? group : group.substring(0, separator);
+    }
+
+    static String group(List<ClusterTopology.Node> owners) {
+        return owners.stream().map(ClusterTopology.Node::id).collect(Collectors.joining(","));
+    }
+
+    private record Counts(AssessmentStatsService total, TimeBucketedStats byTime) {}
+
+    public record Partition(long totalSubmissions, Map<String, Long> experienceLevels,
+                            Map<String, Long> skillCounts) {}
+}
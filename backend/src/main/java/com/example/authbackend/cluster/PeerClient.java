@@ -0,0 +1,84 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.security.UserPrincipal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP calls to other cluster members. Every request carries the shared
+ * cluster secret and, when made on behalf of a user, that user's name and
+ * roles, which {@link ClusterAuthenticationFilter} on the receiving node
+ * turns back into the request's principal.
+ */
+public class PeerClient {
+
+    static final String SECRET_HEADER = "X-Cluster-Secret";
+    static final String USER_HEADER = "X-Cluster-User";
+    static final String ROLES_HEADER = "X-Cluster-Roles";
+
+    private final HttpClient httpClient;
+    private final String secret;
+    private final Duration requestTimeout;
+
+    public PeerClient(ClusterProperties properties) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.getConnectTimeout())
+            .build();
+        this.secret = properties.getSecret();
+        this.requestTimeout = properties.getRequestTimeout();
+    }
+
+    /**
+     * Sends a request with an optional JSON body and waits for the whole
+     * response.
+     *
+     * @throws IOException if the node could not be reached
+     */
+    public HttpResponse<byte[]> send(ClusterTopology.Node node, String method, String pathAndQuery,
+                                     UserPrincipal principal, Map<String, String> headers, byte[] body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = request(node, pathAndQuery, principal);
+        headers.forEach(request::header);
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        request.method(method, body != null
+            ? HttpRequest.BodyPublishers.ofByteArray(body)
+            : HttpRequest.BodyPublishers.noBody());
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> getAsync(ClusterTopology.Node node, String pathAndQuery) {
+        HttpRequest request = request(node, pathAndQuery, null).header("Accept", "application/json").GET().build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Completes once the response headers arrive; the body is read as the
+     * caller consumes the stream.
+     */
+    public CompletableFuture<HttpResponse<InputStream>> streamAsync(ClusterTopology.Node node, String pathAndQuery,
+                                                                    String accept) {
+        HttpRequest request = request(node, pathAndQuery, null).header("Accept", accept).GET().build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private HttpRequest.Builder request(ClusterTopology.Node node, String pathAndQuery, UserPrincipal principal) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(node.url().resolve(pathAndQuery))
+            .timeout(requestTimeout)
+            .header(SECRET_HEADER, secret);
+        if (principal != null) {
+            request.header(USER_HEADER, principal.getName());
+            request.header(ROLES_HEADER, String.join(",", principal.roleNames()));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+
+import java.util.List;
+
+/**
+ * Body of a replication request: submissions this node stored for users the
+ * receiving node also owns, and accounts registered here, which every node
+ * keeps so users can sign in anywhere.
+ */
+public record ReplicationBatch(List<AssessmentSubmission> submissions, List<User> users) {
+
+    public record User(String username, String passwordHash, String email, String fullName, List<String> roles) {
+
+        public static User of(RegisteredUser user) {
+            return new User(user.getUsername(), user.getPasswordHash(), user.getEmail(), user.getFullName(),
+                user.getRoles());
+        }
+
+        public RegisteredUser toRegisteredUser() {
+            return new RegisteredUser(username, passwordHash, email, fullName, List.copyOf(roles));
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Copies stored submissions to the other nodes that own them, and new
+ * accounts to every node.
+ *
+ * <p>Replication is asynchronous: the write path only offers each message to
+ * a bounded queue per peer, so a slow or unreachable peer never delays a
+ * submission. A sender thread per peer drains its queue in batches of up to
+ * {@code replication-batch-size}. A batch the peer does not acknowledge is
+ * kept and retried every {@code replication-retry-interval}, with the queue
+ * holding later messages in the meantime, so a restarted peer catches up in
+ * order. Messages beyond {@code replication-backlog} are dropped and
+ * counted.
+ */
+public class SubmissionReplicator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionReplicator.class);
+
+    private final ClusterTopology topology;
+    private final PeerClient peerClient;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long retryIntervalNanos;
+    // Indexed by node; null for this node
+    private final Peer[] peers;
+    private volatile boolean closed;
+
+    private final LongAdder replicated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public SubmissionReplicator(ClusterProperties properties, ClusterTopology topology, PeerClient peerClient,
+                                ObjectMapper objectMapper) {
+        this.topology = topology;
+        this.peerClient = peerClient;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, properties.getReplicationBatchSize());
+        this.retryIntervalNanos = properties.getReplicationRetryInterval().toNanos();
+        this.peers = new Peer[topology.nodes().size()];
+        if (topology.isEnabled()) {
+            for (ClusterTopology.Node node : topology.nodes()) {
+                if (!node.local()) {
+                    peers[node.index()] = new Peer(node, properties.getReplicationBacklog());
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues {@code submission} for the other nodes that own its user.
+     */
+    public void replicate(AssessmentSubmission submission) {
+        if (!topology.isEnabled()) {
+            return;
+        }
+        for (ClusterTopology.Node owner : topology.owners(submission.getUserId())) {
+            if (!owner.local()) {
+                peers[owner.index()].offer(submission);
+            }
+        }
+    }
+
+    /**
+     * Waits until every peer's queue has room for {@code messages} more, so
+     * a bulk writer can slow down instead of overrunning the backlog and
+     * having messages dropped. Returns {@code false} if some peer is still
+     * short of room after {@code timeout}.
+     */
+    public boolean awaitCapacity(int messages, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Peer peer : peers) {
+            if (peer == null) {
+                continue;
+            }
+            int needed = Math.min(messages, peer.capacity);
+            while (peer.pending.remainingCapacity() < needed) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queues {@code user} for every other node.
+     */
+    public void replicateUser(RegisteredUser user) {
+        if (!topology.isEnabled()) {
+            return;
+        }
+        ReplicationBatch.User message = ReplicationBatch.User.of(user);
+        for (Peer peer : peers) {
+            if (peer != null) {
+                peer.offer(message);
+            }
+        }
+    }
+
+    /**
+     * Every account known to the first other node that answers, for a node
+     * that starts after accounts were registered elsewhere. Empty outside
+     * cluster mode or when no other node is reachable.
+     */
+    public List<ReplicationBatch.User> fetchUsers() {
+        for (Peer peer : peers) {
+            if (peer == null) {
+                continue;
+            }
+            try {
+                HttpResponse<byte[]> response = peerClient.send(peer.node, "GET", "/api/cluster/users", null,
+                    Map.of(), null);
+                if (response.statusCode() == 200) {
+                    return objectMapper.readValue(response.body(), ReplicationBatch.class).users();
+                }
+                log.warn("Node {} answered {} to the account catch-up", peer.node.id(), response.statusCode());
+            } catch (IOException e) {
+                log.debug("Node {} unreachable for the account catch-up: {}", peer.node.id(), e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return List.of();
+    }
+
+    public int backlog() {
+        int backlog = 0;
+        for (Peer peer : peers) {
+            if (peer != null) {
+                backlog += peer.pending.size();
+            }
+        }
+        return backlog;
+    }
+
+    public long replicatedCount() {
+        return replicated.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> backlogs = new LinkedHashMap<>();
+        for (Peer peer : peers) {
+            if (peer != null) {
+                backlogs.put(peer.node.id(), peer.pending.size());
+            }
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("backlog", backlogs);
+        metrics.put("replicated", replicated.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("failures", failures.sum());
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Peer peer : peers) {
+            if (peer != null) {
+                peer.sender.interrupt();
+            }
+        }
+        for (Peer peer : peers) {
+            if (peer != null) {
+                try {
+                    peer.sender.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class Peer {
+
+        final ClusterTopology.Node node;
+        // Submissions and users, in the order they were stored
+        final BlockingQueue<Object> pending;
+        final int capacity;
+        final Thread sender;
+        private boolean reachable = true;
+
+        Peer(ClusterTopology.Node node, int backlog) {
+            this.node = node;
+            this.capacity = Math.max(1, backlog);
+            this.pending = new LinkedBlockingQueue<>(capacity);
+            this.sender = new Thread(this::run, "cluster-replication-" + node.id());
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        void offer(Object message) {
+            if (!pending.offer(message)) {
+                dropped.increment();
+            }
+        }
+
+        private void run() {
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (!closed) {
+                try {
+                    if (batch.isEmpty()) {
+                        Object first = pending.poll(1, TimeUnit.SECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        pending.drainTo(batch, batchSize - 1);
+                    }
+                    if (send(batch)) {
+                        replicated.add(batch.size());
+                        batch.clear();
+                    } else {
+                        // Keep the batch and try again once the peer may be back
+                        TimeUnit.NANOSECONDS.sleep(retryIntervalNanos);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(List<Object> batch) throws InterruptedException {
+            List<AssessmentSubmission> submissions = new ArrayList<>();
+            List<ReplicationBatch.User> users = new ArrayList<>();
+            for (Object message : batch) {
+                if (message instanceof AssessmentSubmission submission) {
+                    submissions.add(submission);
+                } else {
+                    users.add((ReplicationBatch.User) message);
+                }
+            }
+
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(new ReplicationBatch(submissions, users));
+            } catch (JsonProcessingException e) {
+                // Retrying can't fix this, so drop the batch rather than block the peer
+                log.error("Failed to encode replication batch for {}", node.id(), e);
+                dropped.add(batch.size());
+                batch.clear();
+                return true;
+            }
+
+            try {
+                HttpResponse<byte[]> response =
+                    peerClient.send(node, "POST", "/api/cluster/replicate", null, Map.of(), body);
+                if (response.statusCode() / 100 == 2) {
+                    if (!reachable) {
+                        log.info("Replication to {} resumed", node.id());
+                        reachable = true;
+                    }
+                    return true;
+                }
+                log.warn("Replication to {} was refused with status {}", node.id(), response.statusCode());
+            } catch (IOException e) {
+                if (reachable) {
+                    log.warn("Replication to {} failed, retrying: {}", node.id(), e.toString());
+                    reachable = false;
+                }
+            }
+            failures.increment();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.cluster.ClusterProperties;
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.cluster.PartitionedSearch;
+import com.example.authbackend.cluster.PartitionedStats;
+import com.example.authbackend.cluster.PeerClient;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.SubmissionIdGenerator;
+import com.example.authbackend.search.SearchIndex;
+import com.example.authbackend.service.StatsProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+
+    @Bean
+    public ClusterTopology clusterTopology(ClusterProperties properties) {
+        return new ClusterTopology(properties);
+    }
+
+    @Bean
+    public SubmissionIdGenerator submissionIdGenerator(ClusterTopology topology) {
+        return new SubmissionIdGenerator(topology.local().index());
+    }
+
+    @Bean
+    public PeerClient peerClient(ClusterProperties properties) {
+        return new PeerClient(properties);
+    }
+
+    @Bean
+    public SubmissionReplicator submissionReplicator(ClusterProperties properties, ClusterTopology topology,
+                                                     PeerClient peerClient, ObjectMapper objectMapper) {
+        return new SubmissionReplicator(properties, topology, peerClient, objectMapper);
+    }
+
+    @Bean
+    public PartitionedStats partitionedStats(ClusterTopology topology, SubmissionDictionaries dictionaries,
+                                             StatsProperties statsProperties) {
+        return new PartitionedStats(topology, dictionaries, statsProperties);
+    }
+
+    @Bean
+    public PartitionedSearch partitionedSearch(ClusterTopology topology, SearchIndex searchIndex,
+                                               AssessmentRepository assessmentRepository) {
+        return new PartitionedSearch(topology, searchIndex, assessmentRepository);
+    }
+
+    @Bean
+    public ClusterRouter clusterRouter(ClusterTopology topology, PeerClient peerClient,
+                                       SubmissionReplicator submissionReplicator, PartitionedStats partitionedStats,
+                                       AssessmentRepository assessmentRepository, ObjectMapper objectMapper) {
+        return new ClusterRouter(topology, peerClient, submissionReplicator, partitionedStats, assessmentRepository,
+            objectMapper);
+    }
+}
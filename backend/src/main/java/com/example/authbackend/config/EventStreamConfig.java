@@ -0,0 +1,21 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.events.EventStreamProperties;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.service.AssessmentStatsService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EventStreamProperties.class)
+public class EventStreamConfig {
+
+    @Bean
+    public SubmissionBroadcaster submissionBroadcaster(EventStreamProperties properties,
+                                                       AssessmentStatsService assessmentStatsService,
+                                                       AssessmentJsonWriter assessmentJsonWriter) {
+        return new SubmissionBroadcaster(properties, assessmentStatsService, assessmentJsonWriter);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.ingest.BulkImporter;
+import com.example.authbackend.ingest.IdempotencyProperties;
+import com.example.authbackend.ingest.ImportProperties;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.IngestProperties;
+import com.example.authbackend.ingest.SubmissionDeduplicator;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.service.AssessmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({IngestProperties.class, IdempotencyProperties.class, ImportProperties.class})
+public class IngestConfig {
+
+    @Bean
+    public IngestPipeline ingestPipeline(IngestProperties properties, AssessmentService assessmentService) {
+        return new IngestPipeline(properties, assessmentService);
+    }
+
+    @Bean
+    public SubmissionDeduplicator submissionDeduplicator(IdempotencyProperties properties) {
+        return new SubmissionDeduplicator(properties);
+    }
+
+    @Bean
+    public BulkImporter bulkImporter(ImportProperties properties, AssessmentService assessmentService,
+                                     AssessmentRepository assessmentRepository, ClusterTopology topology,
+                                     SubmissionReplicator submissionReplicator, ObjectMapper objectMapper) {
+        return new BulkImporter(properties, assessmentService, assessmentRepository, topology, submissionReplicator,
+            objectMapper.getFactory());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.security.CachingJwkSource;
+import com.example.authbackend.security.CachingJwtDecoder;
+import com.example.authbackend.security.JwtProperties;
+import com.example.authbackend.security.TokenService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtConfig {
+
+    @Bean
+    public JwtDecoder jwtDecoder(JwtProperties properties, TokenService tokenService,
+                                 ObjectProvider<CachingJwkSource> jwkSource) {
+        JwtDecoder decoder = switch (properties.getDecoder().getMode()) {
+            case LOCAL -> tokenService.localDecoder();
+            case JWK_SET_URI -> jwkSource.getObject().decoder(properties.getDecoder().getIssuer());
+        };
+        int maxEntries = properties.getClaimsCache().getMaxEntries();
+        return maxEntries > 0 ? new CachingJwtDecoder(decoder, maxEntries) : decoder;
+    }
+
+    // Only created, and only starts refreshing, in jwk-set-uri mode
+    @Bean
+    @Lazy
+    public CachingJwkSource jwkSource(JwtProperties properties) {
+        JwtProperties.Decoder decoder = properties.getDecoder();
+        return new CachingJwkSource(decoder.getJwkSetUri(), decoder.getJwkCache());
+    }
+}
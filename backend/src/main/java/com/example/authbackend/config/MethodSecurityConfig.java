@@ -0,0 +1,33 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.security.RequireRole;
+import com.example.authbackend.security.RoleAuthorizationManager;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.Pointcuts;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+
+@Configuration
+public class MethodSecurityConfig {
+
+    /**
+     * Adds {@link RequireRole} to the method security enabled by
+     * {@code @EnableMethodSecurity}, checked just before {@code @PreAuthorize}.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requireRoleAuthorizationAdvisor() {
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+            Pointcuts.union(
+                new AnnotationMatchingPointcut(null, RequireRole.class, true),
+                new AnnotationMatchingPointcut(RequireRole.class, true)),
+            new RoleAuthorizationManager());
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder() - 1);
+        return interceptor;
+    }
+}
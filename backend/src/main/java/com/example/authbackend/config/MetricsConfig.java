@@ -0,0 +1,108 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.controller.VersionedResponseCache;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.SubmissionDeduplicator;
+import com.example.authbackend.metrics.ResponseOutcomeFilter;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.UserRegistry;
+import com.example.authbackend.search.SearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Application meters on top of what Actuator records by itself. Per-endpoint
+ * latency comes from Actuator's {@code http.server.requests} timer, whose
+ * percentile histograms are switched on in {@code application.yml}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder assessmentMeters(AssessmentRepository assessmentRepository, UserRegistry userRegistry,
+                                        IngestPipeline ingestPipeline, SubmissionDeduplicator submissionDeduplicator,
+                                        VersionedResponseCache responseCache,
+                                        SubmissionBroadcaster submissionBroadcaster, SearchIndex searchIndex,
+                                        ClusterRouter clusterRouter, SubmissionReplicator submissionReplicator) {
+        // Sampled at scrape time from state the components already keep, so the request path pays nothing
+        return registry -> {
+            Gauge.builder("assessment.submissions", assessmentRepository, AssessmentRepository::count)
+                .description("Submissions in the assessment store")
+                .register(registry);
+            Gauge.builder("auth.users", userRegistry, UserRegistry::count)
+                .description("Registered users")
+                .register(registry);
+            Gauge.builder("assessment.ingest.depth", ingestPipeline, IngestPipeline::depth)
+                .description("Submissions queued for the ingest consumer")
+                .register(registry);
+            Gauge.builder("assessment.idempotency.entries", submissionDeduplicator, SubmissionDeduplicator::size)
+                .description("Submission responses held for retries")
+                .register(registry);
+            FunctionCounter.builder("assessment.ingest.submissions", ingestPipeline, IngestPipeline::acceptedCount)
+                .description("Submissions offered to the ingest pipeline")
+                .tag("outcome", "accepted")
+                .register(registry);
+            FunctionCounter.builder("assessment.ingest.submissions", ingestPipeline, IngestPipeline::rejectedCount)
+                .description("Submissions offered to the ingest pipeline")
+                .tag("outcome", "rejected")
+                .register(registry);
+            FunctionCounter.builder("assessment.idempotency.replays", submissionDeduplicator,
+                    SubmissionDeduplicator::replayCount)
+                .description("Retried submissions answered from the idempotency cache")
+                .register(registry);
+            FunctionCounter.builder("assessment.response.cache", responseCache, VersionedResponseCache::hitCount)
+                .description("Read responses served from serialized bytes")
+                .tag("result", "hit")
+                .register(registry);
+            FunctionCounter.builder("assessment.response.cache", responseCache, VersionedResponseCache::missCount)
+                .description("Read responses served from serialized bytes")
+                .tag("result", "miss")
+                .register(registry);
+            Gauge.builder("assessment.search.terms", searchIndex, SearchIndex::termCount)
+                .description("Distinct terms in the submission search index")
+                .register(registry);
+            Gauge.builder("assessment.events.subscribers", submissionBroadcaster, SubmissionBroadcaster::subscriberCount)
+                .description("Connected admin event streams")
+                .register(registry);
+            FunctionCounter.builder("assessment.events.dropped", submissionBroadcaster,
+                    SubmissionBroadcaster::droppedCount)
+                .description("Events dropped for event streams that fell behind")
+                .register(registry);
+            FunctionCounter.builder("assessment.events.resyncs", submissionBroadcaster,
+                    SubmissionBroadcaster::resyncCount)
+                .description("Event streams sent a fresh snapshot after falling behind")
+                .register(registry);
+            FunctionCounter.builder("assessment.cluster.forwarded", clusterRouter, ClusterRouter::forwardedCount)
+                .description("Requests forwarded to the node owning the user")
+                .register(registry);
+            FunctionCounter.builder("assessment.cluster.failovers", clusterRouter, ClusterRouter::failoverCount)
+                .description("Forwarding attempts that found the owning node unreachable")
+                .register(registry);
+            Gauge.builder("assessment.cluster.replication.backlog", submissionReplicator, SubmissionReplicator::backlog)
+                .description("Replication messages waiting for their peer")
+                .register(registry);
+            FunctionCounter.builder("assessment.cluster.replication.dropped", submissionReplicator,
+                    SubmissionReplicator::droppedCount)
+                .description("Replication messages dropped because a peer's backlog was full")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseOutcomeFilter> responseOutcomeFilter(MeterRegistry registry) {
+        FilterRegistrationBean<ResponseOutcomeFilter> registration =
+            new FilterRegistrationBean<>(new ResponseOutcomeFilter(registry));
+        // Outside Spring Security's filter chain, so its 401 and 403 responses are seen
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
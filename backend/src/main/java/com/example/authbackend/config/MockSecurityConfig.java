@@ -1,5 +1,10 @@
 package com.example.authbackend.config;
 
+import com.example.authbackend.cluster.ClusterAuthenticationFilter;
+import com.example.authbackend.cluster.ClusterProperties;
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.security.BasicAuthEntryPoint;
+import com.example.authbackend.security.JwtRolesConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -7,13 +12,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -27,7 +27,10 @@ import java.util.List;
 public class MockSecurityConfig {
 
     @Bean
-    public SecurityFilterChain mockFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain mockFilterChain(HttpSecurity http, BasicAuthEntryPoint basicAuthEntryPoint,
+                                               JwtRolesConverter jwtRolesConverter,
+                                               ClusterTopology clusterTopology,
+                                               ClusterProperties clusterProperties) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
@@ -42,38 +45,23 @@ public class MockSecurityConfig {
                 .requestMatchers("/api/submit-assessment").hasRole("USER")
                 .requestMatchers("/api/my-assessments").hasRole("USER")
                 .requestMatchers("/api/assessments").hasRole("ADMIN")
+                .requestMatchers("/api/assessments/**").hasRole("ADMIN")
                 .requestMatchers("/api/assessment/**").hasRole("ADMIN")
                 .requestMatchers("/api/assessment-stats").hasRole("ADMIN")
+                .requestMatchers("/api/assessment-events").hasRole("ADMIN")
+                .requestMatchers("/api/cluster/**").authenticated() // Peer nodes only, checked again by the handlers
                 .anyRequest().authenticated()
             )
-            .httpBasic(httpBasic -> {}) // Enable basic auth for testing
-            .formLogin(form -> form.disable());
+            .httpBasic(httpBasic -> httpBasic.authenticationEntryPoint(basicAuthEntryPoint)) // Enable basic auth for testing
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtRolesConverter)))
+            .formLogin(form -> form.disable())
+            // Requests from other cluster members carry the cluster secret instead of user credentials
+            .addFilterBefore(new ClusterAuthenticationFilter(clusterTopology, clusterProperties),
+                BasicAuthenticationFilter.class);
 
         return http.build();
     }
 
-    @Bean
-    public UserDetailsService mockUserDetailsService() {
-        UserDetails user = User.builder()
-            .username("testuser")
-            .password(passwordEncoder().encode("password123"))
-            .roles("USER")
-            .build();
-
-        UserDetails admin = User.builder()
-            .username("admin")
-            .password(passwordEncoder().encode("admin123"))
-            .roles("USER", "ADMIN")
-            .build();
-
-        return new InMemoryUserDetailsManager(user, admin);
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,38 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.security.PasswordProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(PasswordProperties.class)
+public class PasswordConfig {
+
+    /**
+     * Hashes are stored with an {@code {id}} prefix, so switching the configured
+     * encoder or its cost only affects new hashes; existing ones keep verifying
+     * with the parameters they were created with.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordProperties properties) {
+        PasswordProperties.Argon2 argon2 = properties.getArgon2();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(properties.getBcrypt().getStrength()));
+        encoders.put("argon2", new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+            argon2.getParallelism(), argon2.getMemoryKib(), argon2.getIterations()));
+
+        String encoderId = switch (properties.getEncoder()) {
+            case BCRYPT -> "bcrypt";
+            case ARGON2 -> "argon2";
+        };
+        return new DelegatingPasswordEncoder(encoderId, encoders);
+    }
+}
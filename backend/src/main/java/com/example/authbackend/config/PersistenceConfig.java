@@ -0,0 +1,23 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.persistence.InMemorySubmissionLog;
+import com.example.authbackend.persistence.PersistenceProperties;
+import com.example.authbackend.persistence.SubmissionLog;
+import com.example.authbackend.persistence.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfig {
+
+    @Bean
+    public SubmissionLog submissionLog(PersistenceProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.getMode()) {
+            case WAL -> new WriteAheadLog(properties.getWal(), objectMapper);
+            case MEMORY -> new InMemorySubmissionLog();
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StatsProperties.class)
+public class StatsConfig {
+
+    @Bean
+    public TimeBucketedStats timeBucketedStats(SubmissionDictionaries dictionaries, StatsProperties properties) {
+        return new TimeBucketedStats(dictionaries, properties);
+    }
+}
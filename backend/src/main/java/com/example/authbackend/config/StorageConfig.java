@@ -0,0 +1,26 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.repository.MappedSubmissionStore;
+import com.example.authbackend.repository.StorageProperties;
+import com.example.authbackend.repository.SubmissionStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfig {
+
+    @Bean
+    public SubmissionStore submissionStore(StorageProperties properties) {
+        return switch (properties.getMode()) {
+            case MAPPED -> new MappedSubmissionStore(
+                Path.of(properties.getMapped().getDirectory()),
+                properties.getMapped().getChunkSizeBytes());
+            case HEAP -> new HeapSubmissionStore();
+        };
+    }
+}
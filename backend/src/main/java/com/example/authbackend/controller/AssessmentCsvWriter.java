@@ -0,0 +1,122 @@
+package com.example.authbackend.controller;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes submissions as RFC 4180 CSV straight to a response stream, in the
+ * shape {@code POST /api/assessments/import} reads back: a header row of
+ * {@link AssessmentJsonWriter.Field} names, absent values as empty cells,
+ * skills joined by {@code ;} and technical answers as a JSON object. Skills
+ * that a {@code ;} list can't represent exactly are written as a JSON array.
+ */
+@Component
+public class AssessmentCsvWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public AssessmentCsvWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the header and one record per submission, flushing periodically
+     * so the client starts receiving data before the export completes.
+     */
+    public void writeCsv(OutputStream out, Iterable<AssessmentSubmission> submissions,
+                         int limit, Set<AssessmentJsonWriter.Field> fields) throws IOException {
+        // Not closed: the servlet container owns the response stream
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        String separator = "";
+        for (AssessmentJsonWriter.Field field : fields) {
+            writer.write(separator);
+            writer.write(field.getJsonName());
+            separator = ",";
+        }
+        writer.write("\r\n");
+
+        int count = 0;
+        for (AssessmentSubmission submission : submissions) {
+            if (count == limit) {
+                break;
+            }
+            separator = "";
+            for (AssessmentJsonWriter.Field field : fields) {
+                writer.write(separator);
+                writeCell(writer, cell(submission, field));
+                separator = ",";
+            }
+            writer.write("\r\n");
+            if (++count % 256 == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private String cell(AssessmentSubmission submission, AssessmentJsonWriter.Field field) throws IOException {
+        return switch (field) {
+            case ID -> submission.getId() != null ? submission.getId().toString() : null;
+            case USER_ID -> submission.getUserId();
+            case FULL_NAME -> submission.getFullName();
+            case EMAIL -> submission.getEmail();
+            case EXPERIENCE -> submission.getExperience();
+            case CODING_EXPERIENCE -> submission.getCodingExperience();
+            case PROJECT_DESCRIPTION -> submission.getProjectDescription();
+            case SKILLS -> skills(submission.getSkills());
+            case TERMS_ACCEPTED -> submission.getTermsAccepted() != null
+                ? submission.getTermsAccepted().toString()
+                : null;
+            case SUBMITTED_AT -> submission.getSubmittedAt();
+            case USER_AGENT -> submission.getUserAgent();
+            case TECHNICAL_ANSWERS -> submission.getTechnicalAnswers() != null
+                ? objectMapper.writeValueAsString(submission.getTechnicalAnswers())
+                : null;
+        };
+    }
+
+    private String skills(List<String> skills) throws IOException {
+        if (skills == null) {
+            return null;
+        }
+        boolean plain = !skills.isEmpty();
+        for (String skill : skills) {
+            // The importer splits on ';' and trims, and reads a leading '[' as JSON
+            if (skill == null || skill.isEmpty() || skill.indexOf(';') >= 0 || !skill.trim().equals(skill)) {
+                plain = false;
+                break;
+            }
+        }
+        if (plain && !skills.get(0).startsWith("[")) {
+            return String.join(";", skills);
+        }
+        return objectMapper.writeValueAsString(skills);
+    }
+
+    private static void writeCell(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = value.isEmpty();
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.authbackend.controller;
+
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.events.EventStreamProperties;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.security.RequireRole;
+import com.example.authbackend.security.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Server-Sent Events stream for the admin UI, replacing polling of the list
+ * and stats endpoints. Frames arrive fully encoded from the
+ * {@link SubmissionBroadcaster} and are written as raw bytes; each stream
+ * has its own virtual writer thread, so a slow client only blocks itself.
+ *
+ * <p>Events describe a single node's submissions and statistics, so in
+ * cluster mode the stream is refused rather than silently covering one node;
+ * clients poll the gathered list and stats endpoints instead.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:3002", "https://*.vercel.app"})
+public class AssessmentEventController {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentEventController.class);
+
+    private final SubmissionBroadcaster submissionBroadcaster;
+    private final ClusterRouter clusterRouter;
+    private final long timeoutMillis;
+
+    public AssessmentEventController(SubmissionBroadcaster submissionBroadcaster, ClusterRouter clusterRouter,
+                                     EventStreamProperties properties) {
+        this.submissionBroadcaster = submissionBroadcaster;
+        this.clusterRouter = clusterRouter;
+        // The writer ends the stream at max-connection-duration; the async timeout is only a backstop
+        this.timeoutMillis = properties.getMaxConnectionDuration()
+            .plus(properties.getHeartbeatInterval())
+            .toMillis();
+    }
+
+    @GetMapping(value = "/assessment-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<ResponseBodyEmitter> streamEvents() {
+        if (clusterRouter.gathers()) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                "Event streams cover a single node; poll /api/assessments and /api/assessment-stats in cluster mode");
+        }
+        SubmissionBroadcaster.Subscription subscription = submissionBroadcaster.subscribe();
+        if (subscription == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event stream subscribers");
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        Thread.ofVirtual().name("assessment-events-writer").start(() -> {
+            try {
+                subscription.stream(frame -> emitter.send(frame, MediaType.TEXT_EVENT_STREAM));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away, or the request already timed out
+                log.debug("Assessment event stream ended: {}", e.getMessage());
+            }
+        });
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .cacheControl(CacheControl.noStore())
+            // Stop reverse proxies from buffering the stream
+            .header("X-Accel-Buffering", "no")
+            .body(emitter);
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<?> handleResponseStatus(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", e.getReason()));
+    }
+
+    // Raised by @RequireRole when the principal lacks the role
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(403)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", "Insufficient role"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.authbackend.controller;
+
+import com.example.authbackend.ingest.BulkImporter;
+import com.example.authbackend.ingest.ImportJob;
+import com.example.authbackend.security.RequireRole;
+import com.example.authbackend.security.Role;
+import com.example.authbackend.security.UserPrincipal;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import of submissions, e.g. to restore a backup taken from the
+ * NDJSON or CSV export of {@code GET /api/assessments}. The upload is read
+ * as it arrives, so its size is bounded only by the records it holds.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:3002", "https://*.vercel.app"})
+public class AssessmentImportController {
+
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private final BulkImporter bulkImporter;
+
+    public AssessmentImportController(BulkImporter bulkImporter) {
+        this.bulkImporter = bulkImporter;
+    }
+
+    /**
+     * Imports the uploaded submissions and answers with the import's report
+     * once all of them are stored. Invalid records are counted and listed in
+     * the report without stopping the import; an unusable upload as a whole
+     * gets 400.
+     */
+    @PostMapping(value = "/assessments/import", consumes = {"application/x-ndjson", "text/csv"})
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<?> importAssessments(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @AuthenticationPrincipal UserPrincipal principal,
+            InputStream upload) {
+        BulkImporter.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+            ? BulkImporter.Format.CSV
+            : BulkImporter.Format.NDJSON;
+        ImportJob job = bulkImporter.begin(format, principal.getName());
+        if (job == null) {
+            return ResponseEntity.status(409).body(Map.of("error", "Another import is in progress"));
+        }
+
+        try {
+            bulkImporter.run(job, format, upload);
+        } catch (IllegalArgumentException | IOException e) {
+            Map<String, Object> response = new HashMap<>(job.report());
+            response.put("error", e instanceof IOException ? "Upload could not be read" : e.getMessage());
+            return ResponseEntity.status(400).body(response);
+        }
+
+        // An upload that could be read stops early only if replication falls behind or the server shuts down
+        return ResponseEntity.status(job.state() == ImportJob.State.COMPLETED ? 200 : 503).body(job.report());
+    }
+
+    @GetMapping("/assessments/imports")
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<?> getImports() {
+        List<Map<String, Object>> imports = bulkImporter.jobs();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("imports", imports);
+        response.put("count", imports.size());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Raised by @RequireRole when the principal lacks the role
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(403)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", "Insufficient role"));
+    }
+}
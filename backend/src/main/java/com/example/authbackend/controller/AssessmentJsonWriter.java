@@ -0,0 +1,266 @@
+package com.example.authbackend.controller;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.search.SearchIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Writes assessment submissions straight to a response stream with a Jackson
+ * generator, so list and export endpoints never build an intermediate list or
+ * per-record map. Only the requested fields are written.
+ */
+@Component
+public class AssessmentJsonWriter {
+
+    public enum Field {
+        ID("id"),
+        USER_ID("userId"),
+        FULL_NAME("fullName"),
+        EMAIL("email"),
+        EXPERIENCE("experience"),
+        CODING_EXPERIENCE("codingExperience"),
+        PROJECT_DESCRIPTION("projectDescription"),
+        SKILLS("skills"),
+        TERMS_ACCEPTED("termsAccepted"),
+        SUBMITTED_AT("submittedAt"),
+        USER_AGENT("userAgent"),
+        TECHNICAL_ANSWERS("technicalAnswers");
+
+        private final String jsonName;
+
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        public String getJsonName() {
+            return jsonName;
+        }
+    }
+
+    // Everything except the large free-text fields, for list views
+    public static final Set<Field> SUMMARY_FIELDS =
+        EnumSet.complementOf(EnumSet.of(Field.PROJECT_DESCRIPTION, Field.TECHNICAL_ANSWERS));
+
+    private final ObjectMapper objectMapper;
+
+    public AssessmentJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Parses a comma separated field list. {@code null} or blank selects all
+     * fields and {@code summary} selects {@link #SUMMARY_FIELDS}.
+     *
+     * @throws IllegalArgumentException if a field name is unknown
+     */
+    public static Set<Field> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(Field.class);
+        }
+        if ("summary".equals(fields.trim())) {
+            return EnumSet.copyOf(SUMMARY_FIELDS);
+        }
+        Set<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fieldFor(trimmed));
+        }
+        return selected;
+    }
+
+    private static Field fieldFor(String jsonName) {
+        for (Field field : Field.values()) {
+            if (field.jsonName.equals(jsonName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + jsonName);
+    }
+
+    /**
+     * Writes {@code {"assessments":[...],"count":n,"nextCursor":id}}. The
+     * cursor is the id of the last written submission when the page was cut
+     * short by {@code limit}, otherwise {@code null}.
+     */
+    public void writePage(OutputStream out, Iterable<AssessmentSubmission> submissions,
+                          int limit, Set<Field> fields) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("assessments");
+
+            int count = 0;
+            Long lastId = null;
+            boolean more = false;
+            for (AssessmentSubmission submission : submissions) {
+                if (count == limit) {
+                    more = true;
+                    break;
+                }
+                writeSubmission(generator, submission, fields);
+                lastId = submission.getId();
+                count++;
+            }
+
+            generator.writeEndArray();
+            generator.writeNumberField("count", count);
+            if (more) {
+                generator.writeNumberField("nextCursor", lastId);
+            } else {
+                generator.writeNullField("nextCursor");
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes one JSON object per line, flushing periodically so the client
+     * starts receiving data before the export completes.
+     */
+    public void writeNdjson(OutputStream out, Iterable<AssessmentSubmission> submissions,
+                            int limit, Set<Field> fields) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            int count = 0;
+            for (AssessmentSubmission submission : submissions) {
+                if (count == limit) {
+                    break;
+                }
+                writeSubmission(generator, submission, fields);
+                generator.writeRaw('\n');
+                if (++count % 256 == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes {@code {"results":[{"score":s,"assessment":{...}}],"count":n,"totalHits":t}},
+     * looking each hit's submission up with {@code lookup}. Hits whose
+     * submission can no longer be found are left out.
+     */
+    public void writeSearchResults(OutputStream out, SearchIndex.Result result,
+                                   LongFunction<AssessmentSubmission> lookup, Set<Field> fields) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+            int count = 0;
+            for (SearchIndex.Hit hit : result.hits()) {
+                AssessmentSubmission submission = lookup.apply(hit.submissionId());
+                if (submission == null) {
+                    continue;
+                }
+                generator.writeStartObject();
+                generator.writeNumberField("score", hit.score());
+                generator.writeFieldName("assessment");
+                writeSubmission(generator, submission, fields);
+                generator.writeEndObject();
+                count++;
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("count", count);
+            generator.writeNumberField("totalHits", result.totalHits());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a single submission as one JSON object.
+     */
+    public void writeSubmission(OutputStream out, AssessmentSubmission submission,
+                                Set<Field> fields) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            writeSubmission(generator, submission, fields);
+        }
+    }
+
+    /**
+     * Writes any other response body with the application's object mapper.
+     */
+    public void writeValue(OutputStream out, Object value) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            objectMapper.writeValue(generator, value);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        // The servlet container owns the response stream
+        return objectMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public void writeSubmission(JsonGenerator generator, AssessmentSubmission submission,
+                                Set<Field> fields) throws IOException {
+        generator.writeStartObject();
+        for (Field field : fields) {
+            generator.writeFieldName(field.jsonName);
+            switch (field) {
+                case ID -> writeNumber(generator, submission.getId());
+                case USER_ID -> generator.writeString(submission.getUserId());
+                case FULL_NAME -> generator.writeString(submission.getFullName());
+                case EMAIL -> generator.writeString(submission.getEmail());
+                case EXPERIENCE -> generator.writeString(submission.getExperience());
+                case CODING_EXPERIENCE -> generator.writeString(submission.getCodingExperience());
+                case PROJECT_DESCRIPTION -> generator.writeString(submission.getProjectDescription());
+                case SKILLS -> writeStrings(generator, submission.getSkills());
+                case TERMS_ACCEPTED -> writeBoolean(generator, submission.getTermsAccepted());
+                case SUBMITTED_AT -> generator.writeString(submission.getSubmittedAt());
+                case USER_AGENT -> generator.writeString(submission.getUserAgent());
+                case TECHNICAL_ANSWERS -> writeAnswers(generator, submission.getTechnicalAnswers());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator generator, Boolean value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(value);
+        }
+    }
+
+    private static void writeStrings(JsonGenerator generator, List<String> values) throws IOException {
+        if (values == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeAnswers(JsonGenerator generator, Map<String, String> answers) throws IOException {
+        if (answers == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            generator.writeStringField(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+}
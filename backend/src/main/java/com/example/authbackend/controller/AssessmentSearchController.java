@@ -0,0 +1,133 @@
+package com.example.authbackend.controller;
+
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.cluster.PartitionedSearch;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.search.SearchIndex;
+import com.example.authbackend.security.RequireRole;
+import com.example.authbackend.security.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyword search over project descriptions and technical answers, backed by
+ * the {@link SearchIndex} that {@code AssessmentService} keeps up to date on
+ * every submission. In cluster mode every node's index is searched and the
+ * hits are merged by score; unreachable nodes are named in
+ * {@code X-Cluster-Unavailable}.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:3002", "https://*.vercel.app"})
+public class AssessmentSearchController {
+
+    private final SearchIndex searchIndex;
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentJsonWriter assessmentJsonWriter;
+    private final ClusterRouter clusterRouter;
+    private final PartitionedSearch partitionedSearch;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public AssessmentSearchController(SearchIndex searchIndex,
+                                      AssessmentRepository assessmentRepository,
+                                      AssessmentJsonWriter assessmentJsonWriter,
+                                      ClusterRouter clusterRouter,
+                                      PartitionedSearch partitionedSearch,
+                                      @Value("${assessment.search.default-limit:20}") int defaultLimit,
+                                      @Value("${assessment.search.max-limit:100}") int maxLimit) {
+        this.searchIndex = searchIndex;
+        this.assessmentRepository = assessmentRepository;
+        this.assessmentJsonWriter = assessmentJsonWriter;
+        this.clusterRouter = clusterRouter;
+        this.partitionedSearch = partitionedSearch;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Ranks submissions by how well they match {@code q} (BM25), keeping only
+     * those with one of the given {@code experience} levels and all of the
+     * given {@code skills}. Without {@code q}, the filters alone select
+     * submissions, oldest first. List parameters are comma separated and
+     * matched case-insensitively.
+     */
+    @GetMapping("/assessments/search")
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<StreamingResponseBody> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> experience,
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        Set<String> experienceLevels = values(experience);
+        Set<String> requiredSkills = values(skills);
+        if ((q == null || q.isBlank()) && experienceLevels.isEmpty() && requiredSkills.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q, experience or skills is required");
+        }
+        int pageSize = limit != null ? limit : defaultLimit;
+        if (pageSize <= 0 || pageSize > maxLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + maxLimit);
+        }
+        Set<AssessmentJsonWriter.Field> selectedFields;
+        try {
+            selectedFields = AssessmentJsonWriter.parseFields(fields != null ? fields : "summary");
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        SearchIndex.Query query = new SearchIndex.Query(q, experienceLevels, requiredSkills, pageSize);
+        if (clusterRouter.gathers()) {
+            ClusterRouter.Gathered<PartitionedSearch.Merged> gathered = clusterRouter.gatherSearch(
+                q, experienceLevels, requiredSkills, pageSize, partitionedSearch.search(query));
+            PartitionedSearch.Merged merged = gathered.value();
+            StreamingResponseBody body = out -> assessmentJsonWriter.writeSearchResults(
+                out, merged.result(), merged.submissions()::get, selectedFields);
+            return ResponseEntity.ok().headers(gathered.headers()).contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
+        SearchIndex.Result result = searchIndex.search(query);
+        StreamingResponseBody body = out ->
+            assessmentJsonWriter.writeSearchResults(out, result, assessmentRepository::findById, selectedFields);
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static Set<String> values(List<String> values) {
+        Set<String> nonBlank = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    nonBlank.add(value.trim());
+                }
+            }
+        }
+        return nonBlank;
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<?> handleResponseStatus(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", e.getReason()));
+    }
+
+    // Raised by @RequireRole when the principal lacks the role
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(403)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", "Insufficient role"));
+    }
+}
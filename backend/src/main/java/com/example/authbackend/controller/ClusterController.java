@@ -0,0 +1,128 @@
+package com.example.authbackend.controller;
+
+import com.example.authbackend.cluster.ClusterAuthenticationFilter;
+import com.example.authbackend.cluster.PartitionedSearch;
+import com.example.authbackend.cluster.PartitionedStats;
+import com.example.authbackend.cluster.ReplicationBatch;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.repository.UserRegistry;
+import com.example.authbackend.search.SearchIndex;
+import com.example.authbackend.service.AssessmentService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Endpoints the other cluster members call: replication of submissions and
+ * accounts, this node's statistics and search partitions for gathered stats
+ * and searches, and the account list a starting node catches up from. Only
+ * requests authenticated with the cluster secret are accepted.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterController.class);
+
+    private final AssessmentService assessmentService;
+    private final UserRegistry userRegistry;
+    private final PartitionedStats partitionedStats;
+    private final PartitionedSearch partitionedSearch;
+    private final SubmissionReplicator submissionReplicator;
+
+    public ClusterController(AssessmentService assessmentService, UserRegistry userRegistry,
+                             PartitionedStats partitionedStats, PartitionedSearch partitionedSearch,
+                             SubmissionReplicator submissionReplicator) {
+        this.assessmentService = assessmentService;
+        this.userRegistry = userRegistry;
+        this.partitionedStats = partitionedStats;
+        this.partitionedSearch = partitionedSearch;
+        this.submissionReplicator = submissionReplicator;
+    }
+
+    /**
+     * Accounts live in memory, so a node that restarts has only the seeded
+     * ones; it takes the rest from a running peer before serving requests.
+     */
+    @PostConstruct
+    void catchUpUsers() {
+        int registered = 0;
+        for (ReplicationBatch.User user : submissionReplicator.fetchUsers()) {
+            if (userRegistry.register(user.toRegisteredUser())) {
+                registered++;
+            }
+        }
+        if (registered > 0) {
+            log.info("Caught up {} accounts from the cluster", registered);
+        }
+    }
+
+    @PostMapping("/replicate")
+    public ResponseEntity<?> replicate(@RequestBody ReplicationBatch batch) {
+        requirePeer();
+        int stored = batch.submissions() != null ? assessmentService.storeReplicas(batch.submissions()) : 0;
+        int registered = 0;
+        if (batch.users() != null) {
+            for (ReplicationBatch.User user : batch.users()) {
+                // The first registration of a name wins, as it does on the node that accepted it
+                if (userRegistry.register(user.toRegisteredUser())) {
+                    registered++;
+                }
+            }
+        }
+        return ResponseEntity.ok(Map.of("stored", stored, "registered", registered));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> stats(@RequestParam(required = false) Long from,
+                                   @RequestParam(required = false) Long to) {
+        requirePeer();
+        return ResponseEntity.ok(from != null && to != null
+            ? partitionedStats.snapshot(from, to)
+            : partitionedStats.snapshot());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+                                    @RequestParam(required = false) List<String> experience,
+                                    @RequestParam(required = false) List<String> skills,
+                                    @RequestParam int limit) {
+        requirePeer();
+        return ResponseEntity.ok(partitionedSearch.search(new SearchIndex.Query(q,
+            experience != null ? new LinkedHashSet<>(experience) : Set.of(),
+            skills != null ? new LinkedHashSet<>(skills) : Set.of(), limit)));
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<?> users() {
+        requirePeer();
+        List<ReplicationBatch.User> users = new ArrayList<>();
+        for (String username : userRegistry.usernames()) {
+            users.add(ReplicationBatch.User.of(userRegistry.findByUsername(username)));
+        }
+        return ResponseEntity.ok(new ReplicationBatch(List.of(), users));
+    }
+
+    private static void requirePeer() {
+        if (!ClusterAuthenticationFilter.isPeerRequest()) {
+            throw new AccessDeniedException("Cluster members only");
+        }
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(403)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", e.getMessage()));
+    }
+}
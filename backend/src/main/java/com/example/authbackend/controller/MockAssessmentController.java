@@ -1,103 +1,189 @@
 package com.example.authbackend.controller;
 
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.cluster.MergedSubmissions;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.SubmissionDeduplicator;
+import com.example.authbackend.model.AssessmentRequest;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.security.RequireRole;
+import com.example.authbackend.security.Role;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.AssessmentService;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.TimeBucketedStats;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:3002", "https://*.vercel.app"})
 public class MockAssessmentController {
 
-    // In-memory storage for demo purposes
-    private final Map<String, AssessmentSubmission> assessmentStorage = new ConcurrentHashMap<>();
-    private final AtomicLong submissionCounter = new AtomicLong(0);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentService assessmentService;
+    private final AssessmentStatsService assessmentStatsService;
+    private final TimeBucketedStats timeBucketedStats;
+    private final AssessmentJsonWriter assessmentJsonWriter;
+    private final AssessmentCsvWriter assessmentCsvWriter;
+    private final SubmissionDictionaries submissionDictionaries;
+    private final IngestPipeline ingestPipeline;
+    private final SubmissionDeduplicator submissionDeduplicator;
+    private final VersionedResponseCache responseCache;
+    private final ClusterRouter clusterRouter;
+
+    public MockAssessmentController(AssessmentRepository assessmentRepository,
+                                    AssessmentService assessmentService,
+                                    AssessmentStatsService assessmentStatsService,
+                                    TimeBucketedStats timeBucketedStats,
+                                    AssessmentJsonWriter assessmentJsonWriter,
+                                    AssessmentCsvWriter assessmentCsvWriter,
+                                    SubmissionDictionaries submissionDictionaries,
+                                    IngestPipeline ingestPipeline,
+                                    SubmissionDeduplicator submissionDeduplicator,
+                                    VersionedResponseCache responseCache,
+                                    ClusterRouter clusterRouter) {
+        this.assessmentRepository = assessmentRepository;
+        this.assessmentService = assessmentService;
+        this.assessmentStatsService = assessmentStatsService;
+        this.timeBucketedStats = timeBucketedStats;
+        this.assessmentJsonWriter = assessmentJsonWriter;
+        this.assessmentCsvWriter = assessmentCsvWriter;
+        this.submissionDictionaries = submissionDictionaries;
+        this.ingestPipeline = ingestPipeline;
+        this.submissionDeduplicator = submissionDeduplicator;
+        this.responseCache = responseCache;
+        this.clusterRouter = clusterRouter;
+    }
 
     @PostMapping("/submit-assessment")
+    @RequireRole(Role.USER)
     public ResponseEntity<?> submitAssessment(
-            @RequestBody Map<String, Object> submission,
-            Authentication authentication) {
-        
-        if (authentication == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+            @RequestBody AssessmentRequest submission,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        String username = principal.getName();
+        if (!submissionDeduplicator.isValidKey(idempotencyKey)) {
+            return ResponseEntity.status(400).body(Map.of("error", "Invalid Idempotency-Key header"));
         }
 
-        String username = authentication.getName();
-        List<String> roles = authentication.getAuthorities().stream()
-            .map(GrantedAuthority::getAuthority)
-            .map(role -> role.replace("ROLE_", ""))
-            .collect(Collectors.toList());
+        // In cluster mode the user's primary node stores it, and answers retries
+        ResponseEntity<byte[]> forwarded = clusterRouter.forward(username, principal, "POST", "/api/submit-assessment",
+            submission, idempotencyKey != null ? Map.of("Idempotency-Key", idempotencyKey) : Map.of());
+        if (forwarded != null) {
+            return forwarded;
+        }
 
-        // Check if user has USER role
-        if (!roles.contains("USER")) {
-            return ResponseEntity.status(403).body(Map.of("error", "USER role required"));
+        // Retries get the original response back instead of creating another submission
+        SubmissionDeduplicator.Claim claim = submissionDeduplicator.claim(username, idempotencyKey, submission);
+        switch (claim.status()) {
+            case REPLAY:
+                return claim.response();
+            case IN_PROGRESS:
+                return ResponseEntity.status(409).body(Map.of("error", "This submission is already being processed"));
+            case CONFLICT:
+                return ResponseEntity.status(422)
+                    .body(Map.of("error", "Idempotency-Key was already used for a different submission"));
+            default:
+                break;
         }
 
+        return store(submission, username, claim);
+    }
+
+    private ResponseEntity<?> store(AssessmentRequest submission, String username,
+                                    SubmissionDeduplicator.Claim claim) {
         try {
             // Create assessment submission
             AssessmentSubmission assessmentSubmission = new AssessmentSubmission();
-            assessmentSubmission.setId(submissionCounter.incrementAndGet());
+            assessmentSubmission.setId(assessmentService.nextId());
             assessmentSubmission.setUserId(username);
-            assessmentSubmission.setFullName((String) submission.get("fullName"));
-            assessmentSubmission.setEmail((String) submission.get("email"));
-            assessmentSubmission.setExperience((String) submission.get("experience"));
-            assessmentSubmission.setCodingExperience((String) submission.get("codingExperience"));
-            assessmentSubmission.setProjectDescription((String) submission.get("projectDescription"));
-            
-            // Handle skills array
-            @SuppressWarnings("unchecked")
-            List<String> skills = (List<String>) submission.get("skills");
-            assessmentSubmission.setSkills(skills);
-            
-            assessmentSubmission.setTermsAccepted((Boolean) submission.get("termsAccepted"));
+            assessmentSubmission.setFullName(submission.fullName());
+            assessmentSubmission.setEmail(submission.email());
+            assessmentSubmission.setExperience(submission.experience());
+            assessmentSubmission.setCodingExperience(submission.codingExperience());
+            assessmentSubmission.setProjectDescription(submission.projectDescription());
+            assessmentSubmission.setSkills(submission.skills());
+            assessmentSubmission.setTermsAccepted(submission.termsAccepted());
             assessmentSubmission.setSubmittedAt(Instant.now().toString());
-            assessmentSubmission.setUserAgent((String) submission.get("userAgent"));
-
-            // Handle technical questions
-            Map<String, String> technicalAnswers = new HashMap<>();
-            for (Map.Entry<String, Object> entry : submission.entrySet()) {
-                String key = entry.getKey();
-                if (key.startsWith("question") || key.startsWith("tech")) {
-                    technicalAnswers.put(key, (String) entry.getValue());
+            assessmentSubmission.setUserAgent(submission.userAgent());
+
+            // Technical questions were collected while binding the request
+            assessmentSubmission.setTechnicalAnswers(submission.technicalAnswers());
+
+            // Store assessment, or queue it for the ingest consumer. A queued one's claim is settled
+            // once the consumer has logged it, so retries can resubmit if the log fails it
+            IngestPipeline.Outcome outcome = ingestPipeline.submit(assessmentSubmission, stored -> {
+                if (stored) {
+                    submissionDeduplicator.complete(claim, queued(assessmentSubmission));
+                } else {
+                    submissionDeduplicator.release(claim);
                 }
+            });
+            if (outcome == IngestPipeline.Outcome.QUEUED) {
+                return queued(assessmentSubmission);
+            }
+            if (outcome == IngestPipeline.Outcome.REJECTED) {
+                submissionDeduplicator.release(claim);
+                return ResponseEntity.status(429)
+                    .header("Retry-After", "1")
+                    .body(Map.of("error", "Too many submissions in progress, retry shortly"));
             }
-            assessmentSubmission.setTechnicalAnswers(technicalAnswers);
-
-            // Store assessment
-            String submissionKey = username + "_" + assessmentSubmission.getId();
-            assessmentStorage.put(submissionKey, assessmentSubmission);
 
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Assessment submitted successfully");
             response.put("submissionId", assessmentSubmission.getId());
             response.put("submittedAt", assessmentSubmission.getSubmittedAt());
+            response.put("message", "Assessment submitted successfully");
             response.put("status", "success");
 
-            return ResponseEntity.ok(response);
+            ResponseEntity<?> stored = ResponseEntity.ok(response);
+            submissionDeduplicator.complete(claim, stored);
+            return stored;
 
         } catch (Exception e) {
+            submissionDeduplicator.release(claim);
             return ResponseEntity.status(500).body(Map.of("error", "Failed to submit assessment: " + e.getMessage()));
         }
     }
 
+    private static ResponseEntity<?> queued(AssessmentSubmission assessmentSubmission) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("submissionId", assessmentSubmission.getId());
+        response.put("submittedAt", assessmentSubmission.getSubmittedAt());
+        response.put("message", "Assessment accepted for processing");
+        response.put("status", "queued");
+        return ResponseEntity.accepted().body(response);
+    }
+
     @GetMapping("/my-assessments")
-    public ResponseEntity<?> getMyAssessments(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+    @RequireRole(Role.USER)
+    public ResponseEntity<?> getMyAssessments(@AuthenticationPrincipal UserPrincipal principal) {
+        String username = principal.getName();
+        ResponseEntity<byte[]> forwarded =
+            clusterRouter.forward(username, principal, "GET", "/api/my-assessments", null, Map.of());
+        if (forwarded != null) {
+            return forwarded;
         }
 
-        String username = authentication.getName();
-        
-        List<AssessmentSubmission> userAssessments = assessmentStorage.values().stream()
-            .filter(assessment -> username.equals(assessment.getUserId()))
-            .collect(Collectors.toList());
+        List<AssessmentSubmission> userAssessments = assessmentRepository.findByUserId(username);
 
         Map<String, Object> response = new HashMap<>();
         response.put("assessments", userAssessments);
@@ -107,114 +193,280 @@ public class MockAssessmentController {
     }
 
     @GetMapping("/assessments")
-    public ResponseEntity<?> getAllAssessments(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<StreamingResponseBody> getAllAssessments(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        Set<AssessmentJsonWriter.Field> selectedFields = parseListParameters(limit, fields);
+        if (clusterRouter.gathers()) {
+            return gatheredPage(after, limit, selectedFields, MediaType.APPLICATION_JSON);
         }
 
-        List<String> roles = authentication.getAuthorities().stream()
-            .map(GrantedAuthority::getAuthority)
-            .map(role -> role.replace("ROLE_", ""))
-            .collect(Collectors.toList());
+        // Read the version first: anything rendered afterwards includes at least that much
+        long version = assessmentService.version();
+        String etag = VersionedResponseCache.etag(version, null);
+        if (VersionedResponseCache.notModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
 
-        if (!roles.contains("ADMIN")) {
-            return ResponseEntity.status(403).body(Map.of("error", "ADMIN role required"));
+        // Keyset page over the id-ordered store, written straight to the response
+        Iterable<AssessmentSubmission> submissions =
+            assessmentRepository.findAllAfter(after != null ? after : Long.MIN_VALUE);
+        int pageSize = limit != null ? limit : Integer.MAX_VALUE;
+        StreamingResponseBody body;
+        if (responseCache.isCacheablePage(pageSize)) {
+            String view = "assessments:" + after + ":" + pageSize + ":" + selectedFields;
+            byte[] page = responseCache.body(view, version,
+                out -> assessmentJsonWriter.writePage(out, submissions, pageSize, selectedFields));
+            body = out -> out.write(page);
+        } else {
+            body = out -> assessmentJsonWriter.writePage(out, submissions, pageSize, selectedFields);
         }
 
-        List<AssessmentSubmission> allAssessments = new ArrayList<>(assessmentStorage.values());
+        return revalidated(etag).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("assessments", allAssessments);
-        response.put("count", allAssessments.size());
+    @GetMapping(value = "/assessments", produces = "application/x-ndjson")
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<StreamingResponseBody> exportAssessments(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        Set<AssessmentJsonWriter.Field> selectedFields = parseListParameters(limit, fields);
+        if (clusterRouter.gathers()) {
+            return gatheredPage(after, limit, selectedFields, NDJSON);
+        }
 
-        return ResponseEntity.ok(response);
+        long version = assessmentService.version();
+        String etag = VersionedResponseCache.etag(version, "ndjson");
+        if (VersionedResponseCache.notModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        // One submission per line, streamed without building the list
+        Iterable<AssessmentSubmission> submissions =
+            assessmentRepository.findAllAfter(after != null ? after : Long.MIN_VALUE);
+        int pageSize = limit != null ? limit : Integer.MAX_VALUE;
+        StreamingResponseBody body = out -> assessmentJsonWriter.writeNdjson(out, submissions, pageSize, selectedFields);
+
+        return revalidated(etag).contentType(NDJSON).body(body);
     }
 
-    @GetMapping("/assessment-stats")
-    public ResponseEntity<?> getAssessmentStats(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+    @GetMapping(value = "/assessments", produces = "text/csv")
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<StreamingResponseBody> exportAssessmentsCsv(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        Set<AssessmentJsonWriter.Field> selectedFields = parseListParameters(limit, fields);
+        if (clusterRouter.gathers()) {
+            return gatheredPage(after, limit, selectedFields, TEXT_CSV);
         }
 
-        List<String> roles = authentication.getAuthorities().stream()
-            .map(GrantedAuthority::getAuthority)
-            .map(role -> role.replace("ROLE_", ""))
-            .collect(Collectors.toList());
-
-        if (!roles.contains("ADMIN")) {
-            return ResponseEntity.status(403).body(Map.of("error", "ADMIN role required"));
+        long version = assessmentService.version();
+        String etag = VersionedResponseCache.etag(version, "csv");
+        if (VersionedResponseCache.notModified(ifNoneMatch, etag)) {
+            return notModified(etag);
         }
 
-        List<AssessmentSubmission> allAssessments = new ArrayList<>(assessmentStorage.values());
+        // A header row, then one record per submission, streamed like the NDJSON export
+        Iterable<AssessmentSubmission> submissions =
+            assessmentRepository.findAllAfter(after != null ? after : Long.MIN_VALUE);
+        int pageSize = limit != null ? limit : Integer.MAX_VALUE;
+        StreamingResponseBody body = out -> assessmentCsvWriter.writeCsv(out, submissions, pageSize, selectedFields);
 
-        // Calculate statistics
-        Map<String, Long> experienceLevels = allAssessments.stream()
-            .collect(Collectors.groupingBy(
-                AssessmentSubmission::getExperience,
-                Collectors.counting()
-            ));
+        return revalidated(etag).contentType(TEXT_CSV).body(body);
+    }
 
-        Map<String, Long> topSkills = allAssessments.stream()
-            .flatMap(assessment -> assessment.getSkills().stream())
-            .collect(Collectors.groupingBy(
-                skill -> skill,
-                Collectors.counting()
-            ));
+    /**
+     * A page merged from every node's submissions. Node versions are
+     * independent, so gathered pages are neither tagged nor cached.
+     */
+    private ResponseEntity<StreamingResponseBody> gatheredPage(Long after, Integer limit,
+                                                               Set<AssessmentJsonWriter.Field> selectedFields,
+                                                               MediaType contentType) {
+        int pageSize = limit != null ? limit : Integer.MAX_VALUE;
+        ClusterRouter.Gathered<MergedSubmissions> gathered =
+            clusterRouter.gatherSubmissions(after, pageSize, selectedFields);
+        StreamingResponseBody body = out -> {
+            try (MergedSubmissions submissions = gathered.value()) {
+                if (contentType.equals(NDJSON)) {
+                    assessmentJsonWriter.writeNdjson(out, submissions, pageSize, selectedFields);
+                } else if (contentType.equals(TEXT_CSV)) {
+                    assessmentCsvWriter.writeCsv(out, submissions, pageSize, selectedFields);
+                } else {
+                    assessmentJsonWriter.writePage(out, submissions, pageSize, selectedFields);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+            .headers(gathered.headers())
+            .contentType(contentType)
+            .body(body);
+    }
 
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalSubmissions", allAssessments.size());
-        stats.put("experienceLevels", experienceLevels);
-        stats.put("topSkills", topSkills);
+    @GetMapping("/assessment-stats")
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<?> getAssessmentStats(
+            @RequestParam(required = false) Integer top,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        if (from != null || to != null) {
+            return getAssessmentStatsInRange(top, parseInstant("from", from, 0), parseInstant("to", to, Long.MAX_VALUE));
+        }
+        if (clusterRouter.gathers()) {
+            ClusterRouter.Gathered<Map<String, Object>> gathered = clusterRouter.gatherStats(top, null, null);
+            return ResponseEntity.ok().headers(gathered.headers()).body(gathered.value());
+        }
 
-        return ResponseEntity.ok(stats);
+        long version = assessmentService.version();
+        String etag = VersionedResponseCache.etag(version, null);
+        if (VersionedResponseCache.notModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        // Statistics are maintained at submit time, so a miss only copies the counters
+        byte[] body = responseCache.body("assessment-stats:" + top, version, out -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalSubmissions", assessmentStatsService.getTotalSubmissions());
+            stats.put("experienceLevels", assessmentStatsService.getExperienceLevels());
+            stats.put("topSkills", top != null
+                ? assessmentStatsService.getTopSkills(top)
+                : assessmentStatsService.getSkillCounts());
+            assessmentJsonWriter.writeValue(out, stats);
+        });
+
+        return revalidated(etag).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
-    @GetMapping("/admin")
-    public ResponseEntity<?> getAdminData(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+    // Merged from the time buckets on every request, since the buckets a range covers shift as time passes
+    private ResponseEntity<?> getAssessmentStatsInRange(Integer top, long from, long to) {
+        if (from >= to) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        if (clusterRouter.gathers()) {
+            ClusterRouter.Gathered<Map<String, Object>> gathered = clusterRouter.gatherStats(top, from, to);
+            return ResponseEntity.ok().headers(gathered.headers()).body(gathered.value());
         }
 
-        List<String> roles = authentication.getAuthorities().stream()
-            .map(GrantedAuthority::getAuthority)
-            .map(role -> role.replace("ROLE_", ""))
-            .collect(Collectors.toList());
+        TimeBucketedStats.Window window = timeBucketedStats.window(from, to);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("from", Instant.ofEpochMilli(window.from()).toString());
+        stats.put("to", Instant.ofEpochMilli(window.to()).toString());
+        stats.put("totalSubmissions", window.totalSubmissions());
+        stats.put("experienceLevels", window.experienceLevels());
+        stats.put("topSkills", top != null
+            ? AssessmentStatsService.top(window.skillCounts(), top)
+            : window.skillCounts());
+        return ResponseEntity.ok(stats);
+    }
 
-        if (!roles.contains("ADMIN")) {
-            return ResponseEntity.status(403).body(Map.of("error", "ADMIN role required"));
+    @GetMapping("/admin")
+    @RequireRole(Role.ADMIN)
+    public ResponseEntity<?> getAdminData(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        // Besides the store, the pipeline and cluster counters and the caller change what this reports
+        Map<String, Object> cluster = clusterRouter.metrics();
+        String etag = VersionedResponseCache.etag(assessmentService.version(),
+            ingestPipeline.acceptedCount() + "." + ingestPipeline.rejectedCount() + "."
+                + submissionDeduplicator.replayCount() + "." + Integer.toHexString(cluster.hashCode()) + "."
+                + Integer.toHexString(principal.getName().hashCode()));
+        if (VersionedResponseCache.notModified(ifNoneMatch, etag)) {
+            return notModified(etag);
         }
 
         Map<String, Object> adminData = new HashMap<>();
         adminData.put("message", "Admin access granted");
-        adminData.put("username", authentication.getName());
-        adminData.put("roles", roles);
-        adminData.put("totalAssessments", assessmentStorage.size());
+        adminData.put("username", principal.getName());
+        adminData.put("roles", principal.roleNames());
+        adminData.put("totalAssessments", assessmentRepository.count());
+        adminData.put("dictionaries", submissionDictionaries.metrics());
+        adminData.put("ingest", ingestPipeline.metrics());
+        adminData.put("idempotency", submissionDeduplicator.metrics());
+        adminData.put("responseCache", responseCache.metrics());
+        adminData.put("cluster", cluster);
         adminData.put("timestamp", Instant.now().toString());
 
-        return ResponseEntity.ok(adminData);
+        return revalidated(etag).body(adminData);
     }
 
     @GetMapping("/user")
-    public ResponseEntity<?> getUserData(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
-        }
-
-        String username = authentication.getName();
-        List<String> roles = authentication.getAuthorities().stream()
-            .map(GrantedAuthority::getAuthority)
-            .map(role -> role.replace("ROLE_", ""))
-            .collect(Collectors.toList());
-
+    @RequireRole(Role.USER)
+    public ResponseEntity<?> getUserData(@AuthenticationPrincipal UserPrincipal principal) {
         Map<String, Object> userData = new HashMap<>();
         userData.put("message", "User access granted");
-        userData.put("username", username);
-        userData.put("roles", roles);
+        userData.put("username", principal.getName());
+        userData.put("roles", principal.roleNames());
         userData.put("timestamp", Instant.now().toString());
 
         return ResponseEntity.ok(userData);
     }
 
+    // Clients may keep the response but must revalidate it with its ETag before every use
+    private static ResponseEntity.BodyBuilder revalidated(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .build();
+    }
+
+    private static Set<AssessmentJsonWriter.Field> parseListParameters(Integer limit, String fields) {
+        if (limit != null && limit <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        try {
+            return AssessmentJsonWriter.parseFields(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static long parseInstant(String name, String value, long absent) {
+        if (value == null) {
+            return absent;
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException | ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                name + " must be an ISO-8601 instant, e.g. 2024-01-01T00:00:00Z");
+        }
+    }
+
+    // Streaming endpoints can't return a Map body, so their errors are raised and rendered here
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<?> handleResponseStatus(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", e.getReason()));
+    }
+
+    // Raised by @RequireRole when the principal lacks the role
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(403)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", "Insufficient role"));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<?> handleUnreadableBody(HttpMessageNotReadableException e) {
+        String reason = e.getMostSpecificCause() instanceof JsonMappingException mappingException
+            ? mappingException.getOriginalMessage()
+            : "Malformed request body";
+        return ResponseEntity.status(400).body(Map.of("error", "Invalid assessment submission: " + reason));
+    }
+
     // Inner class for assessment submission
     public static class AssessmentSubmission {
         private Long id;
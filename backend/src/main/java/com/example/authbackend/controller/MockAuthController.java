@@ -1,5 +1,11 @@
 package com.example.authbackend.controller;
 
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.repository.UserRegistry;
+import com.example.authbackend.security.CredentialVerifier;
+import com.example.authbackend.security.TokenService;
+import com.example.authbackend.security.VerificationCapacityException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -16,25 +22,33 @@ import java.util.stream.Collectors;
 public class MockAuthController {
 
     // In-memory user storage for demo (in production, use database)
-    private static final Map<String, RegisteredUser> registeredUsers = new HashMap<>();
-    
-    static {
-        // Initialize with default users
-        registeredUsers.put("testuser", new RegisteredUser("testuser", "password123", "testuser@example.com", "Test User", List.of("USER")));
-        registeredUsers.put("admin", new RegisteredUser("admin", "admin123", "admin@example.com", "Admin User", List.of("USER", "ADMIN")));
+    private final UserRegistry userRegistry;
+    private final CredentialVerifier credentialVerifier;
+    private final TokenService tokenService;
+    private final ClusterRouter clusterRouter;
+    private final SubmissionReplicator submissionReplicator;
+
+    public MockAuthController(UserRegistry userRegistry, CredentialVerifier credentialVerifier,
+                              TokenService tokenService, ClusterRouter clusterRouter,
+                              SubmissionReplicator submissionReplicator) {
+        this.userRegistry = userRegistry;
+        this.credentialVerifier = credentialVerifier;
+        this.tokenService = tokenService;
+        this.clusterRouter = clusterRouter;
+        this.submissionReplicator = submissionReplicator;
     }
     
-    // Inner class for registered users
+    // Inner class for registered users; immutable so it can be shared across request threads
     public static class RegisteredUser {
-        private String username;
-        private String password;
-        private String email;
-        private String fullName;
-        private List<String> roles;
+        private final String username;
+        private final String passwordHash;
+        private final String email;
+        private final String fullName;
+        private final List<String> roles;
         
-        public RegisteredUser(String username, String password, String email, String fullName, List<String> roles) {
+        public RegisteredUser(String username, String passwordHash, String email, String fullName, List<String> roles) {
             this.username = username;
-            this.password = password;
+            this.passwordHash = passwordHash;
             this.email = email;
             this.fullName = fullName;
             this.roles = roles;
@@ -42,7 +56,7 @@ public class MockAuthController {
         
         // Getters
         public String getUsername() { return username; }
-        public String getPassword() { return password; }
+        public String getPasswordHash() { return passwordHash; }
         public String getEmail() { return email; }
         public String getFullName() { return fullName; }
         public List<String> getRoles() { return roles; }
@@ -67,14 +81,30 @@ public class MockAuthController {
             return ResponseEntity.status(400).body(Map.of("error", "Valid email is required"));
         }
         
-        // Check if user already exists
-        if (registeredUsers.containsKey(username)) {
+        // Cheap early check so a taken username does not cost a hash; register() below is the authoritative one
+        if (userRegistry.findByUsername(username) != null) {
             return ResponseEntity.status(409).body(Map.of("error", "Username already exists"));
         }
+
+        // In cluster mode the username's primary node decides whether it is free, then copies the account everywhere
+        ResponseEntity<byte[]> forwarded =
+            clusterRouter.forward(username, null, "POST", "/api/auth/register", registerRequest, Map.of());
+        if (forwarded != null) {
+            return forwarded;
+        }
         
-        // Store new user
-        RegisteredUser newUser = new RegisteredUser(username, password, email, fullName, List.of("USER"));
-        registeredUsers.put(username, newUser);
+        // Store new user unless the username was taken while the password was being hashed
+        String passwordHash;
+        try {
+            passwordHash = credentialVerifier.hash(password);
+        } catch (VerificationCapacityException e) {
+            return overloaded();
+        }
+        RegisteredUser newUser = new RegisteredUser(username, passwordHash, email, fullName, List.of("USER"));
+        if (!userRegistry.register(newUser)) {
+            return ResponseEntity.status(409).body(Map.of("error", "Username already exists"));
+        }
+        submissionReplicator.replicateUser(newUser);
         
         // Mock successful registration
         Map<String, Object> response = new HashMap<>();
@@ -94,16 +124,21 @@ public class MockAuthController {
         String password = loginRequest.getPassword();
         
         // Check if user exists and password matches
-        RegisteredUser user = registeredUsers.get(username);
-        if (user != null && user.getPassword().equals(password)) {
+        RegisteredUser user;
+        try {
+            user = credentialVerifier.verify(username, password);
+        } catch (VerificationCapacityException e) {
+            return overloaded();
+        }
+        if (user != null) {
             
-            // Create mock JWT token (just a simple string for demo)
-            String mockToken = "mock-jwt-token-" + username;
+            // Signed JWT, accepted as a bearer token by the API endpoints
+            TokenService.IssuedToken token = tokenService.issue(user);
             
             Map<String, Object> response = new HashMap<>();
-            response.put("access_token", mockToken);
+            response.put("access_token", token.value());
             response.put("token_type", "Bearer");
-            response.put("expires_in", 3600);
+            response.put("expires_in", token.expiresIn().toSeconds());
             response.put("username", username);
             response.put("roles", user.getRoles());
             
@@ -120,7 +155,7 @@ public class MockAuthController {
         }
         
         String username = authentication.getName();
-        RegisteredUser user = registeredUsers.get(username);
+        RegisteredUser user = userRegistry.findByUsername(username);
         
         if (user == null) {
             return ResponseEntity.status(404).body(Map.of("error", "User not found"));
@@ -143,15 +178,27 @@ public class MockAuthController {
         response.put("message", "Mock auth controller is working");
         response.put("timestamp", System.currentTimeMillis());
         response.put("profile", "mock");
-        response.put("registeredUsers", registeredUsers.keySet());
+        response.put("registeredUsers", userRegistry.count());
         return ResponseEntity.ok(response);
     }
     
+    // Public keys for the issued tokens, in the shape of Keycloak's certs endpoint
+    @GetMapping("/jwks")
+    public ResponseEntity<?> jwks() {
+        return ResponseEntity.ok(tokenService.publicJwks());
+    }
+    
     @PostMapping("/logout")
     public ResponseEntity<?> logout() {
         return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
     }
     
+    private static ResponseEntity<?> overloaded() {
+        return ResponseEntity.status(503)
+            .header("Retry-After", "1")
+            .body(Map.of("error", "Authentication is temporarily overloaded"));
+    }
+    
     // DTO for register request
     public static class RegisterRequest {
         private String username;
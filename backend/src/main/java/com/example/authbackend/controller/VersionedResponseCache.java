@@ -0,0 +1,139 @@
+package com.example.authbackend.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialized read responses, keyed by view (endpoint plus parameters) and
+ * tagged with the {@code AssessmentService} version they were rendered at. A
+ * request at the same version gets the cached bytes; any submission advances
+ * the version, and the next request renders afresh. Together with the
+ * version-derived ETags, polling an unchanged store costs a map lookup, or a
+ * string compare for a 304. Versions restart at zero with the process, so
+ * ETags also carry a random per-process epoch; a tag from before a restart
+ * never matches.
+ *
+ * <p>List pages are only cached up to {@code max-page-size} submissions;
+ * larger ones are streamed each time. At most {@code max-entries} views are
+ * kept. When full, views of older
+ * versions are dropped; if all are current, the new one is served uncached.
+ */
+@Component
+public class VersionedResponseCache {
+
+    private static final String EPOCH = Long.toString(new SecureRandom().nextLong() >>> 1, 36);
+
+    @FunctionalInterface
+    public interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private record Rendered(long version, byte[] body) {
+    }
+
+    private final int maxEntries;
+    private final int maxPageSize;
+    private final Map<String, Rendered> views = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VersionedResponseCache(@Value("${assessment.response-cache.max-entries:256}") int maxEntries,
+                                  @Value("${assessment.response-cache.max-page-size:1000}") int maxPageSize) {
+        this.maxEntries = maxEntries;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Weak ETag for a representation at {@code version}; {@code variant}
+     * distinguishes representations served from the same URL.
+     */
+    public static String etag(long version, String variant) {
+        return "W/\"" + EPOCH + "." + version + (variant != null ? "-" + variant : "") + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header lists {@code etag}, using the
+     * weak comparison GET requests call for.
+     */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaqueTag(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isCacheablePage(int pageSize) {
+        return pageSize <= maxPageSize;
+    }
+
+    /**
+     * The cached body of {@code view} at {@code version}, rendering it with
+     * {@code writer} on a miss.
+     *
+     * @throws UncheckedIOException if {@code writer} fails to serialize the body
+     */
+    public byte[] body(String view, long version, BodyWriter writer) {
+        Rendered cached = views.get(view);
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached.body();
+        }
+        misses.increment();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(cached != null ? cached.body().length : 256);
+        try {
+            writer.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render " + view, e);
+        }
+        byte[] body = out.toByteArray();
+        if (views.size() >= maxEntries && !views.containsKey(view)) {
+            views.values().removeIf(rendered -> rendered.version() < version);
+            if (views.size() >= maxEntries) {
+                return body;
+            }
+        }
+        // Never replace a newer rendering with this one
+        views.merge(view, new Rendered(version, body),
+            (current, rendered) -> current.version() > rendered.version() ? current : rendered);
+        return body;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("views", views.size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        return metrics;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.authbackend.dictionary;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent dictionary for values drawn from a small vocabulary.
+ * Each distinct value gets a dense int code and one canonical String instance
+ * that every submission shares. Once {@code maxSize} values are known, new
+ * values are passed through uncoded so a flood of unique input cannot grow the
+ * dictionary without limit. Codes are never reused or removed.
+ */
+public class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+    public static final int NOT_CODED = -2;
+
+    // Rough retained size of a Latin-1 String besides its characters: object and byte[] headers
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final String name;
+    private final int maxSize;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64];
+    // Written under this; read without it to turn away values once the dictionary is full
+    private volatile int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public StringDictionary(String name, int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the code for {@code value}, assigning one if there is room,
+     * {@link #NULL_CODE} for {@code null} or {@link #NOT_CODED} once the
+     * dictionary is full.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            hits.increment();
+            bytesSaved.add(STRING_OVERHEAD_BYTES + value.length());
+            return code;
+        }
+        misses.increment();
+        if (size >= maxSize) {
+            return NOT_CODED;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size >= maxSize) {
+                return NOT_CODED;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = value;
+            // Write the array back so the new element is published by the volatile store
+            values = current;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    public String decode(int code) {
+        return code < 0 ? null : values[code];
+    }
+
+    /**
+     * Returns the shared instance equal to {@code value}, or {@code value}
+     * itself when it could not be coded.
+     */
+    public String intern(String value) {
+        int code = encode(value);
+        return code >= 0 ? decode(code) : value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Estimated heap no longer retained because duplicates were replaced with
+     * the canonical instance.
+     */
+    public long getEstimatedBytesSaved() {
+        return bytesSaved.sum();
+    }
+}
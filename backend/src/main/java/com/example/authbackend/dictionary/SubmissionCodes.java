@@ -0,0 +1,9 @@
+package com.example.authbackend.dictionary;
+
+/**
+ * Dictionary codes of a submission's low-cardinality fields, produced once at
+ * ingestion so downstream aggregation can work on ints. {@code skills} is
+ * aligned with the submission's skill list.
+ */
+public record SubmissionCodes(int experience, int[] skills) {
+}
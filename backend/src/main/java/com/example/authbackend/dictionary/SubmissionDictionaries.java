@@ -0,0 +1,97 @@
+package com.example.authbackend.dictionary;
+
+import com.example.authbackend.controller.MockAssessmentController;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared dictionaries for the submission fields that repeat across
+ * candidates: skills, experience levels and user agents. Submissions are
+ * canonicalized on the way in so stored records share one instance per
+ * distinct value. Coding experience is free text in the assessment form, so it
+ * is left alone.
+ */
+@Component
+public class SubmissionDictionaries {
+
+    private static final int[] NO_CODES = new int[0];
+
+    private final StringDictionary skills;
+    private final StringDictionary experienceLevels;
+    private final StringDictionary userAgents;
+
+    public SubmissionDictionaries(
+            @Value("${assessment.dictionary.max-skills:10000}") int maxSkills,
+            @Value("${assessment.dictionary.max-experience-levels:256}") int maxExperienceLevels,
+            @Value("${assessment.dictionary.max-user-agents:4096}") int maxUserAgents) {
+        this.skills = new StringDictionary("skills", maxSkills);
+        this.experienceLevels = new StringDictionary("experienceLevels", maxExperienceLevels);
+        this.userAgents = new StringDictionary("userAgents", maxUserAgents);
+    }
+
+    /**
+     * Replaces the dictionary-backed fields with their canonical instances and
+     * returns their codes.
+     */
+    public SubmissionCodes canonicalize(MockAssessmentController.AssessmentSubmission submission) {
+        int experience = experienceLevels.encode(submission.getExperience());
+        submission.setExperience(canonical(experienceLevels, experience, submission.getExperience()));
+        submission.setUserAgent(userAgents.intern(submission.getUserAgent()));
+
+        int[] skillCodes = NO_CODES;
+        if (submission.getSkills() != null) {
+            skillCodes = new int[submission.getSkills().size()];
+            submission.setSkills(canonicalSkills(submission.getSkills(), skillCodes));
+        }
+        return new SubmissionCodes(experience, skillCodes);
+    }
+
+    public StringDictionary skills() {
+        return skills;
+    }
+
+    public StringDictionary experienceLevels() {
+        return experienceLevels;
+    }
+
+    public StringDictionary userAgents() {
+        return userAgents;
+    }
+
+    /**
+     * Hit rate, size and estimated heap saved per dictionary.
+     */
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (StringDictionary dictionary : List.of(skills, experienceLevels, userAgents)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", dictionary.size());
+            entry.put("maxSize", dictionary.getMaxSize());
+            entry.put("hits", dictionary.getHits());
+            entry.put("misses", dictionary.getMisses());
+            entry.put("hitRate", dictionary.getHitRate());
+            entry.put("estimatedBytesSaved", dictionary.getEstimatedBytesSaved());
+            metrics.put(dictionary.getName(), entry);
+        }
+        return metrics;
+    }
+
+    private List<String> canonicalSkills(List<String> values, int[] codes) {
+        List<String> canonical = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            codes[i] = skills.encode(value);
+            canonical.add(canonical(skills, codes[i], value));
+        }
+        return canonical;
+    }
+
+    private static String canonical(StringDictionary dictionary, int code, String value) {
+        return code >= 0 ? dictionary.decode(code) : value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.authbackend.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "assessment.events")
+public class EventStreamProperties {
+
+    // New submissions waiting to be serialized; beyond this they are dropped and subscribers resync
+    private int queueCapacity = 4096;
+    // Frames buffered per subscriber before it is treated as slow
+    private int subscriberBuffer = 256;
+    private int maxSubscribers = 100;
+    // Stats changes are coalesced into one delta per interval
+    private Duration statsInterval = Duration.ofSeconds(1);
+    // Comment sent on an idle stream so proxies keep it open
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    // Streams are closed after this long; EventSource clients reconnect by themselves
+    private Duration maxConnectionDuration = Duration.ofMinutes(30);
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int getSubscriberBuffer() { return subscriberBuffer; }
+    public void setSubscriberBuffer(int subscriberBuffer) { this.subscriberBuffer = subscriberBuffer; }
+
+    public int getMaxSubscribers() { return maxSubscribers; }
+    public void setMaxSubscribers(int maxSubscribers) { this.maxSubscribers = maxSubscribers; }
+
+    public Duration getStatsInterval() { return statsInterval; }
+    public void setStatsInterval(Duration statsInterval) { this.statsInterval = statsInterval; }
+
+    public Duration getHeartbeatInterval() { return heartbeatInterval; }
+    public void setHeartbeatInterval(Duration heartbeatInterval) { this.heartbeatInterval = heartbeatInterval; }
+
+    public Duration getMaxConnectionDuration() { return maxConnectionDuration; }
+    public void setMaxConnectionDuration(Duration maxConnectionDuration) { this.maxConnectionDuration = maxConnectionDuration; }
+}
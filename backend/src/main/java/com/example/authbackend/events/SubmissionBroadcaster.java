@@ -0,0 +1,371 @@
+package com.example.authbackend.events;
+
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.service.AssessmentStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes new submissions and statistics changes to admin event streams.
+ *
+ * <p>The write path only offers each stored submission to a bounded queue,
+ * and only while someone is subscribed. A single broadcaster thread encodes
+ * each event as a complete Server-Sent Events frame once and hands the same
+ * bytes to every subscriber, so the cost of an event does not grow with the
+ * number of subscribers. Statistics are diffed once per
+ * {@code stats-interval}: a burst of submissions becomes one
+ * {@code stats-delta} event carrying the new totals of just the counters
+ * that changed.
+ *
+ * <p>Each subscriber has a small frame buffer drained by its own writer. A
+ * subscriber that falls a full buffer behind loses its backlog and gets a
+ * {@code resync} event followed by a current {@code stats} snapshot instead,
+ * so a slow client never holds memory or delays the others.
+ */
+public class SubmissionBroadcaster implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionBroadcaster.class);
+
+    private static final byte[] OPEN = frame("retry: 1000\n\n");
+    private static final byte[] HEARTBEAT = frame(":\n\n");
+    // Queued by identity: a writer that takes it follows it with a fresh snapshot
+    private static final byte[] RESYNC = frame("event: resync\ndata: {}\n\n");
+    // Queue marker that ends the writer
+    private static final byte[] CLOSED = new byte[0];
+
+    @FunctionalInterface
+    public interface FrameSink {
+        void write(byte[] frame) throws IOException;
+    }
+
+    private final AssessmentStatsService assessmentStatsService;
+    private final AssessmentJsonWriter assessmentJsonWriter;
+    private final BlockingQueue<AssessmentSubmission> pending;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final long statsIntervalNanos;
+    private final long heartbeatNanos;
+    private final long maxConnectionNanos;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Thread broadcaster;
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+
+    // Broadcaster thread only
+    private Map<String, Long> previousExperienceLevels;
+    private Map<String, Long> previousSkills;
+    private long previousTotal;
+
+    // Guarded by this
+    private byte[] snapshotFrame;
+    private long snapshotTotal = -1;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder statsDeltas = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    public SubmissionBroadcaster(EventStreamProperties properties,
+                                 AssessmentStatsService assessmentStatsService,
+                                 AssessmentJsonWriter assessmentJsonWriter) {
+        this.assessmentStatsService = assessmentStatsService;
+        this.assessmentJsonWriter = assessmentJsonWriter;
+        this.pending = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.subscriberBuffer = Math.max(1, properties.getSubscriberBuffer());
+        this.maxSubscribers = properties.getMaxSubscribers();
+        this.statsIntervalNanos = properties.getStatsInterval().toNanos();
+        this.heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+        this.maxConnectionNanos = properties.getMaxConnectionDuration().toNanos();
+
+        this.broadcaster = new Thread(this::runBroadcaster, "assessment-events");
+        this.broadcaster.setDaemon(true);
+        this.broadcaster.start();
+    }
+
+    /**
+     * Queues a stored submission for subscribers. Does nothing while nobody
+     * is subscribed; never blocks.
+     */
+    public void publish(AssessmentSubmission submission) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        if (!pending.offer(submission)) {
+            overflowed = true;
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Registers a subscriber, or returns {@code null} when
+     * {@code max-subscribers} are already connected.
+     */
+    public synchronized Subscription subscribe() {
+        if (closed || subscriptions.size() >= maxSubscribers) {
+            return null;
+        }
+        Subscription subscription = new Subscription();
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long resyncCount() {
+        return resyncs.sum();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("subscribers", subscriptions.size());
+        metrics.put("pending", pending.size());
+        metrics.put("published", published.sum());
+        metrics.put("statsDeltas", statsDeltas.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("resyncs", resyncs.sum());
+        return metrics;
+    }
+
+    /**
+     * Ends every stream and stops the broadcaster thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        broadcaster.interrupt();
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        try {
+            broadcaster.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runBroadcaster() {
+        List<AssessmentSubmission> batch = new ArrayList<>(256);
+        long nextStats = System.nanoTime() + statsIntervalNanos;
+        while (!closed) {
+            try {
+                long wait = nextStats - System.nanoTime();
+                AssessmentSubmission first = wait > 0 ? pending.poll(wait, TimeUnit.NANOSECONDS) : pending.poll();
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch, 255);
+                    for (AssessmentSubmission submission : batch) {
+                        broadcast(submissionFrame(submission));
+                        published.increment();
+                    }
+                    batch.clear();
+                }
+                if (overflowed) {
+                    // Submissions were lost before they could be encoded, so nobody's view is complete
+                    overflowed = false;
+                    broadcast(RESYNC);
+                }
+                if (System.nanoTime() - nextStats >= 0) {
+                    broadcastStatsDelta();
+                    nextStats = System.nanoTime() + statsIntervalNanos;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException | IOException e) {
+                batch.clear();
+                log.error("Failed to broadcast assessment events", e);
+            }
+        }
+    }
+
+    private void broadcast(byte[] frame) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(frame);
+        }
+    }
+
+    private void broadcastStatsDelta() throws IOException {
+        if (subscriptions.isEmpty()) {
+            // Nobody to diff for; the next subscriber starts from a snapshot anyway
+            previousExperienceLevels = null;
+            previousSkills = null;
+            return;
+        }
+        long total = assessmentStatsService.getTotalSubmissions();
+        Map<String, Long> experienceLevels = assessmentStatsService.getExperienceLevels();
+        Map<String, Long> skills = assessmentStatsService.getSkillCounts();
+
+        // Counters only grow, so sending the current value of each changed key is safe to apply twice
+        Map<String, Long> changedExperienceLevels = changed(previousExperienceLevels, experienceLevels);
+        Map<String, Long> changedSkills = changed(previousSkills, skills);
+        if (total != previousTotal || !changedExperienceLevels.isEmpty() || !changedSkills.isEmpty()) {
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("totalSubmissions", total);
+            delta.put("experienceLevels", changedExperienceLevels);
+            delta.put("topSkills", changedSkills);
+            broadcast(valueFrame("stats-delta", delta));
+            statsDeltas.increment();
+        }
+        previousTotal = total;
+        previousExperienceLevels = experienceLevels;
+        previousSkills = skills;
+    }
+
+    private static Map<String, Long> changed(Map<String, Long> previous, Map<String, Long> current) {
+        if (previous == null) {
+            return current;
+        }
+        Map<String, Long> changed = new HashMap<>();
+        current.forEach((key, count) -> {
+            if (!count.equals(previous.get(key))) {
+                changed.put(key, count);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * The current statistics as a {@code stats} frame, encoded once per
+     * change in the submission total and shared by every stream that needs
+     * it.
+     */
+    synchronized byte[] snapshotFrame() throws IOException {
+        long total = assessmentStatsService.getTotalSubmissions();
+        if (snapshotFrame == null || total != snapshotTotal) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("totalSubmissions", total);
+            stats.put("experienceLevels", assessmentStatsService.getExperienceLevels());
+            stats.put("topSkills", assessmentStatsService.getSkillCounts());
+            snapshotFrame = valueFrame("stats", stats);
+            snapshotTotal = total;
+        }
+        return snapshotFrame;
+    }
+
+    private byte[] submissionFrame(AssessmentSubmission submission) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        out.write(frame("event: submission\ndata: "));
+        assessmentJsonWriter.writeSubmission(out, submission, AssessmentJsonWriter.SUMMARY_FIELDS);
+        out.write('\n');
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    private byte[] valueFrame(String event, Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        out.write(frame("event: " + event + "\ndata: "));
+        // Jackson escapes newlines inside strings, so the JSON fits on one data line
+        assessmentJsonWriter.writeValue(out, value);
+        out.write('\n');
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    private static byte[] frame(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One connected stream. Frames are offered by the broadcaster thread and
+     * written by whichever thread calls {@link #stream}.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final BlockingQueue<byte[]> frames = new ArrayBlockingQueue<>(subscriberBuffer);
+        private volatile boolean closed;
+        // Writer thread only; volatile for readers
+        private volatile long delivered;
+
+        private Subscription() {
+        }
+
+        // Broadcaster thread only, so the queue has a single producer
+        void offer(byte[] frame) {
+            if (closed || frames.offer(frame)) {
+                return;
+            }
+            // A full buffer behind: drop the backlog and have the client catch up from a snapshot
+            dropped.add(frames.size() + 1);
+            frames.clear();
+            resyncs.increment();
+            frames.offer(RESYNC);
+        }
+
+        /**
+         * Writes a {@code stats} snapshot and then every event until the
+         * subscription is closed, the sink fails or
+         * {@code max-connection-duration} passes. Sends a heartbeat comment
+         * whenever the stream has been idle for {@code heartbeat-interval}.
+         */
+        public void stream(FrameSink sink) throws IOException {
+            long deadline = System.nanoTime() + maxConnectionNanos;
+            try {
+                sink.write(OPEN);
+                sink.write(snapshotFrame());
+                while (!closed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return;
+                    }
+                    byte[] frame = frames.poll(Math.min(heartbeatNanos, remaining), TimeUnit.NANOSECONDS);
+                    if (frame == null) {
+                        sink.write(HEARTBEAT);
+                    } else if (frame == CLOSED) {
+                        return;
+                    } else if (frame == RESYNC) {
+                        sink.write(RESYNC);
+                        sink.write(snapshotFrame());
+                    } else {
+                        sink.write(frame);
+                        delivered++;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        public long deliveredCount() {
+            return delivered;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscriptions.remove(this);
+            // Wake the writer if it is waiting for a frame
+            frames.clear();
+            frames.offer(CLOSED);
+        }
+    }
+}
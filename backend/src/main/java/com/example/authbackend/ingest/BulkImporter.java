@@ -0,0 +1,314 @@
+package com.example.authbackend.ingest;
+
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.service.AssessmentService;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk import of submissions from an NDJSON or CSV upload. The request
+ * thread reads the upload one record at a time and hands batches of raw
+ * records to a pool of workers, which parse, validate and store them through
+ * {@link AssessmentService#importAll}, one log commit per batch. At most two
+ * batches per worker are in flight, so a fast upload waits for the workers
+ * rather than piling up in memory.
+ *
+ * <p>Imported ids are kept, so re-running an import skips what is already
+ * stored; records without one get a new id. In cluster mode a record this
+ * node does not own is only queued for replication to its owners, and each
+ * batch first waits for room in the replication backlog.
+ *
+ * <p>One import runs at a time. Its progress and the last
+ * {@link ImportProperties#getHistory()} finished imports are kept for
+ * {@link #jobs()}.
+ */
+public class BulkImporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImporter.class);
+
+    public enum Format { NDJSON, CSV }
+
+    private final AssessmentService assessmentService;
+    private final AssessmentRepository assessmentRepository;
+    private final ClusterTopology topology;
+    private final SubmissionReplicator submissionReplicator;
+    private final ImportRecords records;
+    private final int batchSize;
+    private final int workerCount;
+    private final int maxRecordLength;
+    private final int maxReportedErrors;
+    private final int history;
+    private final Duration replicationWait;
+    private final ExecutorService workers;
+
+    private final AtomicLong jobIds = new AtomicLong();
+    private final AtomicReference<ImportJob> running = new AtomicReference<>();
+    // Guarded by itself; newest first
+    private final Deque<ImportJob> finished = new ArrayDeque<>();
+    // Ids being stored by some worker, so a repeated id can't be stored twice
+    private final Set<Long> claimedIds = ConcurrentHashMap.newKeySet();
+
+    public BulkImporter(ImportProperties properties, AssessmentService assessmentService,
+                        AssessmentRepository assessmentRepository, ClusterTopology topology,
+                        SubmissionReplicator submissionReplicator, JsonFactory jsonFactory) {
+        this.assessmentService = assessmentService;
+        this.assessmentRepository = assessmentRepository;
+        this.topology = topology;
+        this.submissionReplicator = submissionReplicator;
+        this.records = new ImportRecords(jsonFactory);
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.workerCount = properties.getWorkers() > 0
+            ? properties.getWorkers()
+            : Runtime.getRuntime().availableProcessors();
+        this.maxRecordLength = properties.getMaxRecordLength();
+        this.maxReportedErrors = properties.getMaxReportedErrors();
+        this.history = Math.max(0, properties.getHistory());
+        this.replicationWait = properties.getReplicationWait();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, task -> {
+            Thread thread = new Thread(task, "assessment-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a new import, or returns {@code null} while another one is
+     * running.
+     */
+    public ImportJob begin(Format format, String startedBy) {
+        ImportJob job = new ImportJob(jobIds.incrementAndGet(), format.name().toLowerCase(), startedBy,
+            maxReportedErrors);
+        return running.compareAndSet(null, job) ? job : null;
+    }
+
+    /**
+     * Reads {@code upload} to the end, or until the import fails, and returns
+     * once every batch has been stored.
+     *
+     * @throws IllegalArgumentException if the upload as a whole is unusable:
+     *         not UTF-8, or a CSV header that is missing or has unknown columns
+     * @throws IOException if the upload could not be read
+     */
+    public void run(ImportJob job, Format format, InputStream upload) throws IOException {
+        boolean csv = format == Format.CSV;
+        int permits = workerCount * 2;
+        Semaphore inFlight = new Semaphore(permits);
+        try {
+            RecordReader reader = new RecordReader(new InputStreamReader(upload,
+                StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT)), csv, maxRecordLength);
+
+            List<String> columns = null;
+            if (csv) {
+                RecordReader.Raw header = reader.next();
+                if (header == null || header.error() != null) {
+                    throw new IllegalArgumentException(header == null
+                        ? "CSV upload must start with a header row"
+                        : "CSV header: " + header.error());
+                }
+                columns = ImportRecords.csvHeader(header.cells());
+            }
+
+            List<RecordReader.Raw> batch = new ArrayList<>(batchSize);
+            RecordReader.Raw raw;
+            while (job.state() == ImportJob.State.RUNNING && (raw = reader.next()) != null) {
+                job.read.increment();
+                batch.add(raw);
+                if (batch.size() == batchSize) {
+                    dispatch(job, columns, batch, inFlight);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && job.state() == ImportJob.State.RUNNING) {
+                dispatch(job, columns, batch, inFlight);
+            }
+            inFlight.acquire(permits);
+            inFlight.release(permits);
+            if (job.state() == ImportJob.State.RUNNING) {
+                job.complete();
+            }
+        } catch (CharacterCodingException e) {
+            job.fail("Upload is not valid UTF-8");
+            throw new IllegalArgumentException("Upload is not valid UTF-8");
+        } catch (IllegalArgumentException e) {
+            job.fail(e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            job.fail("Upload could not be read: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } finally {
+            // A failed import still lets the batches already handed out finish
+            inFlight.acquireUninterruptibly(permits);
+            finish(job);
+        }
+    }
+
+    /**
+     * Reports of the running import, if any, then of recent ones, newest
+     * first.
+     */
+    public List<Map<String, Object>> jobs() {
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        synchronized (finished) {
+            ImportJob current = running.get();
+            if (current != null) {
+                jobs.add(current.report());
+            }
+            for (ImportJob job : finished) {
+                jobs.add(job.report());
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(ImportJob job, List<String> columns, List<RecordReader.Raw> batch, Semaphore inFlight)
+            throws InterruptedException {
+        inFlight.acquire();
+        try {
+            workers.execute(() -> {
+                try {
+                    process(job, columns, batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void process(ImportJob job, List<String> columns, List<RecordReader.Raw> batch) {
+        if (topology.isEnabled() && !awaitReplication(job, batch.size())) {
+            return;
+        }
+
+        List<AssessmentSubmission> local = new ArrayList<>(batch.size());
+        List<Long> claimed = new ArrayList<>();
+        try {
+            for (RecordReader.Raw raw : batch) {
+                if (raw.error() != null) {
+                    job.reject(raw.line(), raw.error());
+                    continue;
+                }
+                AssessmentSubmission submission;
+                try {
+                    submission = columns == null
+                        ? records.fromJson(raw.text())
+                        : records.fromCsv(columns, raw.cells());
+                } catch (IllegalArgumentException e) {
+                    job.reject(raw.line(), e.getMessage());
+                    continue;
+                }
+
+                if (submission.getId() == null) {
+                    submission.setId(assessmentService.nextId());
+                } else if (claimedIds.add(submission.getId())) {
+                    claimed.add(submission.getId());
+                    // Checked after claiming, so a worker storing the same id has either finished or is seen
+                    if (assessmentRepository.findById(submission.getId()) != null) {
+                        job.duplicates.increment();
+                        continue;
+                    }
+                } else {
+                    job.duplicates.increment();
+                    continue;
+                }
+
+                if (topology.isEnabled() && !ownedLocally(submission.getUserId())) {
+                    submissionReplicator.replicate(submission);
+                    job.forwarded.increment();
+                } else {
+                    local.add(submission);
+                }
+            }
+
+            if (!local.isEmpty()) {
+                int stored = assessmentService.importAll(local);
+                job.imported.add(stored);
+                job.failed.add(local.size() - stored);
+            }
+        } catch (RuntimeException e) {
+            job.failed.add(local.size());
+            log.error("Failed to store a batch of {} imported submissions", local.size(), e);
+        } finally {
+            for (Long id : claimed) {
+                claimedIds.remove(id);
+            }
+            job.batches.increment();
+        }
+    }
+
+    private boolean awaitReplication(ImportJob job, int messages) {
+        try {
+            if (submissionReplicator.awaitCapacity(messages, replicationWait)) {
+                return true;
+            }
+            job.fail("Replication to other nodes fell behind for longer than " + replicationWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        }
+        return false;
+    }
+
+    private boolean ownedLocally(String userId) {
+        for (ClusterTopology.Node owner : topology.owners(userId)) {
+            if (owner.local()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void finish(ImportJob job) {
+        log.info("Import {} {} after reading {} records", job.id(), job.state().name().toLowerCase(), job.read.sum());
+        synchronized (finished) {
+            finished.addFirst(job);
+            while (finished.size() > history) {
+                finished.removeLast();
+            }
+            running.compareAndSet(job, null);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.authbackend.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "assessment.idempotency")
+public class IdempotencyProperties {
+
+    // How long an Idempotency-Key keeps replaying its first response; 0 ignores the header
+    private Duration keyTtl = Duration.ofHours(24);
+    // Without a key, identical submissions from the same user within this window are replayed; 0 disables
+    private Duration contentWindow = Duration.ofMinutes(10);
+    private int maxKeyLength = 255;
+    private int maxEntries = 100_000;
+
+    public Duration getKeyTtl() { return keyTtl; }
+    public void setKeyTtl(Duration keyTtl) { this.keyTtl = keyTtl; }
+
+    public Duration getContentWindow() { return contentWindow; }
+    public void setContentWindow(Duration contentWindow) { this.contentWindow = contentWindow; }
+
+    public int getMaxKeyLength() { return maxKeyLength; }
+    public void setMaxKeyLength(int maxKeyLength) { this.maxKeyLength = maxKeyLength; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+}
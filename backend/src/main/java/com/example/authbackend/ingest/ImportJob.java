@@ -0,0 +1,105 @@
+package com.example.authbackend.ingest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of one bulk import, updated by the reading thread and the workers
+ * while it runs and reported by {@code GET /api/assessments/imports}.
+ */
+public class ImportJob {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final long id;
+    private final String format;
+    private final String startedBy;
+    private final Instant startedAt = Instant.now();
+    private final int maxReportedErrors;
+
+    final LongAdder read = new LongAdder();
+    final LongAdder imported = new LongAdder();
+    // Already stored, or repeated earlier in the same upload
+    final LongAdder duplicates = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    // Passed validation but could not be logged
+    final LongAdder failed = new LongAdder();
+    // Owned only by other nodes, so sent to them by replication
+    final LongAdder forwarded = new LongAdder();
+    final LongAdder batches = new LongAdder();
+
+    // Guarded by this
+    private final List<Map<String, Object>> errors = new ArrayList<>();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    ImportJob(long id, String format, String startedBy, int maxReportedErrors) {
+        this.id = id;
+        this.format = format;
+        this.startedBy = startedBy;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    void reject(long line, String error) {
+        rejected.increment();
+        synchronized (this) {
+            if (errors.size() < maxReportedErrors) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("line", line);
+                entry.put("error", error);
+                errors.add(entry);
+            }
+        }
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String reason) {
+        failure = reason;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+
+    public Map<String, Object> report() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsedMillis = Math.max(1, end.toEpochMilli() - startedAt.toEpochMilli());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("id", id);
+        report.put("state", state.name().toLowerCase());
+        report.put("format", format);
+        report.put("startedBy", startedBy);
+        report.put("startedAt", startedAt.toString());
+        report.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        report.put("read", read.sum());
+        report.put("imported", imported.sum());
+        report.put("duplicates", duplicates.sum());
+        report.put("rejected", rejected.sum());
+        report.put("failed", failed.sum());
+        report.put("forwarded", forwarded.sum());
+        report.put("batches", batches.sum());
+        report.put("recordsPerSecond", read.sum() * 1000 / elapsedMillis);
+        if (failure != null) {
+            report.put("failure", failure);
+        }
+        synchronized (this) {
+            report.put("errors", new ArrayList<>(errors));
+        }
+        return report;
+    }
+}
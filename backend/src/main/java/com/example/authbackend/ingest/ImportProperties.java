@@ -0,0 +1,40 @@
+package com.example.authbackend.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "assessment.import")
+public class ImportProperties {
+
+    // Records validated and stored together; one log commit covers each batch
+    private int batchSize = 1000;
+    // Threads validating and storing batches; 0 means one per available processor
+    private int workers = 0;
+    // Longest NDJSON line or CSV record accepted, in characters
+    private int maxRecordLength = 1024 * 1024;
+    // Invalid records listed in an import's report; all of them are counted
+    private int maxReportedErrors = 100;
+    // Finished imports kept for GET /api/assessments/imports
+    private int history = 10;
+    // In cluster mode, how long a batch waits for room in the replication backlog before the import stops
+    private Duration replicationWait = Duration.ofSeconds(30);
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+
+    public int getMaxRecordLength() { return maxRecordLength; }
+    public void setMaxRecordLength(int maxRecordLength) { this.maxRecordLength = maxRecordLength; }
+
+    public int getMaxReportedErrors() { return maxReportedErrors; }
+    public void setMaxReportedErrors(int maxReportedErrors) { this.maxReportedErrors = maxReportedErrors; }
+
+    public int getHistory() { return history; }
+    public void setHistory(int history) { this.history = history; }
+
+    public Duration getReplicationWait() { return replicationWait; }
+    public void setReplicationWait(Duration replicationWait) { this.replicationWait = replicationWait; }
+}
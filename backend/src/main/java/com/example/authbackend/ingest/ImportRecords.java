@@ -0,0 +1,323 @@
+package com.example.authbackend.ingest;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.authbackend.model.AssessmentRequest.MAX_LONG_TEXT_LENGTH;
+import static com.example.authbackend.model.AssessmentRequest.MAX_SHORT_TEXT_LENGTH;
+import static com.example.authbackend.model.AssessmentRequest.MAX_SKILLS;
+import static com.example.authbackend.model.AssessmentRequest.MAX_TECHNICAL_ANSWERS;
+import static com.example.authbackend.model.AssessmentRequest.MAX_USER_AGENT_LENGTH;
+
+/**
+ * Turns imported records into submissions, accepting what the export
+ * endpoints write: NDJSON objects with the {@code AssessmentJsonWriter}
+ * field names, or CSV with those names as the header. Technical answers may
+ * be a {@code technicalAnswers} object (a JSON column in CSV) or flat
+ * {@code question*}, {@code tech*} and {@code problemSolving} fields as in a
+ * submission. Values are held to the same limits as
+ * {@code POST /api/submit-assessment}; in addition {@code userId} is
+ * required, and {@code id} and {@code submittedAt} are kept when given.
+ * {@code submittedAt} may not be in the future.
+ *
+ * <p>Invalid records are reported by {@link IllegalArgumentException}.
+ */
+final class ImportRecords {
+
+    private final JsonFactory jsonFactory;
+
+    ImportRecords(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    AssessmentSubmission fromJson(String line) {
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Record must be a JSON object");
+            }
+            AssessmentSubmission submission = new AssessmentSubmission();
+            Map<String, String> answers = new LinkedHashMap<>();
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> submission.setId(readId(parser));
+                    case "userId" -> submission.setUserId(readText(parser, field, MAX_SHORT_TEXT_LENGTH));
+                    case "fullName" -> submission.setFullName(readText(parser, field, MAX_SHORT_TEXT_LENGTH));
+                    case "email" -> submission.setEmail(readText(parser, field, MAX_SHORT_TEXT_LENGTH));
+                    case "experience" -> submission.setExperience(readText(parser, field, MAX_SHORT_TEXT_LENGTH));
+                    case "codingExperience" ->
+                        submission.setCodingExperience(readText(parser, field, MAX_LONG_TEXT_LENGTH));
+                    case "projectDescription" ->
+                        submission.setProjectDescription(readText(parser, field, MAX_LONG_TEXT_LENGTH));
+                    case "skills" -> submission.setSkills(readSkills(parser));
+                    case "termsAccepted" -> submission.setTermsAccepted(readBoolean(parser, field));
+                    case "submittedAt" -> submission.setSubmittedAt(readText(parser, field, MAX_SHORT_TEXT_LENGTH));
+                    case "userAgent" -> submission.setUserAgent(readText(parser, field, MAX_USER_AGENT_LENGTH));
+                    case "technicalAnswers" -> readAnswers(parser, answers);
+                    default -> {
+                        if (!isTechnicalAnswer(field)) {
+                            throw new IllegalArgumentException("Unknown field: " + field);
+                        }
+                        putAnswer(answers, field, readText(parser, field, MAX_LONG_TEXT_LENGTH));
+                    }
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Unexpected content after the JSON object");
+            }
+            submission.setTechnicalAnswers(answers);
+            return complete(submission);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            // Parsing a String does no I/O of its own
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks a CSV header row: every column must be a known field, a
+     * technical answer, or {@code technicalAnswers}, and appear only once.
+     */
+    static List<String> csvHeader(List<String> header) {
+        List<String> columns = new ArrayList<>(header.size());
+        for (String cell : header) {
+            String column = cell.trim();
+            if (column.isEmpty() || !(isField(column) || isTechnicalAnswer(column))) {
+                throw new IllegalArgumentException("Unknown CSV column: \"" + column + "\"");
+            }
+            if (columns.contains(column)) {
+                throw new IllegalArgumentException("Duplicate CSV column: " + column);
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * Reads a CSV record against a header from {@link #csvHeader}. Empty
+     * cells are absent values. {@code skills} is a {@code ;}-separated list
+     * or a JSON array, and {@code technicalAnswers} a JSON object.
+     */
+    AssessmentSubmission fromCsv(List<String> columns, List<String> cells) {
+        if (cells.size() != columns.size()) {
+            throw new IllegalArgumentException("Record has " + cells.size() + " fields but the header has "
+                + columns.size());
+        }
+        AssessmentSubmission submission = new AssessmentSubmission();
+        Map<String, String> answers = new LinkedHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            String column = columns.get(i);
+            String cell = cells.get(i);
+            if (cell.isEmpty()) {
+                continue;
+            }
+            switch (column) {
+                case "id" -> submission.setId(parseId(cell));
+                case "userId" -> submission.setUserId(checkLength(column, cell, MAX_SHORT_TEXT_LENGTH));
+                case "fullName" -> submission.setFullName(checkLength(column, cell, MAX_SHORT_TEXT_LENGTH));
+                case "email" -> submission.setEmail(checkLength(column, cell, MAX_SHORT_TEXT_LENGTH));
+                case "experience" -> submission.setExperience(checkLength(column, cell, MAX_SHORT_TEXT_LENGTH));
+                case "codingExperience" ->
+                    submission.setCodingExperience(checkLength(column, cell, MAX_LONG_TEXT_LENGTH));
+                case "projectDescription" ->
+                    submission.setProjectDescription(checkLength(column, cell, MAX_LONG_TEXT_LENGTH));
+                case "skills" -> submission.setSkills(parseSkills(cell));
+                case "termsAccepted" -> submission.setTermsAccepted(parseBoolean(column, cell));
+                case "submittedAt" -> submission.setSubmittedAt(checkLength(column, cell, MAX_SHORT_TEXT_LENGTH));
+                case "userAgent" -> submission.setUserAgent(checkLength(column, cell, MAX_USER_AGENT_LENGTH));
+                case "technicalAnswers" -> parseJson(column, cell, parser -> readAnswers(parser, answers));
+                default -> putAnswer(answers, column, checkLength(column, cell, MAX_LONG_TEXT_LENGTH));
+            }
+        }
+        submission.setTechnicalAnswers(answers);
+        return complete(submission);
+    }
+
+    private static AssessmentSubmission complete(AssessmentSubmission submission) {
+        if (submission.getUserId() == null || submission.getUserId().isBlank()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        if (submission.getSubmittedAt() == null) {
+            submission.setSubmittedAt(Instant.now().toString());
+        } else {
+            Instant submittedAt;
+            try {
+                submittedAt = Instant.parse(submission.getSubmittedAt());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("submittedAt must be an ISO-8601 instant");
+            }
+            if (submittedAt.isAfter(Instant.now())) {
+                throw new IllegalArgumentException("submittedAt must not be in the future");
+            }
+            // Normalized, so imported times sort and bucket like submitted ones
+            submission.setSubmittedAt(submittedAt.toString());
+        }
+        return submission;
+    }
+
+    private static boolean isField(String name) {
+        return switch (name) {
+            case "id", "userId", "fullName", "email", "experience", "codingExperience", "projectDescription",
+                 "skills", "termsAccepted", "submittedAt", "userAgent", "technicalAnswers" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isTechnicalAnswer(String field) {
+        return field.startsWith("question") || field.startsWith("tech") || field.equals("problemSolving");
+    }
+
+    private static void putAnswer(Map<String, String> answers, String key, String value) {
+        if (answers.size() == MAX_TECHNICAL_ANSWERS && !answers.containsKey(key)) {
+            throw new IllegalArgumentException("At most " + MAX_TECHNICAL_ANSWERS + " technical answers are allowed");
+        }
+        answers.put(key, value);
+    }
+
+    private static Long readId(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> checkId(parser.getLongValue());
+            default -> throw new IllegalArgumentException("id must be a positive integer");
+        };
+    }
+
+    private static Long parseId(String cell) {
+        try {
+            return checkId(Long.parseLong(cell.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("id must be a positive integer");
+        }
+    }
+
+    private static long checkId(long id) {
+        // Generated ids stay below 2^53 for JavaScript clients, so imported ones must too
+        if (id <= 0 || id >= 1L << 53) {
+            throw new IllegalArgumentException("id must be a positive integer below 2^53");
+        }
+        return id;
+    }
+
+    private static String readText(JsonParser parser, String field, int maxLength) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException(field + " must be a string");
+        }
+        if (parser.getTextLength() > maxLength) {
+            throw new IllegalArgumentException(field + " must be at most " + maxLength + " characters");
+        }
+        return parser.getText();
+    }
+
+    private static String checkLength(String field, String value, int maxLength) {
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " must be at most " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static Boolean readBoolean(JsonParser parser, String field) {
+        return switch (parser.currentToken()) {
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> throw new IllegalArgumentException(field + " must be a boolean");
+        };
+    }
+
+    private static Boolean parseBoolean(String field, String cell) {
+        return switch (cell.trim().toLowerCase()) {
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException(field + " must be true or false");
+        };
+    }
+
+    private static List<String> readSkills(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("skills must be an array of strings");
+        }
+        List<String> skills = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (skills.size() == MAX_SKILLS) {
+                throw new IllegalArgumentException("At most " + MAX_SKILLS + " skills are allowed");
+            }
+            skills.add(readText(parser, "skills", MAX_SHORT_TEXT_LENGTH));
+        }
+        return skills;
+    }
+
+    private List<String> parseSkills(String cell) {
+        if (cell.startsWith("[")) {
+            List<List<String>> skills = new ArrayList<>(1);
+            parseJson("skills", cell, parser -> skills.add(readSkills(parser)));
+            return skills.get(0);
+        }
+        String[] parts = cell.split(";", -1);
+        if (parts.length > MAX_SKILLS) {
+            throw new IllegalArgumentException("At most " + MAX_SKILLS + " skills are allowed");
+        }
+        List<String> skills = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            skills.add(checkLength("skills", part.trim(), MAX_SHORT_TEXT_LENGTH));
+        }
+        return skills;
+    }
+
+    private static void readAnswers(JsonParser parser, Map<String, String> answers) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("technicalAnswers must be an object of strings");
+        }
+        String key;
+        while ((key = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if (key.length() > MAX_SHORT_TEXT_LENGTH) {
+                throw new IllegalArgumentException("technicalAnswers keys must be at most "
+                    + MAX_SHORT_TEXT_LENGTH + " characters");
+            }
+            putAnswer(answers, key, readText(parser, "technicalAnswers." + key, MAX_LONG_TEXT_LENGTH));
+        }
+    }
+
+    private interface ParserReader {
+        void read(JsonParser parser) throws IOException;
+    }
+
+    private void parseJson(String field, String text, ParserReader reader) {
+        try (JsonParser parser = jsonFactory.createParser(text)) {
+            parser.nextToken();
+            reader.read(parser);
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Unexpected content after " + field);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(field + " is not valid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.authbackend.ingest;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.service.AssessmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Front of the submission write path. In {@link IngestProperties.Mode#ASYNC}
+ * mode request threads only enqueue into a {@link MpscRingBuffer}; a single
+ * consumer thread drains it in batches and hands each batch to
+ * {@link AssessmentService#submitAll}, so one log commit covers the whole
+ * batch. Submissions beyond the reject depth are refused so callers can
+ * answer 429 instead of queueing without bound. A queued submission's
+ * {@link Listener} hears whether the consumer stored it. In
+ * {@link IngestProperties.Mode#SYNC} mode submissions are stored on the
+ * caller's thread as before.
+ */
+public class IngestPipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestPipeline.class);
+
+    // Upper bound on an idle park, in case a wakeup is missed
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    public enum Outcome { STORED, QUEUED, REJECTED }
+
+    /**
+     * Told on the consumer thread whether a queued submission was stored, or
+     * was dropped because the log failed it.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void done(boolean stored);
+    }
+
+    private static final Listener IGNORE = stored -> { };
+
+    private record Queued(AssessmentSubmission submission, Listener listener) {
+    }
+
+    private final AssessmentService assessmentService;
+    private final IngestProperties.Mode mode;
+    private final MpscRingBuffer<Queued> buffer;
+    private final int rejectDepth;
+    private final int maxBatchSize;
+    private final Thread consumer;
+    private volatile boolean consumerParked;
+    // Producers refuse new submissions once closed; the consumer exits once stopping, which close()
+    // only sets after every producer that saw the pipeline open has finished its offer
+    private volatile boolean closed;
+    private volatile boolean stopping;
+    private final AtomicInteger submitting = new AtomicInteger();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // Consumer thread only; volatile for metrics()
+    private volatile long batches;
+    private volatile long applied;
+    private volatile long failed;
+    private volatile int lastBatchSize;
+    private volatile int largestBatchSize;
+
+    public IngestPipeline(IngestProperties properties, AssessmentService assessmentService) {
+        this.assessmentService = assessmentService;
+        this.mode = properties.getMode();
+        this.buffer = new MpscRingBuffer<>(properties.getCapacity());
+        this.rejectDepth = properties.getRejectDepth() > 0
+            ? Math.min(properties.getRejectDepth(), buffer.capacity())
+            : buffer.capacity();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+
+        if (mode == IngestProperties.Mode.ASYNC) {
+            this.consumer = new Thread(this::runConsumer, "assessment-ingest");
+            this.consumer.setDaemon(true);
+            this.consumer.start();
+        } else {
+            this.consumer = null;
+        }
+    }
+
+    public Outcome submit(AssessmentSubmission submission) {
+        return submit(submission, IGNORE);
+    }
+
+    /**
+     * Stores the submission, or queues it in async mode. Returns
+     * {@link Outcome#REJECTED} when the queue is at its reject depth or the
+     * pipeline is shutting down. {@code listener} is only called for
+     * {@link Outcome#QUEUED} submissions, once the consumer has handled them.
+     */
+    public Outcome submit(AssessmentSubmission submission, Listener listener) {
+        if (consumer == null) {
+            assessmentService.submit(submission);
+            accepted.incrementAndGet();
+            return Outcome.STORED;
+        }
+        submitting.incrementAndGet();
+        try {
+            if (closed || buffer.size() >= rejectDepth || !buffer.offer(new Queued(submission, listener))) {
+                rejected.incrementAndGet();
+                return Outcome.REJECTED;
+            }
+        } finally {
+            submitting.decrementAndGet();
+        }
+        accepted.incrementAndGet();
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+        return Outcome.QUEUED;
+    }
+
+    public int depth() {
+        return buffer.size();
+    }
+
+    public long acceptedCount() {
+        return accepted.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", mode.name().toLowerCase());
+        metrics.put("depth", buffer.size());
+        metrics.put("capacity", buffer.capacity());
+        metrics.put("rejectDepth", rejectDepth);
+        metrics.put("accepted", accepted.get());
+        metrics.put("rejected", rejected.get());
+        metrics.put("applied", consumer != null ? applied : accepted.get());
+        metrics.put("failed", failed);
+        metrics.put("batches", batches);
+        metrics.put("lastBatchSize", lastBatchSize);
+        metrics.put("largestBatchSize", largestBatchSize);
+        return metrics;
+    }
+
+    /**
+     * Stops accepting submissions and waits for the consumer to store the
+     * ones already queued, including any a racing producer was still adding.
+     */
+    @Override
+    public void close() {
+        if (consumer == null || closed) {
+            return;
+        }
+        closed = true;
+        // A producer that read closed before it was set may still be offering; its submission must be drained
+        while (submitting.get() > 0) {
+            Thread.onSpinWait();
+        }
+        stopping = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            log.warn("Ingest pipeline closed with {} submissions still queued", buffer.size());
+        }
+    }
+
+    private void runConsumer() {
+        List<Queued> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            buffer.drain(batch::add, maxBatchSize);
+            if (!batch.isEmpty()) {
+                store(batch);
+                batch.clear();
+                continue;
+            }
+            if (stopping) {
+                return;
+            }
+
+            // Producers check the flag after publishing, so re-check the buffer once it is set
+            consumerParked = true;
+            if (buffer.size() == 0 && !stopping) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            consumerParked = false;
+        }
+    }
+
+    private void store(List<Queued> batch) {
+        List<AssessmentSubmission> submissions = new ArrayList<>(batch.size());
+        for (Queued queued : batch) {
+            submissions.add(queued.submission());
+        }
+        BitSet stored;
+        try {
+            stored = assessmentService.submitAll(submissions);
+        } catch (RuntimeException e) {
+            log.error("Failed to store a batch of {} queued submissions", batch.size(), e);
+            stored = new BitSet();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                batch.get(i).listener().done(stored.get(i));
+            } catch (RuntimeException e) {
+                log.error("Ingest listener failed for submission {}", submissions.get(i).getId(), e);
+            }
+        }
+        applied += stored.cardinality();
+        failed += batch.size() - stored.cardinality();
+        batches++;
+        lastBatchSize = batch.size();
+        largestBatchSize = Math.max(largestBatchSize, batch.size());
+    }
+}
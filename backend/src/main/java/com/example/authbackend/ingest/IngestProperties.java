@@ -0,0 +1,30 @@
+package com.example.authbackend.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "assessment.ingest")
+public class IngestProperties {
+
+    public enum Mode { SYNC, ASYNC }
+
+    // SYNC stores a submission before answering; ASYNC answers once it is queued for the batching consumer
+    private Mode mode = Mode.SYNC;
+    // Ring buffer slots; rounded up to a power of two
+    private int capacity = 16384;
+    // Submissions get 429 once this many are waiting; 0 means only when the buffer is full
+    private int rejectDepth = 0;
+    // Most submissions the consumer logs and applies as one batch
+    private int maxBatchSize = 256;
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+
+    public int getRejectDepth() { return rejectDepth; }
+    public void setRejectDepth(int rejectDepth) { this.rejectDepth = rejectDepth; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+}
@@ -0,0 +1,94 @@
+package com.example.authbackend.ingest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * <p>Each slot carries a sequence number: a producer claims position
+ * {@code p} with a CAS on the tail, then publishes its element by setting the
+ * slot's sequence to {@code p + 1}. The consumer takes the slot once it sees
+ * that sequence and hands it back by setting it to {@code p + capacity}. A
+ * producer that finds a slot still a lap behind knows the buffer is full and
+ * fails instead of waiting.
+ */
+final class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Only written by the consumer
+    private volatile long head;
+
+    MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Adds {@code element} unless the buffer is full.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long lap = sequences.get(index) - position;
+            if (lap == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lap < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes up to {@code max} elements in order, passing each to
+     * {@code sink}. Consumer thread only.
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<? super E> sink, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            E element = (E) elements[index];
+            elements[index] = null;
+            sequences.set(index, position + elements.length);
+            position++;
+            drained++;
+            sink.accept(element);
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Claimed but not yet drained positions. Approximate while producers
+     * are active.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
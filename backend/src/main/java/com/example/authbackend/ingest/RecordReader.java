@@ -0,0 +1,210 @@
+package com.example.authbackend.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits an upload into records without interpreting them: lines of NDJSON,
+ * or RFC 4180 records of CSV, where a quoted field may hold commas, doubled
+ * quotes and line breaks. Only the current record is held in memory. One
+ * longer than the limit is read to its end and returned as an error instead
+ * of being buffered. Blank lines are skipped.
+ */
+final class RecordReader {
+
+    /**
+     * One record: {@code text} for NDJSON or {@code cells} for CSV, or only
+     * an {@code error}. {@code line} is the line the record starts on.
+     */
+    record Raw(long line, String text, List<String> cells, String error) {}
+
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final boolean csv;
+    private final int maxLength;
+    private final char[] buffer = new char[16 * 1024];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private int pushedBack = NONE;
+
+    RecordReader(Reader in, boolean csv, int maxLength) {
+        this.in = in;
+        this.csv = csv;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * The next record, or {@code null} at the end of the upload.
+     */
+    Raw next() throws IOException {
+        while (true) {
+            Raw raw = csv ? nextCsv() : nextLine();
+            if (raw != BLANK) {
+                return raw;
+            }
+        }
+    }
+
+    private static final Raw BLANK = new Raw(0, null, null, null);
+
+    private Raw nextLine() throws IOException {
+        long start = line;
+        StringBuilder text = new StringBuilder();
+        long length = 0;
+        boolean ended = false;
+        // Copies whole runs up to the newline out of the buffer
+        while (!ended && (position < limit || fill())) {
+            int end = position;
+            while (end < limit && buffer[end] != '\n') {
+                end++;
+            }
+            int run = end - position;
+            if (length + run <= maxLength) {
+                text.append(buffer, position, run);
+            }
+            length += run;
+            ended = end < limit;
+            position = ended ? end + 1 : end;
+        }
+        if (!ended && length == 0) {
+            return null;
+        }
+        line++;
+        if (length > maxLength) {
+            return tooLong(start);
+        }
+        if (text.length() > 0 && text.charAt(text.length() - 1) == '\r') {
+            text.setLength(text.length() - 1);
+        }
+        return text.toString().isBlank() ? BLANK : new Raw(start, text.toString(), null, null);
+    }
+
+    private Raw nextCsv() throws IOException {
+        long start = line;
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quotedCell = false;
+        boolean inQuotes = false;
+        long length = 0;
+        while (true) {
+            int run = plainRun(inQuotes);
+            if (run > 0) {
+                length += run;
+                if (length <= maxLength) {
+                    cell.append(buffer, position, run);
+                }
+                position += run;
+                continue;
+            }
+            int c = read();
+            if (c == -1) {
+                if (length == 0) {
+                    return null;
+                }
+                if (inQuotes) {
+                    return new Raw(start, null, null, "Quoted field is not closed before the end of the upload");
+                }
+                break;
+            }
+            if (++length > maxLength) {
+                // Keep following quotes, so the record still ends where it should
+                cell.setLength(0);
+                cells.clear();
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        inQuotes = false;
+                        pushedBack = next;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    cell.append((char) c);
+                }
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+                quotedCell = false;
+            } else if (c == '"' && cell.length() == 0 && !quotedCell) {
+                inQuotes = true;
+                quotedCell = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                line++;
+                break;
+            } else {
+                cell.append((char) c);
+            }
+        }
+        if (length > maxLength) {
+            return tooLong(start);
+        }
+        if (cells.isEmpty() && cell.isEmpty() && !quotedCell) {
+            return BLANK;
+        }
+        cells.add(cell.toString());
+        return new Raw(start, null, cells, null);
+    }
+
+    /**
+     * How many characters from the buffer can be appended to the current
+     * cell as they are, counting the line breaks inside a quoted field.
+     */
+    private int plainRun(boolean inQuotes) {
+        if (pushedBack != NONE) {
+            return 0;
+        }
+        int end = position;
+        if (inQuotes) {
+            while (end < limit && buffer[end] != '"') {
+                if (buffer[end++] == '\n') {
+                    line++;
+                }
+            }
+        } else {
+            while (end < limit && !isSeparator(buffer[end])) {
+                end++;
+            }
+        }
+        return end - position;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == '"' || c == '\r' || c == '\n';
+    }
+
+    private Raw tooLong(long start) {
+        return new Raw(start, null, null, "Record is longer than " + maxLength + " characters");
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return position < limit || fill() ? buffer[position++] : -1;
+    }
+
+    // Reader.read() takes the reader's lock on every call, so characters are read a buffer at a time
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.authbackend.ingest;
+
+import com.example.authbackend.model.AssessmentRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the response to each submission so client retries get that
+ * response back instead of creating another record.
+ *
+ * <p>A submission is identified per user by its {@code Idempotency-Key}
+ * header or, without one, by its content: the bound request itself is the
+ * key, so identical retries are found by hash lookup and confirmed by
+ * {@code equals}, with no digest to compute. The first
+ * request to {@link #claim} an identity runs the submit path and
+ * {@link #complete}s the claim with its response; while it runs, duplicates
+ * are told it is in progress, and afterwards they get the stored response
+ * until it expires. A key reused with different content, compared with
+ * {@code equals}, is a conflict. Only successful responses are kept, so a
+ * failed or rejected submission can be retried. A queued submission is not
+ * completed until the ingest consumer has stored it, and is
+ * {@link #release}d if that fails.
+ *
+ * <p>The cache holds at most {@code max-entries} identities. When it is full,
+ * expired entries are swept (at most once a second); if it is still full,
+ * new submissions go through untracked rather than evicting live entries.
+ */
+public class SubmissionDeduplicator {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public enum Status {
+        /** First request for this identity; call {@link #complete} with its response */
+        NEW,
+        /** Duplicate of a completed request; {@link Claim#response()} is the original response */
+        REPLAY,
+        /** Duplicate of a request that has not finished yet */
+        IN_PROGRESS,
+        /** The Idempotency-Key was already used for a different submission */
+        CONFLICT,
+        /** Not deduplicated: nothing to key on, or the cache is full */
+        UNTRACKED
+    }
+
+    public static final class Claim {
+        private static final Claim UNTRACKED = new Claim(Status.UNTRACKED, null, null, null);
+        private static final Claim IN_PROGRESS = new Claim(Status.IN_PROGRESS, null, null, null);
+        private static final Claim CONFLICT = new Claim(Status.CONFLICT, null, null, null);
+
+        private final Status status;
+        private final Key key;
+        private final Entry entry;
+        private final ResponseEntity<?> response;
+
+        private Claim(Status status, Key key, Entry entry, ResponseEntity<?> response) {
+            this.status = status;
+            this.key = key;
+            this.entry = entry;
+            this.response = response;
+        }
+
+        public Status status() { return status; }
+        public ResponseEntity<?> response() { return response; }
+    }
+
+    // Exactly one of idempotencyKey and content is set
+    private record Key(String username, String idempotencyKey, AssessmentRequest content) {
+    }
+
+    // response is null while the first request is still running; request spots a key reused for other content
+    private record Entry(AssessmentRequest request, ResponseEntity<?> response, long expiresAt) {
+    }
+
+    private final long keyTtlNanos;
+    private final long contentWindowNanos;
+    private final int maxKeyLength;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+    private final AtomicLong replays = new AtomicLong();
+
+    public SubmissionDeduplicator(IdempotencyProperties properties) {
+        this.keyTtlNanos = properties.getKeyTtl().toNanos();
+        this.contentWindowNanos = properties.getContentWindow().toNanos();
+        this.maxKeyLength = properties.getMaxKeyLength();
+        this.maxEntries = properties.getMaxEntries();
+    }
+
+    /**
+     * Validates an {@code Idempotency-Key} header value; {@code null} is valid
+     * and means the request has none.
+     */
+    public boolean isValidKey(String idempotencyKey) {
+        return idempotencyKey == null || (!idempotencyKey.isBlank() && idempotencyKey.length() <= maxKeyLength);
+    }
+
+    public Claim claim(String username, String idempotencyKey, AssessmentRequest request) {
+        boolean keyed = idempotencyKey != null && keyTtlNanos > 0;
+        if (!keyed && contentWindowNanos <= 0) {
+            return Claim.UNTRACKED;
+        }
+
+        Key key = keyed ? new Key(username, idempotencyKey, null) : new Key(username, null, request);
+        long now = System.nanoTime();
+        Entry pending = new Entry(request, null, now + (keyed ? keyTtlNanos : contentWindowNanos));
+
+        if (entries.size() >= maxEntries && !sweep(now)) {
+            return Claim.UNTRACKED;
+        }
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, pending);
+            if (existing == null) {
+                return new Claim(Status.NEW, key, pending, null);
+            }
+            if (existing.expiresAt() - now <= 0) {
+                if (entries.replace(key, existing, pending)) {
+                    return new Claim(Status.NEW, key, pending, null);
+                }
+                continue;
+            }
+            // Content-keyed entries already matched on equals
+            if (keyed && !existing.request().equals(request)) {
+                return Claim.CONFLICT;
+            }
+            if (existing.response() == null) {
+                return Claim.IN_PROGRESS;
+            }
+            replays.incrementAndGet();
+            return new Claim(Status.REPLAY, key, existing, existing.response());
+        }
+    }
+
+    /**
+     * Records the response to a {@link Status#NEW} claim. Successful responses
+     * are replayed to duplicates; anything else releases the claim.
+     */
+    public void complete(Claim claim, ResponseEntity<?> response) {
+        if (claim.status() != Status.NEW) {
+            return;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(claim);
+            return;
+        }
+        ResponseEntity<?> replay = ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .header(REPLAYED_HEADER, "true")
+            .body(response.getBody());
+        entries.replace(claim.key, claim.entry, new Entry(claim.entry.request(), replay, claim.entry.expiresAt()));
+    }
+
+    /**
+     * Drops a {@link Status#NEW} claim without a response, so the submission
+     * can be sent again.
+     */
+    public void release(Claim claim) {
+        if (claim.status() == Status.NEW) {
+            entries.remove(claim.key, claim.entry);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long replayCount() {
+        return replays.get();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("entries", entries.size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("replays", replays.get());
+        return metrics;
+    }
+
+    // Returns whether there is room after dropping expired entries
+    private boolean sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        }
+        return entries.size() < maxEntries;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.authbackend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts 401, 403 and 409 responses as {@code http.server.outcomes}, tagged
+ * by outcome. It runs outside the security filter chain so rejections by
+ * HTTP Basic, bearer-token checks and role rules are counted alongside the
+ * ones controllers return. The counters are registered up front, so the
+ * per-request cost is a status check and at most one increment.
+ */
+public class ResponseOutcomeFilter extends OncePerRequestFilter {
+
+    private final Counter unauthorized;
+    private final Counter forbidden;
+    private final Counter conflict;
+
+    public ResponseOutcomeFilter(MeterRegistry registry) {
+        this.unauthorized = counter(registry, "unauthorized");
+        this.forbidden = counter(registry, "forbidden");
+        this.conflict = counter(registry, "conflict");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            switch (response.getStatus()) {
+                case HttpServletResponse.SC_UNAUTHORIZED -> unauthorized.increment();
+                case HttpServletResponse.SC_FORBIDDEN -> forbidden.increment();
+                case HttpServletResponse.SC_CONFLICT -> conflict.increment();
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("http.server.outcomes")
+            .description("Responses rejected for authentication, authorization or conflicts")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+}
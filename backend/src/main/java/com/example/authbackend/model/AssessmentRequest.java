@@ -0,0 +1,173 @@
+package com.example.authbackend.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code POST /api/submit-assessment}. Bound by a streaming
+ * deserializer that reads each field straight off the parser in a single pass,
+ * collecting {@code question*}, {@code tech*} and {@code problemSolving} into
+ * {@link #technicalAnswers()}. Unknown fields, wrong types and oversized
+ * values are rejected as soon as they are seen. Serializing writes the same
+ * flat shape back, for forwarding a submission to another node.
+ */
+@JsonDeserialize(using = AssessmentRequest.Deserializer.class)
+@JsonSerialize(using = AssessmentRequest.Serializer.class)
+public record AssessmentRequest(
+        String fullName,
+        String email,
+        String experience,
+        String codingExperience,
+        String projectDescription,
+        List<String> skills,
+        Boolean termsAccepted,
+        String userAgent,
+        Map<String, String> technicalAnswers) {
+
+    public static final int MAX_SHORT_TEXT_LENGTH = 256;
+    public static final int MAX_LONG_TEXT_LENGTH = 10_000;
+    public static final int MAX_USER_AGENT_LENGTH = 1_024;
+    public static final int MAX_SKILLS = 64;
+    public static final int MAX_TECHNICAL_ANSWERS = 64;
+
+    public static class Deserializer extends JsonDeserializer<AssessmentRequest> {
+
+        @Override
+        public AssessmentRequest deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw JsonMappingException.from(parser, "Assessment submission must be a JSON object");
+            }
+
+            String fullName = null;
+            String email = null;
+            String experience = null;
+            String codingExperience = null;
+            String projectDescription = null;
+            List<String> skills = null;
+            Boolean termsAccepted = null;
+            String userAgent = null;
+            Map<String, String> technicalAnswers = new HashMap<>();
+
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                switch (field) {
+                    case "fullName" -> fullName = readText(parser, field, MAX_SHORT_TEXT_LENGTH);
+                    case "email" -> email = readText(parser, field, MAX_SHORT_TEXT_LENGTH);
+                    case "experience" -> experience = readText(parser, field, MAX_SHORT_TEXT_LENGTH);
+                    case "codingExperience" -> codingExperience = readText(parser, field, MAX_LONG_TEXT_LENGTH);
+                    case "projectDescription" -> projectDescription = readText(parser, field, MAX_LONG_TEXT_LENGTH);
+                    case "skills" -> skills = readSkills(parser);
+                    case "termsAccepted" -> termsAccepted = readBoolean(parser, field);
+                    case "userAgent" -> userAgent = readText(parser, field, MAX_USER_AGENT_LENGTH);
+                    // The server stamps its own submission time; the client's clock is not trusted
+                    case "submittedAt" -> readText(parser, field, MAX_SHORT_TEXT_LENGTH);
+                    default -> {
+                        if (!isTechnicalAnswer(field)) {
+                            throw JsonMappingException.from(parser, "Unknown field: " + field);
+                        }
+                        if (technicalAnswers.size() == MAX_TECHNICAL_ANSWERS) {
+                            throw JsonMappingException.from(parser,
+                                "At most " + MAX_TECHNICAL_ANSWERS + " technical answers are allowed");
+                        }
+                        technicalAnswers.put(field, readText(parser, field, MAX_LONG_TEXT_LENGTH));
+                    }
+                }
+            }
+
+            return new AssessmentRequest(fullName, email, experience, codingExperience, projectDescription,
+                skills, termsAccepted, userAgent, technicalAnswers);
+        }
+
+        private static boolean isTechnicalAnswer(String field) {
+            return field.startsWith("question") || field.startsWith("tech") || field.equals("problemSolving");
+        }
+
+        private static String readText(JsonParser parser, String field, int maxLength) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.VALUE_STRING) {
+                throw JsonMappingException.from(parser, field + " must be a string");
+            }
+            // Checked on the parser's buffer, before a String is materialized
+            if (parser.getTextLength() > maxLength) {
+                throw JsonMappingException.from(parser, field + " must be at most " + maxLength + " characters");
+            }
+            return parser.getText();
+        }
+
+        private static Boolean readBoolean(JsonParser parser, String field) throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_TRUE -> Boolean.TRUE;
+                case VALUE_FALSE -> Boolean.FALSE;
+                case VALUE_NULL -> null;
+                default -> throw JsonMappingException.from(parser, field + " must be a boolean");
+            };
+        }
+
+        private static List<String> readSkills(JsonParser parser) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw JsonMappingException.from(parser, "skills must be an array of strings");
+            }
+            List<String> skills = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (skills.size() == MAX_SKILLS) {
+                    throw JsonMappingException.from(parser, "At most " + MAX_SKILLS + " skills are allowed");
+                }
+                skills.add(readText(parser, "skills", MAX_SHORT_TEXT_LENGTH));
+            }
+            return skills;
+        }
+    }
+
+    public static class Serializer extends JsonSerializer<AssessmentRequest> {
+
+        @Override
+        public void serialize(AssessmentRequest request, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("fullName", request.fullName());
+            generator.writeStringField("email", request.email());
+            generator.writeStringField("experience", request.experience());
+            generator.writeStringField("codingExperience", request.codingExperience());
+            generator.writeStringField("projectDescription", request.projectDescription());
+            if (request.skills() != null) {
+                generator.writeArrayFieldStart("skills");
+                for (String skill : request.skills()) {
+                    generator.writeString(skill);
+                }
+                generator.writeEndArray();
+            }
+            if (request.termsAccepted() != null) {
+                generator.writeBooleanField("termsAccepted", request.termsAccepted());
+            }
+            generator.writeStringField("userAgent", request.userAgent());
+            if (request.technicalAnswers() != null) {
+                for (Map.Entry<String, String> answer : request.technicalAnswers().entrySet()) {
+                    generator.writeStringField(answer.getKey(), answer.getValue());
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.authbackend.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "assessment.persistence")
+public class PersistenceProperties {
+
+    public enum Mode { MEMORY, WAL }
+
+    private Mode mode = Mode.MEMORY;
+    private final Wal wal = new Wal();
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+
+    public Wal getWal() { return wal; }
+
+    public static class Wal {
+        private String directory = "./data/wal";
+        // Roll to a new segment once the active one reaches this size
+        private long segmentSizeBytes = 64L * 1024 * 1024;
+        // Group commit: fsync at least this often, or sooner once fsyncBatchSize records are waiting
+        private Duration fsyncInterval = Duration.ofMillis(10);
+        private int fsyncBatchSize = 256;
+        // Hold the submit response until its record has been fsynced
+        private boolean syncOnSubmit = true;
+
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+
+        public long getSegmentSizeBytes() { return segmentSizeBytes; }
+        public void setSegmentSizeBytes(long segmentSizeBytes) { this.segmentSizeBytes = segmentSizeBytes; }
+
+        public Duration getFsyncInterval() { return fsyncInterval; }
+        public void setFsyncInterval(Duration fsyncInterval) { this.fsyncInterval = fsyncInterval; }
+
+        public int getFsyncBatchSize() { return fsyncBatchSize; }
+        public void setFsyncBatchSize(int fsyncBatchSize) { this.fsyncBatchSize = fsyncBatchSize; }
+
+        public boolean isSyncOnSubmit() { return syncOnSubmit; }
+        public void setSyncOnSubmit(boolean syncOnSubmit) { this.syncOnSubmit = syncOnSubmit; }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.authbackend.persistence;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Durable record of accepted submissions. The in-memory store is rebuilt from
+ * it at startup, so implementations only ever need to append and replay.
+ */
+public interface SubmissionLog extends AutoCloseable {
+
+    /**
+     * Appends a submission. The returned future completes once the record is
+     * as durable as the implementation promises.
+     */
+    CompletableFuture<Void> append(AssessmentSubmission submission);
+
+    /**
+     * Feeds every logged submission to {@code consumer} in append order, each
+     * id at most once.
+     */
+    void replay(Consumer<AssessmentSubmission> consumer);
+
+    @Override
+    default void close() {
+    }
+}
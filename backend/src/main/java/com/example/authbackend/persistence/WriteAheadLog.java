@@ -0,0 +1,382 @@
+package com.example.authbackend.persistence;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmented, append-only submission log.
+ *
+ * <p>Each segment starts with a magic/version header followed by frames of
+ * {@code [int payloadLength][int crc32c][long id][payload]}, where the checksum
+ * covers the id and the JSON payload. Appends only write to the active
+ * segment's {@link FileChannel}; a flusher thread fsyncs on a fixed interval or
+ * as soon as enough records are waiting, completing every pending append with a
+ * single {@code force} (group commit). Every record stays live, so segments are
+ * never rewritten; replay truncates a torn tail left by a crash. A write that
+ * fails part way is cut back out and the log moves on to a new segment, so no
+ * later append lands behind a torn frame.
+ */
+public class WriteAheadLog implements SubmissionLog {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int MAGIC = 0x41574c31; // "AWL1"
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    private static final int FRAME_HEADER_SIZE = 16;
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    @FunctionalInterface
+    private interface FrameVisitor {
+        void visit(long id, byte[] payload) throws IOException;
+    }
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final long fsyncIntervalNanos;
+    private final int fsyncBatchSize;
+    private final boolean syncOnAppend;
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushNeeded = lock.newCondition();
+    // Guarded by lock
+    private final List<Long> sealedSegments = new ArrayList<>();
+    private FileChannel activeChannel;
+    private long activeSegment;
+    private long activeSize;
+    private List<CompletableFuture<Void>> awaitingFsync = new ArrayList<>();
+    private int unflushedRecords;
+    private boolean closed;
+    // Set once a failed write could not be cut back out of the log; no append is accepted after it
+    private IOException failure;
+
+    private final Thread flusher;
+
+    public WriteAheadLog(PersistenceProperties.Wal settings, ObjectMapper objectMapper) {
+        this.directory = Path.of(settings.getDirectory());
+        this.segmentSizeBytes = settings.getSegmentSizeBytes();
+        this.fsyncIntervalNanos = settings.getFsyncInterval().toNanos();
+        this.fsyncBatchSize = Math.max(1, settings.getFsyncBatchSize());
+        this.syncOnAppend = settings.isSyncOnSubmit();
+        this.objectMapper = objectMapper;
+
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(sealedSegments::add);
+            }
+            // Never append to a segment from a previous run; it may end in a torn frame
+            long next = sealedSegments.isEmpty() ? 1 : sealedSegments.get(sealedSegments.size() - 1) + 1;
+            openSegment(next);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write-ahead log in " + directory, e);
+        }
+
+        this.flusher = new Thread(this::runFlusher, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public CompletableFuture<Void> append(AssessmentSubmission submission) {
+        ByteBuffer frame;
+        try {
+            frame = encodeFrame(submission.getId(), objectMapper.writeValueAsBytes(submission));
+        } catch (IOException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Void> durable = syncOnAppend ? new CompletableFuture<>() : DONE;
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is closed"));
+            }
+            if (failure != null) {
+                return CompletableFuture.failedFuture(new IOException("Write-ahead log failed", failure));
+            }
+            if (activeSize > SEGMENT_HEADER_SIZE && activeSize + frame.remaining() > segmentSizeBytes) {
+                rollSegment();
+            }
+            long frameStart = activeSize;
+            int frameLength = frame.remaining();
+            try {
+                while (frame.hasRemaining()) {
+                    activeChannel.write(frame);
+                }
+            } catch (IOException e) {
+                discardTornFrame(frameStart, e);
+                return CompletableFuture.failedFuture(e);
+            }
+            activeSize = frameStart + frameLength;
+            if (syncOnAppend) {
+                awaitingFsync.add(durable);
+            }
+            if (++unflushedRecords >= fsyncBatchSize) {
+                flushNeeded.signal();
+            }
+        } catch (IOException e) {
+            fail(e);
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lock.unlock();
+        }
+        return durable;
+    }
+
+    /**
+     * Cuts a partly written frame back out of the active segment and moves on
+     * to a fresh one, so the records appended after it are not stranded behind
+     * a tail replay would stop at. If even that fails the log stops taking
+     * appends. Called with the lock held.
+     */
+    private void discardTornFrame(long frameStart, IOException cause) {
+        log.error("Write-ahead log append to segment {} failed", activeSegment, cause);
+        try {
+            activeChannel.truncate(frameStart);
+            rollSegment();
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            fail(e);
+        }
+    }
+
+    /**
+     * Stops the log taking appends and fails every append still waiting for
+     * an fsync, since the segment they were written to can no longer be
+     * trusted. Called with the lock held.
+     */
+    private void fail(IOException e) {
+        if (failure == null) {
+            log.error("Write-ahead log is no longer accepting appends", e);
+            failure = e;
+        }
+        List<CompletableFuture<Void>> pending = awaitingFsync;
+        awaitingFsync = new ArrayList<>();
+        pending.forEach(future -> future.completeExceptionally(e));
+    }
+
+    @Override
+    public void replay(Consumer<AssessmentSubmission> consumer) {
+        List<Long> segments;
+        lock.lock();
+        try {
+            segments = new ArrayList<>(sealedSegments);
+        } finally {
+            lock.unlock();
+        }
+
+        // Two replication deliveries of the same submission can race each other into the log
+        Set<Long> seen = new HashSet<>();
+        long count = 0;
+        for (long segment : segments) {
+            try {
+                count += readSegment(segmentPath(segment), (id, payload) -> {
+                    if (seen.add(id)) {
+                        consumer.accept(objectMapper.readValue(payload, AssessmentSubmission.class));
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to replay segment " + segmentPath(segment), e);
+            }
+        }
+        log.info("Replayed {} submissions from {} write-ahead log segments", count, segments.size());
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            List<CompletableFuture<Void>> pending = awaitingFsync;
+            awaitingFsync = new ArrayList<>();
+            force(activeChannel, pending);
+            activeChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close write-ahead log segment {}", activeSegment, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            List<CompletableFuture<Void>> batch;
+            FileChannel channel;
+            lock.lock();
+            try {
+                if (!closed && unflushedRecords < fsyncBatchSize) {
+                    flushNeeded.awaitNanos(fsyncIntervalNanos);
+                }
+                if (closed) {
+                    return;
+                }
+                batch = awaitingFsync;
+                channel = activeChannel;
+                awaitingFsync = new ArrayList<>();
+                unflushedRecords = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Force outside the lock so appends keep going while the disk catches up
+            force(channel, batch);
+        }
+    }
+
+    private void force(FileChannel channel, List<CompletableFuture<Void>> batch) {
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            // Rolled over since the batch was taken; rollSegment forced it before closing
+        } catch (IOException e) {
+            log.error("Write-ahead log fsync failed", e);
+            batch.forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        batch.forEach(future -> future.complete(null));
+    }
+
+    private void rollSegment() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+        sealedSegments.add(activeSegment);
+        openSegment(activeSegment + 1);
+    }
+
+    private void openSegment(long segment) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(segment),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        activeChannel = channel;
+        activeSegment = segment;
+        activeSize = SEGMENT_HEADER_SIZE;
+    }
+
+    /**
+     * Visits every intact frame of a segment and returns how many there were.
+     * A torn or corrupt tail, left by a crash mid-append, is truncated away.
+     */
+    private long readSegment(Path path, FrameVisitor visitor) throws IOException {
+        long validLength = SEGMENT_HEADER_SIZE;
+        long frames = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a write-ahead log segment: " + path);
+            }
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < 0 || length > MAX_PAYLOAD_SIZE) {
+                    break;
+                }
+                byte[] frame = new byte[FRAME_HEADER_SIZE + length];
+                ByteBuffer.wrap(frame).putInt(length);
+                try {
+                    in.readFully(frame, 4, frame.length - 4);
+                } catch (EOFException e) {
+                    break;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(frame);
+                int checksum = buffer.getInt(4);
+                if (checksum != checksum(frame)) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                System.arraycopy(frame, FRAME_HEADER_SIZE, payload, 0, length);
+                visitor.visit(buffer.getLong(8), payload);
+                validLength += frame.length;
+                frames++;
+            }
+        }
+
+        if (validLength < Files.size(path)) {
+            log.warn("Truncating torn tail of write-ahead log segment {} at offset {}", path, validLength);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+        return frames;
+    }
+
+    private static ByteBuffer encodeFrame(long id, byte[] payload) {
+        if (payload.length > MAX_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("Submission too large for write-ahead log: " + payload.length + " bytes");
+        }
+        byte[] frame = new byte[FRAME_HEADER_SIZE + payload.length];
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        buffer.putInt(0, payload.length);
+        buffer.putLong(8, id);
+        System.arraycopy(payload, 0, frame, FRAME_HEADER_SIZE, payload.length);
+        buffer.putInt(4, checksum(frame));
+        return buffer;
+    }
+
+    private static int checksum(byte[] frame) {
+        CRC32C crc = new CRC32C();
+        crc.update(frame, 8, frame.length - 8);
+        return (int) crc.getValue();
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+}
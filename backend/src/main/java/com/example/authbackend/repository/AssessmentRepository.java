@@ -0,0 +1,110 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory assessment store. Submissions are kept in a {@link SubmissionStore}
+ * ordered by submission id, with secondary indexes by user, experience level
+ * and skill so lookups only touch the matching submissions instead of scanning
+ * everything. The id ordering lets list endpoints page with an {@code after}
+ * cursor. The indexes hold primitive ids in {@link LongPostings}, in the
+ * order the submissions were stored.
+ */
+@Repository
+public class AssessmentRepository {
+
+    private final SubmissionStore submissionStore;
+    private final Map<String, LongPostings> idsByUser = new ConcurrentHashMap<>();
+    private final Map<String, LongPostings> idsByExperience = new ConcurrentHashMap<>();
+    private final Map<String, LongPostings> idsBySkill = new ConcurrentHashMap<>();
+
+    public AssessmentRepository(SubmissionStore submissionStore) {
+        this.submissionStore = submissionStore;
+    }
+
+    /**
+     * Stores and indexes a submission. Returns {@code false} if one with the
+     * same id was already stored; it is replaced but not indexed again.
+     */
+    public boolean save(AssessmentSubmission submission) {
+        Long id = submission.getId();
+        if (id == null) {
+            throw new IllegalArgumentException("Submission id is required");
+        }
+
+        // Publish to the primary map first so an id found in an index always resolves.
+        // A stored id is already indexed, and the postings are lists, not sets.
+        if (!submissionStore.put(submission)) {
+            return false;
+        }
+
+        if (submission.getUserId() != null) {
+            idsByUser.computeIfAbsent(submission.getUserId(), key -> new LongPostings()).add(id);
+        }
+        if (submission.getExperience() != null) {
+            idsByExperience.computeIfAbsent(submission.getExperience(), key -> new LongPostings()).add(id);
+        }
+        if (submission.getSkills() != null) {
+            for (String skill : submission.getSkills()) {
+                if (skill != null) {
+                    idsBySkill.computeIfAbsent(skill, key -> new LongPostings()).add(id);
+                }
+            }
+        }
+        return true;
+    }
+
+    public AssessmentSubmission findById(long id) {
+        return submissionStore.get(id);
+    }
+
+    public List<AssessmentSubmission> findByUserId(String userId) {
+        return resolve(idsByUser.get(userId));
+    }
+
+    public List<AssessmentSubmission> findByExperience(String experience) {
+        return resolve(idsByExperience.get(experience));
+    }
+
+    public List<AssessmentSubmission> findBySkill(String skill) {
+        return resolve(idsBySkill.get(skill));
+    }
+
+    public Iterable<AssessmentSubmission> findAll() {
+        return submissionStore.valuesAfter(Long.MIN_VALUE);
+    }
+
+    /**
+     * Weakly consistent view of the submissions with an id greater than
+     * {@code afterId}, in id order. Nothing is copied, so callers can stream
+     * the result without materializing it; elements may be reused flyweights
+     * and must not be retained.
+     */
+    public Iterable<AssessmentSubmission> findAllAfter(long afterId) {
+        return submissionStore.valuesAfter(afterId);
+    }
+
+    public int count() {
+        return submissionStore.size();
+    }
+
+    private List<AssessmentSubmission> resolve(LongPostings ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<AssessmentSubmission> result = new ArrayList<>(ids.size());
+        ids.forEach(id -> {
+            AssessmentSubmission submission = submissionStore.get(id);
+            if (submission != null) {
+                result.add(submission);
+            }
+        });
+        return result;
+    }
+}
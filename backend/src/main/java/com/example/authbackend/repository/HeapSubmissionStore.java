@@ -0,0 +1,36 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+
+/**
+ * Keeps submission objects on the heap, keyed by primitive id: a hash map
+ * for lookups by id and an ordered map for paging in id order.
+ */
+public class HeapSubmissionStore implements SubmissionStore {
+
+    private final LongObjectHashMap<AssessmentSubmission> submissionsById = new LongObjectHashMap<>();
+    private final LongOrderedMap<AssessmentSubmission> submissionsInIdOrder = new LongOrderedMap<>();
+
+    @Override
+    public boolean put(AssessmentSubmission submission) {
+        long id = submission.getId();
+        // Ordered first, so an id found by lookup is also reached by paging
+        submissionsInIdOrder.put(id, submission);
+        return submissionsById.put(id, submission) == null;
+    }
+
+    @Override
+    public AssessmentSubmission get(long id) {
+        return submissionsById.get(id);
+    }
+
+    @Override
+    public Iterable<AssessmentSubmission> valuesAfter(long afterId) {
+        return () -> submissionsInIdOrder.valuesAfter(afterId);
+    }
+
+    @Override
+    public int size() {
+        return submissionsById.size();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.authbackend.repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to values, with
+ * linear probing over parallel key and value arrays. Compared with a
+ * {@code ConcurrentHashMap<Long, V>} there is no node and no boxed key per
+ * entry, and a lookup probes adjacent slots of one array instead of chasing
+ * pointers.
+ *
+ * <p>Built for the submission store, which only ever adds entries: there is
+ * no removal, and key {@code 0} marks an empty slot, so it cannot be stored.
+ * Writers take the map's lock; readers never lock. A writer stores the value
+ * before the key, so a reader that finds a key also sees its value. Growing
+ * fills a new table and then publishes it, so a reader still probing the old
+ * one sees a complete table.
+ */
+public final class LongObjectHashMap<V> {
+
+    private static final long EMPTY = 0;
+    // Grow at 3/4 full; linear probing stays short below that with a mixed hash
+    private static final int MAX_LOAD_SHIFT = 2;
+
+    private volatile Table table;
+    private volatile int size;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Table current = table;
+        int mask = current.keys.length() - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long found = current.keys.getAcquire(slot);
+            if (found == key) {
+                return (V) current.values.getAcquire(slot);
+            }
+            if (found == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stores {@code value} under {@code key}.
+     *
+     * @return the value previously stored under {@code key}, or {@code null}
+     */
+    public synchronized V put(long key, V value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved for empty slots");
+        }
+        Table current = table;
+        V previous = current.put(key, value);
+        if (previous == null) {
+            int count = size + 1;
+            if (count > current.keys.length() - (current.keys.length() >>> MAX_LOAD_SHIFT)) {
+                table = current.grow();
+            }
+            size = count;
+        }
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(16, (long) expectedSize + (expectedSize >>> 1));
+        return (int) Math.min(1 << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    /**
+     * MurmurHash3's 64-bit finalizer, since submission ids keep their varying
+     * bits in the middle and low bits that are often zero.
+     */
+    private static int slot(long key, int mask) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private static final class Table {
+
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<Object> values;
+
+        Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V put(long key, V value) {
+            int mask = keys.length() - 1;
+            for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+                long found = keys.getPlain(slot);
+                if (found == key) {
+                    return (V) values.getAndSet(slot, value);
+                }
+                if (found == EMPTY) {
+                    values.setRelease(slot, value);
+                    keys.setRelease(slot, key);
+                    return null;
+                }
+            }
+        }
+
+        Table grow() {
+            Table grown = new Table(keys.length() * 2);
+            for (int slot = 0; slot < keys.length(); slot++) {
+                long key = keys.getPlain(slot);
+                if (key != EMPTY) {
+                    grown.put(key, values.getPlain(slot));
+                }
+            }
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.authbackend.repository;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Map from primitive {@code long} keys to values, kept in key order for
+ * cursor paging. Entries live in sorted chunks of up to {@value #CHUNK_SIZE}
+ * parallel key and value arrays, found through a directory of the chunks'
+ * first keys. Iterating walks arrays instead of the linked nodes and boxed
+ * keys of a {@code ConcurrentSkipListMap}.
+ *
+ * <p>Submission ids are generated in time order, so most inserts land after
+ * the last key and are appended in place. The rest arrive slightly late,
+ * such as replicas from other nodes or ids handed out just before a batch
+ * was stored. They land near the end of a chunk and shift the few entries
+ * after them. A full chunk is split in two in a copy of the directory.
+ *
+ * <p>Writers take the map's lock; readers never block on it. An append fills
+ * in the arrays before publishing the chunk's new size, and never touches
+ * entries readers may be reading. Shifting entries holds the chunk's
+ * {@link StampedLock} for writing. Readers copy what they need under an
+ * optimistic stamp and take the read lock only if a shift overlapped.
+ */
+public final class LongOrderedMap<V> {
+
+    static final int CHUNK_SIZE = 1024;
+
+    private volatile Directory directory = new Directory(16);
+    private volatile int size;
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Directory current = directory;
+        int count = current.count;
+        if (count == 0) {
+            return null;
+        }
+        Chunk chunk = current.chunks[current.chunkFor(key, count)];
+        long stamp = chunk.lock.tryOptimisticRead();
+        Object value = chunk.find(key);
+        if (!chunk.lock.validate(stamp)) {
+            stamp = chunk.lock.readLock();
+            try {
+                value = chunk.find(key);
+            } finally {
+                chunk.lock.unlockRead(stamp);
+            }
+        }
+        return (V) value;
+    }
+
+    /**
+     * Stores {@code value} under {@code key}.
+     *
+     * @return the value previously stored under {@code key}, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V put(long key, V value) {
+        Directory current = directory;
+        int count = current.count;
+        if (count == 0) {
+            append(current, 0, Chunk.of(key, value));
+            size++;
+            return null;
+        }
+
+        Chunk last = current.chunks[count - 1];
+        int lastSize = last.size;
+        if (key > last.keys[lastSize - 1]) {
+            if (lastSize < CHUNK_SIZE) {
+                last.keys[lastSize] = key;
+                last.values[lastSize] = value;
+                last.size = lastSize + 1;
+            } else {
+                append(current, count, Chunk.of(key, value));
+            }
+            size++;
+            return null;
+        }
+
+        int position = current.chunkFor(key, count);
+        Chunk chunk = current.chunks[position];
+        int chunkSize = chunk.size;
+        int index = Arrays.binarySearch(chunk.keys, 0, chunkSize, key);
+        if (index >= 0) {
+            long stamp = chunk.lock.writeLock();
+            try {
+                Object previous = chunk.values[index];
+                chunk.values[index] = value;
+                return (V) previous;
+            } finally {
+                chunk.lock.unlockWrite(stamp);
+            }
+        }
+
+        int insertAt = -index - 1;
+        if (chunkSize < CHUNK_SIZE) {
+            long stamp = chunk.lock.writeLock();
+            try {
+                System.arraycopy(chunk.keys, insertAt, chunk.keys, insertAt + 1, chunkSize - insertAt);
+                System.arraycopy(chunk.values, insertAt, chunk.values, insertAt + 1, chunkSize - insertAt);
+                chunk.keys[insertAt] = key;
+                chunk.values[insertAt] = value;
+                chunk.size = chunkSize + 1;
+            } finally {
+                chunk.lock.unlockWrite(stamp);
+            }
+        } else {
+            // Readers of the old directory keep the old chunk, which no longer changes
+            directory = current.split(position, count, chunk.splitWith(insertAt, key, value));
+        }
+        size++;
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Values with a key greater than {@code afterKey}, in key order. Weakly
+     * consistent: entries added while iterating may or may not be seen.
+     */
+    public Iterator<V> valuesAfter(long afterKey) {
+        return new Iterator<>() {
+            private final Directory view = directory;
+            private final long[] keys = new long[CHUNK_SIZE];
+            private final Object[] values = new Object[CHUNK_SIZE];
+            private int chunkIndex = view.count > 0 ? view.chunkFor(afterKey, view.count) : -1;
+            private long lastKey = afterKey;
+            private int buffered;
+            private int index;
+            private boolean filled;
+
+            @Override
+            public boolean hasNext() {
+                while (index == buffered) {
+                    if (chunkIndex < 0) {
+                        return false;
+                    }
+                    if (!filled) {
+                        fill(view.chunks[chunkIndex]);
+                    } else if (chunkIndex + 1 < view.count) {
+                        chunkIndex++;
+                        filled = false;
+                    } else {
+                        // The last chunk may have grown since it was copied
+                        fill(view.chunks[chunkIndex]);
+                        if (buffered == 0) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastKey = keys[index];
+                return (V) values[index++];
+            }
+
+            private void fill(Chunk chunk) {
+                long stamp = chunk.lock.tryOptimisticRead();
+                buffered = chunk.copyAfter(lastKey, keys, values);
+                if (!chunk.lock.validate(stamp)) {
+                    stamp = chunk.lock.readLock();
+                    try {
+                        buffered = chunk.copyAfter(lastKey, keys, values);
+                    } finally {
+                        chunk.lock.unlockRead(stamp);
+                    }
+                }
+                index = 0;
+                filled = true;
+            }
+        };
+    }
+
+    private void append(Directory current, int count, Chunk chunk) {
+        if (count < current.chunks.length) {
+            current.firstKeys[count] = chunk.keys[0];
+            current.chunks[count] = chunk;
+            current.count = count + 1;
+        } else {
+            Directory grown = new Directory(count * 2);
+            System.arraycopy(current.firstKeys, 0, grown.firstKeys, 0, count);
+            System.arraycopy(current.chunks, 0, grown.chunks, 0, count);
+            grown.firstKeys[count] = chunk.keys[0];
+            grown.chunks[count] = chunk;
+            grown.count = count + 1;
+            directory = grown;
+        }
+    }
+
+    private static final class Chunk {
+
+        final long[] keys = new long[CHUNK_SIZE];
+        final Object[] values = new Object[CHUNK_SIZE];
+        // Held for writing while entries shift, so optimistic readers can tell
+        final StampedLock lock = new StampedLock();
+        volatile int size;
+
+        static Chunk of(long key, Object value) {
+            Chunk chunk = new Chunk();
+            chunk.keys[0] = key;
+            chunk.values[0] = value;
+            chunk.size = 1;
+            return chunk;
+        }
+
+        Object find(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? values[index] : null;
+        }
+
+        /**
+         * Copies the entries with a key greater than {@code after} into the
+         * given arrays and returns how many there were.
+         */
+        int copyAfter(long after, long[] keysOut, Object[] valuesOut) {
+            int length = size;
+            int found = Arrays.binarySearch(keys, 0, length, after);
+            int from = found >= 0 ? found + 1 : -found - 1;
+            System.arraycopy(keys, from, keysOut, 0, length - from);
+            System.arraycopy(values, from, valuesOut, 0, length - from);
+            return length - from;
+        }
+
+        /**
+         * This full chunk's entries plus the new one, as two half-full chunks.
+         */
+        Chunk[] splitWith(int at, long key, Object value) {
+            Chunk lower = new Chunk();
+            Chunk upper = new Chunk();
+            int half = (CHUNK_SIZE + 1) / 2;
+            for (int from = 0, to = 0; to <= CHUNK_SIZE; to++) {
+                Chunk target = to < half ? lower : upper;
+                int slot = to < half ? to : to - half;
+                if (to == at) {
+                    target.keys[slot] = key;
+                    target.values[slot] = value;
+                } else {
+                    target.keys[slot] = keys[from];
+                    target.values[slot] = values[from++];
+                }
+            }
+            lower.size = half;
+            upper.size = CHUNK_SIZE + 1 - half;
+            return new Chunk[] {lower, upper};
+        }
+    }
+
+    private static final class Directory {
+
+        final long[] firstKeys;
+        final Chunk[] chunks;
+        // Slots below count are filled in before count is published
+        volatile int count;
+
+        Directory(int capacity) {
+            this.firstKeys = new long[capacity];
+            this.chunks = new Chunk[capacity];
+        }
+
+        /**
+         * The last chunk whose first key is at or below {@code key}, or the
+         * first chunk if every key is greater.
+         */
+        int chunkFor(long key, int count) {
+            int found = Arrays.binarySearch(firstKeys, 0, count, key);
+            return found >= 0 ? found : Math.max(0, -found - 2);
+        }
+
+        Directory split(int position, int count, Chunk[] halves) {
+            Directory copy = new Directory(count + 1 < chunks.length ? chunks.length : chunks.length * 2);
+            System.arraycopy(firstKeys, 0, copy.firstKeys, 0, position);
+            System.arraycopy(chunks, 0, copy.chunks, 0, position);
+            copy.firstKeys[position] = halves[0].keys[0];
+            copy.chunks[position] = halves[0];
+            copy.firstKeys[position + 1] = halves[1].keys[0];
+            copy.chunks[position + 1] = halves[1];
+            System.arraycopy(firstKeys, position + 1, copy.firstKeys, position + 2, count - position - 1);
+            System.arraycopy(chunks, position + 1, copy.chunks, position + 2, count - position - 1);
+            copy.count = count + 1;
+            return copy;
+        }
+    }
+}
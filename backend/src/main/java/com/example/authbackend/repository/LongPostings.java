@@ -0,0 +1,43 @@
+package com.example.authbackend.repository;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Append-only list of submission ids for one index key, such as a user, in
+ * a growable {@code long[]}. It replaces a queue or set of boxed
+ * {@code Long}s, which cost a node and a boxed id per entry.
+ *
+ * <p>Writers take the list's lock; readers never lock. The writer publishes
+ * a grown array before writing past its old end, and fills in an id before
+ * publishing the new {@link #size}. A reader reads the size first and never
+ * reads past it.
+ */
+public final class LongPostings {
+
+    private volatile long[] ids = new long[2];
+    private volatile int size;
+
+    public synchronized void add(long id) {
+        long[] current = ids;
+        int count = size;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, count * 2);
+            ids = current;
+        }
+        current[count] = id;
+        size = count + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(LongConsumer action) {
+        int count = size;
+        long[] current = ids;
+        for (int i = 0; i < count; i++) {
+            action.accept(current[i]);
+        }
+    }
+}
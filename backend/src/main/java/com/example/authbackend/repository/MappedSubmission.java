@@ -0,0 +1,163 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.authbackend.repository.MappedSubmissionStore.*;
+
+/**
+ * Read-only flyweight over one record of a {@link MappedSubmissionStore}.
+ * Nothing is decoded until a getter asks for it, and the same instance can be
+ * moved across records while iterating.
+ */
+final class MappedSubmission extends AssessmentSubmission {
+
+    private final MappedSubmissionStore store;
+    private ByteBuffer chunk;
+    private int offset;
+
+    MappedSubmission(MappedSubmissionStore store) {
+        this.store = store;
+    }
+
+    void moveTo(long address) {
+        this.chunk = store.chunk(address);
+        this.offset = (int) address;
+    }
+
+    @Override
+    public Long getId() {
+        return chunk.getLong(offset + ID);
+    }
+
+    @Override
+    public String getUserId() {
+        return text(USER_ID_OFFSET);
+    }
+
+    @Override
+    public String getFullName() {
+        return text(FULL_NAME_OFFSET);
+    }
+
+    @Override
+    public String getEmail() {
+        return text(EMAIL_OFFSET);
+    }
+
+    @Override
+    public String getExperience() {
+        return store.experience(chunk.getInt(offset + EXPERIENCE));
+    }
+
+    @Override
+    public String getCodingExperience() {
+        return text(CODING_EXPERIENCE_OFFSET);
+    }
+
+    @Override
+    public String getProjectDescription() {
+        return text(PROJECT_DESCRIPTION_OFFSET);
+    }
+
+    @Override
+    public List<String> getSkills() {
+        int count = chunk.getShort(offset + SKILL_COUNT);
+        if (count < 0) {
+            return null;
+        }
+        List<String> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            skills.add(store.skill(chunk.getInt(offset + SKILLS + i * 4)));
+        }
+        return skills;
+    }
+
+    @Override
+    public Boolean getTermsAccepted() {
+        byte flags = chunk.get(offset + FLAGS);
+        return (flags & TERMS_PRESENT) == 0 ? null : (flags & TERMS_ACCEPTED) != 0;
+    }
+
+    @Override
+    public String getSubmittedAt() {
+        return text(SUBMITTED_AT_OFFSET);
+    }
+
+    @Override
+    public String getUserAgent() {
+        return text(USER_AGENT_OFFSET);
+    }
+
+    @Override
+    public Map<String, String> getTechnicalAnswers() {
+        int position = offset + chunk.getInt(offset + ANSWERS_OFFSET);
+        int count = chunk.getShort(position);
+        if (count < 0) {
+            return null;
+        }
+        position += 2;
+        Map<String, String> answers = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = readText(position);
+            position += textSize(position);
+            String value = readText(position);
+            position += textSize(position);
+            answers.put(key, value);
+        }
+        return answers;
+    }
+
+    private String text(int field) {
+        return readText(offset + chunk.getInt(offset + field));
+    }
+
+    private String readText(int position) {
+        int length = chunk.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int textSize(int position) {
+        return 4 + Math.max(0, chunk.getInt(position));
+    }
+
+    @Override
+    public void setId(Long id) { throw readOnly(); }
+    @Override
+    public void setUserId(String userId) { throw readOnly(); }
+    @Override
+    public void setFullName(String fullName) { throw readOnly(); }
+    @Override
+    public void setEmail(String email) { throw readOnly(); }
+    @Override
+    public void setExperience(String experience) { throw readOnly(); }
+    @Override
+    public void setCodingExperience(String codingExperience) { throw readOnly(); }
+    @Override
+    public void setProjectDescription(String projectDescription) { throw readOnly(); }
+    @Override
+    public void setSkills(List<String> skills) { throw readOnly(); }
+    @Override
+    public void setTermsAccepted(Boolean termsAccepted) { throw readOnly(); }
+    @Override
+    public void setSubmittedAt(String submittedAt) { throw readOnly(); }
+    @Override
+    public void setUserAgent(String userAgent) { throw readOnly(); }
+    @Override
+    public void setTechnicalAnswers(Map<String, String> technicalAnswers) { throw readOnly(); }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Mapped submissions are read-only");
+    }
+}
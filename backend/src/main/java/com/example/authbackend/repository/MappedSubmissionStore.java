@@ -0,0 +1,273 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.StringDictionary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Stores submissions off-heap in a compact binary layout inside memory-mapped
+ * chunk files, keeping only an id to address index on the heap. Reads go
+ * through {@link MappedSubmission} flyweights that decode fields on access.
+ *
+ * <p>The chunk files are scratch space rather than a durable copy: they are
+ * cleared on startup and the store is refilled from the submission log.
+ *
+ * <p>Record layout, all offsets relative to the record start:
+ * <pre>
+ *  0 int   record length
+ *  4 long  id
+ * 12 byte  flags (bit 0: termsAccepted present, bit 1: termsAccepted)
+ * 13 int   experience code
+ * 17 int   offset of codingExperience
+ * 21 short skill count, or -1 for null
+ * 23 int   offsets of userId, fullName, email, projectDescription, userAgent,
+ *          submittedAt and the technical answers section
+ * 51 int[] skill codes
+ *    text  [int byte length, or -1 for null][UTF-8 bytes] per string
+ *    answers [short count, or -1 for null] followed by key/value text pairs
+ * </pre>
+ */
+public class MappedSubmissionStore implements SubmissionStore, AutoCloseable {
+
+    static final int LENGTH = 0;
+    static final int ID = 4;
+    static final int FLAGS = 12;
+    static final int EXPERIENCE = 13;
+    static final int CODING_EXPERIENCE_OFFSET = 17;
+    static final int SKILL_COUNT = 21;
+    static final int USER_ID_OFFSET = 23;
+    static final int FULL_NAME_OFFSET = 27;
+    static final int EMAIL_OFFSET = 31;
+    static final int PROJECT_DESCRIPTION_OFFSET = 35;
+    static final int USER_AGENT_OFFSET = 39;
+    // Kept as the text it arrived as, so it reads back exactly as the heap store returns it
+    static final int SUBMITTED_AT_OFFSET = 43;
+    static final int ANSWERS_OFFSET = 47;
+    static final int SKILLS = 51;
+
+    static final byte TERMS_PRESENT = 1;
+    static final byte TERMS_ACCEPTED = 2;
+
+    private static final String CHUNK_PREFIX = "chunk-";
+
+    private final Path directory;
+    private final int chunkSizeBytes;
+    // Unbounded, since every value written to a record must have a code
+    private final StringDictionary experienceCodes = new StringDictionary("mappedExperienceLevels", Integer.MAX_VALUE);
+    private final StringDictionary skillCodes = new StringDictionary("mappedSkills", Integer.MAX_VALUE);
+
+    // Address is (chunk index << 32 | offset within chunk)
+    private final LongOrderedMap<Long> addressesById = new LongOrderedMap<>();
+
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+    private int writeOffset; // guarded by this
+
+    public MappedSubmissionStore(Path directory, int chunkSizeBytes) {
+        this.directory = directory;
+        this.chunkSizeBytes = chunkSizeBytes;
+        try {
+            Files.createDirectories(directory);
+            deleteChunkFiles();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare mapped storage in " + directory, e);
+        }
+    }
+
+    @Override
+    public boolean put(AssessmentSubmission submission) {
+        byte[] record = encode(submission);
+        long address;
+        synchronized (this) {
+            MappedByteBuffer[] current = chunks;
+            if (current.length == 0 || writeOffset + record.length > current[current.length - 1].capacity()) {
+                current = addChunk(record.length);
+                writeOffset = 0;
+            }
+            int chunk = current.length - 1;
+            current[chunk].put(writeOffset, record);
+            address = ((long) chunk << 32) | writeOffset;
+            writeOffset += record.length;
+        }
+        // Publishing the address is what makes the record visible to readers
+        return addressesById.put(submission.getId(), address) == null;
+    }
+
+    @Override
+    public AssessmentSubmission get(long id) {
+        Long address = addressesById.get(id);
+        if (address == null) {
+            return null;
+        }
+        MappedSubmission view = new MappedSubmission(this);
+        view.moveTo(address);
+        return view;
+    }
+
+    @Override
+    public Iterable<AssessmentSubmission> valuesAfter(long afterId) {
+        return () -> new Iterator<>() {
+            private final Iterator<Long> addresses = addressesById.valuesAfter(afterId);
+            private final MappedSubmission cursor = new MappedSubmission(MappedSubmissionStore.this);
+
+            @Override
+            public boolean hasNext() {
+                return addresses.hasNext();
+            }
+
+            @Override
+            public AssessmentSubmission next() {
+                if (!addresses.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                cursor.moveTo(addresses.next());
+                return cursor;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return addressesById.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunks = new MappedByteBuffer[0];
+        deleteChunkFiles();
+    }
+
+    ByteBuffer chunk(long address) {
+        return chunks[(int) (address >>> 32)];
+    }
+
+    String experience(int code) {
+        return experienceCodes.decode(code);
+    }
+
+    String skill(int code) {
+        return skillCodes.decode(code);
+    }
+
+    private MappedByteBuffer[] addChunk(int minimumSize) {
+        MappedByteBuffer[] current = chunks;
+        Path file = directory.resolve(CHUNK_PREFIX + current.length);
+        int capacity = Math.max(chunkSizeBytes, minimumSize);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            chunks = grown;
+            return grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map storage chunk " + file, e);
+        }
+    }
+
+    private void deleteChunkFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith(CHUNK_PREFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private byte[] encode(AssessmentSubmission submission) {
+        byte[] userId = utf8(submission.getUserId());
+        byte[] fullName = utf8(submission.getFullName());
+        byte[] email = utf8(submission.getEmail());
+        byte[] projectDescription = utf8(submission.getProjectDescription());
+        byte[] userAgent = utf8(submission.getUserAgent());
+        byte[] codingExperience = utf8(submission.getCodingExperience());
+        byte[] submittedAt = utf8(submission.getSubmittedAt());
+
+        List<String> skills = submission.getSkills() != null ? submission.getSkills() : List.of();
+        if (skills.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many skills: " + skills.size());
+        }
+        Map<String, String> answers = submission.getTechnicalAnswers() != null ? submission.getTechnicalAnswers() : Map.of();
+        if (answers.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many technical answers: " + answers.size());
+        }
+        byte[][] answerBytes = new byte[answers.size() * 2][];
+        int answersLength = 2;
+        int i = 0;
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            answerBytes[i] = utf8(entry.getKey());
+            answerBytes[i + 1] = utf8(entry.getValue());
+            answersLength += textLength(answerBytes[i]) + textLength(answerBytes[i + 1]);
+            i += 2;
+        }
+
+        int length = SKILLS + skills.size() * 4
+            + textLength(userId) + textLength(fullName) + textLength(email)
+            + textLength(projectDescription) + textLength(userAgent) + textLength(codingExperience)
+            + textLength(submittedAt) + answersLength;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        buffer.putInt(LENGTH, length);
+        buffer.putLong(ID, submission.getId());
+        Boolean termsAccepted = submission.getTermsAccepted();
+        buffer.put(FLAGS, termsAccepted == null ? 0 : (byte) (TERMS_PRESENT | (termsAccepted ? TERMS_ACCEPTED : 0)));
+        buffer.putInt(EXPERIENCE, experienceCodes.encode(submission.getExperience()));
+        buffer.putShort(SKILL_COUNT, submission.getSkills() != null ? (short) skills.size() : -1);
+
+        buffer.position(SKILLS);
+        for (String skill : skills) {
+            buffer.putInt(skillCodes.encode(skill));
+        }
+        buffer.putInt(USER_ID_OFFSET, buffer.position());
+        putText(buffer, userId);
+        buffer.putInt(FULL_NAME_OFFSET, buffer.position());
+        putText(buffer, fullName);
+        buffer.putInt(EMAIL_OFFSET, buffer.position());
+        putText(buffer, email);
+        buffer.putInt(PROJECT_DESCRIPTION_OFFSET, buffer.position());
+        putText(buffer, projectDescription);
+        buffer.putInt(USER_AGENT_OFFSET, buffer.position());
+        putText(buffer, userAgent);
+        buffer.putInt(CODING_EXPERIENCE_OFFSET, buffer.position());
+        putText(buffer, codingExperience);
+        buffer.putInt(SUBMITTED_AT_OFFSET, buffer.position());
+        putText(buffer, submittedAt);
+        buffer.putInt(ANSWERS_OFFSET, buffer.position());
+        buffer.putShort(submission.getTechnicalAnswers() != null ? (short) answers.size() : -1);
+        for (byte[] text : answerBytes) {
+            putText(buffer, text);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int textLength(byte[] text) {
+        return 4 + (text != null ? text.length : 0);
+    }
+
+    private static void putText(ByteBuffer buffer, byte[] text) {
+        if (text == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(text.length).put(text);
+        }
+    }
+}
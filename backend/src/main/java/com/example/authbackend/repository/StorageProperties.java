@@ -0,0 +1,28 @@
+package com.example.authbackend.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "assessment.storage")
+public class StorageProperties {
+
+    public enum Mode { HEAP, MAPPED }
+
+    private Mode mode = Mode.HEAP;
+    private final Mapped mapped = new Mapped();
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+
+    public Mapped getMapped() { return mapped; }
+
+    public static class Mapped {
+        private String directory = "./data/mapped";
+        private int chunkSizeBytes = 64 * 1024 * 1024;
+
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+
+        public int getChunkSizeBytes() { return chunkSizeBytes; }
+        public void setChunkSizeBytes(int chunkSizeBytes) { this.chunkSizeBytes = chunkSizeBytes; }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.authbackend.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style submission ids: milliseconds since {@link #EPOCH}, then
+ * the worker id, then a sequence within the millisecond. Each node uses its
+ * own worker id, so ids are unique across the cluster and ordered by time
+ * without any coordination.
+ *
+ * <p>The layout is 41 + 5 + 7 bits, which keeps every id below 2^53 so
+ * JavaScript clients can hold ids and {@code after} cursors as plain
+ * numbers. That allows 32 workers and 128 ids per millisecond each. A burst
+ * beyond that carries into the next millisecond early. Ids then run a
+ * little ahead of the clock, but they stay unique and increasing, and the
+ * clock catches up once the burst ends.
+ *
+ * <p>The last id handed out is one {@link AtomicLong}, advanced by CAS, so
+ * threads never block each other. A clock that steps backwards is treated
+ * as still showing the last time used, so ids never repeat or go backwards.
+ * After a restart, {@link #advancePast(long)} with the recovered ids covers
+ * a clock that is now behind.
+ */
+public class SubmissionIdGenerator {
+
+    // 2024-01-01T00:00:00Z; 41 bits of milliseconds from here last until 2093
+    public static final long EPOCH = 1_704_067_200_000L;
+    public static final int WORKER_BITS = 5;
+    public static final int SEQUENCE_BITS = 7;
+    public static final int MAX_WORKERS = 1 << WORKER_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = WORKER_BITS + SEQUENCE_BITS;
+
+    private final long worker;
+    private final LongSupplier clock;
+    private final AtomicLong last;
+
+    public SubmissionIdGenerator(int workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    public SubmissionIdGenerator(int workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId >= MAX_WORKERS) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + (MAX_WORKERS - 1) + ": " + workerId);
+        }
+        this.worker = (long) workerId << SEQUENCE_BITS;
+        this.clock = clock;
+        this.last = new AtomicLong(worker);
+    }
+
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long now = clock.getAsLong() - EPOCH;
+            long next;
+            if (now > timestampOf(previous)) {
+                next = now << TIMESTAMP_SHIFT | worker;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                // Sequence exhausted, or the clock went back: take the next millisecond
+                next = (timestampOf(previous) + 1) << TIMESTAMP_SHIFT | worker;
+            }
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Makes sure {@link #nextId()} never hands out {@code id} again, e.g. after
+     * submissions were restored from a log. Ids of other workers can never
+     * collide with this one's and are ignored.
+     */
+    public void advancePast(long id) {
+        if (workerOf(id) != worker >>> SEQUENCE_BITS) {
+            return;
+        }
+        long previous;
+        while (id > (previous = last.get())) {
+            if (last.compareAndSet(previous, id)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Milliseconds since {@link #EPOCH} encoded in {@code id}.
+     */
+    public static long timestampOf(long id) {
+        return id >>> TIMESTAMP_SHIFT;
+    }
+
+    public static int workerOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & (MAX_WORKERS - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+
+/**
+ * Primary storage of submissions by id, underneath the indexes kept by
+ * {@link AssessmentRepository}.
+ */
+public interface SubmissionStore {
+
+    /**
+     * Stores a submission, replacing any previous one with the same id.
+     *
+     * @return {@code true} if the id was not stored before
+     */
+    boolean put(AssessmentSubmission submission);
+
+    AssessmentSubmission get(long id);
+
+    /**
+     * Submissions with an id greater than {@code afterId}, in id order. The view
+     * is weakly consistent and may reuse one instance across iterations, so
+     * callers must not hold on to the elements.
+     */
+    Iterable<AssessmentSubmission> valuesAfter(long afterId);
+
+    int size();
+}
@@ -0,0 +1,87 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registered accounts for the mock auth endpoints, split across a power-of-two
+ * number of {@link ConcurrentHashMap} shards. Registration is an atomic
+ * {@code putIfAbsent}, so two concurrent registrations of the same username
+ * cannot both succeed, and lookups never take a lock. Sharding keeps each
+ * table small, so growing to millions of accounts resizes one shard at a time
+ * instead of rehashing a single table while registrations wait on it.
+ */
+@Repository
+public class UserRegistry {
+
+    private final ConcurrentHashMap<String, RegisteredUser>[] shards;
+    private final int shardShift;
+
+    public UserRegistry(
+            PasswordEncoder passwordEncoder,
+            @Value("${auth.registry.shards:64}") int shards,
+            @Value("${auth.registry.expected-users:100000}") int expectedUsers) {
+        int shardCount = shards <= 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        int perShard = Math.max(16, expectedUsers / shardCount);
+
+        @SuppressWarnings("unchecked")
+        ConcurrentHashMap<String, RegisteredUser>[] tables = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            tables[i] = new ConcurrentHashMap<>(perShard);
+        }
+        this.shards = tables;
+        this.shardShift = 32 - Integer.numberOfTrailingZeros(shardCount);
+
+        register(new RegisteredUser("testuser", passwordEncoder.encode("password123"), "testuser@example.com",
+            "Test User", List.of("USER")));
+        register(new RegisteredUser("admin", passwordEncoder.encode("admin123"), "admin@example.com",
+            "Admin User", List.of("USER", "ADMIN")));
+    }
+
+    /**
+     * Stores the user unless the username is already taken.
+     *
+     * @return {@code true} if this call registered the user
+     */
+    public boolean register(RegisteredUser user) {
+        return shard(user.getUsername()).putIfAbsent(user.getUsername(), user) == null;
+    }
+
+    public RegisteredUser findByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        return shard(username).get(username);
+    }
+
+    public long count() {
+        long count = 0;
+        for (ConcurrentHashMap<String, RegisteredUser> shard : shards) {
+            count += shard.mappingCount();
+        }
+        return count;
+    }
+
+    public List<String> usernames() {
+        List<String> usernames = new ArrayList<>();
+        for (ConcurrentHashMap<String, RegisteredUser> shard : shards) {
+            usernames.addAll(shard.keySet());
+        }
+        return usernames;
+    }
+
+    private ConcurrentHashMap<String, RegisteredUser> shard(String username) {
+        if (shardShift == 32) {
+            return shards[0];
+        }
+        // Pick the shard from the high bits of a multiplicative hash; the shard's
+        // own table indexes by the low bits, so the two stay independent
+        return shards[(username.hashCode() * 0x9E3779B9) >>> shardShift];
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.authbackend.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only list of (document, term frequency) pairs in increasing document
+ * order, stored as variable-byte encoded document gaps and frequencies. Every
+ * {@value #SKIP_INTERVAL} entries a skip pointer records where the entry
+ * starts, so a cursor can advance to a target document without decoding the
+ * blocks before it.
+ *
+ * <p>A list created with a bitmap also keeps one once it covers at least
+ * 1/{@value #DENSE_RATIO} of the documents, so membership tests against
+ * common values, such as a filter on an experience level, are a bit lookup
+ * instead of a decode.
+ *
+ * <p>There is one writer at a time. Readers run without locks: the writer
+ * fills in the bytes, skip pointers and bits, publishing grown arrays through
+ * volatile fields, before it publishes the new {@link #size}, and a cursor
+ * reads the size first and never decodes past it.
+ */
+final class PostingList {
+
+    static final int SKIP_INTERVAL = 128;
+    static final int DENSE_RATIO = 16;
+    private static final int MIN_BITMAP_SIZE = 1024;
+
+    private volatile byte[] data = new byte[16];
+    private volatile int[] skipDocs = new int[4];
+    private volatile int[] skipOffsets = new int[4];
+    // Ints rather than longs, so a racing reader can never see a torn word
+    private volatile int[] bitmap;
+    private volatile int size;
+
+    // Writer only
+    private final boolean bitmapWhenDense;
+    private int length;
+    private int lastDoc = -1;
+
+    PostingList(boolean bitmapWhenDense) {
+        this.bitmapWhenDense = bitmapWhenDense;
+    }
+
+    void append(int doc, int frequency) {
+        int entry = size;
+        if (entry % SKIP_INTERVAL == 0) {
+            int skip = entry / SKIP_INTERVAL;
+            if (skip == skipDocs.length) {
+                skipOffsets = Arrays.copyOf(skipOffsets, skip * 2);
+                skipDocs = Arrays.copyOf(skipDocs, skip * 2);
+            }
+            // The previous document is the base the block's first gap is relative to
+            skipOffsets[skip] = length;
+            skipDocs[skip] = lastDoc;
+        }
+
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        byte[] bytes = data;
+        length = writeVarInt(bytes, length, doc - lastDoc);
+        length = writeVarInt(bytes, length, frequency);
+        lastDoc = doc;
+        if (bitmap != null) {
+            setBit(doc);
+        } else if (bitmapWhenDense && entry + 1 >= MIN_BITMAP_SIZE && (long) (entry + 1) * DENSE_RATIO >= doc + 1) {
+            fillBitmap();
+        }
+        size = entry + 1;
+    }
+
+    private void setBit(int doc) {
+        int[] bits = bitmap;
+        if (doc >>> 5 >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(bits.length * 2, (doc >>> 5) + 1));
+            bits[doc >>> 5] |= 1 << doc;
+            bitmap = bits;
+        } else {
+            bits[doc >>> 5] |= 1 << doc;
+        }
+    }
+
+    private void fillBitmap() {
+        int[] bits = new int[Math.max(16, (lastDoc >>> 5) + 1) * 2];
+        Cursor cursor = new Cursor(this, size + 1, data);
+        while (cursor.next()) {
+            bits[cursor.doc() >>> 5] |= 1 << cursor.doc();
+        }
+        bitmap = bits;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bytes used by the encoded entries, for sizing reports.
+     */
+    int encodedBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor(this);
+    }
+
+    /**
+     * Membership test for documents asked about in increasing order, using the
+     * bitmap if the list has one.
+     */
+    Matcher matcher() {
+        // Size first, as for a cursor: the bitmap read afterwards covers at least those entries
+        int published = size;
+        int[] bits = bitmap;
+        return bits != null ? new BitmapMatcher(bits) : new CursorMatcher(new Cursor(this, published, data));
+    }
+
+    interface Matcher {
+        boolean contains(int doc);
+    }
+
+    private record BitmapMatcher(int[] bits) implements Matcher {
+        @Override
+        public boolean contains(int doc) {
+            return doc >>> 5 < bits.length && (bits[doc >>> 5] & (1 << doc)) != 0;
+        }
+    }
+
+    private record CursorMatcher(Cursor cursor) implements Matcher {
+        @Override
+        public boolean contains(int doc) {
+            return cursor.advance(doc) && cursor.doc() == doc;
+        }
+    }
+
+    private static int writeVarInt(byte[] bytes, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * Forward-only iteration over the entries published when the cursor was
+     * created.
+     */
+    static final class Cursor {
+
+        private final int size;
+        private final byte[] data;
+        private final int[] skipDocs;
+        private final int[] skipOffsets;
+        private int index;
+        private int offset;
+        private int doc = -1;
+        private int frequency;
+
+        private Cursor(PostingList list) {
+            // Size first: the arrays read afterwards hold at least that many entries
+            this(list, list.size, list.data);
+        }
+
+        private Cursor(PostingList list, int size, byte[] data) {
+            this.size = size;
+            this.data = data;
+            this.skipDocs = list.skipDocs;
+            this.skipOffsets = list.skipOffsets;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Moves to the next entry; returns {@code false} once exhausted.
+         */
+        boolean next() {
+            if (index == size) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            doc += readVarInt();
+            frequency = readVarInt();
+            index++;
+            return true;
+        }
+
+        /**
+         * Moves to the first entry at or after {@code target}; returns
+         * {@code false} if there is none.
+         */
+        boolean advance(int target) {
+            if (doc >= target) {
+                return doc != Integer.MAX_VALUE;
+            }
+            // Every entry before a block is at most its base, so blocks whose base is below the target can be skipped to
+            int jump = -1;
+            for (int block = index / SKIP_INTERVAL + 1;
+                 block * SKIP_INTERVAL < size && skipDocs[block] < target; block++) {
+                jump = block;
+            }
+            if (jump >= 0) {
+                index = jump * SKIP_INTERVAL;
+                offset = skipOffsets[jump];
+                doc = skipDocs[jump];
+            }
+            while (next()) {
+                if (doc >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
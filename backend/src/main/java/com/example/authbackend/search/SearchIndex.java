@@ -0,0 +1,442 @@
+package com.example.authbackend.search;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Inverted index over the project description and technical answers of every
+ * submission, ranked with BM25. Submissions are numbered densely in the order
+ * they are added; each term maps to a {@link PostingList} of those numbers.
+ * Experience levels and skills get posting lists of their own, which switch
+ * to bitmaps once they are dense, so a filter costs a bit test per candidate.
+ *
+ * <p>Submissions are added one at a time under the index lock and searches
+ * run without locking. A search reads {@link #documentCount} first and
+ * ignores documents added after that, so it sees a consistent prefix of the
+ * index.
+ */
+@Component
+public class SearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final Map<String, PostingList> terms = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> experienceLevels = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> skills = new ConcurrentHashMap<>();
+
+    private volatile long[] submissionIds = new long[1024];
+    private volatile int[] lengths = new int[1024];
+    private volatile long totalLength;
+    private volatile int documentCount;
+
+    // Guarded by this; reused between submissions
+    private final Map<String, int[]> frequencies = new HashMap<>();
+
+    public record Query(String text, Set<String> experienceLevels, Set<String> skills, int limit) {
+    }
+
+    public record Hit(long submissionId, float score) {
+    }
+
+    /**
+     * The best {@code limit} hits, highest score first, and how many
+     * submissions matched in total.
+     */
+    public record Result(List<Hit> hits, int totalHits) {
+    }
+
+    public synchronized void add(AssessmentSubmission submission) {
+        Tokenizer.tokenize(submission.getProjectDescription(), this::count);
+        Map<String, String> answers = submission.getTechnicalAnswers();
+        if (answers != null) {
+            for (String answer : answers.values()) {
+                Tokenizer.tokenize(answer, this::count);
+            }
+        }
+
+        int doc = documentCount;
+        if (doc == submissionIds.length) {
+            submissionIds = Arrays.copyOf(submissionIds, doc * 2);
+            lengths = Arrays.copyOf(lengths, doc * 2);
+        }
+        int length = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            int frequency = entry.getValue()[0];
+            terms.computeIfAbsent(entry.getKey(), key -> new PostingList(false)).append(doc, frequency);
+            length += frequency;
+        }
+        frequencies.clear();
+
+        if (submission.getExperience() != null) {
+            experienceLevels.computeIfAbsent(normalize(submission.getExperience()), key -> new PostingList(true))
+                .append(doc, 1);
+        }
+        if (submission.getSkills() != null) {
+            // A skill listed twice is still one posting
+            Set<String> distinctSkills = new LinkedHashSet<>();
+            for (String skill : submission.getSkills()) {
+                if (skill != null) {
+                    distinctSkills.add(normalize(skill));
+                }
+            }
+            for (String skill : distinctSkills) {
+                skills.computeIfAbsent(skill, key -> new PostingList(true)).append(doc, 1);
+            }
+        }
+
+        submissionIds[doc] = submission.getId();
+        lengths[doc] = length;
+        totalLength += length;
+        // Publishes the postings and arrays written above
+        documentCount = doc + 1;
+    }
+
+    private void count(String term) {
+        frequencies.computeIfAbsent(term, key -> new int[1])[0]++;
+    }
+
+    /**
+     * Runs a query. Text terms are ORed and ranked with BM25; a submission
+     * must have one of {@code experienceLevels} if any are given and all of
+     * {@code skills}. Without text, matching submissions are returned oldest
+     * first with a score of zero.
+     */
+    public Result search(Query query) {
+        return search(query, id -> { });
+    }
+
+    /**
+     * Runs a query as {@link #search(Query)} does, also passing the submission
+     * id of every match to {@code matches}, in index order.
+     */
+    public Result search(Query query, LongConsumer matches) {
+        int documents = documentCount;
+        if (documents == 0) {
+            return new Result(List.of(), 0);
+        }
+        long[] ids = submissionIds;
+        int[] documentLengths = lengths;
+
+        Filter filter = filter(query);
+        if (filter == null) {
+            return new Result(List.of(), 0);
+        }
+
+        Set<String> queryTerms = new LinkedHashSet<>();
+        Tokenizer.tokenize(query.text(), queryTerms::add);
+        if (queryTerms.isEmpty()) {
+            return filtered(filter, documents, ids, query.limit(), matches);
+        }
+
+        PostingList.Cursor[] cursors = new PostingList.Cursor[queryTerms.size()];
+        float[] weights = new float[queryTerms.size()];
+        int termCount = 0;
+        for (String term : queryTerms) {
+            PostingList postings = terms.get(term);
+            if (postings != null) {
+                PostingList.Cursor cursor = postings.cursor();
+                if (cursor.next()) {
+                    cursors[termCount] = cursor;
+                    weights[termCount++] = idf(documents, cursor.size());
+                }
+            }
+        }
+        if (termCount == 0) {
+            return new Result(List.of(), 0);
+        }
+
+        float averageLength = Math.max(1f, (float) totalLength / documents);
+        TopHits top = new TopHits(query.limit());
+        int totalHits = 0;
+        while (true) {
+            // Document-at-a-time: score the lowest document any term cursor is on
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < termCount; i++) {
+                doc = Math.min(doc, cursors[i].doc());
+            }
+            if (doc >= documents) {
+                break;
+            }
+
+            boolean accepted = filter.accepts(doc);
+            float score = 0;
+            float norm = K1 * (1 - B + B * documentLengths[doc] / averageLength);
+            for (int i = 0; i < termCount; i++) {
+                PostingList.Cursor cursor = cursors[i];
+                if (cursor.doc() == doc) {
+                    if (accepted) {
+                        int tf = cursor.frequency();
+                        score += weights[i] * tf * (K1 + 1) / (tf + norm);
+                    }
+                    cursor.next();
+                }
+            }
+            if (accepted) {
+                totalHits++;
+                matches.accept(ids[doc]);
+                top.offer(doc, score);
+            }
+        }
+        return new Result(top.hits(ids), totalHits);
+    }
+
+    private Result filtered(Filter filter, int documents, long[] ids, int limit, LongConsumer matches) {
+        PostingList.Cursor[] drivers = filter.drivers();
+        if (drivers.length == 0) {
+            return new Result(List.of(), 0);
+        }
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        int totalHits = 0;
+        int doc = -1;
+        while (true) {
+            // Walk the union of the driving lists and test each document against the rest
+            int next = Integer.MAX_VALUE;
+            for (PostingList.Cursor driver : drivers) {
+                if (driver.advance(doc + 1)) {
+                    next = Math.min(next, driver.doc());
+                }
+            }
+            if (next >= documents) {
+                break;
+            }
+            doc = next;
+            if (filter.accepts(doc)) {
+                if (hits.size() < limit) {
+                    hits.add(new Hit(ids[doc], 0f));
+                }
+                totalHits++;
+                matches.accept(ids[doc]);
+            }
+        }
+        return new Result(hits, totalHits);
+    }
+
+    // Returns null when a filter value has no submissions, so nothing can match
+    private Filter filter(Query query) {
+        List<PostingList> anyOf = new ArrayList<>();
+        for (String experience : normalize(query.experienceLevels())) {
+            PostingList postings = experienceLevels.get(experience);
+            if (postings != null) {
+                anyOf.add(postings);
+            }
+        }
+        if (!query.experienceLevels().isEmpty() && anyOf.isEmpty()) {
+            return null;
+        }
+
+        List<PostingList> allOf = new ArrayList<>();
+        for (String skill : normalize(query.skills())) {
+            PostingList postings = skills.get(skill);
+            if (postings == null) {
+                return null;
+            }
+            allOf.add(postings);
+        }
+        return new Filter(anyOf, allOf);
+    }
+
+    private static Set<String> normalize(Collection<String> values) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String value : values) {
+            normalized.add(normalize(value));
+        }
+        return normalized;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static float idf(int documents, int documentFrequency) {
+        return (float) Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    public int documentCount() {
+        return documentCount;
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    public Map<String, Object> metrics() {
+        long postings = 0;
+        long bytes = 0;
+        for (PostingList list : terms.values()) {
+            postings += list.size();
+            bytes += list.encodedBytes();
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("documents", documentCount);
+        metrics.put("terms", terms.size());
+        metrics.put("postings", postings);
+        metrics.put("postingBytes", bytes);
+        metrics.put("experienceLevels", experienceLevels.size());
+        metrics.put("skills", skills.size());
+        return metrics;
+    }
+
+    /**
+     * Experience and skill constraints. The matchers only move forward, so
+     * documents must be tested in increasing order.
+     */
+    private static final class Filter {
+
+        private final List<PostingList> anyOf;
+        private final List<PostingList> allOf;
+        private final PostingList.Matcher[] anyOfMatchers;
+        private final PostingList.Matcher[] allOfMatchers;
+
+        Filter(List<PostingList> anyOf, List<PostingList> allOf) {
+            this.anyOf = anyOf;
+            // Rarest first, so a miss is found with the least work
+            this.allOf = new ArrayList<>(allOf);
+            this.allOf.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            this.anyOfMatchers = matchers(anyOf);
+            this.allOfMatchers = matchers(this.allOf);
+        }
+
+        private static PostingList.Matcher[] matchers(List<PostingList> lists) {
+            PostingList.Matcher[] matchers = new PostingList.Matcher[lists.size()];
+            for (int i = 0; i < matchers.length; i++) {
+                matchers[i] = lists.get(i).matcher();
+            }
+            return matchers;
+        }
+
+        /**
+         * Cursors whose union contains every accepted document: the rarest
+         * required skill, or else each of the experience levels.
+         */
+        PostingList.Cursor[] drivers() {
+            if (!allOf.isEmpty()) {
+                return new PostingList.Cursor[] {allOf.get(0).cursor()};
+            }
+            PostingList.Cursor[] drivers = new PostingList.Cursor[anyOf.size()];
+            for (int i = 0; i < drivers.length; i++) {
+                drivers[i] = anyOf.get(i).cursor();
+            }
+            return drivers;
+        }
+
+        boolean accepts(int doc) {
+            for (PostingList.Matcher matcher : allOfMatchers) {
+                if (!matcher.contains(doc)) {
+                    return false;
+                }
+            }
+            if (anyOfMatchers.length == 0) {
+                return true;
+            }
+            for (PostingList.Matcher matcher : anyOfMatchers) {
+                if (matcher.contains(doc)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best hits seen so far. Ties go to the older
+     * submission, so results are stable.
+     */
+    private static final class TopHits {
+
+        private final int limit;
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopHits(int limit) {
+            this.limit = limit;
+            this.docs = new int[limit];
+            this.scores = new float[limit];
+        }
+
+        void offer(int doc, float score) {
+            if (limit == 0) {
+                return;
+            }
+            if (size < limit) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(docs[0], scores[0], doc, score)) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> hits(long[] ids) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Float.compare(scores[b], scores[a])
+                : Integer.compare(docs[a], docs[b]));
+            List<Hit> hits = new ArrayList<>(size);
+            for (int i : order) {
+                hits.add(new Hit(ids[docs[i]], scores[i]));
+            }
+            return hits;
+        }
+
+        // Whether (docA, scoreA) ranks below (docB, scoreB)
+        private static boolean worse(int docA, float scoreA, int docB, float scoreB) {
+            return scoreA < scoreB || (scoreA == scoreB && docA > docB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!worse(docs[i], scores[i], docs[parent], scores[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (worse(docs[child], scores[child], docs[worst], scores[worst])) {
+                        worst = child;
+                    }
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.authbackend.search;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Splits free text into lower-case terms on anything that is not a letter or
+ * digit. Single characters, very long tokens and common English stop words
+ * are dropped, since they only inflate postings without helping ranking.
+ * Queries go through the same tokenizer as documents.
+ */
+final class Tokenizer {
+
+    static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+        "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with");
+
+    private Tokenizer() {
+    }
+
+    static void tokenize(String text, Consumer<String> terms) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean termChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                emit(text, start, i, terms);
+                start = -1;
+            }
+        }
+    }
+
+    private static void emit(String text, int start, int end, Consumer<String> terms) {
+        int length = end - start;
+        if (length < 2 || length > MAX_TERM_LENGTH) {
+            return;
+        }
+        String term = text.substring(start, end).toLowerCase();
+        if (!STOP_WORDS.contains(term)) {
+            terms.accept(term);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.authbackend.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * HTTP Basic challenge that answers 503 with {@code Retry-After} when the
+ * password could not be checked because the hashing pool is saturated, instead
+ * of a 401 that would tell the client its credentials are wrong.
+ */
+@Component
+public class BasicAuthEntryPoint extends BasicAuthenticationEntryPoint {
+
+    public BasicAuthEntryPoint() {
+        setRealmName("Realm");
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        if (authException instanceof VerificationCapacityException) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Authentication is temporarily overloaded\"}");
+            return;
+        }
+        super.commence(request, response, authException);
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.authbackend.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JWK set fetched from a remote {@code jwks_uri} and kept in memory, so
+ * verifying a token never waits on the identity provider in the common case.
+ *
+ * <ul>
+ *   <li>A background thread refreshes the set every {@code refreshInterval}.
+ *       A failed refresh keeps the previous keys (stale-while-revalidate) until
+ *       they are older than {@code refreshInterval + maxStale}.</li>
+ *   <li>A token whose {@code kid} is not in the set triggers a synchronous
+ *       refetch, at most once per {@code minRefetchInterval} so random kids
+ *       cannot be used to hammer the provider. Until the first fetch succeeds
+ *       there are no keys to fall back on, so requests fetch without that
+ *       limit.</li>
+ *   <li>Concurrent refetches are coalesced: one caller fetches and the others
+ *       wait for its result.</li>
+ * </ul>
+ *
+ * Fetches use {@link HttpClient}, which blocks virtual threads without pinning
+ * their carrier, unlike Nimbus' {@code RemoteJWKSet} that fetches inside a
+ * {@code synchronized} method.
+ */
+public class CachingJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingJwkSource.class);
+
+    private final URI jwkSetUri;
+    private final HttpClient httpClient;
+    private final Duration fetchTimeout;
+    private final long minRefetchNanos;
+    private final long maxAgeNanos;
+    private final ScheduledExecutorService refresher;
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    // Null until the first successful fetch
+    private volatile Snapshot snapshot;
+    private volatile long lastFetchStarted;
+
+    public CachingJwkSource(String jwkSetUri, JwtProperties.JwkCache properties) {
+        this.jwkSetUri = URI.create(jwkSetUri);
+        this.fetchTimeout = properties.getFetchTimeout();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(fetchTimeout).build();
+        this.minRefetchNanos = properties.getMinRefetchInterval().toNanos();
+        this.maxAgeNanos = properties.getRefreshInterval().plus(properties.getMaxStale()).toNanos();
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "jwk-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The first fetch runs in the background too, so startup does not depend on the provider being up
+        long refreshMillis = properties.getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshInBackground, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+        Snapshot current = usable(snapshot);
+        if (current != null) {
+            List<JWK> matches = selector.select(current.keys());
+            if (!matches.isEmpty()) {
+                return matches;
+            }
+        }
+
+        // Unknown kid: refetch unless one ran too recently, joining any fetch already running. With no usable
+        // keys at all there is nothing stale to fall back on, so callers always wait for a (coalesced) fetch.
+        if (current != null && inFlight.get() == null && System.nanoTime() - lastFetchStarted < minRefetchNanos) {
+            return List.of();
+        }
+        try {
+            return selector.select(fetchCoalesced(selector).keys());
+        } catch (KeySourceException e) {
+            if (current == null) {
+                throw e;
+            }
+            return List.of();
+        }
+    }
+
+    /**
+     * A decoder verifying RS256 (Keycloak's default) and ES256 (this server's
+     * stand-in JWK endpoint) signatures with keys from this source.
+     */
+    public JwtDecoder decoder(String issuer) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(
+            new JWSVerificationKeySelector<>(Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256), this));
+        // Claims are checked by the Spring validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(issuer != null
+            ? JwtValidators.createDefaultWithIssuer(issuer)
+            : JwtValidators.createDefault());
+        return decoder;
+    }
+
+    public long fetchCount() {
+        return fetches.sum();
+    }
+
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+        httpClient.close();
+    }
+
+    private void refreshInBackground() {
+        try {
+            fetchCoalesced(null);
+        } catch (Exception e) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                log.warn("Could not fetch JWK set; bearer tokens cannot be verified yet: {}", e.getMessage());
+            } else {
+                log.warn("JWK set refresh failed, serving keys fetched {}s ago: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - current.fetchedAt()), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fetches the JWK set, or waits for the fetch another caller already
+     * started. A caller looking for a specific key skips the fetch if that key
+     * arrived while it was waiting to take the lead.
+     */
+    private Snapshot fetchCoalesced(JWKSelector selector) throws KeySourceException {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) {
+                return await(running);
+            }
+            CompletableFuture<Snapshot> fetch = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, fetch)) {
+                continue;
+            }
+            try {
+                Snapshot current = usable(snapshot);
+                Snapshot result = selector != null && current != null && !selector.select(current.keys()).isEmpty()
+                    ? current
+                    : fetch();
+                fetch.complete(result);
+                return result;
+            } catch (KeySourceException | RuntimeException e) {
+                fetch.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.compareAndSet(fetch, null);
+            }
+        }
+    }
+
+    private Snapshot fetch() throws KeySourceException {
+        lastFetchStarted = System.nanoTime();
+        fetches.increment();
+        HttpRequest request = HttpRequest.newBuilder(jwkSetUri)
+            .timeout(fetchTimeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new KeySourceException("JWK set fetch from " + jwkSetUri + " returned " + response.statusCode());
+            }
+            Snapshot fetched = new Snapshot(JWKSet.parse(response.body()), System.nanoTime());
+            snapshot = fetched;
+            return fetched;
+        } catch (IOException | ParseException e) {
+            failures.increment();
+            throw new KeySourceException("Could not fetch JWK set from " + jwkSetUri, e);
+        } catch (InterruptedException e) {
+            failures.increment();
+            Thread.currentThread().interrupt();
+            throw new KeySourceException("Interrupted while fetching JWK set from " + jwkSetUri, e);
+        } catch (KeySourceException e) {
+            failures.increment();
+            throw e;
+        }
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> fetch) throws KeySourceException {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof KeySourceException keySourceException) {
+                throw keySourceException;
+            }
+            throw new KeySourceException("JWK set fetch failed", e.getCause());
+        }
+    }
+
+    private Snapshot usable(Snapshot candidate) {
+        if (candidate == null || System.nanoTime() - candidate.fetchedAt() > maxAgeNanos) {
+            return null;
+        }
+        return candidate;
+    }
+
+    private record Snapshot(JWKSet keys, long fetchedAt) {
+    }
+}
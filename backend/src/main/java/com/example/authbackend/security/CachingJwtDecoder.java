@@ -0,0 +1,77 @@
+package com.example.authbackend.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers tokens the delegate has already verified, so a client repeating
+ * the same bearer skips signature verification and claim parsing. Tokens are
+ * matched on their full compact form and dropped once they expire. The LRU is
+ * split into independently locked segments so concurrent requests rarely
+ * contend on the same lock.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final int SEGMENTS = 16;
+
+    private final JwtDecoder delegate;
+    private final Segment[] segments;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Segment segment = segments[(token.hashCode() & 0x7fffffff) % SEGMENTS];
+        Jwt cached = segment.get(token);
+        if (cached != null) {
+            Instant expiresAt = cached.getExpiresAt();
+            if (expiresAt == null || expiresAt.isAfter(Instant.now())) {
+                return cached;
+            }
+            segment.remove(token);
+        }
+
+        // Throws for bad signatures and failed validation, so only valid tokens are cached
+        Jwt jwt = delegate.decode(token);
+        segment.put(token, jwt);
+        return jwt;
+    }
+
+    private static final class Segment {
+
+        private final LinkedHashMap<String, Jwt> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Jwt get(String token) {
+            return entries.get(token);
+        }
+
+        synchronized void put(String token, Jwt jwt) {
+            entries.put(token, jwt);
+        }
+
+        synchronized void remove(String token) {
+            entries.remove(token);
+        }
+    }
+}
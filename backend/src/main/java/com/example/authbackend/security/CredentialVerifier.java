@@ -0,0 +1,192 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import com.example.authbackend.repository.UserRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks and creates password hashes for {@link UserRegistry} accounts. Hashing
+ * runs on a fixed pool sized to the CPUs with a bounded queue, so a burst of
+ * logins cannot put more bcrypt/argon2 work in flight than the machine can
+ * finish; once the queue is full, new checks fail fast with
+ * {@link VerificationCapacityException}.
+ *
+ * <p>Successful checks are remembered for a short TTL, keyed by an HMAC of the
+ * username and password under a per-process random key, so repeat HTTP Basic
+ * calls skip the hash and the cache never holds anything that can be brute
+ * forced offline.
+ */
+@Component
+public class CredentialVerifier {
+
+    // A cache full of live logins is swept at most this often, not on every login
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final UserRegistry userRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashPool;
+    private final long timeoutNanos;
+    private final long cacheTtlNanos;
+    private final int cacheMaxEntries;
+    private final Map<String, VerifiedCredential> verified = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+    private final Mac keyedHash;
+    // Checked against when the username is unknown, so a miss costs as much as a wrong password
+    private final String unknownUserHash;
+
+    public CredentialVerifier(UserRegistry userRegistry, PasswordEncoder passwordEncoder, PasswordProperties properties) {
+        this.userRegistry = userRegistry;
+        this.passwordEncoder = passwordEncoder;
+
+        PasswordProperties.Verification verification = properties.getVerification();
+        int threads = verification.getThreads() > 0
+            ? verification.getThreads()
+            : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(verification.getQueueCapacity()),
+            task -> {
+                Thread thread = new Thread(task, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutNanos = verification.getTimeout().toNanos();
+        this.cacheTtlNanos = properties.getCache().getTtl().toNanos();
+        this.cacheMaxEntries = properties.getCache().getMaxEntries();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try {
+            this.keyedHash = Mac.getInstance("HmacSHA256");
+            this.keyedHash.init(new SecretKeySpec(key, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+        this.unknownUserHash = passwordEncoder.encode("unknown-user-placeholder");
+    }
+
+    /**
+     * Returns the account if the password matches, or {@code null} if the
+     * username is unknown or the password is wrong.
+     *
+     * @throws VerificationCapacityException if the hashing pool is saturated
+     */
+    public RegisteredUser verify(String username, String password) {
+        if (username == null || password == null) {
+            return null;
+        }
+
+        String cacheKey = cacheTtlNanos > 0 ? cacheKey(username, password) : null;
+        RegisteredUser user = userRegistry.findByUsername(username);
+        if (cacheKey != null && user != null) {
+            VerifiedCredential credential = verified.get(cacheKey);
+            // The cached account must still be the registered one, so a re-registration is never served stale
+            if (credential != null && credential.user() == user && credential.expiresAt() - System.nanoTime() > 0) {
+                return user;
+            }
+        }
+
+        if (user == null) {
+            offload(() -> passwordEncoder.matches(password, unknownUserHash));
+            return null;
+        }
+        if (!offload(() -> passwordEncoder.matches(password, user.getPasswordHash()))) {
+            return null;
+        }
+        if (cacheKey != null) {
+            remember(cacheKey, user);
+        }
+        return user;
+    }
+
+    /**
+     * Hashes a new password with the configured encoder on the hashing pool.
+     *
+     * @throws VerificationCapacityException if the hashing pool is saturated
+     */
+    public String hash(String password) {
+        return offload(() -> passwordEncoder.encode(password));
+    }
+
+    @PreDestroy
+    public void close() {
+        hashPool.shutdownNow();
+    }
+
+    private <T> T offload(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = hashPool.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new VerificationCapacityException("Too many password checks in progress");
+        }
+        try {
+            return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new VerificationCapacityException("Password check timed out");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new VerificationCapacityException("Interrupted while checking password");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    private void remember(String cacheKey, RegisteredUser user) {
+        long now = System.nanoTime();
+        if (verified.size() >= cacheMaxEntries && !sweep(now)) {
+            // Full of live entries: skip caching rather than evict someone's fresh login
+            return;
+        }
+        verified.put(cacheKey, new VerifiedCredential(user, now + cacheTtlNanos));
+    }
+
+    // Returns whether there is room after dropping expired entries
+    private boolean sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            verified.values().removeIf(credential -> credential.expiresAt() - now <= 0);
+        }
+        return verified.size() < cacheMaxEntries;
+    }
+
+    private String cacheKey(String username, String password) {
+        Mac mac;
+        try {
+            mac = (Mac) keyedHash.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 cannot be cloned", e);
+        }
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(mac.doFinal());
+    }
+
+    private record VerifiedCredential(RegisteredUser user, long expiresAt) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.authbackend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "auth.jwt")
+public class JwtProperties {
+
+    public enum Algorithm { HS256, ES256 }
+
+    private Algorithm algorithm = Algorithm.HS256;
+    // HS256 key, at least 32 bytes
+    private String secret = "";
+    // ES256 key as a private P-256 JWK (JSON)
+    private String signingKey = "";
+    // Fail at startup, instead of signing with a random per-process key, when the algorithm's key is not set
+    private boolean requireKey = false;
+    private String issuer = "http://localhost:8081";
+    private Duration ttl = Duration.ofHours(1);
+    private final Decoder decoder = new Decoder();
+    private final ClaimsCache claimsCache = new ClaimsCache();
+
+    public Algorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(Algorithm algorithm) { this.algorithm = algorithm; }
+
+    public String getSecret() { return secret; }
+    public void setSecret(String secret) { this.secret = secret; }
+
+    public String getSigningKey() { return signingKey; }
+    public void setSigningKey(String signingKey) { this.signingKey = signingKey; }
+
+    public boolean isRequireKey() { return requireKey; }
+    public void setRequireKey(boolean requireKey) { this.requireKey = requireKey; }
+
+    public String getIssuer() { return issuer; }
+    public void setIssuer(String issuer) { this.issuer = issuer; }
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+    public Decoder getDecoder() { return decoder; }
+
+    public ClaimsCache getClaimsCache() { return claimsCache; }
+
+    public static class Decoder {
+
+        public enum Mode { LOCAL, JWK_SET_URI }
+
+        // local verifies with the in-process signing key; jwk-set-uri fetches keys the way the Keycloak setup does
+        private Mode mode = Mode.LOCAL;
+        private String jwkSetUri;
+        // Expected iss claim in jwk-set-uri mode
+        private String issuer;
+        private final JwkCache jwkCache = new JwkCache();
+
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+
+        public String getJwkSetUri() { return jwkSetUri; }
+        public void setJwkSetUri(String jwkSetUri) { this.jwkSetUri = jwkSetUri; }
+
+        public String getIssuer() { return issuer; }
+        public void setIssuer(String issuer) { this.issuer = issuer; }
+
+        public JwkCache getJwkCache() { return jwkCache; }
+    }
+
+    public static class JwkCache {
+        // Background refresh period of the cached JWK set
+        private Duration refreshInterval = Duration.ofMinutes(5);
+        // A token with an unknown kid triggers a synchronous refetch at most this often
+        private Duration minRefetchInterval = Duration.ofSeconds(10);
+        private Duration fetchTimeout = Duration.ofSeconds(5);
+        // Keys keep being served while refreshes fail, until they are this much older than a refresh period
+        private Duration maxStale = Duration.ofHours(24);
+
+        public Duration getRefreshInterval() { return refreshInterval; }
+        public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+        public Duration getMinRefetchInterval() { return minRefetchInterval; }
+        public void setMinRefetchInterval(Duration minRefetchInterval) { this.minRefetchInterval = minRefetchInterval; }
+
+        public Duration getFetchTimeout() { return fetchTimeout; }
+        public void setFetchTimeout(Duration fetchTimeout) { this.fetchTimeout = fetchTimeout; }
+
+        public Duration getMaxStale() { return maxStale; }
+        public void setMaxStale(Duration maxStale) { this.maxStale = maxStale; }
+    }
+
+    public static class ClaimsCache {
+        // Validated tokens remembered so a repeated bearer skips signature verification; zero disables the cache
+        private int maxEntries = 10_000;
+
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.authbackend.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a verified bearer token to a {@link UserPrincipal} named after the user,
+ * with roles taken from the {@code roles} claim this server issues or, for
+ * Keycloak tokens, from {@code realm_access.roles}. The token itself is kept
+ * as the credentials.
+ */
+@Component
+public class JwtRolesConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        String username = jwt.getClaimAsString("preferred_username");
+        UserPrincipal principal = UserPrincipal.of(username != null ? username : jwt.getSubject(), roles(jwt));
+        return new UserAuthentication(principal, jwt);
+    }
+
+    private static Collection<String> roles(Jwt jwt) {
+        List<String> roles = jwt.getClaimAsStringList("roles");
+        if (roles != null) {
+            return roles;
+        }
+        Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+        if (realmAccess != null && realmAccess.get("roles") instanceof Collection<?> realmRoles) {
+            return realmRoles.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.authbackend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "auth.password")
+public class PasswordProperties {
+
+    public enum Encoder { BCRYPT, ARGON2 }
+
+    // New hashes use this encoder; hashes from the other one still verify
+    private Encoder encoder = Encoder.BCRYPT;
+    private final Bcrypt bcrypt = new Bcrypt();
+    private final Argon2 argon2 = new Argon2();
+    private final Verification verification = new Verification();
+    private final Cache cache = new Cache();
+
+    public Encoder getEncoder() { return encoder; }
+    public void setEncoder(Encoder encoder) { this.encoder = encoder; }
+
+    public Bcrypt getBcrypt() { return bcrypt; }
+
+    public Argon2 getArgon2() { return argon2; }
+
+    public Verification getVerification() { return verification; }
+
+    public Cache getCache() { return cache; }
+
+    public static class Bcrypt {
+        // log2 of the number of rounds
+        private int strength = 10;
+
+        public int getStrength() { return strength; }
+        public void setStrength(int strength) { this.strength = strength; }
+    }
+
+    public static class Argon2 {
+        private int saltLength = 16;
+        private int hashLength = 32;
+        private int parallelism = 1;
+        private int memoryKib = 16 * 1024;
+        private int iterations = 2;
+
+        public int getSaltLength() { return saltLength; }
+        public void setSaltLength(int saltLength) { this.saltLength = saltLength; }
+
+        public int getHashLength() { return hashLength; }
+        public void setHashLength(int hashLength) { this.hashLength = hashLength; }
+
+        public int getParallelism() { return parallelism; }
+        public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+        public int getMemoryKib() { return memoryKib; }
+        public void setMemoryKib(int memoryKib) { this.memoryKib = memoryKib; }
+
+        public int getIterations() { return iterations; }
+        public void setIterations(int iterations) { this.iterations = iterations; }
+    }
+
+    public static class Verification {
+        // Hashing threads; 0 means one per available processor
+        private int threads = 0;
+        // Hashes allowed to wait for a thread before new ones are turned away
+        private int queueCapacity = 64;
+        // Longest a request waits for its hash to be checked
+        private Duration timeout = Duration.ofSeconds(2);
+
+        public int getThreads() { return threads; }
+        public void setThreads(int threads) { this.threads = threads; }
+
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+        public Duration getTimeout() { return timeout; }
+        public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    }
+
+    public static class Cache {
+        // How long a verified username/password pair is trusted without re-hashing; zero disables the cache
+        private Duration ttl = Duration.ofSeconds(60);
+        private int maxEntries = 10_000;
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates HTTP Basic credentials against the user registry through
+ * {@link CredentialVerifier}, so Basic calls share the hashing pool and the
+ * verified-credential cache with {@code /api/auth/login}.
+ */
+@Component
+public class RegistryAuthenticationProvider implements AuthenticationProvider {
+
+    private final CredentialVerifier credentialVerifier;
+
+    public RegistryAuthenticationProvider(CredentialVerifier credentialVerifier) {
+        this.credentialVerifier = credentialVerifier;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        RegisteredUser user = credentialVerifier.verify(username, credentials != null ? credentials.toString() : null);
+        if (user == null) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        return new UserAuthentication(UserPrincipal.of(user.getUsername(), user.getRoles()), null);
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
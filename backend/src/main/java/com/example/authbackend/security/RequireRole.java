@@ -0,0 +1,20 @@
+package com.example.authbackend.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a handler, or every handler of a class, to users with the given
+ * role. Enforced by method security against the request's
+ * {@link UserPrincipal}; see {@link RoleAuthorizationManager}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequireRole {
+
+    Role value();
+}
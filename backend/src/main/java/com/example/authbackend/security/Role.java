@@ -0,0 +1,82 @@
+package com.example.authbackend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Roles the API authorizes on. A user's roles are kept as a bitmask of
+ * {@link #bit()}s; the role names and {@code ROLE_} authorities for every
+ * possible mask are built once here, so resolving or checking roles on a
+ * request does not allocate.
+ */
+public enum Role {
+    USER,
+    ADMIN;
+
+    private static final Role[] ROLES = values();
+    private static final List<String>[] NAMES;
+    private static final List<GrantedAuthority>[] AUTHORITIES;
+
+    static {
+        int combinations = 1 << ROLES.length;
+        @SuppressWarnings("unchecked")
+        List<String>[] names = new List[combinations];
+        @SuppressWarnings("unchecked")
+        List<GrantedAuthority>[] authorities = new List[combinations];
+        for (int mask = 0; mask < combinations; mask++) {
+            List<String> maskNames = new ArrayList<>();
+            List<GrantedAuthority> maskAuthorities = new ArrayList<>();
+            for (Role role : ROLES) {
+                if ((mask & role.bit()) != 0) {
+                    maskNames.add(role.name());
+                    maskAuthorities.add(new SimpleGrantedAuthority("ROLE_" + role.name()));
+                }
+            }
+            names[mask] = List.copyOf(maskNames);
+            authorities[mask] = List.copyOf(maskAuthorities);
+        }
+        NAMES = names;
+        AUTHORITIES = authorities;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * The mask for a list of role names, with or without the {@code ROLE_}
+     * prefix. Names that are not a {@link Role}, such as Keycloak's
+     * {@code offline_access}, are ignored.
+     */
+    public static int mask(Collection<String> roleNames) {
+        int mask = 0;
+        for (String roleName : roleNames) {
+            Role role = fromName(roleName.startsWith("ROLE_") ? roleName.substring(5) : roleName);
+            if (role != null) {
+                mask |= role.bit();
+            }
+        }
+        return mask;
+    }
+
+    static List<String> names(int mask) {
+        return NAMES[mask];
+    }
+
+    static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES[mask];
+    }
+
+    private static Role fromName(String name) {
+        for (Role role : ROLES) {
+            if (role.name().equals(name)) {
+                return role;
+            }
+        }
+        return null;
+    }
+}
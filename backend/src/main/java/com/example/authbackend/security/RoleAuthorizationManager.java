@@ -0,0 +1,47 @@
+package com.example.authbackend.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Method-security check for {@link RequireRole}. The required role is looked
+ * up once per method and the check is a bitmask test on the
+ * {@link UserPrincipal}, so unlike a {@code @PreAuthorize} expression it
+ * evaluates no SpEL and builds no role set per call.
+ */
+public class RoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Map<Method, Role> requiredRoles = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Role required = requiredRoles.computeIfAbsent(invocation.getMethod(), RoleAuthorizationManager::requiredRole);
+        Authentication current = authentication.get();
+        if (current != null && current.getPrincipal() instanceof UserPrincipal principal && principal.hasRole(required)) {
+            return GRANTED;
+        }
+        return DENIED;
+    }
+
+    private static Role requiredRole(Method method) {
+        RequireRole annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequireRole.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RequireRole.class);
+        }
+        if (annotation == null) {
+            throw new IllegalStateException("No @RequireRole on " + method);
+        }
+        return annotation.value();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues compact signed JWTs for {@code /api/auth/login} and verifies them
+ * in-process. The signing key is either an HS256 secret or a P-256 private JWK
+ * for ES256; with ES256 the public half is published by {@code /api/auth/jwks}
+ * so the JWK-set-URI decoder can be exercised against this server instead of
+ * Keycloak. Both come from configuration, so tokens stay valid across restarts
+ * and on every node sharing the key. Without one a random key is made for
+ * this process, with a warning, unless {@code auth.jwt.require-key} makes
+ * startup fail instead.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private final JwtProperties properties;
+    private final JwsAlgorithm algorithm;
+    private final JWK signingKey;
+    private final JwtEncoder encoder;
+
+    public TokenService(JwtProperties properties) {
+        this.properties = properties;
+        try {
+            this.signingKey = switch (properties.getAlgorithm()) {
+                // Named by its thumbprint, so nodes sharing the secret accept each other's tokens
+                case HS256 -> new OctetSequenceKey.Builder(secret(properties))
+                    .keyIDFromThumbprint()
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.HS256)
+                    .build();
+                case ES256 -> ecKey(properties);
+            };
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not create the token signing key", e);
+        }
+        this.algorithm = switch (properties.getAlgorithm()) {
+            case HS256 -> MacAlgorithm.HS256;
+            case ES256 -> SignatureAlgorithm.ES256;
+        };
+        this.encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey)));
+    }
+
+    public IssuedToken issue(RegisteredUser user) {
+        Instant issuedAt = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuer(properties.getIssuer())
+            .subject(user.getUsername())
+            .claim("preferred_username", user.getUsername())
+            .claim("roles", user.getRoles())
+            .issuedAt(issuedAt)
+            .expiresAt(issuedAt.plus(properties.getTtl()))
+            .id(UUID.randomUUID().toString())
+            .build();
+        JwsHeader header = JwsHeader.with(algorithm).keyId(signingKey.getKeyID()).build();
+        String value = encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new IssuedToken(value, properties.getTtl());
+    }
+
+    /**
+     * Verifies signatures with the in-process key and checks expiry and issuer.
+     */
+    public JwtDecoder localDecoder() {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+            JWSAlgorithm.parse(algorithm.getName()), new ImmutableJWKSet<>(new JWKSet(signingKey))));
+        // Claims are checked by the Spring validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(properties.getIssuer()));
+        return decoder;
+    }
+
+    /**
+     * The public verification keys as a JWK set document; empty for HS256,
+     * whose key must never leave the process.
+     */
+    public Map<String, Object> publicJwks() {
+        if (signingKey instanceof OctetSequenceKey) {
+            return new JWKSet().toJSONObject();
+        }
+        return new JWKSet(signingKey.toPublicJWK()).toJSONObject();
+    }
+
+    private static byte[] secret(JwtProperties properties) {
+        String configured = properties.getSecret();
+        if (configured == null || configured.isBlank()) {
+            missingKey(properties, "auth.jwt.secret (AUTH_JWT_SECRET)", "HS256");
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            return secret;
+        }
+        byte[] secret = configured.getBytes(StandardCharsets.UTF_8);
+        if (secret.length < 32) {
+            throw new IllegalStateException("auth.jwt.secret must be at least 32 bytes for HS256");
+        }
+        return secret;
+    }
+
+    private static ECKey ecKey(JwtProperties properties) throws JOSEException {
+        String configured = properties.getSigningKey();
+        if (configured == null || configured.isBlank()) {
+            missingKey(properties, "auth.jwt.signing-key (AUTH_JWT_SIGNING_KEY)", "ES256");
+            return new ECKeyGenerator(Curve.P_256)
+                .keyIDFromThumbprint(true)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.ES256)
+                .generate();
+        }
+        ECKey key;
+        try {
+            key = ECKey.parse(configured);
+        } catch (ParseException e) {
+            throw new IllegalStateException("auth.jwt.signing-key is not an EC JWK", e);
+        }
+        if (!key.isPrivate() || !Curve.P_256.equals(key.getCurve())) {
+            throw new IllegalStateException("auth.jwt.signing-key must be a private P-256 JWK for ES256");
+        }
+        return new ECKey.Builder(key)
+            .keyIDFromThumbprint()
+            .keyUse(KeyUse.SIGNATURE)
+            .algorithm(JWSAlgorithm.ES256)
+            .build();
+    }
+
+    private static void missingKey(JwtProperties properties, String setting, String algorithm) {
+        if (properties.isRequireKey()) {
+            throw new IllegalStateException(setting + " must be set for " + algorithm);
+        }
+        log.warn("{} is not set; signing tokens with a random key for this process only. Tokens will not survive "
+            + "a restart or be accepted by other nodes.", setting);
+    }
+
+    public record IssuedToken(String value, Duration expiresIn) {
+    }
+}
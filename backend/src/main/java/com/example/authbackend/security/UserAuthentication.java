@@ -0,0 +1,31 @@
+package com.example.authbackend.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+/**
+ * An authenticated request whose principal is a {@link UserPrincipal}, from
+ * either HTTP Basic or a bearer token. For bearer tokens the credentials are
+ * the verified {@code Jwt}.
+ */
+public class UserAuthentication extends AbstractAuthenticationToken {
+
+    private final UserPrincipal principal;
+    private final Object credentials;
+
+    public UserAuthentication(UserPrincipal principal, Object credentials) {
+        super(principal.authorities());
+        this.principal = principal;
+        this.credentials = credentials;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public UserPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return credentials;
+    }
+}
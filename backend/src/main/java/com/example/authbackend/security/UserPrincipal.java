@@ -0,0 +1,52 @@
+package com.example.authbackend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated user with roles resolved once, when the request is
+ * authenticated, into a {@link Role} bitmask. Handlers receive it through
+ * {@code @AuthenticationPrincipal}, and role checks are a mask test.
+ */
+public final class UserPrincipal implements AuthenticatedPrincipal {
+
+    private final String username;
+    private final int roleMask;
+
+    private UserPrincipal(String username, int roleMask) {
+        this.username = username;
+        this.roleMask = roleMask;
+    }
+
+    public static UserPrincipal of(String username, Collection<String> roleNames) {
+        return new UserPrincipal(username, Role.mask(roleNames));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean hasRole(Role role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
+    /**
+     * Role names without the {@code ROLE_} prefix, in {@link Role} order.
+     */
+    public List<String> roleNames() {
+        return Role.names(roleMask);
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return Role.authorities(roleMask);
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[" + username + ", " + roleNames() + "]";
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.authbackend.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when a password could not be checked because the hashing pool is
+ * saturated. The credentials were not judged either way, so callers answer
+ * with 503 rather than 401.
+ */
+public class VerificationCapacityException extends AuthenticationServiceException {
+
+    public VerificationCapacityException(String message) {
+        super(message);
+    }
+}
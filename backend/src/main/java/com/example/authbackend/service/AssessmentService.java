@@ -0,0 +1,193 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.cluster.PartitionedStats;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionCodes;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.persistence.SubmissionLog;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.SubmissionIdGenerator;
+import com.example.authbackend.search.SearchIndex;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single write path for submissions: logs them, stores them and keeps the
+ * derived statistics and search index in step. On startup the log is replayed
+ * through the same path to rebuild the in-memory state.
+ *
+ * <p>{@link #version()} advances after submissions are stored, indexed and
+ * counted, so a response rendered after reading version {@code v} includes
+ * everything up to {@code v} and can be tagged with it. New submissions are
+ * also published to the {@link SubmissionBroadcaster} for admin event
+ * streams; replayed ones are not.
+ *
+ * <p>In cluster mode new submissions are also queued for the other nodes
+ * that own their user, and copies arriving from those nodes are stored
+ * through {@link #storeReplicas(List)}, which neither publishes nor
+ * replicates them again.
+ */
+@Service
+public class AssessmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentService.class);
+
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentStatsService assessmentStatsService;
+    private final TimeBucketedStats timeBucketedStats;
+    private final SubmissionLog submissionLog;
+    private final SubmissionDictionaries submissionDictionaries;
+    private final SearchIndex searchIndex;
+    private final SubmissionBroadcaster submissionBroadcaster;
+    private final SubmissionIdGenerator submissionIdGenerator;
+    private final SubmissionReplicator submissionReplicator;
+    private final PartitionedStats partitionedStats;
+    private final AtomicLong version = new AtomicLong();
+
+    public AssessmentService(AssessmentRepository assessmentRepository,
+                             AssessmentStatsService assessmentStatsService,
+                             TimeBucketedStats timeBucketedStats,
+                             SubmissionLog submissionLog,
+                             SubmissionDictionaries submissionDictionaries,
+                             SearchIndex searchIndex,
+                             SubmissionBroadcaster submissionBroadcaster,
+                             SubmissionIdGenerator submissionIdGenerator,
+                             SubmissionReplicator submissionReplicator,
+                             PartitionedStats partitionedStats) {
+        this.assessmentRepository = assessmentRepository;
+        this.assessmentStatsService = assessmentStatsService;
+        this.timeBucketedStats = timeBucketedStats;
+        this.submissionLog = submissionLog;
+        this.submissionDictionaries = submissionDictionaries;
+        this.searchIndex = searchIndex;
+        this.submissionBroadcaster = submissionBroadcaster;
+        this.submissionIdGenerator = submissionIdGenerator;
+        this.submissionReplicator = submissionReplicator;
+        this.partitionedStats = partitionedStats;
+    }
+
+    @PostConstruct
+    void recover() {
+        submissionLog.replay(submission -> {
+            submissionIdGenerator.advancePast(submission.getId());
+            apply(submission);
+        });
+        version.incrementAndGet();
+    }
+
+    public long nextId() {
+        return submissionIdGenerator.nextId();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public AssessmentSubmission submit(AssessmentSubmission submission) {
+        // Only make the submission visible once the log has it
+        submissionLog.append(submission).join();
+        apply(submission);
+        version.incrementAndGet();
+        submissionBroadcaster.publish(submission);
+        submissionReplicator.replicate(submission);
+        return submission;
+    }
+
+    /**
+     * Logs a batch of submissions together, so a write-ahead log covers them
+     * with a single group commit, then stores each one the log accepted.
+     * Returns the positions in {@code submissions} of the ones stored.
+     */
+    public BitSet submitAll(List<AssessmentSubmission> submissions) {
+        return store(submissions, true);
+    }
+
+    /**
+     * Stores submissions from a bulk import the same way as
+     * {@link #submitAll(List)}. They arrive with ids already set, kept from
+     * the source or taken from {@link #nextId()}. Returns how many were
+     * stored.
+     */
+    public int importAll(List<AssessmentSubmission> submissions) {
+        for (AssessmentSubmission submission : submissions) {
+            submissionIdGenerator.advancePast(submission.getId());
+        }
+        return store(submissions, true).cardinality();
+    }
+
+    /**
+     * Stores copies of submissions another node accepted, skipping any this
+     * node already has, e.g. from a replication batch that was retried.
+     * Returns how many were stored.
+     */
+    public int storeReplicas(List<AssessmentSubmission> submissions) {
+        List<AssessmentSubmission> missing = new ArrayList<>(submissions.size());
+        for (AssessmentSubmission submission : submissions) {
+            if (submission.getId() != null && assessmentRepository.findById(submission.getId()) == null) {
+                // A node restarted without its log gets its own earlier ids back from the replicas
+                submissionIdGenerator.advancePast(submission.getId());
+                missing.add(submission);
+            }
+        }
+        return store(missing, false).cardinality();
+    }
+
+    private BitSet store(List<AssessmentSubmission> submissions, boolean accepted) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Void>[] logged = new CompletableFuture[submissions.size()];
+        for (int i = 0; i < logged.length; i++) {
+            logged[i] = submissionLog.append(submissions.get(i));
+        }
+
+        BitSet stored = new BitSet(logged.length);
+        for (int i = 0; i < logged.length; i++) {
+            try {
+                logged[i].join();
+            } catch (CompletionException e) {
+                log.error("Failed to log submission {}", submissions.get(i).getId(), e.getCause());
+                continue;
+            }
+            if (!apply(submissions.get(i))) {
+                // Another delivery of the same id got there first and has already been counted
+                continue;
+            }
+            if (accepted) {
+                submissionBroadcaster.publish(submissions.get(i));
+                submissionReplicator.replicate(submissions.get(i));
+            }
+            stored.set(i);
+        }
+        if (!stored.isEmpty()) {
+            version.incrementAndGet();
+        }
+        return stored;
+    }
+
+    /**
+     * Makes a logged submission visible and counts it, unless one with the
+     * same id is already stored. Returns whether it was new.
+     */
+    private boolean apply(AssessmentSubmission submission) {
+        // Share one instance per distinct skill, experience level and user agent
+        SubmissionCodes codes = submissionDictionaries.canonicalize(submission);
+        if (!assessmentRepository.save(submission)) {
+            return false;
+        }
+        assessmentStatsService.record(submission, codes);
+        timeBucketedStats.record(submission, codes);
+        partitionedStats.record(submission, codes);
+        searchIndex.add(submission);
+        return true;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.StringDictionary;
+import com.example.authbackend.dictionary.SubmissionCodes;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Assessment statistics maintained incrementally at submit time. Counters are
+ * striped {@link LongAdder}s indexed by dictionary code, so recording a
+ * submission is an array lookup per field and a snapshot only walks the
+ * distinct experience levels and skills.
+ */
+@Service
+public class AssessmentStatsService {
+
+    private static final Comparator<Map.Entry<String, Long>> BY_COUNT =
+        Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+    private final LongAdder totalSubmissions = new LongAdder();
+    private final CodeCounters experienceCounts;
+    private final CodeCounters skillCounts;
+
+    public AssessmentStatsService(SubmissionDictionaries dictionaries) {
+        this.experienceCounts = new CodeCounters(dictionaries.experienceLevels());
+        this.skillCounts = new CodeCounters(dictionaries.skills());
+    }
+
+    public void record(AssessmentSubmission submission, SubmissionCodes codes) {
+        totalSubmissions.increment();
+        experienceCounts.increment(codes.experience(), submission.getExperience());
+        int[] skillCodes = codes.skills();
+        for (int i = 0; i < skillCodes.length; i++) {
+            skillCounts.increment(skillCodes[i], submission.getSkills().get(i));
+        }
+    }
+
+    public long getTotalSubmissions() {
+        return totalSubmissions.sum();
+    }
+
+    public Map<String, Long> getExperienceLevels() {
+        return experienceCounts.snapshot();
+    }
+
+    public Map<String, Long> getSkillCounts() {
+        return skillCounts.snapshot();
+    }
+
+    /**
+     * Adds these counts to the given maps and returns the total, for merging
+     * several instances without a snapshot of each.
+     */
+    long addTo(Map<String, Long> experienceLevels, Map<String, Long> skills) {
+        experienceCounts.forEach((level, count) -> experienceLevels.merge(level, count, Long::sum));
+        skillCounts.forEach((skill, count) -> skills.merge(skill, count, Long::sum));
+        return totalSubmissions.sum();
+    }
+
+    /**
+     * Returns the {@code k} most frequent skills, highest count first, using a
+     * bounded min-heap so the cost is O(distinct skills * log k).
+     */
+    public Map<String, Long> getTopSkills(int k) {
+        return top(skillCounts::forEach, skillCounts.distinct(), k);
+    }
+
+    /**
+     * The {@code k} largest of {@code counts}, ranked like
+     * {@link #getTopSkills(int)}; for counts merged from several nodes.
+     */
+    public static Map<String, Long> top(Map<String, Long> counts, int k) {
+        return top(action -> counts.forEach(action::accept), counts.size(), k);
+    }
+
+    /**
+     * {@code distinct} bounds the number of keys {@code counts} visits, so an
+     * oversized {@code k} from a request doesn't size the heap.
+     */
+    private static Map<String, Long> top(Consumer<ObjLongConsumer<String>> counts, int distinct, int k) {
+        if (k <= 0) {
+            return Map.of();
+        }
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(Math.min(k, distinct) + 1, BY_COUNT);
+        counts.accept((skill, count) -> {
+            heap.offer(Map.entry(skill, count));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        });
+
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(heap);
+        ranked.sort(BY_COUNT.reversed());
+
+        Map<String, Long> topSkills = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : ranked) {
+            topSkills.put(entry.getKey(), entry.getValue());
+        }
+        return topSkills;
+    }
+
+    /**
+     * Counters indexed by dictionary code. Values the dictionary could not code
+     * because it was full are counted by string instead.
+     */
+    private static final class CodeCounters {
+
+        private final StringDictionary dictionary;
+        private volatile LongAdder[] counters = new LongAdder[16];
+        private final Map<String, LongAdder> uncoded = new ConcurrentHashMap<>();
+
+        CodeCounters(StringDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        void increment(int code, String value) {
+            if (code >= 0) {
+                counter(code).increment();
+            } else if (code == StringDictionary.NOT_CODED) {
+                uncoded.computeIfAbsent(value, key -> new LongAdder()).increment();
+            }
+        }
+
+        private LongAdder counter(int code) {
+            LongAdder[] current = counters;
+            if (code < current.length && current[code] != null) {
+                return current[code];
+            }
+            synchronized (this) {
+                current = counters;
+                if (code >= current.length) {
+                    current = Arrays.copyOf(current, Math.max(code + 1, current.length * 2));
+                }
+                if (current[code] == null) {
+                    current[code] = new LongAdder();
+                }
+                // Write the array back so the new counter is published by the volatile store
+                counters = current;
+                return current[code];
+            }
+        }
+
+        void forEach(ObjLongConsumer<String> action) {
+            LongAdder[] current = counters;
+            for (int code = 0; code < current.length; code++) {
+                if (current[code] != null) {
+                    action.accept(dictionary.decode(code), current[code].sum());
+                }
+            }
+            uncoded.forEach((value, counter) -> action.accept(value, counter.sum()));
+        }
+
+        /**
+         * An upper bound on the number of values {@link #forEach} visits.
+         */
+        int distinct() {
+            return counters.length + uncoded.size();
+        }
+
+        Map<String, Long> snapshot() {
+            Map<String, Long> snapshot = new HashMap<>();
+            forEach(snapshot::put);
+            return snapshot;
+        }
+    }
+}
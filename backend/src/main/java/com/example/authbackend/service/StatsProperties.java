@@ -0,0 +1,20 @@
+package com.example.authbackend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "assessment.stats")
+public class StatsProperties {
+
+    // Ranges within this window are counted by the minute
+    private Duration minuteRetention = Duration.ofHours(24);
+    // Older ranges are counted by the hour, back to this far
+    private Duration hourRetention = Duration.ofDays(90);
+
+    public Duration getMinuteRetention() { return minuteRetention; }
+    public void setMinuteRetention(Duration minuteRetention) { this.minuteRetention = minuteRetention; }
+
+    public Duration getHourRetention() { return hourRetention; }
+    public void setHourRetention(Duration hourRetention) { this.hourRetention = hourRetention; }
+}
@@ -0,0 +1,189 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionCodes;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Assessment statistics by submission time. Submissions are counted at
+ * submit time into a ring of per-minute buckets and a ring of per-hour
+ * buckets, each bucket an {@link AssessmentStatsService} of its own. A range
+ * query merges whole hours from the hour ring and the minutes at either end
+ * from the minute ring, so it reads a bounded number of buckets and never a
+ * submission.
+ *
+ * <p>A ring slot is reused once the ring wraps around, so the rings keep
+ * {@link StatsProperties#getMinuteRetention()} and
+ * {@link StatsProperties#getHourRetention()} of history. A range counts the
+ * buckets that start within it: minutes while they are retained, whole
+ * hours before that. {@link Window} reports the range actually covered.
+ *
+ * <p>A submission timed more than a minute after the clock is not counted:
+ * its bucket would take the slot of a period still retained, and real
+ * submissions for that period would then be dropped.
+ */
+public class TimeBucketedStats {
+
+    public static final long MINUTE = Duration.ofMinutes(1).toMillis();
+    public static final long HOUR = Duration.ofHours(1).toMillis();
+
+    private final SubmissionDictionaries dictionaries;
+    private final StatsProperties properties;
+    private final LongSupplier clock;
+    private final Ring minutes;
+    private final Ring hours;
+
+    public TimeBucketedStats(SubmissionDictionaries dictionaries, StatsProperties properties) {
+        this(dictionaries, properties, System::currentTimeMillis);
+    }
+
+    public TimeBucketedStats(SubmissionDictionaries dictionaries, StatsProperties properties, LongSupplier clock) {
+        this.dictionaries = dictionaries;
+        this.properties = properties;
+        this.clock = clock;
+        this.minutes = new Ring(MINUTE, slots(properties.getMinuteRetention(), MINUTE));
+        this.hours = new Ring(HOUR, slots(properties.getHourRetention(), HOUR));
+    }
+
+    public void record(AssessmentSubmission submission, SubmissionCodes codes) {
+        long at = epochMillis(submission.getSubmittedAt());
+        // A minute of leeway for clocks on other nodes running slightly ahead
+        if (at == Long.MIN_VALUE || at >= clock.getAsLong() + MINUTE) {
+            return;
+        }
+        AssessmentStatsService minute = minutes.bucketFor(at);
+        if (minute != null) {
+            minute.record(submission, codes);
+        }
+        AssessmentStatsService hour = hours.bucketFor(at);
+        if (hour != null) {
+            hour.record(submission, codes);
+        }
+    }
+
+    /**
+     * Statistics for the submissions made in {@code [from, to)}, in epoch
+     * milliseconds, counted by whole buckets as described above.
+     */
+    public Window window(long from, long to) {
+        Span span = span(from, to, clock.getAsLong(), properties);
+        Map<String, Long> experienceLevels = new HashMap<>();
+        Map<String, Long> skillCounts = new HashMap<>();
+        long total = 0;
+        for (long at = span.from(); at < span.to(); ) {
+            Ring ring = at % HOUR == 0 && at + HOUR <= span.to() ? hours : minutes;
+            AssessmentStatsService bucket = ring.get(at);
+            if (bucket != null) {
+                total += bucket.addTo(experienceLevels, skillCounts);
+            }
+            at += ring.width;
+        }
+        return new Window(span.from(), span.to(), total, experienceLevels, skillCounts);
+    }
+
+    /**
+     * The part of {@code [from, to)} a query at {@code now} can count: whole
+     * minutes back to the first full hour the minute ring still holds, whole
+     * hours before that, and nothing older than the hour ring or after the
+     * current minute.
+     */
+    public static Span span(long from, long to, long now, StatsProperties properties) {
+        long currentMinute = floor(now, MINUTE);
+        long minuteHorizon = ceil(currentMinute - (slots(properties.getMinuteRetention(), MINUTE) - 1) * MINUTE, HOUR);
+        long hourHorizon = floor(now, HOUR) - (slots(properties.getHourRetention(), HOUR) - 1) * HOUR;
+
+        // Clamped before rounding, so open-ended ranges cannot overflow
+        long start = ceil(Math.max(from, hourHorizon), MINUTE);
+        if (start < minuteHorizon) {
+            start = ceil(start, HOUR);
+        }
+        long end = ceil(Math.max(Math.min(to, currentMinute + MINUTE), hourHorizon), MINUTE);
+        if (end - MINUTE < minuteHorizon) {
+            end = ceil(end, HOUR);
+        }
+        return new Span(start, Math.max(start, end));
+    }
+
+    private static int slots(Duration retention, long width) {
+        long slots = retention.toMillis() / width;
+        if (slots < 1 || slots > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Stats retention must be between one bucket and "
+                + Integer.MAX_VALUE + " buckets: " + retention);
+        }
+        return (int) slots;
+    }
+
+    private static long floor(long millis, long width) {
+        return Math.floorDiv(millis, width) * width;
+    }
+
+    private static long ceil(long millis, long width) {
+        return -Math.floorDiv(-millis, width) * width;
+    }
+
+    private static long epochMillis(String submittedAt) {
+        if (submittedAt == null) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Instant.parse(submittedAt).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    public record Span(long from, long to) {}
+
+    public record Window(long from, long to, long totalSubmissions, Map<String, Long> experienceLevels,
+                         Map<String, Long> skillCounts) {}
+
+    private record Bucket(long start, AssessmentStatsService counts) {}
+
+    private final class Ring {
+
+        final long width;
+        final AtomicReferenceArray<Bucket> slots;
+
+        Ring(long width, int slots) {
+            this.width = width;
+            this.slots = new AtomicReferenceArray<>(slots);
+        }
+
+        /**
+         * The bucket counting {@code at}, replacing the one for an older
+         * period in its slot; {@code null} if the ring has moved past it.
+         */
+        AssessmentStatsService bucketFor(long at) {
+            long start = floor(at, width);
+            int slot = slot(start);
+            while (true) {
+                Bucket current = slots.get(slot);
+                if (current != null && current.start() >= start) {
+                    return current.start() == start ? current.counts() : null;
+                }
+                // A count still landing in the replaced bucket is lost with the period being dropped
+                Bucket fresh = new Bucket(start, new AssessmentStatsService(dictionaries));
+                if (slots.compareAndSet(slot, current, fresh)) {
+                    return fresh.counts();
+                }
+            }
+        }
+
+        AssessmentStatsService get(long start) {
+            Bucket bucket = slots.get(slot(start));
+            return bucket != null && bucket.start() == start ? bucket.counts() : null;
+        }
+
+        private int slot(long start) {
+            return (int) Math.floorMod(start / width, (long) slots.length());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.authbackend.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashRingTest {
+
+    private static final int USERS = 100_000;
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    void noNodeHoldsMuchMoreThanItsShareOfUsers() {
+        for (int nodes : new int[] {3, 10}) {
+            HashRing ring = new HashRing(nodeIds(nodes), VIRTUAL_NODES);
+            int[] held = new int[nodes];
+            for (int i = 0; i < USERS; i++) {
+                held[ring.primary("user" + i)]++;
+            }
+            for (int count : held) {
+                assertThat(count / ((double) USERS / nodes)).as("share on %d nodes", nodes).isLessThan(1.3);
+            }
+        }
+    }
+
+    @Test
+    void anAddedNodeOnlyTakesUsersOverFromTheOthers() {
+        for (int nodes : new int[] {3, 10}) {
+            HashRing ring = new HashRing(nodeIds(nodes), VIRTUAL_NODES);
+            HashRing grown = new HashRing(nodeIds(nodes + 1), VIRTUAL_NODES);
+            int moved = 0;
+            for (int i = 0; i < USERS; i++) {
+                int before = ring.primary("user" + i);
+                int after = grown.primary("user" + i);
+                if (before != after) {
+                    assertThat(after).as("new primary of user%d", i).isEqualTo(nodes);
+                    moved++;
+                }
+            }
+            // About 1/(n+1) of the users
+            assertThat(moved).isBetween(USERS / (nodes + 1) / 2, USERS / (nodes + 1) * 2);
+        }
+    }
+
+    @Test
+    void ownersAreDistinctAndStartWithThePrimary() {
+        HashRing ring = new HashRing(nodeIds(3), VIRTUAL_NODES);
+        for (int i = 0; i < 1_000; i++) {
+            int[] owners = ring.owners("user" + i, 2);
+            assertThat(owners).hasSize(2).doesNotHaveDuplicates();
+            assertThat(owners[0]).isEqualTo(ring.primary("user" + i));
+        }
+        assertThat(ring.owners("user", 5)).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    private static List<String> nodeIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("node-" + i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.authbackend.cluster;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.search.SearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionedSearchTest {
+
+    private static final int USERS = 50;
+
+    @Test
+    void partitionsSplitTheMatchesByOwnerGroup() {
+        ClusterTopology topology = topology("a");
+        SearchIndex index = new SearchIndex();
+        AssessmentRepository repository = new AssessmentRepository(new HeapSubmissionStore());
+        for (int i = 0; i < USERS * 2; i++) {
+            AssessmentSubmission submission = submission(i + 1, "user-" + (i % USERS), i % 3 == 0 ? "kafka" : "redis");
+            repository.save(submission);
+            index.add(submission);
+        }
+
+        SearchIndex.Query query = new SearchIndex.Query("kafka", Set.of(), Set.of(), 5);
+        Map<String, PartitionedSearch.Partition> partitions =
+            new PartitionedSearch(topology, index, repository).search(query);
+
+        assertThat(partitions.values().stream().mapToLong(PartitionedSearch.Partition::totalHits).sum())
+            .isEqualTo(index.search(query).totalHits());
+        int hits = 0;
+        for (Map.Entry<String, PartitionedSearch.Partition> partition : partitions.entrySet()) {
+            for (PartitionedSearch.Match match : partition.getValue().matches()) {
+                assertThat(PartitionedStats.group(topology.owners(match.assessment().getUserId())))
+                    .isEqualTo(partition.getKey());
+                hits++;
+            }
+        }
+        assertThat(hits).isEqualTo(5);
+    }
+
+    @Test
+    void mergingKeepsTheBestHitsAndAddsUpTheTotals() {
+        PartitionedSearch.Partition first = new PartitionedSearch.Partition(10, List.of(
+            match(1, 3.0f), match(2, 1.0f)));
+        PartitionedSearch.Partition second = new PartitionedSearch.Partition(7, List.of(
+            match(3, 2.0f), match(4, 1.0f), match(5, 0.5f)));
+
+        PartitionedSearch.Merged merged = PartitionedSearch.merge(List.of(first, second), 4);
+
+        assertThat(merged.result().totalHits()).isEqualTo(17);
+        // Equal scores go to the older submission first
+        assertThat(merged.result().hits()).extracting(SearchIndex.Hit::submissionId).containsExactly(1L, 3L, 2L, 4L);
+        assertThat(merged.submissions()).containsOnlyKeys(1L, 2L, 3L, 4L);
+    }
+
+    private static PartitionedSearch.Match match(long id, float score) {
+        return new PartitionedSearch.Match(score, submission(id, "user", "text"));
+    }
+
+    private static AssessmentSubmission submission(long id, String userId, String description) {
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setId(id);
+        submission.setUserId(userId);
+        submission.setProjectDescription(description);
+        submission.setSubmittedAt("2024-01-15T10:30:00Z");
+        return submission;
+    }
+
+    private static ClusterTopology topology(String nodeId) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setNodeId(nodeId);
+        properties.setSecret("test-secret");
+        List<String> nodes = new ArrayList<>();
+        for (String id : List.of("a", "b", "c")) {
+            nodes.add(id + "=http://localhost:1");
+        }
+        properties.setNodes(nodes);
+        return new ClusterTopology(properties);
+    }
+}
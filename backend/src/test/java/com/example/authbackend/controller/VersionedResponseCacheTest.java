@@ -0,0 +1,26 @@
+package com.example.authbackend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedResponseCacheTest {
+
+    @Test
+    void etagsMatchTheirOwnVersionAndVariantOnly() {
+        String etag = VersionedResponseCache.etag(7, "csv");
+
+        assertThat(VersionedResponseCache.notModified(etag, etag)).isTrue();
+        assertThat(VersionedResponseCache.notModified(etag.substring(2), etag)).isTrue();
+        assertThat(VersionedResponseCache.notModified("W/\"x\", " + etag, etag)).isTrue();
+        assertThat(VersionedResponseCache.notModified(etag, VersionedResponseCache.etag(8, "csv"))).isFalse();
+        assertThat(VersionedResponseCache.notModified(etag, VersionedResponseCache.etag(7, "ndjson"))).isFalse();
+    }
+
+    @Test
+    void etagsFromAnotherProcessAtTheSameVersionDoNotMatch() {
+        // What this version was tagged before per-process epochs, or by a process that restarted at zero
+        assertThat(VersionedResponseCache.notModified("W/\"7-csv\"", VersionedResponseCache.etag(7, "csv"))).isFalse();
+        assertThat(VersionedResponseCache.etag(7, "csv")).isEqualTo(VersionedResponseCache.etag(7, "csv"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.authbackend.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringDictionaryTest {
+
+    private static final int THREADS = 8;
+    private static final int VALUES = 1_000;
+
+    @Test
+    void equalValuesInternToOneInstance() {
+        StringDictionary dictionary = new StringDictionary("skills", 16);
+        String first = copy("Java");
+
+        assertThat(dictionary.intern(first)).isSameAs(first);
+        assertThat(dictionary.intern(copy("Java"))).isSameAs(first);
+        assertThat(dictionary.intern(copy("SQL"))).isNotSameAs(first).isEqualTo("SQL");
+        assertThat(dictionary.intern(null)).isNull();
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    void codesAreDenseAndDecodeBackToTheirValues() {
+        StringDictionary dictionary = new StringDictionary("skills", 16);
+
+        assertThat(dictionary.encode("Java")).isZero();
+        assertThat(dictionary.encode("SQL")).isEqualTo(1);
+        assertThat(dictionary.encode("Java")).isZero();
+        assertThat(dictionary.encode(null)).isEqualTo(StringDictionary.NULL_CODE);
+
+        assertThat(dictionary.decode(0)).isEqualTo("Java");
+        assertThat(dictionary.decode(1)).isEqualTo("SQL");
+        assertThat(dictionary.decode(StringDictionary.NULL_CODE)).isNull();
+        assertThat(dictionary.decode(StringDictionary.NOT_CODED)).isNull();
+    }
+
+    @Test
+    void valuesBeyondTheLimitPassThroughUncoded() {
+        StringDictionary dictionary = new StringDictionary("userAgents", 2);
+        dictionary.encode("a");
+        dictionary.encode("b");
+        String overflow = copy("c");
+
+        assertThat(dictionary.encode(overflow)).isEqualTo(StringDictionary.NOT_CODED);
+        assertThat(dictionary.intern(overflow)).isSameAs(overflow);
+        // Values coded before the limit keep their codes
+        assertThat(dictionary.encode("b")).isEqualTo(1);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    void hitsAndMissesAreCounted() {
+        StringDictionary dictionary = new StringDictionary("skills", 16);
+        dictionary.encode("Java");
+        dictionary.encode("Java");
+        dictionary.encode("Java");
+        dictionary.encode("SQL");
+
+        assertThat(dictionary.getHits()).isEqualTo(2);
+        assertThat(dictionary.getMisses()).isEqualTo(2);
+        assertThat(dictionary.getHitRate()).isEqualTo(0.5);
+        assertThat(dictionary.getEstimatedBytesSaved()).isPositive();
+    }
+
+    @Test
+    void racingThreadsAgreeOnOneCodeAndInstancePerValue() throws Exception {
+        StringDictionary dictionary = new StringDictionary("skills", VALUES);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<String[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    String[] interned = new String[VALUES];
+                    for (int i = 0; i < VALUES; i++) {
+                        interned[i] = dictionary.intern(copy("skill" + i));
+                    }
+                    return interned;
+                }));
+            }
+            go.countDown();
+
+            String[] first = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<String[]> result : results) {
+                String[] interned = result.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < VALUES; i++) {
+                    assertThat(interned[i]).isSameAs(first[i]);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(dictionary.size()).isEqualTo(VALUES);
+        Set<Integer> codes = new HashSet<>();
+        for (int i = 0; i < VALUES; i++) {
+            int code = dictionary.encode("skill" + i);
+            assertThat(codes.add(code)).isTrue();
+            assertThat(dictionary.decode(code)).isEqualTo("skill" + i);
+        }
+        assertThat(codes).allMatch(code -> code >= 0 && code < VALUES);
+    }
+
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.authbackend.dictionary;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionDictionariesTest {
+
+    @Test
+    void submissionsShareOneInstancePerDistinctValue() {
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(16, 16, 16);
+        AssessmentSubmission first = submission();
+        AssessmentSubmission second = submission();
+
+        dictionaries.canonicalize(first);
+        dictionaries.canonicalize(second);
+
+        assertThat(second.getExperience()).isSameAs(first.getExperience());
+        assertThat(second.getUserAgent()).isSameAs(first.getUserAgent());
+        assertThat(second.getSkills().get(0)).isSameAs(first.getSkills().get(0));
+        assertThat(second.getSkills().get(1)).isSameAs(first.getSkills().get(1));
+        // Free text is left alone
+        assertThat(second.getCodingExperience()).isNotSameAs(first.getCodingExperience());
+    }
+
+    @Test
+    void theCodesMapBackToTheSubmissionsValues() {
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(16, 16, 16);
+        AssessmentSubmission submission = submission();
+
+        SubmissionCodes codes = dictionaries.canonicalize(submission);
+
+        assertThat(dictionaries.experienceLevels().decode(codes.experience())).isEqualTo("senior");
+        assertThat(Arrays.stream(codes.skills()).mapToObj(dictionaries.skills()::decode))
+            .containsExactly("Java", "SQL");
+        assertThat(dictionaries.canonicalize(submission()).skills()).containsExactly(codes.skills());
+    }
+
+    @Test
+    void missingAndUncodedValuesAreKeptAsTheyAre() {
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(1, 16, 16);
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setSkills(List.of("Java", "SQL"));
+
+        SubmissionCodes codes = dictionaries.canonicalize(submission);
+
+        assertThat(codes.experience()).isEqualTo(StringDictionary.NULL_CODE);
+        assertThat(codes.skills()).containsExactly(0, StringDictionary.NOT_CODED);
+        assertThat(submission.getExperience()).isNull();
+        assertThat(submission.getUserAgent()).isNull();
+        assertThat(submission.getSkills()).containsExactly("Java", "SQL");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void metricsReportEachDictionary() {
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(16, 8, 4);
+        dictionaries.canonicalize(submission());
+        dictionaries.canonicalize(submission());
+
+        Map<String, Object> metrics = dictionaries.metrics();
+
+        assertThat(metrics).containsOnlyKeys("skills", "experienceLevels", "userAgents");
+        assertThat((Map<String, Object>) metrics.get("skills"))
+            .containsEntry("size", 2)
+            .containsEntry("maxSize", 16)
+            .containsEntry("hits", 2L)
+            .containsEntry("misses", 2L);
+    }
+
+    private static AssessmentSubmission submission() {
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setExperience(new String("senior".toCharArray()));
+        submission.setUserAgent(new String("Mozilla/5.0".toCharArray()));
+        submission.setCodingExperience(new String("5 years".toCharArray()));
+        submission.setSkills(List.of(new String("Java".toCharArray()), new String("SQL".toCharArray())));
+        return submission;
+    }
+}
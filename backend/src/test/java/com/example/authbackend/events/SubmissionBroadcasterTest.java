@@ -0,0 +1,142 @@
+package com.example.authbackend.events;
+
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionBroadcasterTest {
+
+    private static final int BATCH = 1000;
+    private static final int BATCHES = 5;
+    private static final int FAST_SUBSCRIBERS = 10;
+    private static final byte[] SUBMISSION = "event: submission\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESYNC = "event: resync\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void aSlowSubscriberIsResyncedWithoutHoldingTheOthersBack() throws Exception {
+        EventStreamProperties properties = new EventStreamProperties();
+        // Room for a whole batch, so only the slow subscriber ever falls a buffer behind
+        properties.setSubscriberBuffer(4 * BATCH);
+        properties.setMaxSubscribers(FAST_SUBSCRIBERS + 1);
+        SubmissionBroadcaster broadcaster = broadcaster(properties);
+        try {
+            List<CountingSink> fastSinks = new ArrayList<>();
+            for (int i = 0; i < FAST_SUBSCRIBERS; i++) {
+                fastSinks.add(connect(broadcaster, new CountingSink(0)));
+            }
+            CountingSink slowSink = connect(broadcaster, new CountingSink(TimeUnit.MILLISECONDS.toNanos(1)));
+
+            long published = 0;
+            for (int batch = 0; batch < BATCHES; batch++) {
+                for (int i = 0; i < BATCH; i++) {
+                    broadcaster.publish(submission(++published));
+                }
+                for (CountingSink sink : fastSinks) {
+                    awaitSubmissions(sink, published);
+                }
+            }
+
+            for (CountingSink sink : fastSinks) {
+                assertThat(sink.submissions.get()).isEqualTo(published);
+                assertThat(sink.resyncs.get()).isZero();
+            }
+            assertThat(slowSink.resyncs.get()).isPositive();
+        } finally {
+            broadcaster.close();
+        }
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreTurnedAway() {
+        EventStreamProperties properties = new EventStreamProperties();
+        properties.setMaxSubscribers(1);
+        SubmissionBroadcaster broadcaster = broadcaster(properties);
+        try {
+            assertThat(broadcaster.subscribe()).isNotNull();
+            assertThat(broadcaster.subscribe()).isNull();
+            assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        } finally {
+            broadcaster.close();
+        }
+    }
+
+    private static SubmissionBroadcaster broadcaster(EventStreamProperties properties) {
+        SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+        return new SubmissionBroadcaster(properties, new AssessmentStatsService(dictionaries),
+            new AssessmentJsonWriter(new ObjectMapper()));
+    }
+
+    private static CountingSink connect(SubmissionBroadcaster broadcaster, CountingSink sink) {
+        SubmissionBroadcaster.Subscription subscription = broadcaster.subscribe();
+        Thread.ofVirtual().start(() -> {
+            try {
+                subscription.stream(sink);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return sink;
+    }
+
+    private static void awaitSubmissions(CountingSink sink, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (sink.submissions.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static AssessmentSubmission submission(long id) {
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setId(id);
+        submission.setUserId("candidate" + (id % 100));
+        submission.setFullName("Candidate " + id);
+        submission.setExperience("mid");
+        submission.setSkills(List.of("Java", "SQL"));
+        submission.setSubmittedAt("2024-01-15T10:30:00Z");
+        return submission;
+    }
+
+    /**
+     * Counts submission and resync frames written to one stream.
+     */
+    private static final class CountingSink implements SubmissionBroadcaster.FrameSink {
+
+        private final long nanosPerFrame;
+        final AtomicLong submissions = new AtomicLong();
+        final AtomicLong resyncs = new AtomicLong();
+
+        CountingSink(long nanosPerFrame) {
+            this.nanosPerFrame = nanosPerFrame;
+        }
+
+        @Override
+        public void write(byte[] frame) {
+            if (startsWith(frame, SUBMISSION)) {
+                submissions.incrementAndGet();
+            } else if (startsWith(frame, RESYNC)) {
+                resyncs.incrementAndGet();
+            }
+            if (nanosPerFrame > 0) {
+                LockSupport.parkNanos(nanosPerFrame);
+            }
+        }
+
+        private static boolean startsWith(byte[] frame, byte[] prefix) {
+            return frame.length >= prefix.length && Arrays.equals(frame, 0, prefix.length, prefix, 0, prefix.length);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.authbackend.ingest;
+
+import com.example.authbackend.cluster.ClusterProperties;
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.cluster.PartitionedStats;
+import com.example.authbackend.cluster.PeerClient;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.controller.AssessmentCsvWriter;
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.EventStreamProperties;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.persistence.InMemorySubmissionLog;
+import com.example.authbackend.persistence.PersistenceProperties;
+import com.example.authbackend.persistence.SubmissionLog;
+import com.example.authbackend.persistence.WriteAheadLog;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.repository.SubmissionIdGenerator;
+import com.example.authbackend.search.SearchIndex;
+import com.example.authbackend.service.AssessmentService;
+import com.example.authbackend.service.AssessmentStatsService;
+import com.example.authbackend.service.StatsProperties;
+import com.example.authbackend.service.TimeBucketedStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkImporterTest {
+
+    private static final Set<AssessmentJsonWriter.Field> ALL_FIELDS = EnumSet.allOf(AssessmentJsonWriter.Field.class);
+    private static final int RECORDS = 5_000;
+
+    @Test
+    void anNdjsonExportImportsBackToTheSameExport() throws IOException {
+        try (Node source = filled(); Node target = new Node(new InMemorySubmissionLog())) {
+            roundTrip(source, target, BulkImporter.Format.NDJSON);
+        }
+    }
+
+    @Test
+    void aCsvExportImportsBackToTheSameExport() throws IOException {
+        try (Node source = filled(); Node target = new Node(new InMemorySubmissionLog())) {
+            roundTrip(source, target, BulkImporter.Format.CSV);
+        }
+    }
+
+    @Test
+    void anImportIntoAWriteAheadLogStoresEveryRecord(@TempDir Path directory) throws IOException {
+        PersistenceProperties.Wal wal = new PersistenceProperties().getWal();
+        wal.setDirectory(directory.toString());
+        try (Node source = filled(); Node target = new Node(new WriteAheadLog(wal, new ObjectMapper()))) {
+            roundTrip(source, target, BulkImporter.Format.NDJSON);
+        }
+    }
+
+    private static void roundTrip(Node source, Node target, BulkImporter.Format format) throws IOException {
+        byte[] upload = source.exported(format);
+        ImportProperties properties = new ImportProperties();
+        properties.setBatchSize(256);
+        try (BulkImporter importer = new BulkImporter(properties, target.assessmentService, target.repository,
+                target.topology, target.replicator, target.objectMapper.getFactory())) {
+            ImportJob job = importer.begin(format, "admin");
+            importer.run(job, format, new ByteArrayInputStream(upload));
+
+            assertThat(job.state()).as("%s", job.report()).isEqualTo(ImportJob.State.COMPLETED);
+            assertThat(target.repository.count()).isEqualTo(RECORDS);
+            assertThat(target.exported(format)).isEqualTo(upload);
+        }
+    }
+
+    private static Node filled() {
+        Node node = new Node(new InMemorySubmissionLog());
+        List<AssessmentSubmission> submissions = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            AssessmentSubmission submission = new AssessmentSubmission();
+            submission.setId(node.assessmentService.nextId());
+            submission.setUserId("candidate" + (i % 100));
+            submission.setFullName("Candidate " + i);
+            submission.setEmail("candidate" + i + "@example.com");
+            submission.setExperience(i % 2 == 0 ? "mid" : "senior");
+            // Quotes, separators and line breaks the CSV writer has to escape
+            submission.setProjectDescription("Project " + i + ", with \"quotes\";\nand a second line");
+            submission.setCodingExperience(i % 3 == 0 ? null : (i % 10) + " years");
+            submission.setSkills(i % 7 == 0 ? List.of() : List.of("Java", "SQL " + (i % 5)));
+            Map<String, String> answers = new LinkedHashMap<>();
+            answers.put("question1", "Answer " + i);
+            if (i % 2 == 0) {
+                answers.put("problemSolving", "Divide, then \"conquer\"");
+            }
+            submission.setTechnicalAnswers(answers);
+            submission.setTermsAccepted(true);
+            submission.setSubmittedAt(Instant.now().toString());
+            submission.setUserAgent("Mozilla/5.0 (test " + i + ")");
+            submissions.add(submission);
+        }
+        node.assessmentService.submitAll(submissions);
+        assertThat(node.repository.count()).isEqualTo(RECORDS);
+        return node;
+    }
+
+    /**
+     * The write path of one standalone node.
+     */
+    private static final class Node implements AutoCloseable {
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final ClusterProperties clusterProperties = new ClusterProperties();
+        final ClusterTopology topology = new ClusterTopology(clusterProperties);
+        final SubmissionReplicator replicator = new SubmissionReplicator(clusterProperties, topology,
+            new PeerClient(clusterProperties), objectMapper);
+        final AssessmentRepository repository = new AssessmentRepository(new HeapSubmissionStore());
+        final SubmissionLog submissionLog;
+        final SubmissionBroadcaster broadcaster;
+        final AssessmentService assessmentService;
+
+        Node(SubmissionLog submissionLog) {
+            this.submissionLog = submissionLog;
+            SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+            AssessmentStatsService statsService = new AssessmentStatsService(dictionaries);
+            this.broadcaster = new SubmissionBroadcaster(new EventStreamProperties(), statsService,
+                new AssessmentJsonWriter(objectMapper));
+            this.assessmentService = new AssessmentService(repository, statsService,
+                new TimeBucketedStats(dictionaries, new StatsProperties()), submissionLog, dictionaries,
+                new SearchIndex(), broadcaster, new SubmissionIdGenerator(0), replicator,
+                new PartitionedStats(topology, dictionaries, new StatsProperties()));
+        }
+
+        byte[] exported(BulkImporter.Format format) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (format == BulkImporter.Format.CSV) {
+                new AssessmentCsvWriter(objectMapper).writeCsv(out, repository.findAll(), Integer.MAX_VALUE, ALL_FIELDS);
+            } else {
+                new AssessmentJsonWriter(objectMapper).writeNdjson(out, repository.findAll(), Integer.MAX_VALUE,
+                    ALL_FIELDS);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public void close() {
+            broadcaster.close();
+            submissionLog.close();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.authbackend.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportRecordsTest {
+
+    private final ImportRecords records = new ImportRecords(new JsonFactory());
+
+    @Test
+    void submissionTimesAreKeptAndNormalized() {
+        assertThat(records.fromJson("{\"userId\":\"u\",\"submittedAt\":\"2024-01-15T10:30:00.000Z\"}")
+            .getSubmittedAt()).isEqualTo("2024-01-15T10:30:00Z");
+        assertThat(records.fromJson("{\"userId\":\"u\"}").getSubmittedAt()).isNotNull();
+    }
+
+    @Test
+    void submissionTimesInTheFutureAreRejected() {
+        String tomorrow = Instant.now().plus(Duration.ofDays(1)).toString();
+
+        assertThatThrownBy(() -> records.fromJson("{\"userId\":\"u\",\"submittedAt\":\"" + tomorrow + "\"}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("future");
+        List<String> columns = ImportRecords.csvHeader(List.of("userId", "submittedAt"));
+        assertThatThrownBy(() -> records.fromCsv(columns, List.of("u", tomorrow)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("future");
+    }
+}
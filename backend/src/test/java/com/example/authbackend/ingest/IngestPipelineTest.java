@@ -0,0 +1,170 @@
+package com.example.authbackend.ingest;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.persistence.GatedSubmissionLog;
+import com.example.authbackend.service.AssessmentTestStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestPipelineTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 2_000;
+
+    @Test
+    void aBurstStoresEveryQueuedSubmissionOnceAndRejectsTheRest() throws Exception {
+        try (AssessmentTestStack stack = new AssessmentTestStack()) {
+            IngestProperties properties = properties(256, 0);
+            IngestPipeline pipeline = new IngestPipeline(properties, stack.assessmentService);
+
+            Set<Long> queued = ConcurrentHashMap.newKeySet();
+            LongAdder rejected = new LongAdder();
+            CountDownLatch go = new CountDownLatch(1);
+            ExecutorService producers = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> done = new ArrayList<>();
+            try {
+                for (int t = 0; t < THREADS; t++) {
+                    String user = "candidate" + t;
+                    done.add(producers.submit(() -> {
+                        go.await();
+                        for (int i = 0; i < PER_THREAD; i++) {
+                            AssessmentSubmission submission = stack.submission(user);
+                            switch (pipeline.submit(submission)) {
+                                case QUEUED -> queued.add(submission.getId());
+                                case REJECTED -> rejected.increment();
+                                case STORED -> throw new AssertionError("Stored on the caller's thread in async mode");
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                go.countDown();
+                for (Future<?> producer : done) {
+                    producer.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                producers.shutdownNow();
+            }
+            pipeline.close();
+
+            assertThat(queued.size() + rejected.sum()).isEqualTo(THREADS * PER_THREAD);
+            assertThat(pipeline.acceptedCount()).isEqualTo(queued.size());
+            assertThat(pipeline.rejectedCount()).isEqualTo(rejected.sum());
+            assertThat(pipeline.metrics()).containsEntry("failed", 0L).containsEntry("applied", (long) queued.size());
+            Set<Long> stored = new HashSet<>();
+            stack.repository.findAll().forEach(submission -> assertThat(stored.add(submission.getId())).isTrue());
+            assertThat(stored).isEqualTo(queued);
+        }
+    }
+
+    @Test
+    void submissionsBeyondTheRejectDepthAreRefusedWhileTheConsumerIsBusy() {
+        GatedSubmissionLog log = new GatedSubmissionLog(false);
+        try (AssessmentTestStack stack = new AssessmentTestStack(log)) {
+            IngestPipeline pipeline = new IngestPipeline(properties(64, 8), stack.assessmentService);
+
+            // The consumer takes the first one and blocks in the log, then eight more fill the queue
+            assertThat(pipeline.submit(stack.submission("candidate"))).isEqualTo(IngestPipeline.Outcome.QUEUED);
+            awaitDepth(pipeline, 0);
+            for (int i = 0; i < 8; i++) {
+                assertThat(pipeline.submit(stack.submission("candidate"))).isEqualTo(IngestPipeline.Outcome.QUEUED);
+            }
+            assertThat(pipeline.submit(stack.submission("candidate"))).isEqualTo(IngestPipeline.Outcome.REJECTED);
+
+            log.open();
+            pipeline.close();
+            assertThat(stack.repository.count()).isEqualTo(9);
+            assertThat(pipeline.submit(stack.submission("candidate"))).isEqualTo(IngestPipeline.Outcome.REJECTED);
+        }
+    }
+
+    @Test
+    void submissionsQueuedWhileClosingAreStillStored() throws Exception {
+        try (AssessmentTestStack stack = new AssessmentTestStack()) {
+            IngestPipeline pipeline = new IngestPipeline(properties(1 << 16, 0), stack.assessmentService);
+
+            Set<Long> queued = ConcurrentHashMap.newKeySet();
+            Set<Long> heard = ConcurrentHashMap.newKeySet();
+            CountDownLatch go = new CountDownLatch(THREADS + 1);
+            ExecutorService producers = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> done = new ArrayList<>();
+            try {
+                for (int t = 0; t < THREADS; t++) {
+                    String user = "candidate" + t;
+                    done.add(producers.submit(() -> {
+                        go.countDown();
+                        go.await();
+                        // Keep submitting until the pipeline turns submissions away for being closed
+                        while (true) {
+                            AssessmentSubmission submission = stack.submission(user);
+                            long id = submission.getId();
+                            if (pipeline.submit(submission, stored -> heard.add(id)) != IngestPipeline.Outcome.QUEUED) {
+                                return null;
+                            }
+                            queued.add(id);
+                        }
+                    }));
+                }
+                go.countDown();
+                go.await();
+                Thread.sleep(20);
+                pipeline.close();
+                for (Future<?> producer : done) {
+                    producer.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                producers.shutdownNow();
+            }
+
+            assertThat(queued).isNotEmpty();
+            assertThat(pipeline.depth()).isZero();
+            assertThat(heard).isEqualTo(queued);
+            Set<Long> stored = new HashSet<>();
+            stack.repository.findAll().forEach(submission -> stored.add(submission.getId()));
+            assertThat(stored).isEqualTo(queued);
+        }
+    }
+
+    @Test
+    void syncModeStoresOnTheCallersThread() {
+        try (AssessmentTestStack stack = new AssessmentTestStack()) {
+            IngestProperties properties = properties(64, 0);
+            properties.setMode(IngestProperties.Mode.SYNC);
+            IngestPipeline pipeline = new IngestPipeline(properties, stack.assessmentService);
+
+            AssessmentSubmission submission = stack.submission("candidate");
+            assertThat(pipeline.submit(submission)).isEqualTo(IngestPipeline.Outcome.STORED);
+            assertThat(stack.repository.findById(submission.getId())).isSameAs(submission);
+        }
+    }
+
+    private static IngestProperties properties(int capacity, int rejectDepth) {
+        IngestProperties properties = new IngestProperties();
+        properties.setMode(IngestProperties.Mode.ASYNC);
+        properties.setCapacity(capacity);
+        properties.setRejectDepth(rejectDepth);
+        properties.setMaxBatchSize(32);
+        return properties;
+    }
+
+    private static void awaitDepth(IngestPipeline pipeline, int depth) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pipeline.depth() != depth) {
+            assertThat(System.nanoTime() - deadline).as("queue drained to %d within 10s", depth).isNegative();
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.authbackend.ingest;
+
+import com.example.authbackend.controller.MockAssessmentController;
+import com.example.authbackend.model.AssessmentRequest;
+import com.example.authbackend.persistence.GatedSubmissionLog;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.AssessmentTestStack;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionDeduplicatorTest {
+
+    private static final int THREADS = 8;
+    private static final int KEYS = 500;
+    private static final int ATTEMPTS = 8;
+
+    private static final UserPrincipal USER = UserPrincipal.of("candidate", List.of("USER"));
+
+    @Test
+    void racingRetriesOfAKeyStoreOneSubmission() throws Exception {
+        try (AssessmentTestStack stack = new AssessmentTestStack()) {
+            MockAssessmentController controller = stack.controller(pipeline(stack, IngestProperties.Mode.SYNC),
+                new SubmissionDeduplicator(new IdempotencyProperties()));
+
+            AtomicLong calls = new AtomicLong();
+            LongAdder stored = new LongAdder();
+            LongAdder duplicates = new LongAdder();
+            CountDownLatch go = new CountDownLatch(1);
+            ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> done = new ArrayList<>();
+            try {
+                for (int t = 0; t < THREADS; t++) {
+                    done.add(callers.submit(() -> {
+                        go.await();
+                        for (long call; (call = calls.getAndIncrement()) < (long) KEYS * ATTEMPTS; ) {
+                            long key = call / ATTEMPTS;
+                            ResponseEntity<?> response = controller.submitAssessment(request("Candidate " + key),
+                                "key-" + key, USER);
+                            if (response.getStatusCode().value() == 409
+                                    || response.getHeaders().containsKey(SubmissionDeduplicator.REPLAYED_HEADER)) {
+                                duplicates.increment();
+                            } else if (response.getStatusCode().is2xxSuccessful()) {
+                                stored.increment();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                go.countDown();
+                for (Future<?> caller : done) {
+                    caller.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                callers.shutdownNow();
+            }
+
+            assertThat(stack.repository.count()).isEqualTo(KEYS);
+            assertThat(stored.sum()).isEqualTo(KEYS);
+            assertThat(duplicates.sum()).isEqualTo((long) KEYS * (ATTEMPTS - 1));
+        }
+    }
+
+    @Test
+    void aKeyReusedForContentWithTheSameHashIsAConflict() {
+        SubmissionDeduplicator deduplicator = new SubmissionDeduplicator(new IdempotencyProperties());
+        AssessmentRequest first = request("Aa");
+        AssessmentRequest second = request("BB");
+        assertThat(second.hashCode()).isEqualTo(first.hashCode());
+
+        SubmissionDeduplicator.Claim claim = deduplicator.claim("candidate", "key", first);
+        deduplicator.complete(claim, ResponseEntity.ok(Map.of("submissionId", 1)));
+
+        assertThat(deduplicator.claim("candidate", "key", second).status())
+            .isEqualTo(SubmissionDeduplicator.Status.CONFLICT);
+        assertThat(deduplicator.claim("candidate", "key", request("Aa")).status())
+            .isEqualTo(SubmissionDeduplicator.Status.REPLAY);
+    }
+
+    @Test
+    void aQueuedSubmissionIsOnlyReplayedOnceItIsLogged() {
+        GatedSubmissionLog log = new GatedSubmissionLog(false);
+        try (AssessmentTestStack stack = new AssessmentTestStack(log)) {
+            IngestPipeline pipeline = pipeline(stack, IngestProperties.Mode.ASYNC);
+            MockAssessmentController controller =
+                stack.controller(pipeline, new SubmissionDeduplicator(new IdempotencyProperties()));
+            AssessmentRequest request = request("Candidate");
+
+            assertThat(controller.submitAssessment(request, "key", USER).getStatusCode().value()).isEqualTo(202);
+            assertThat(controller.submitAssessment(request, "key", USER).getStatusCode().value()).isEqualTo(409);
+
+            // The log fails the batch, so the retry is a fresh submission
+            log.setFailing(true);
+            log.open();
+            awaitHandled(pipeline, 1);
+            log.setFailing(false);
+            ResponseEntity<?> retry = controller.submitAssessment(request, "key", USER);
+            assertThat(retry.getStatusCode().value()).isEqualTo(202);
+            assertThat(retry.getHeaders().containsKey(SubmissionDeduplicator.REPLAYED_HEADER)).isFalse();
+
+            awaitHandled(pipeline, 2);
+            ResponseEntity<?> replay = controller.submitAssessment(request, "key", USER);
+            assertThat(replay.getStatusCode().value()).isEqualTo(202);
+            assertThat(replay.getHeaders().getFirst(SubmissionDeduplicator.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(replay.getBody()).isEqualTo(retry.getBody());
+            assertThat(stack.repository.count()).isEqualTo(1);
+            pipeline.close();
+        }
+    }
+
+    private static IngestPipeline pipeline(AssessmentTestStack stack, IngestProperties.Mode mode) {
+        IngestProperties properties = new IngestProperties();
+        properties.setMode(mode);
+        return new IngestPipeline(properties, stack.assessmentService);
+    }
+
+    private static AssessmentRequest request(String fullName) {
+        return new AssessmentRequest(fullName, "candidate@example.com", "mid", "Five years of Java.",
+            "A reporting service.", List.of("java", "sql"), true, "JUnit", Map.of("question1", "Option A"));
+    }
+
+    // Waits until the consumer has stored or dropped this many submissions
+    private static void awaitHandled(IngestPipeline pipeline, long handled) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((long) pipeline.metrics().get("applied") + (long) pipeline.metrics().get("failed") < handled) {
+            assertThat(System.nanoTime() - deadline).as("%d submissions handled within 10s", handled).isNegative();
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.authbackend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The application's meters, recorded through the full filter chain and
+ * scraped the way Prometheus does.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void requestLatencyIsRecordedInAPercentileHistogram() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/health")).andExpect(status().isOk());
+        }
+
+        Timer timer = registry.get("http.server.requests").tag("uri", "/health").tag("status", "200").timer();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(3);
+        assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        assertThat(buckets).isNotEmpty();
+        // Bounded by the minimum and maximum expected values in application.yml
+        assertThat(buckets[0].bucket(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(1);
+        assertThat(buckets[buckets.length - 1].bucket(TimeUnit.SECONDS)).isLessThanOrEqualTo(10);
+        assertThat(buckets[buckets.length - 1].count()).isGreaterThanOrEqualTo(3);
+
+        String scrape = scrape();
+        assertThat(scrape).contains("http_server_requests_seconds_bucket{");
+        assertThat(scrape).containsPattern("http_server_requests_seconds_count\\{[^}]*uri=\"/health\"[^}]*} [3-9]");
+    }
+
+    @Test
+    void rejectedRequestsAreCountedByOutcome() throws Exception {
+        double unauthorized = outcomes("unauthorized");
+        double forbidden = outcomes("forbidden");
+
+        mockMvc.perform(get("/api/assessments")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/assessments").with(httpBasic("testuser", "password123")))
+            .andExpect(status().isForbidden());
+
+        assertThat(outcomes("unauthorized")).isEqualTo(unauthorized + 1);
+        assertThat(outcomes("forbidden")).isEqualTo(forbidden + 1);
+        assertThat(scrape()).contains("http_server_outcomes_total{");
+    }
+
+    @Test
+    void applicationGaugesAndCountersAreRegistered() throws Exception {
+        assertThat(registry.get("assessment.submissions").gauge().value()).isGreaterThanOrEqualTo(0);
+        assertThat(registry.get("auth.users").gauge().value()).isPositive();
+        assertThat(registry.get("assessment.ingest.depth").gauge().value()).isZero();
+        assertThat(registry.get("assessment.ingest.submissions").tag("outcome", "accepted").functionCounter())
+            .isNotNull();
+        assertThat(registry.get("assessment.ingest.submissions").tag("outcome", "rejected").functionCounter())
+            .isNotNull();
+
+        assertThat(scrape())
+            .contains("assessment_submissions{")
+            .contains("auth_users{")
+            .contains("assessment_ingest_depth{")
+            .contains("assessment_ingest_submissions_total{");
+    }
+
+    private double outcomes(String outcome) {
+        return registry.get("http.server.outcomes").tag("outcome", outcome).counter().count();
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.authbackend.model;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssessmentRequestTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void aFormBodyBindsWithItsAnswersCollected() throws Exception {
+        AssessmentRequest request = read("""
+            {"fullName": "Alice", "email": "alice@example.com", "experience": "mid",
+             "codingExperience": "5 years", "projectDescription": "A search engine",
+             "skills": ["Java", "SQL"], "termsAccepted": true, "userAgent": "Mozilla/5.0",
+             "submittedAt": "2024-01-15T10:30:00Z",
+             "question1": "Yes", "techStack": "Spring", "problemSolving": "Divide and conquer"}
+            """);
+
+        assertThat(request.fullName()).isEqualTo("Alice");
+        assertThat(request.email()).isEqualTo("alice@example.com");
+        assertThat(request.experience()).isEqualTo("mid");
+        assertThat(request.codingExperience()).isEqualTo("5 years");
+        assertThat(request.projectDescription()).isEqualTo("A search engine");
+        assertThat(request.skills()).containsExactly("Java", "SQL");
+        assertThat(request.termsAccepted()).isTrue();
+        assertThat(request.userAgent()).isEqualTo("Mozilla/5.0");
+        assertThat(request.technicalAnswers()).isEqualTo(Map.of(
+            "question1", "Yes", "techStack", "Spring", "problemSolving", "Divide and conquer"));
+    }
+
+    @Test
+    void nullsAndMissingFieldsBindAsNull() throws Exception {
+        AssessmentRequest request = read("""
+            {"fullName": null, "skills": null, "termsAccepted": null}
+            """);
+
+        assertThat(request).isEqualTo(new AssessmentRequest(null, null, null, null, null, null, null, null, Map.of()));
+    }
+
+    @Test
+    void unknownFieldsAreRejected() {
+        assertRejected("{\"fullName\": \"Alice\", \"role\": \"ADMIN\"}", "Unknown field: role");
+    }
+
+    @Test
+    void valuesOfTheWrongTypeAreRejected() {
+        assertRejected("{\"fullName\": 42}", "fullName must be a string");
+        assertRejected("{\"fullName\": {\"first\": \"Alice\"}}", "fullName must be a string");
+        assertRejected("{\"termsAccepted\": \"yes\"}", "termsAccepted must be a boolean");
+        assertRejected("{\"skills\": \"Java\"}", "skills must be an array of strings");
+        assertRejected("{\"skills\": [\"Java\", 7]}", "skills must be a string");
+        assertRejected("{\"question1\": [\"Yes\"]}", "question1 must be a string");
+        assertRejected("[{\"fullName\": \"Alice\"}]", "must be a JSON object");
+    }
+
+    @Test
+    void valuesThatAreTooLongAreRejected() throws Exception {
+        String atLimit = "x".repeat(AssessmentRequest.MAX_SHORT_TEXT_LENGTH);
+
+        assertThat(read("{\"fullName\": \"" + atLimit + "\"}").fullName()).isEqualTo(atLimit);
+        assertRejected("{\"fullName\": \"" + atLimit + "x\"}", "fullName must be at most 256 characters");
+        assertRejected("{\"projectDescription\": \"" + "x".repeat(AssessmentRequest.MAX_LONG_TEXT_LENGTH + 1) + "\"}",
+            "projectDescription must be at most");
+        assertRejected("{\"userAgent\": \"" + "x".repeat(AssessmentRequest.MAX_USER_AGENT_LENGTH + 1) + "\"}",
+            "userAgent must be at most");
+        assertRejected("{\"skills\": [\"" + atLimit + "x\"]}", "skills must be at most");
+    }
+
+    @Test
+    void tooManySkillsOrAnswersAreRejected() {
+        StringBuilder skills = new StringBuilder("{\"skills\": [");
+        StringBuilder answers = new StringBuilder("{");
+        for (int i = 0; i <= AssessmentRequest.MAX_SKILLS; i++) {
+            skills.append(i > 0 ? ", " : "").append("\"skill").append(i).append('"');
+        }
+        for (int i = 0; i <= AssessmentRequest.MAX_TECHNICAL_ANSWERS; i++) {
+            answers.append(i > 0 ? ", " : "").append("\"question").append(i).append("\": \"Yes\"");
+        }
+
+        assertRejected(skills.append("]}").toString(), "At most 64 skills are allowed");
+        assertRejected(answers.append('}').toString(), "At most 64 technical answers are allowed");
+    }
+
+    @Test
+    void aForwardedRequestBindsBackToTheSameRequest() throws Exception {
+        Map<String, String> answers = new HashMap<>();
+        answers.put("question1", "Yes");
+        answers.put("problemSolving", "Divide and \"conquer\"\nthen merge");
+        AssessmentRequest full = new AssessmentRequest("Ålice", "alice@example.com", "mid", "5 years",
+            "A search engine", List.of("Java", "SQL"), false, "Mozilla/5.0", answers);
+        AssessmentRequest sparse = new AssessmentRequest("Bob", null, null, null, null, null, null, null, Map.of());
+
+        for (AssessmentRequest request : List.of(full, sparse)) {
+            String forwarded = OBJECT_MAPPER.writeValueAsString(request);
+
+            assertThat(read(forwarded)).isEqualTo(request);
+        }
+    }
+
+    private static AssessmentRequest read(String json) throws Exception {
+        return OBJECT_MAPPER.readValue(json, AssessmentRequest.class);
+    }
+
+    private static void assertRejected(String json, String message) {
+        assertThatThrownBy(() -> read(json))
+            .isInstanceOf(JsonMappingException.class)
+            .hasMessageContaining(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.authbackend.persistence;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * A log for tests that holds appends until {@link #open()} is called, and can
+ * be made to fail them as a disk error would.
+ */
+public final class GatedSubmissionLog implements SubmissionLog {
+
+    private final CountDownLatch gate;
+    private volatile boolean failing;
+
+    public GatedSubmissionLog(boolean open) {
+        this.gate = new CountDownLatch(open ? 0 : 1);
+    }
+
+    public void open() {
+        gate.countDown();
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    @Override
+    public CompletableFuture<Void> append(AssessmentSubmission submission) {
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        return failing
+            ? CompletableFuture.failedFuture(new IOException("Simulated write-ahead log failure"))
+            : CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void replay(Consumer<AssessmentSubmission> consumer) {
+    }
+}
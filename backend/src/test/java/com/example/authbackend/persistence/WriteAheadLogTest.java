@@ -0,0 +1,200 @@
+package com.example.authbackend.persistence;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteAheadLogTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void appendedSubmissionsReplayInOrderAfterARestart(@TempDir Path directory) {
+        PersistenceProperties.Wal settings = settings(directory);
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            for (long id = 1; id <= 100; id++) {
+                wal.append(submission(id)).join();
+            }
+            // A second delivery of the same submission replays once
+            wal.append(submission(50)).join();
+        }
+
+        List<AssessmentSubmission> replayed = replay(settings);
+
+        assertThat(replayed).extracting(AssessmentSubmission::getId).containsExactlyElementsOf(ids(1, 100));
+        assertThat(replayed.get(41).getFullName()).isEqualTo("Candidate 42");
+        assertThat(replayed.get(41).getSkills()).containsExactly("Java", "SQL");
+    }
+
+    @Test
+    void appendsCompleteTogetherOnceABatchIsWaiting(@TempDir Path directory) throws Exception {
+        PersistenceProperties.Wal settings = settings(directory);
+        // Only a full batch triggers the fsync
+        settings.setFsyncInterval(Duration.ofHours(1));
+        settings.setFsyncBatchSize(4);
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            List<CompletableFuture<Void>> appends = new ArrayList<>();
+            for (long id = 1; id <= 3; id++) {
+                appends.add(wal.append(submission(id)));
+            }
+            Thread.sleep(100);
+            assertThat(appends).noneMatch(CompletableFuture::isDone);
+
+            appends.add(wal.append(submission(4)));
+
+            CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            assertThat(appends).allMatch(append -> append.isDone() && !append.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void appendsCompleteAtOnceWithoutSyncOnSubmit(@TempDir Path directory) {
+        PersistenceProperties.Wal settings = settings(directory);
+        settings.setFsyncInterval(Duration.ofHours(1));
+        settings.setSyncOnSubmit(false);
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            assertThat(wal.append(submission(1))).isDone();
+        }
+        assertThat(replay(settings)).hasSize(1);
+    }
+
+    @Test
+    void aTornTailIsTruncatedAndTheIntactRecordsReplay(@TempDir Path directory) throws IOException {
+        PersistenceProperties.Wal settings = settings(directory);
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            for (long id = 1; id <= 10; id++) {
+                wal.append(submission(id)).join();
+            }
+        }
+        Path segment = segments(directory).get(0);
+        long intact = Files.size(segment);
+        // Half of an eleventh frame, as a crash mid-append would leave it
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            wal.append(submission(11)).join();
+        }
+        Path torn = segments(directory).get(1);
+        try (FileChannel channel = FileChannel.open(torn, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(torn) - 10);
+        }
+
+        assertThat(replay(settings)).extracting(AssessmentSubmission::getId).containsExactlyElementsOf(ids(1, 10));
+        assertThat(Files.size(segment)).isEqualTo(intact);
+        // Only the segment header is left of the torn one
+        assertThat(Files.size(torn)).isEqualTo(8);
+    }
+
+    @Test
+    void aCorruptFrameEndsTheReplayOfItsSegment(@TempDir Path directory) throws IOException {
+        PersistenceProperties.Wal settings = settings(directory);
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            for (long id = 1; id <= 10; id++) {
+                wal.append(submission(id)).join();
+            }
+        }
+        Path segment = segments(directory).get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        // Flip a byte in the last frame's payload so its checksum no longer matches
+        bytes[bytes.length - 5] ^= 0x01;
+        Files.write(segment, bytes);
+
+        assertThat(replay(settings)).extracting(AssessmentSubmission::getId).containsExactlyElementsOf(ids(1, 9));
+        assertThat(Files.size(segment)).isLessThan(bytes.length);
+    }
+
+    @Test
+    void segmentsRollAtTheConfiguredSize(@TempDir Path directory) throws IOException {
+        PersistenceProperties.Wal settings = settings(directory);
+        settings.setSegmentSizeBytes(1024);
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            for (long id = 1; id <= 50; id++) {
+                wal.append(submission(id)).join();
+            }
+        }
+
+        List<Path> segments = segments(directory);
+        assertThat(segments).hasSizeGreaterThan(1);
+        for (Path segment : segments) {
+            assertThat(Files.size(segment)).isLessThanOrEqualTo(1024);
+        }
+        assertThat(replay(settings)).extracting(AssessmentSubmission::getId).containsExactlyElementsOf(ids(1, 50));
+    }
+
+    @Test
+    void anOversizedSubmissionFailsWithoutStoppingTheLog(@TempDir Path directory) {
+        PersistenceProperties.Wal settings = settings(directory);
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            AssessmentSubmission oversized = submission(1);
+            oversized.setProjectDescription("x".repeat(16 * 1024 * 1024));
+
+            assertThatThrownBy(() -> wal.append(oversized).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+            wal.append(submission(2)).join();
+        }
+        assertThat(replay(settings)).extracting(AssessmentSubmission::getId).containsExactly(2L);
+    }
+
+    @Test
+    void appendsAfterCloseAreRefused(@TempDir Path directory) {
+        WriteAheadLog wal = new WriteAheadLog(settings(directory), OBJECT_MAPPER);
+        wal.close();
+
+        assertThat(wal.append(submission(1))).isCompletedExceptionally();
+    }
+
+    private static PersistenceProperties.Wal settings(Path directory) {
+        PersistenceProperties.Wal settings = new PersistenceProperties().getWal();
+        settings.setDirectory(directory.toString());
+        return settings;
+    }
+
+    private static List<AssessmentSubmission> replay(PersistenceProperties.Wal settings) {
+        List<AssessmentSubmission> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(settings, OBJECT_MAPPER)) {
+            wal.replay(replayed::add);
+        }
+        return replayed;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    private static List<Long> ids(long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static AssessmentSubmission submission(long id) {
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setId(id);
+        submission.setUserId("candidate" + (id % 10));
+        submission.setFullName("Candidate " + id);
+        submission.setExperience("mid");
+        submission.setSkills(List.of("Java", "SQL"));
+        submission.setSubmittedAt("2024-01-15T10:30:00Z");
+        return submission;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.authbackend.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongObjectHashMapTest {
+
+    private static final int ENTRIES = 1_000_000;
+
+    @Test
+    void findsEveryKeyAfterGrowingFromEmpty() {
+        long[] ids = LongOrderedMapTest.ids(ENTRIES);
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        for (long id : ids) {
+            assertThat(map.put(id, id)).isNull();
+        }
+
+        for (long id : ids) {
+            assertThat(map.get(id)).isEqualTo(id);
+        }
+        assertThat(map.get(ids[0] - 1)).isNull();
+        assertThat(map.put(ids[0], 0L)).isEqualTo(ids[0]);
+        assertThat(map.size()).isEqualTo(ENTRIES);
+    }
+
+    @Test
+    void keyZeroIsRejected() {
+        assertThatThrownBy(() -> new LongObjectHashMap<Long>().put(0, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readersSeeEveryKeyAlreadyStoredWhileTheTableGrows() throws Exception {
+        long[] ids = LongOrderedMapTest.ids(ENTRIES);
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = threads.submit(() -> {
+                go.await();
+                for (long id : ids) {
+                    map.put(id, id);
+                }
+                return null;
+            });
+            Future<?> reader = threads.submit(() -> {
+                go.await();
+                while (!writer.isDone()) {
+                    // Everything before the size read was stored before it
+                    int stored = map.size();
+                    for (int i = Math.max(0, stored - 1_000); i < stored; i++) {
+                        assertThat(map.get(ids[i])).as("lookup of entry %d", i).isEqualTo(ids[i]);
+                    }
+                }
+                return null;
+            });
+            go.countDown();
+
+            writer.get(60, TimeUnit.SECONDS);
+            reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.authbackend.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongOrderedMapTest {
+
+    private static final int ENTRIES = 1_000_000;
+
+    @Test
+    void iteratesEveryKeyInOrder() {
+        long[] ids = ids(ENTRIES);
+        LongOrderedMap<Long> map = filled(ids);
+
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (Iterator<Long> it = map.valuesAfter(Long.MIN_VALUE); it.hasNext(); count++) {
+            assertThat(it.next()).as("entry %d", count).isEqualTo(sorted[count]);
+        }
+        assertThat(count).isEqualTo(ENTRIES);
+        assertThat(map.size()).isEqualTo(ENTRIES);
+    }
+
+    @Test
+    void pagesResumeRightAfterTheCursor() {
+        long[] ids = ids(ENTRIES);
+        LongOrderedMap<Long> map = filled(ids);
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+
+        SplittableRandom random = new SplittableRandom(3);
+        for (int page = 0; page < 1_000; page++) {
+            int at = random.nextInt(ENTRIES);
+            Iterator<Long> it = map.valuesAfter(sorted[at]);
+            for (int i = at + 1; i < Math.min(at + 50, ENTRIES); i++) {
+                assertThat(it.next()).isEqualTo(sorted[i]);
+            }
+            // A cursor between two keys starts at the next one
+            assertThat(map.valuesAfter(sorted[at] - 1).next()).isEqualTo(sorted[at]);
+        }
+        assertThat(map.valuesAfter(sorted[ENTRIES - 1]).hasNext()).isFalse();
+    }
+
+    @Test
+    void lookupsFindEveryKeyAndNothingElse() {
+        long[] ids = ids(ENTRIES);
+        LongOrderedMap<Long> map = filled(ids);
+
+        for (long id : ids) {
+            assertThat(map.get(id)).isEqualTo(id);
+        }
+        assertThat(map.get(ids[0] - 1)).isNull();
+        assertThat(map.put(ids[0], 0L)).isEqualTo(ids[0]);
+        assertThat(map.size()).isEqualTo(ENTRIES);
+    }
+
+    @Test
+    void readersPageInOrderWhileAWriterShiftsAndSplitsChunks() throws Exception {
+        long[] ids = ids(ENTRIES);
+        LongOrderedMap<Long> map = new LongOrderedMap<>();
+        int readers = 4;
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(readers + 1);
+        try {
+            Future<?> writer = threads.submit(() -> {
+                go.await();
+                for (long id : ids) {
+                    map.put(id, id);
+                }
+                return null;
+            });
+            Future<?>[] reads = new Future<?>[readers];
+            for (int r = 0; r < readers; r++) {
+                SplittableRandom random = new SplittableRandom(r);
+                reads[r] = threads.submit(() -> {
+                    go.await();
+                    while (!writer.isDone()) {
+                        long after = ids[random.nextInt(ids.length)];
+                        long previous = after;
+                        for (Iterator<Long> it = map.valuesAfter(after); it.hasNext(); ) {
+                            long id = it.next();
+                            assertThat(id).isGreaterThan(previous);
+                            previous = id;
+                        }
+                        Long found = map.get(after);
+                        assertThat(found == null || found == after).as("lookup of %d", after).isTrue();
+                    }
+                    return null;
+                });
+            }
+            go.countDown();
+
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<?> read : reads) {
+                read.get(60, TimeUnit.SECONDS);
+            }
+            assertThat(map.size()).isEqualTo(ENTRIES);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Ids from the generator, with 1% arriving a little out of order as
+     * replicas from other nodes do.
+     */
+    static long[] ids(int count) {
+        long[] now = {SubmissionIdGenerator.EPOCH + 1_000_000};
+        SubmissionIdGenerator generator = new SubmissionIdGenerator(1, () -> now[0]);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (i % 50 == 0) {
+                now[0]++;
+            }
+            ids[i] = generator.nextId();
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 64; i < count; i++) {
+            if (random.nextInt(100) == 0) {
+                int earlier = i - 1 - random.nextInt(64);
+                long id = ids[i];
+                ids[i] = ids[earlier];
+                ids[earlier] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static LongOrderedMap<Long> filled(long[] ids) {
+        LongOrderedMap<Long> map = new LongOrderedMap<>();
+        for (long id : ids) {
+            map.put(id, id);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.authbackend.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongPostingsTest {
+
+    private static final int ENTRIES = 1_000_000;
+
+    @Test
+    void keepsEveryIdInTheOrderAdded() {
+        long[] ids = LongOrderedMapTest.ids(ENTRIES);
+        LongPostings postings = new LongPostings();
+        for (long id : ids) {
+            postings.add(id);
+        }
+
+        List<Long> listed = new ArrayList<>();
+        postings.forEach(listed::add);
+        assertThat(postings.size()).isEqualTo(ENTRIES);
+        assertThat(listed).hasSize(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            assertThat(listed.get(i)).isEqualTo(ids[i]);
+        }
+    }
+
+    @Test
+    void readersSeeACompletePrefixWhileTheListGrows() throws Exception {
+        long[] ids = LongOrderedMapTest.ids(ENTRIES);
+        LongPostings postings = new LongPostings();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = threads.submit(() -> {
+                go.await();
+                for (long id : ids) {
+                    postings.add(id);
+                }
+                return null;
+            });
+            Future<?> reader = threads.submit(() -> {
+                go.await();
+                while (!writer.isDone()) {
+                    int[] index = {0};
+                    postings.forEach(id -> assertThat(id).isEqualTo(ids[index[0]++]));
+                }
+                return null;
+            });
+            go.countDown();
+
+            writer.get(60, TimeUnit.SECONDS);
+            reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
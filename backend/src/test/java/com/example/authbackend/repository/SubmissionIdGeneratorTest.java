@@ -0,0 +1,120 @@
+package com.example.authbackend.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubmissionIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 50_000;
+
+    @Test
+    void idsStayIncreasingThroughClockStepsAndBursts() {
+        long[] now = {System.currentTimeMillis()};
+        SubmissionIdGenerator generator = new SubmissionIdGenerator(7, () -> now[0]);
+        long previous = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            // A thousand ids per millisecond is far beyond the 128 the sequence holds
+            if (i == 300_000) {
+                now[0] -= 60_000;
+            } else if (i % 1000 == 0) {
+                now[0]++;
+            }
+            long id = generator.nextId();
+            assertThat(id).as("id at call %d", i).isGreaterThan(previous).isLessThan(1L << 53);
+            assertThat(SubmissionIdGenerator.workerOf(id)).isEqualTo(7);
+            previous = id;
+        }
+    }
+
+    @Test
+    void idsFollowTheClockWhenThereIsRoom() {
+        long[] now = {SubmissionIdGenerator.EPOCH + 1_000};
+        SubmissionIdGenerator generator = new SubmissionIdGenerator(3, () -> now[0]);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        now[0] += 5;
+        long later = generator.nextId();
+
+        assertThat(SubmissionIdGenerator.timestampOf(first)).isEqualTo(1_000);
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(SubmissionIdGenerator.timestampOf(later)).isEqualTo(1_005);
+        assertThat(SubmissionIdGenerator.workerOf(later)).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameId() throws Exception {
+        SubmissionIdGenerator generator = new SubmissionIdGenerator(1);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(callers.submit(() -> {
+                    go.await();
+                    long[] ids = new long[PER_THREAD];
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            go.countDown();
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> result : results) {
+                long previous = 0;
+                for (long id : result.get(30, TimeUnit.SECONDS)) {
+                    assertThat(id).isGreaterThan(previous);
+                    assertThat(seen.add(id)).as("id %d handed out once", id).isTrue();
+                    previous = id;
+                }
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void aRestartedGeneratorSkipsTheIdsItRecovers() {
+        long start = System.currentTimeMillis();
+        SubmissionIdGenerator before = new SubmissionIdGenerator(7, () -> start + 60_000);
+        long recovered = before.nextId();
+
+        // Restarted with a clock a minute behind the last run
+        SubmissionIdGenerator restarted = new SubmissionIdGenerator(7, () -> start);
+        restarted.advancePast(recovered);
+        assertThat(restarted.nextId()).isGreaterThan(recovered);
+    }
+
+    @Test
+    void idsOfOtherWorkersDoNotMoveTheGenerator() {
+        long now = System.currentTimeMillis();
+        SubmissionIdGenerator other = new SubmissionIdGenerator(2, () -> now + 60_000);
+        SubmissionIdGenerator generator = new SubmissionIdGenerator(7, () -> now);
+
+        generator.advancePast(other.nextId());
+
+        assertThat(SubmissionIdGenerator.timestampOf(generator.nextId())).isEqualTo(now - SubmissionIdGenerator.EPOCH);
+    }
+
+    @Test
+    void workerIdsOutsideTheLayoutAreRejected() {
+        assertThatThrownBy(() -> new SubmissionIdGenerator(SubmissionIdGenerator.MAX_WORKERS))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SubmissionIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionStoreTest {
+
+    @Test
+    void theHeapStoreReturnsWhatWasPut() {
+        roundTrip(new HeapSubmissionStore());
+    }
+
+    @Test
+    void theMappedStoreReturnsWhatWasPut(@TempDir Path directory) throws IOException {
+        // Small chunks, so records spread over several of them
+        try (MappedSubmissionStore store = new MappedSubmissionStore(directory, 4096)) {
+            roundTrip(store);
+        }
+    }
+
+    @Test
+    void bothStoresGiveTheSameAnswers(@TempDir Path directory) throws IOException {
+        HeapSubmissionStore heap = new HeapSubmissionStore();
+        try (MappedSubmissionStore mapped = new MappedSubmissionStore(directory, 4096)) {
+            for (AssessmentSubmission submission : submissions()) {
+                heap.put(submission);
+                mapped.put(submission);
+            }
+            assertThat(fields(mapped.valuesAfter(0))).isEqualTo(fields(heap.valuesAfter(0)));
+        }
+    }
+
+    private static void roundTrip(SubmissionStore store) {
+        List<AssessmentSubmission> submissions = submissions();
+        for (AssessmentSubmission submission : submissions) {
+            assertThat(store.put(submission)).isTrue();
+        }
+        assertThat(store.size()).isEqualTo(submissions.size());
+        for (AssessmentSubmission submission : submissions) {
+            assertThat(fields(store.get(submission.getId()))).isEqualTo(fields(submission));
+        }
+        assertThat(store.get(submissions.size() + 1)).isNull();
+        assertThat(fields(store.valuesAfter(0))).isEqualTo(fields(submissions));
+        assertThat(fields(store.valuesAfter(3))).isEqualTo(fields(submissions.subList(3, submissions.size())));
+
+        // A second put of a stored id reports it and replaces the record
+        AssessmentSubmission again = submission(1, "2024-01-16T09:00:00Z");
+        assertThat(store.put(again)).isFalse();
+        assertThat(store.size()).isEqualTo(submissions.size());
+        assertThat(fields(store.get(1))).isEqualTo(fields(again));
+    }
+
+    private static List<AssessmentSubmission> submissions() {
+        List<AssessmentSubmission> submissions = new ArrayList<>();
+        // Timestamps as clients send them, which must come back unchanged
+        String[] submittedAt = {
+            "2024-01-15T10:30:00Z",
+            "2024-01-15T10:30:00.000Z",
+            "2024-01-15T10:30:00.123456789Z",
+            "2024-01-15T11:30:00+01:00",
+            "not a timestamp",
+            null,
+        };
+        for (int i = 0; i < submittedAt.length; i++) {
+            submissions.add(submission(i + 1, submittedAt[i]));
+        }
+        // Every optional field left out
+        AssessmentSubmission bare = new AssessmentSubmission();
+        bare.setId((long) submissions.size() + 1);
+        submissions.add(bare);
+        return submissions;
+    }
+
+    private static AssessmentSubmission submission(long id, String submittedAt) {
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setId(id);
+        submission.setUserId("candidate" + id);
+        submission.setFullName("Candidate Ñame " + id);
+        submission.setEmail("candidate" + id + "@example.com");
+        submission.setExperience(id % 2 == 0 ? "mid" : "senior");
+        submission.setProjectDescription("Project " + id + "\nwith a second line");
+        submission.setCodingExperience(id % 3 == 0 ? null : id + " years");
+        submission.setSkills(id % 3 == 0 ? List.of() : List.of("Java", "SQL " + id));
+        Map<String, String> answers = new LinkedHashMap<>();
+        answers.put("question1", "Answer " + id);
+        answers.put("problemSolving", "Divide and conquer");
+        submission.setTechnicalAnswers(answers);
+        submission.setTermsAccepted(id % 2 == 0);
+        submission.setSubmittedAt(submittedAt);
+        submission.setUserAgent("Mozilla/5.0 (test " + id + ")");
+        return submission;
+    }
+
+    private static List<List<Object>> fields(Iterable<AssessmentSubmission> submissions) {
+        // The mapped store's iterator reuses one view, so copy each element out as it goes by
+        List<List<Object>> fields = new ArrayList<>();
+        for (AssessmentSubmission submission : submissions) {
+            fields.add(fields(submission));
+        }
+        return fields;
+    }
+
+    private static List<Object> fields(AssessmentSubmission submission) {
+        return Arrays.asList(submission.getId(), submission.getUserId(), submission.getFullName(),
+            submission.getEmail(), submission.getExperience(), submission.getProjectDescription(),
+            submission.getCodingExperience(), submission.getSkills(), submission.getTechnicalAnswers(),
+            submission.getTermsAccepted(), submission.getSubmittedAt(), submission.getUserAgent());
+    }
+}
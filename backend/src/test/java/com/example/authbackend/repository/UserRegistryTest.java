@@ -0,0 +1,87 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRegistryTest {
+
+    private static final int THREADS = 16;
+    private static final int USERNAMES = 2_000;
+
+    @Test
+    void racingRegistrationsOfTheSameNamesHaveOneWinnerEach() throws Exception {
+        // Few shards, so the racing names also share tables
+        UserRegistry registry = new UserRegistry(new BCryptPasswordEncoder(4), 4, 16);
+        long preloaded = registry.count();
+
+        AtomicReferenceArray<RegisteredUser> winners = new AtomicReferenceArray<>(USERNAMES);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    int duplicateWins = 0;
+                    for (int i = 0; i < USERNAMES; i++) {
+                        // Every thread covers every name, starting at a different one
+                        int name = (i + thread * (USERNAMES / THREADS)) % USERNAMES;
+                        RegisteredUser user = user(name, thread);
+                        if (registry.register(user) && !winners.compareAndSet(name, null, user)) {
+                            duplicateWins++;
+                        }
+                    }
+                    return duplicateWins;
+                }));
+            }
+            assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(registry.count()).isEqualTo(preloaded + USERNAMES);
+        for (int name = 0; name < USERNAMES; name++) {
+            assertThat(winners.get(name)).as("winner for %s", username(name)).isNotNull();
+            assertThat(registry.findByUsername(username(name))).isSameAs(winners.get(name));
+        }
+    }
+
+    @Test
+    void registeringATakenNameKeepsTheFirstAccount() {
+        UserRegistry registry = new UserRegistry(new BCryptPasswordEncoder(4), 64, 100);
+        RegisteredUser first = user(0, 0);
+
+        assertThat(registry.register(first)).isTrue();
+        assertThat(registry.register(user(0, 1))).isFalse();
+        assertThat(registry.findByUsername(username(0))).isSameAs(first);
+    }
+
+    private static RegisteredUser user(int name, int thread) {
+        return new RegisteredUser(username(name), "{noop}secret", "thread-" + thread + "@example.com",
+            "Racing User", List.of("USER"));
+    }
+
+    private static String username(int name) {
+        return "racer-" + name;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.authbackend.search;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks search results against a brute-force scan of the same synthetic
+ * text: submissions drawn from a Zipf-distributed vocabulary, so common terms
+ * cover most of them and rare ones a handful.
+ */
+class SearchIndexTest {
+
+    private static final int DOCUMENTS = 20_000;
+    private static final int VOCABULARY = 2_000;
+    private static final int DESCRIPTION_WORDS = 40;
+    private static final int ANSWER_WORDS = 8;
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "ze", "pa", "do", "fi", "gu", "he", "jo", "qu"};
+    private static final List<String> EXPERIENCE_LEVELS = List.of("entry", "junior", "mid", "senior", "lead");
+    private static final List<String> SKILLS = List.of("Java", "Docker", "SQL", "React", "Go", "Python");
+
+    private static SearchIndex index;
+    private static String[] words;
+    private static String[] texts;
+    private static int[] experience;
+    private static int[][] skills;
+
+    @BeforeAll
+    static void buildIndex() {
+        words = new String[VOCABULARY];
+        double[] cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            words[rank] = word(rank);
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+
+        index = new SearchIndex();
+        texts = new String[DOCUMENTS];
+        experience = new int[DOCUMENTS];
+        skills = new int[DOCUMENTS][];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int doc = 0; doc < DOCUMENTS; doc++) {
+            AssessmentSubmission submission = new AssessmentSubmission();
+            submission.setId((long) doc + 1);
+            String description = sentence(random, cumulative, total, DESCRIPTION_WORDS);
+            Map<String, String> answers = new LinkedHashMap<>();
+            answers.put("question1", sentence(random, cumulative, total, ANSWER_WORDS));
+            answers.put("question2", sentence(random, cumulative, total, ANSWER_WORDS));
+            submission.setProjectDescription(description);
+            submission.setTechnicalAnswers(answers);
+
+            experience[doc] = random.nextInt(EXPERIENCE_LEVELS.size());
+            submission.setExperience(EXPERIENCE_LEVELS.get(experience[doc]));
+            skills[doc] = new int[] {random.nextInt(SKILLS.size()), random.nextInt(SKILLS.size())};
+            submission.setSkills(List.of(SKILLS.get(skills[doc][0]), SKILLS.get(skills[doc][1])));
+
+            index.add(submission);
+            texts[doc] = " " + description + " " + String.join(" ", answers.values()) + " ";
+        }
+    }
+
+    @Test
+    void textQueriesMatchEverySubmissionWithAnyTerm() {
+        check(query(words[50] + " " + words[500], Set.of(), Set.of()), containsAny(words[50], words[500]));
+        check(query(words[4], Set.of(), Set.of()), containsAny(words[4]));
+        check(query(words[1_900], Set.of(), Set.of()), containsAny(words[1_900]));
+    }
+
+    @Test
+    void filtersNarrowTextQueries() {
+        int senior = EXPERIENCE_LEVELS.indexOf("senior");
+        int java = SKILLS.indexOf("Java");
+        IntPredicate terms = containsAny(words[50], words[500]);
+        check(query(words[50] + " " + words[500], Set.of("Senior"), Set.of("java")),
+            doc -> terms.test(doc) && experience[doc] == senior && hasSkill(doc, java));
+    }
+
+    @Test
+    void filtersAloneReturnTheOldestMatchesFirst() {
+        int senior = EXPERIENCE_LEVELS.indexOf("senior");
+        int lead = EXPERIENCE_LEVELS.indexOf("lead");
+        int java = SKILLS.indexOf("Java");
+        int docker = SKILLS.indexOf("Docker");
+        IntPredicate matches = doc -> (experience[doc] == senior || experience[doc] == lead)
+            && hasSkill(doc, java) && hasSkill(doc, docker);
+
+        SearchIndex.Result result = check(query(null, Set.of("senior", "lead"), Set.of("Java", "Docker")), matches);
+        List<Long> oldest = new ArrayList<>();
+        for (int doc = 0; doc < DOCUMENTS && oldest.size() < 20; doc++) {
+            if (matches.test(doc)) {
+                oldest.add((long) doc + 1);
+            }
+        }
+        assertThat(result.hits()).extracting(SearchIndex.Hit::submissionId).isEqualTo(oldest);
+    }
+
+    @Test
+    void unknownTermsAndFilterValuesMatchNothing() {
+        assertThat(index.search(query("zzzunknown", Set.of(), Set.of())).totalHits()).isZero();
+        assertThat(index.search(query(words[4], Set.of(), Set.of("COBOL"))).totalHits()).isZero();
+        assertThat(index.search(query(words[4], Set.of("principal"), Set.of())).totalHits()).isZero();
+    }
+
+    private static SearchIndex.Result check(SearchIndex.Query query, IntPredicate expected) {
+        SearchIndex.Result result = index.search(query);
+        int matches = 0;
+        for (int doc = 0; doc < DOCUMENTS; doc++) {
+            if (expected.test(doc)) {
+                matches++;
+            }
+        }
+        assertThat(result.totalHits()).as("hits for %s", query).isEqualTo(matches);
+        assertThat(result.hits()).hasSize(Math.min(matches, query.limit()));
+
+        float previous = Float.POSITIVE_INFINITY;
+        for (SearchIndex.Hit hit : result.hits()) {
+            assertThat(expected.test((int) hit.submissionId() - 1)).as("hit %d matches", hit.submissionId()).isTrue();
+            assertThat(hit.score()).isLessThanOrEqualTo(previous);
+            previous = hit.score();
+        }
+        return result;
+    }
+
+    private static IntPredicate containsAny(String... terms) {
+        String[] padded = Arrays.stream(terms).map(term -> " " + term + " ").toArray(String[]::new);
+        return doc -> Arrays.stream(padded).anyMatch(texts[doc]::contains);
+    }
+
+    private static boolean hasSkill(int doc, int skill) {
+        return skills[doc][0] == skill || skills[doc][1] == skill;
+    }
+
+    private static SearchIndex.Query query(String text, Set<String> experienceLevels, Set<String> skills) {
+        return new SearchIndex.Query(text, experienceLevels, skills, 20);
+    }
+
+    private static String sentence(SplittableRandom random, double[] cumulative, double total, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(words[Math.min(rank < 0 ? -rank - 1 : rank, VOCABULARY - 1)]);
+        }
+        return text.toString();
+    }
+
+    // Distinct pronounceable words, one per rank
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        int value = rank;
+        do {
+            word.append(SYLLABLES[value % SYLLABLES.length]);
+            value /= SYLLABLES.length;
+        } while (value > 0);
+        return word.append('x').toString();
+    }
+}
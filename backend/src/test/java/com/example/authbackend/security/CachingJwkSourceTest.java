@@ -0,0 +1,145 @@
+package com.example.authbackend.security;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwkSourceTest {
+
+    private static final int CALLERS = 16;
+
+    private MockJwkServer server;
+    private CachingJwkSource source;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new MockJwkServer(50);
+    }
+
+    @AfterEach
+    void stop() {
+        if (source != null) {
+            source.close();
+        }
+        server.close();
+    }
+
+    @Test
+    void concurrentRequestsWithAnUnknownKidShareOneFetch() throws Exception {
+        JwtProperties.JwkCache properties = new JwtProperties.JwkCache();
+        // Only the initial fetch runs in the background; the rest are refetches on an unknown kid
+        properties.setRefreshInterval(Duration.ofHours(1));
+        properties.setMinRefetchInterval(Duration.ZERO);
+        ECKey key = server.rotate();
+        JwtDecoder decoder = start(properties);
+        decoder.decode(MockJwkServer.sign(key));
+
+        for (int rotation = 0; rotation < 3; rotation++) {
+            String token = MockJwkServer.sign(server.rotate());
+            long fetchesBefore = source.fetchCount();
+
+            CountDownLatch ready = new CountDownLatch(CALLERS);
+            CountDownLatch go = new CountDownLatch(1);
+            ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+            List<Future<Jwt>> decoded = new ArrayList<>();
+            try {
+                for (int i = 0; i < CALLERS; i++) {
+                    decoded.add(callers.submit(() -> {
+                        ready.countDown();
+                        go.await();
+                        return decoder.decode(token);
+                    }));
+                }
+                assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+                go.countDown();
+                for (Future<Jwt> jwt : decoded) {
+                    assertThat(jwt.get(10, TimeUnit.SECONDS).getSubject()).isEqualTo("testuser");
+                }
+            } finally {
+                callers.shutdownNow();
+            }
+
+            assertThat(source.fetchCount() - fetchesBefore).as("fetches for rotation %d", rotation).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void unknownKidsDoNotRefetchWithinTheMinimumInterval() throws Exception {
+        JwtProperties.JwkCache properties = new JwtProperties.JwkCache();
+        properties.setRefreshInterval(Duration.ofHours(1));
+        properties.setMinRefetchInterval(Duration.ofHours(1));
+        ECKey key = server.rotate();
+        JwtDecoder decoder = start(properties);
+        decoder.decode(MockJwkServer.sign(key));
+        long fetchesBefore = source.fetchCount();
+
+        // Signed with a key the provider never published
+        String forged = MockJwkServer.sign(new ECKeyGenerator(Curve.P_256).keyID("forged").generate());
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> decoder.decode(forged)).isInstanceOf(JwtException.class);
+        }
+        assertThat(source.fetchCount()).isEqualTo(fetchesBefore);
+    }
+
+    @Test
+    void cachedKeysAreServedWhileRefreshesFail() throws Exception {
+        JwtProperties.JwkCache properties = new JwtProperties.JwkCache();
+        properties.setRefreshInterval(Duration.ofMillis(100));
+        String token = MockJwkServer.sign(server.rotate());
+        JwtDecoder decoder = start(properties);
+        decoder.decode(token);
+
+        server.setFailing(true);
+        long failuresBefore = source.failureCount();
+        awaitTrue(() -> source.failureCount() >= failuresBefore + 2);
+
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("testuser");
+    }
+
+    @Test
+    void keysOlderThanMaxStaleAreNoLongerServed() throws Exception {
+        JwtProperties.JwkCache properties = new JwtProperties.JwkCache();
+        properties.setRefreshInterval(Duration.ofMillis(100));
+        properties.setMaxStale(Duration.ofMillis(100));
+        String token = MockJwkServer.sign(server.rotate());
+        JwtDecoder decoder = start(properties);
+        decoder.decode(token);
+
+        server.setFailing(true);
+        Thread.sleep(400);
+
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    private JwtDecoder start(JwtProperties.JwkCache properties) {
+        source = new CachingJwkSource(server.uri(), properties);
+        return source.decoder(MockJwkServer.ISSUER);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition met within 10s").isNegative();
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.cluster.ClusterProperties;
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.config.JwtConfig;
+import com.example.authbackend.config.MethodSecurityConfig;
+import com.example.authbackend.config.SecurityConfig;
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bearer tokens through the real security filter chain, {@link JwtRolesConverter}
+ * and {@link RoleAuthorizationManager}. The handlers sit on paths the URL rules
+ * only require authentication for, so {@link RequireRole} is the only role check.
+ */
+@WebMvcTest(controllers = RequireRoleWebTest.RoleController.class)
+@Import({SecurityConfig.class, MethodSecurityConfig.class, JwtConfig.class, TokenService.class,
+    JwtRolesConverter.class, BasicAuthEntryPoint.class, RequireRoleWebTest.RoleController.class,
+    RequireRoleWebTest.Cluster.class})
+class RequireRoleWebTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void aUserReachesUserHandlersButNotAdminHandlers() throws Exception {
+        String token = token("alice", "USER");
+
+        mockMvc.perform(get("/role-check/user").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user").value("alice"));
+        mockMvc.perform(get("/role-check/admin").header("Authorization", "Bearer " + token))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void anAdminReachesAdminHandlers() throws Exception {
+        String token = token("root", "USER", "ADMIN");
+
+        mockMvc.perform(get("/role-check/admin").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user").value("root"));
+        mockMvc.perform(get("/role-check/user").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void rolesOutsideRoleGrantNothing() throws Exception {
+        String token = token("bob", "offline_access");
+
+        mockMvc.perform(get("/role-check/user").header("Authorization", "Bearer " + token))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void requestsWithoutAValidTokenAreUnauthorized() throws Exception {
+        mockMvc.perform(get("/role-check/user"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/role-check/user").header("Authorization", "Bearer not-a-token"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private String token(String username, String... roles) {
+        return tokenService.issue(new RegisteredUser(username, "", username + "@example.com", username,
+            List.of(roles))).value();
+    }
+
+    @RestController
+    static class RoleController {
+
+        @GetMapping("/role-check/user")
+        @RequireRole(Role.USER)
+        Map<String, String> user(UserAuthentication authentication) {
+            return Map.of("user", authentication.getName());
+        }
+
+        @GetMapping("/role-check/admin")
+        @RequireRole(Role.ADMIN)
+        Map<String, String> admin(UserAuthentication authentication) {
+            return Map.of("user", authentication.getName());
+        }
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(ClusterProperties.class)
+    static class Cluster {
+
+        @Bean
+        ClusterTopology clusterTopology(ClusterProperties properties) {
+            return new ClusterTopology(properties);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.config.JwtConfig;
+import com.example.authbackend.controller.MockAuthController.RegisteredUser;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "token-service-test-secret-0123456789";
+    private static final RegisteredUser USER =
+        new RegisteredUser("alice", "", "alice@example.com", "Alice", List.of("USER", "ADMIN"));
+
+    @Test
+    void issuedTokensVerifyWithTheirClaims() throws JOSEException {
+        for (JwtProperties.Algorithm algorithm : JwtProperties.Algorithm.values()) {
+            TokenService tokenService = new TokenService(properties(algorithm));
+            TokenService.IssuedToken token = tokenService.issue(USER);
+
+            Jwt jwt = tokenService.localDecoder().decode(token.value());
+
+            assertThat(jwt.getHeaders()).containsEntry("alg", algorithm.name());
+            assertThat(jwt.getSubject()).isEqualTo("alice");
+            assertThat(jwt.getClaimAsString("preferred_username")).isEqualTo("alice");
+            assertThat(jwt.getClaimAsStringList("roles")).containsExactly("USER", "ADMIN");
+            assertThat(jwt.getIssuer()).hasToString("http://issuer.test");
+            assertThat(jwt.getExpiresAt()).isEqualTo(jwt.getIssuedAt().plus(Duration.ofHours(1)));
+            assertThat(token.expiresIn()).isEqualTo(Duration.ofHours(1));
+        }
+    }
+
+    @Test
+    void servicesSharingAKeyAcceptEachOthersTokens() throws JOSEException {
+        JwtProperties properties = properties(JwtProperties.Algorithm.HS256);
+        String token = new TokenService(properties).issue(USER).value();
+
+        assertThat(new TokenService(properties).localDecoder().decode(token).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void expiredTokensAreRejected() throws JOSEException {
+        JwtDecoder decoder = new TokenService(properties(JwtProperties.Algorithm.HS256)).localDecoder();
+        Instant now = Instant.now();
+
+        // Beyond the validators' minute of clock skew
+        String expired = signed(now.minus(Duration.ofHours(1)), now.minus(Duration.ofMinutes(2)));
+        String current = signed(now, now.plus(Duration.ofMinutes(5)));
+
+        assertThatThrownBy(() -> decoder.decode(expired)).isInstanceOf(JwtException.class);
+        assertThat(decoder.decode(current).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void tokensSignedWithAnotherKeyAreRejected() throws JOSEException {
+        JwtProperties other = properties(JwtProperties.Algorithm.HS256);
+        other.setSecret("another-secret-of-enough-length-0123456789");
+        String token = new TokenService(other).issue(USER).value();
+
+        JwtDecoder decoder = new TokenService(properties(JwtProperties.Algorithm.HS256)).localDecoder();
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void tokensWithAnotherAlgorithmAreRejected() throws JOSEException {
+        JwtDecoder decoder = new TokenService(properties(JwtProperties.Algorithm.HS256)).localDecoder();
+        String es256 = new TokenService(properties(JwtProperties.Algorithm.ES256)).issue(USER).value();
+        String[] parts = new TokenService(properties(JwtProperties.Algorithm.HS256)).issue(USER).value().split("\\.");
+        String unsigned = base64Url("{\"alg\":\"none\"}") + "." + parts[1] + ".";
+
+        assertThatThrownBy(() -> decoder.decode(es256)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode(unsigned)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void tokensFromAnotherIssuerAreRejected() throws JOSEException {
+        JwtProperties other = properties(JwtProperties.Algorithm.HS256);
+        other.setIssuer("http://other.test");
+        String token = new TokenService(other).issue(USER).value();
+
+        JwtDecoder decoder = new TokenService(properties(JwtProperties.Algorithm.HS256)).localDecoder();
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void onlyEs256PublishesItsPublicKey() throws JOSEException {
+        assertThat(new TokenService(properties(JwtProperties.Algorithm.HS256)).publicJwks().get("keys"))
+            .asList().isEmpty();
+
+        List<?> keys = (List<?>) new TokenService(properties(JwtProperties.Algorithm.ES256)).publicJwks().get("keys");
+        assertThat(keys).hasSize(1);
+        assertThat(keys.get(0).toString()).contains("P-256").doesNotContain("\"d\"");
+    }
+
+    @Test
+    void aMissingKeyFallsBackToAPerProcessKeyUnlessRequired() throws JOSEException {
+        for (JwtProperties.Algorithm algorithm : JwtProperties.Algorithm.values()) {
+            JwtProperties properties = properties(algorithm);
+            properties.setSecret("");
+            properties.setSigningKey("");
+            TokenService first = new TokenService(properties);
+            String token = first.issue(USER).value();
+
+            assertThat(first.localDecoder().decode(token).getSubject()).isEqualTo("alice");
+            JwtDecoder restarted = new TokenService(properties).localDecoder();
+            assertThatThrownBy(() -> restarted.decode(token)).isInstanceOf(JwtException.class);
+
+            properties.setRequireKey(true);
+            assertThatThrownBy(() -> new TokenService(properties)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shortSecretsAreRefused() throws JOSEException {
+        JwtProperties properties = properties(JwtProperties.Algorithm.HS256);
+        properties.setSecret("too-short");
+
+        assertThatThrownBy(() -> new TokenService(properties)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void theLocalDecoderIsCachedWhenTheClaimsCacheHasRoom() throws JOSEException {
+        JwtProperties properties = properties(JwtProperties.Algorithm.HS256);
+        TokenService tokenService = new TokenService(properties);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<CachingJwkSource> noJwkSource = mock(ObjectProvider.class);
+
+        JwtDecoder decoder = new JwtConfig().jwtDecoder(properties, tokenService, noJwkSource);
+
+        assertThat(decoder).isInstanceOf(CachingJwtDecoder.class);
+        assertThat(decoder.decode(tokenService.issue(USER).value()).getSubject()).isEqualTo("alice");
+        properties.getClaimsCache().setMaxEntries(0);
+        assertThat(new JwtConfig().jwtDecoder(properties, tokenService, noJwkSource))
+            .isNotInstanceOf(CachingJwtDecoder.class);
+    }
+
+    private static JwtProperties properties(JwtProperties.Algorithm algorithm) throws JOSEException {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setSecret(SECRET);
+        properties.setSigningKey(new ECKeyGenerator(Curve.P_256).generate().toJSONString());
+        properties.setIssuer("http://issuer.test");
+        return properties;
+    }
+
+    // Signed with the test secret the way TokenService signs, but with any validity period
+    private static String signed(Instant issuedAt, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer("http://issuer.test")
+            .subject("alice")
+            .issueTime(Date.from(issuedAt))
+            .expirationTime(Date.from(expiresAt))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+
+    private static String base64Url(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
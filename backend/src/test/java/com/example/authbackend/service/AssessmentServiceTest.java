@@ -0,0 +1,88 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.persistence.SubmissionLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssessmentServiceTest {
+
+    private static final int DELIVERIES = 2;
+    private static final int BATCH = 100;
+
+    @Test
+    void racingDeliveriesOfOneReplicaBatchStoreAndCountItOnce() throws Exception {
+        try (AssessmentTestStack source = new AssessmentTestStack();
+             AssessmentTestStack replica = new AssessmentTestStack(new RendezvousLog(DELIVERIES))) {
+            List<AssessmentSubmission> batch = new ArrayList<>();
+            for (int i = 0; i < BATCH; i++) {
+                batch.add(source.submission("candidate" + (i % 10)));
+            }
+
+            // Both deliveries pass the has-it-already check before either logs anything
+            ExecutorService deliveries = Executors.newFixedThreadPool(DELIVERIES);
+            List<Future<Integer>> stored = new ArrayList<>();
+            try {
+                for (int d = 0; d < DELIVERIES; d++) {
+                    stored.add(deliveries.submit(() -> replica.assessmentService.storeReplicas(batch)));
+                }
+                int total = 0;
+                for (Future<Integer> delivery : stored) {
+                    total += delivery.get(30, TimeUnit.SECONDS);
+                }
+                assertThat(total).isEqualTo(BATCH);
+            } finally {
+                deliveries.shutdownNow();
+            }
+
+            assertThat(replica.repository.count()).isEqualTo(BATCH);
+            assertThat(replica.repository.findByUserId("candidate0")).hasSize(BATCH / 10);
+            assertThat(replica.statsService.getTotalSubmissions()).isEqualTo(BATCH);
+            assertThat(replica.statsService.getSkillCounts()).containsEntry("java", (long) BATCH);
+        }
+    }
+
+    /**
+     * Holds the first appends until {@code parties} of them have arrived, then
+     * lets everything through.
+     */
+    private static final class RendezvousLog implements SubmissionLog {
+
+        private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+        private final CountDownLatch arrived;
+
+        RendezvousLog(int parties) {
+            this.arrived = new CountDownLatch(parties);
+        }
+
+        @Override
+        public CompletableFuture<Void> append(AssessmentSubmission submission) {
+            arrived.countDown();
+            try {
+                if (!arrived.await(10, TimeUnit.SECONDS)) {
+                    return CompletableFuture.failedFuture(new IllegalStateException("Deliveries never met"));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(e);
+            }
+            return DONE;
+        }
+
+        @Override
+        public void replay(Consumer<AssessmentSubmission> consumer) {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.cluster.ClusterProperties;
+import com.example.authbackend.cluster.ClusterRouter;
+import com.example.authbackend.cluster.ClusterTopology;
+import com.example.authbackend.cluster.PartitionedStats;
+import com.example.authbackend.cluster.PeerClient;
+import com.example.authbackend.cluster.SubmissionReplicator;
+import com.example.authbackend.controller.AssessmentCsvWriter;
+import com.example.authbackend.controller.AssessmentJsonWriter;
+import com.example.authbackend.controller.MockAssessmentController;
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.controller.VersionedResponseCache;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import com.example.authbackend.events.EventStreamProperties;
+import com.example.authbackend.events.SubmissionBroadcaster;
+import com.example.authbackend.ingest.IngestPipeline;
+import com.example.authbackend.ingest.SubmissionDeduplicator;
+import com.example.authbackend.persistence.InMemorySubmissionLog;
+import com.example.authbackend.persistence.SubmissionLog;
+import com.example.authbackend.repository.AssessmentRepository;
+import com.example.authbackend.repository.HeapSubmissionStore;
+import com.example.authbackend.repository.SubmissionIdGenerator;
+import com.example.authbackend.search.SearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The submission write path of a standalone node, wired the way the
+ * application context does, for tests that store submissions.
+ */
+public final class AssessmentTestStack implements AutoCloseable {
+
+    public final ObjectMapper objectMapper = new ObjectMapper();
+    public final ClusterProperties clusterProperties = new ClusterProperties();
+    public final ClusterTopology topology = new ClusterTopology(clusterProperties);
+    public final PeerClient peers = new PeerClient(clusterProperties);
+    public final SubmissionReplicator replicator =
+        new SubmissionReplicator(clusterProperties, topology, peers, objectMapper);
+    public final AssessmentRepository repository = new AssessmentRepository(new HeapSubmissionStore());
+    public final SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+    public final AssessmentStatsService statsService = new AssessmentStatsService(dictionaries);
+    public final TimeBucketedStats timeBucketedStats = new TimeBucketedStats(dictionaries, new StatsProperties());
+    public final PartitionedStats partitionedStats = new PartitionedStats(topology, dictionaries, new StatsProperties());
+    public final SearchIndex searchIndex = new SearchIndex();
+    public final SubmissionBroadcaster broadcaster = new SubmissionBroadcaster(
+        new EventStreamProperties(), statsService, new AssessmentJsonWriter(objectMapper));
+    public final SubmissionLog submissionLog;
+    public final AssessmentService assessmentService;
+
+    public AssessmentTestStack() {
+        this(new InMemorySubmissionLog());
+    }
+
+    public AssessmentTestStack(SubmissionLog submissionLog) {
+        this.submissionLog = submissionLog;
+        this.assessmentService = new AssessmentService(repository, statsService, timeBucketedStats, submissionLog,
+            dictionaries, searchIndex, broadcaster, new SubmissionIdGenerator(0), replicator, partitionedStats);
+    }
+
+    /**
+     * A submission from {@code userId} with a fresh id, submitted now.
+     */
+    public AssessmentSubmission submission(String userId) {
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setId(assessmentService.nextId());
+        submission.setUserId(userId);
+        submission.setFullName("Test " + userId);
+        submission.setEmail(userId + "@example.com");
+        submission.setExperience("mid");
+        submission.setSkills(List.of("java", "sql"));
+        submission.setTermsAccepted(true);
+        submission.setSubmittedAt(Instant.now().toString());
+        return submission;
+    }
+
+    /**
+     * The assessment controller over this stack, submitting through
+     * {@code pipeline} and {@code deduplicator}.
+     */
+    public MockAssessmentController controller(IngestPipeline pipeline, SubmissionDeduplicator deduplicator) {
+        ClusterRouter router = new ClusterRouter(topology, peers, replicator, partitionedStats, repository, objectMapper);
+        return new MockAssessmentController(repository, assessmentService, statsService, timeBucketedStats,
+            new AssessmentJsonWriter(objectMapper), new AssessmentCsvWriter(objectMapper), dictionaries, pipeline,
+            deduplicator, new VersionedResponseCache(256, 1000), router);
+    }
+
+    @Override
+    public void close() {
+        broadcaster.close();
+        submissionLog.close();
+    }
+}
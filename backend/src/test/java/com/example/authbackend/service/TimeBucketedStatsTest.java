@@ -0,0 +1,123 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.controller.MockAssessmentController.AssessmentSubmission;
+import com.example.authbackend.dictionary.SubmissionDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeBucketedStatsTest {
+
+    private static final long NOW = Instant.parse("2024-06-01T12:34:56.789Z").toEpochMilli();
+    private static final long MINUTE = TimeBucketedStats.MINUTE;
+    private static final long HOUR = TimeBucketedStats.HOUR;
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    private static final int SUBMISSIONS = 200_000;
+    private static final List<String> EXPERIENCE_LEVELS = List.of("entry", "junior", "mid", "senior", "lead");
+    private static final List<String> SKILLS = List.of("Java", "Docker", "SQL", "React", "Go", "Python");
+
+    private final SubmissionDictionaries dictionaries = new SubmissionDictionaries(10_000, 256, 4096);
+
+    @Test
+    void windowsCountWhatAScanOfTheirRangeCounts() {
+        TimeBucketedStats stats = new TimeBucketedStats(dictionaries, new StatsProperties(), () -> NOW);
+        SplittableRandom random = new SplittableRandom(42);
+        List<AssessmentSubmission> stored = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            stored.add(record(stats, submission(random, NOW - random.nextLong(30 * DAY))));
+        }
+
+        long[][] ranges = {
+            {NOW - HOUR, NOW},
+            {NOW - 3 * HOUR - 17 * MINUTE - 5_000, NOW - HOUR + 3 * MINUTE + 1},
+            {NOW - 3 * DAY - 7 * MINUTE, NOW - 2 * DAY + 11 * MINUTE},
+            {NOW - 20 * DAY - 7 * MINUTE, NOW - 5 * HOUR - 11 * MINUTE},
+            {0, Long.MAX_VALUE},
+        };
+        for (long[] requested : ranges) {
+            TimeBucketedStats.Window window = stats.window(requested[0], requested[1]);
+            TimeBucketedStats.Window expected = scan(stored, window.from(), window.to());
+            assertThat(window.totalSubmissions())
+                .as("%s to %s", Instant.ofEpochMilli(window.from()), Instant.ofEpochMilli(window.to()))
+                .isEqualTo(expected.totalSubmissions());
+            assertThat(window.experienceLevels()).isEqualTo(expected.experienceLevels());
+            assertThat(window.skillCounts()).isEqualTo(expected.skillCounts());
+        }
+        assertThat(stats.window(0, Long.MAX_VALUE).totalSubmissions()).isEqualTo(SUBMISSIONS);
+    }
+
+    @Test
+    void rangesAreRoundedToTheBucketsStillRetained() {
+        TimeBucketedStats.Span span = TimeBucketedStats.span(NOW - HOUR, NOW, NOW, new StatsProperties());
+        assertThat(span.from()).isEqualTo(Instant.parse("2024-06-01T11:35:00Z").toEpochMilli());
+        assertThat(span.to()).isEqualTo(Instant.parse("2024-06-01T12:35:00Z").toEpochMilli());
+
+        // Beyond the minute ring only whole hours are counted
+        TimeBucketedStats.Span older = TimeBucketedStats.span(NOW - 3 * DAY - 7 * MINUTE, NOW - 2 * DAY,
+            NOW, new StatsProperties());
+        assertThat(older.from()).isEqualTo(Instant.parse("2024-05-29T13:00:00Z").toEpochMilli());
+        assertThat(older.to()).isEqualTo(Instant.parse("2024-05-30T13:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    void futureSubmissionsDoNotTakeTheSlotsOfRetainedPeriods() {
+        long[] now = {NOW};
+        TimeBucketedStats stats = new TimeBucketedStats(dictionaries, new StatsProperties(), () -> now[0]);
+        SplittableRandom random = new SplittableRandom(7);
+
+        record(stats, submission(random, NOW - 10 * MINUTE));
+        // Exactly one ring ahead, so it would map to the slots of the submission above
+        record(stats, submission(random, NOW - 10 * MINUTE + Duration.ofDays(90).toMillis()));
+        record(stats, submission(random, NOW - 10 * MINUTE + DAY));
+        record(stats, submission(random, NOW - 10 * MINUTE + 30 * DAY));
+        assertThat(stats.window(NOW - HOUR, NOW).totalSubmissions()).isEqualTo(1);
+
+        // Later submissions for the same period still count
+        record(stats, submission(random, NOW - 10 * MINUTE));
+        assertThat(stats.window(NOW - HOUR, NOW).totalSubmissions()).isEqualTo(2);
+
+        // A node whose clock runs a little ahead is still counted once the clock catches up
+        record(stats, submission(random, NOW + 30_000));
+        now[0] += MINUTE;
+        assertThat(stats.window(NOW - HOUR, now[0]).totalSubmissions()).isEqualTo(3);
+    }
+
+    private AssessmentSubmission record(TimeBucketedStats stats, AssessmentSubmission submission) {
+        stats.record(submission, dictionaries.canonicalize(submission));
+        return submission;
+    }
+
+    private static AssessmentSubmission submission(SplittableRandom random, long submittedAt) {
+        AssessmentSubmission submission = new AssessmentSubmission();
+        submission.setExperience(EXPERIENCE_LEVELS.get(random.nextInt(EXPERIENCE_LEVELS.size())));
+        submission.setSkills(List.of(SKILLS.get(random.nextInt(SKILLS.size())),
+            SKILLS.get(random.nextInt(SKILLS.size()))));
+        submission.setSubmittedAt(Instant.ofEpochMilli(submittedAt).toString());
+        return submission;
+    }
+
+    private static TimeBucketedStats.Window scan(List<AssessmentSubmission> stored, long from, long to) {
+        Map<String, Long> experienceLevels = new HashMap<>();
+        Map<String, Long> skillCounts = new HashMap<>();
+        long total = 0;
+        for (AssessmentSubmission submission : stored) {
+            long at = Instant.parse(submission.getSubmittedAt()).toEpochMilli();
+            if (at >= from && at < to) {
+                total++;
+                experienceLevels.merge(submission.getExperience(), 1L, Long::sum);
+                for (String skill : submission.getSkills()) {
+                    skillCounts.merge(skill, 1L, Long::sum);
+                }
+            }
+        }
+        return new TimeBucketedStats.Window(from, to, total, experienceLevels, skillCounts);
+    }
+}
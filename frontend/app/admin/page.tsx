@@ -3,6 +3,7 @@
 import ProtectedRoute from '@/components/ProtectedRoute';
 import { useEffect, useState } from 'react';
 import api from '@/lib/api';
+import { useAssessmentEvents } from '@/hooks/useAssessmentEvents';
 
 export default function AdminPage() {
   const [adminData, setAdminData] = useState(null);
@@ -33,6 +34,39 @@ export default function AdminPage() {
     fetchData();
   }, []);
 
+  // New submissions and stats changes are pushed instead of polled, except in cluster mode
+  useAssessmentEvents({
+    onSubmission: (submission) => {
+      setAssessments((current: any) =>
+        current.some((a: any) => a.id === submission.id) ? current : [...current, submission]
+      );
+    },
+    onStats: (stats, isDelta) => {
+      setAssessmentStats((current: any) =>
+        isDelta && current
+          ? {
+              ...current,
+              totalSubmissions: stats.totalSubmissions,
+              experienceLevels: { ...current.experienceLevels, ...stats.experienceLevels },
+              topSkills: { ...current.topSkills, ...stats.topSkills },
+            }
+          : stats
+      );
+    },
+    onResync: async () => {
+      try {
+        const [assessmentsResponse, statsResponse] = await Promise.all([
+          api.get('/assessments'),
+          api.get('/assessment-stats')
+        ]);
+        setAssessments(assessmentsResponse.data.assessments || []);
+        setAssessmentStats(statsResponse.data);
+      } catch (error) {
+        console.error('Failed to reload assessments:', error);
+      }
+    },
+  });
+
   const formatDate = (dateString: string) => {
     return new Date(dateString).toLocaleString();
   };
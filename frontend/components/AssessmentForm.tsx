@@ -1,6 +1,6 @@
 'use client';
 
-import React, { useState } from 'react';
+import React, { useRef, useState } from 'react';
 import { useForm, Controller } from 'react-hook-form';
 import { zodResolver } from '@hookform/resolvers/zod';
 import { assessmentSchema, AssessmentFormData, assessmentQuestions, skillOptions, experienceLevels } from '@/types/assessment';
@@ -13,6 +13,8 @@ interface AssessmentFormProps {
 export const AssessmentForm: React.FC<AssessmentFormProps> = ({ onSubmitSuccess }) => {
   const [isSubmitting, setIsSubmitting] = useState(false);
   const [submitError, setSubmitError] = useState<string | null>(null);
+  // One key per form, so a retried submission is recognised by the backend instead of stored twice
+  const idempotencyKey = useRef(crypto.randomUUID());
 
   const {
     register,
@@ -40,9 +42,12 @@ export const AssessmentForm: React.FC<AssessmentFormProps> = ({ onSubmitSuccess
         ...data,
         submittedAt: new Date().toISOString(),
         userAgent: navigator.userAgent
+      }, {
+        headers: { 'Idempotency-Key': idempotencyKey.current }
       });
 
-      if (response.status === 200) {
+      // 202 means the backend queued the submission for its ingest pipeline
+      if (response.status === 200 || response.status === 202) {
         onSubmitSuccess(data);
       }
     } catch (error: any) {
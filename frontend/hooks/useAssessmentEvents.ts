@@ -0,0 +1,102 @@
+'use client';
+
+import { useEffect, useRef } from 'react';
+import { API_URL, authorizationHeader } from '@/lib/api';
+
+interface AssessmentEventHandlers {
+  // A new submission summary
+  onSubmission: (submission: any) => void;
+  // Full stats on connect; on a delta only the counters that changed, with their new totals
+  onStats: (stats: any, isDelta: boolean) => void;
+  // Events were dropped because this client fell behind, or there is no stream to follow; reload
+  onResync: () => void;
+}
+
+const RECONNECT_DELAY_MS = 1000;
+const POLL_INTERVAL_MS = 5000;
+
+/**
+ * Subscribes to the admin event stream. EventSource can't send an
+ * Authorization header, so the stream is read with fetch and reconnects
+ * when the server ends it. A cluster has no stream (501), so the handler's
+ * resync is polled instead.
+ */
+export const useAssessmentEvents = (handlers: AssessmentEventHandlers) => {
+  const handlersRef = useRef(handlers);
+  handlersRef.current = handlers;
+
+  useEffect(() => {
+    const controller = new AbortController();
+
+    const dispatch = (event: string, data: string) => {
+      const current = handlersRef.current;
+      if (event === 'submission') {
+        current.onSubmission(JSON.parse(data));
+      } else if (event === 'stats' || event === 'stats-delta') {
+        current.onStats(JSON.parse(data), event === 'stats-delta');
+      } else if (event === 'resync') {
+        current.onResync();
+      }
+    };
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          const authorization = authorizationHeader();
+          const response = await fetch(`${API_URL}/assessment-events`, {
+            headers: {
+              Accept: 'text/event-stream',
+              ...(authorization ? { Authorization: authorization } : {}),
+            },
+            signal: controller.signal,
+          });
+          if (response.status === 501) {
+            const poll = setInterval(() => handlersRef.current.onResync(), POLL_INTERVAL_MS);
+            controller.signal.addEventListener('abort', () => clearInterval(poll));
+            return;
+          }
+          if (!response.ok || !response.body) {
+            throw new Error(`Event stream failed with ${response.status}`);
+          }
+
+          const reader = response.body.getReader();
+          const decoder = new TextDecoder();
+          let buffered = '';
+          while (true) {
+            const { done, value } = await reader.read();
+            if (done) {
+              break;
+            }
+            buffered += decoder.decode(value, { stream: true });
+            let end;
+            while ((end = buffered.indexOf('\n\n')) >= 0) {
+              const frame = buffered.slice(0, end);
+              buffered = buffered.slice(end + 2);
+              let event = 'message';
+              let data = '';
+              for (const line of frame.split('\n')) {
+                if (line.startsWith('event: ')) {
+                  event = line.slice(7);
+                } else if (line.startsWith('data: ')) {
+                  data += line.slice(6);
+                }
+              }
+              if (data) {
+                dispatch(event, data);
+              }
+            }
+          }
+        } catch (error) {
+          if (controller.signal.aborted) {
+            return;
+          }
+          console.error('Assessment event stream error:', error);
+        }
+        await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+      }
+    };
+
+    connect();
+    return () => controller.abort();
+  }, []);
+};
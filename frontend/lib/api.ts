@@ -10,7 +10,7 @@ const getApiUrl = () => {
   return process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8081/api';
 };
 
-const API_URL = getApiUrl();
+export const API_URL = getApiUrl();
 
 console.log('API URL configured:', API_URL);
 
@@ -19,19 +19,26 @@ const api = axios.create({
   withCredentials: true, // Important for CORS with credentials
 });
 
-// Request interceptor to add mock auth
-api.interceptors.request.use(async (config) => {
-  // For mock authentication, we'll use basic auth with stored credentials
+// For mock authentication, we'll use basic auth with stored credentials
+export const authorizationHeader = (): string | undefined => {
   const mockUser = localStorage.getItem('mock_user');
   if (mockUser) {
     const user = JSON.parse(mockUser);
-    // Use basic auth for mock authentication
     if (user.username === 'testuser') {
-      config.headers.Authorization = `Basic ${btoa('testuser:password123')}`;
+      return `Basic ${btoa('testuser:password123')}`;
     } else if (user.username === 'admin') {
-      config.headers.Authorization = `Basic ${btoa('admin:admin123')}`;
+      return `Basic ${btoa('admin:admin123')}`;
     }
   }
+  return undefined;
+};
+
+// Request interceptor to add mock auth
+api.interceptors.request.use(async (config) => {
+  const authorization = authorizationHeader();
+  if (authorization) {
+    config.headers.Authorization = authorization;
+  }
   return config;
 });
 
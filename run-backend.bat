@@ -12,6 +12,8 @@ java -version
 
 echo.
 echo [INFO] Starting Spring Boot Backend...
+:: Tokens are signed with this; a fixed local value keeps them valid across restarts
+if not defined AUTH_JWT_SECRET set AUTH_JWT_SECRET=local-development-jwt-secret-change-me-0123456789
 cd backend
 .\mvnw.cmd spring-boot:run
 
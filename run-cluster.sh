@@ -0,0 +1,60 @@
+#!/bin/bash
+
+# Runs several backend nodes on localhost as one cluster: ./run-cluster.sh [nodes] [first-port]
+# Node a listens on the first port (default 8081), b on the next one, and so on. Ctrl+C stops them all.
+# Each node keeps a write-ahead log under data/cluster/<id>, so a restarted node comes back with its data.
+
+NODES=${1:-3}
+FIRST_PORT=${2:-8081}
+JAR=$(ls backend/target/auth-backend-*.jar 2>/dev/null | head -1)
+
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+if [ -z "$JAR" ]; then
+    echo -e "${BLUE}[INFO]${NC} Building the backend..."
+    (cd backend && ./mvnw -q -DskipTests package) || { echo -e "${RED}[ERROR]${NC} Build failed"; exit 1; }
+    JAR=$(ls backend/target/auth-backend-*.jar | head -1)
+fi
+
+IDS=(a b c d e f g h i)
+MEMBERS=""
+for ((i = 0; i < NODES; i++)); do
+    MEMBERS="${MEMBERS:+$MEMBERS,}${IDS[$i]}=http://localhost:$((FIRST_PORT + i))"
+done
+
+# Shared by every node: the cluster secret, and an HS256 key so a token from one node is accepted by the others
+SECRET=${ASSESSMENT_CLUSTER_SECRET:-$(head -c 32 /dev/urandom | base64)}
+JWT_SECRET=${AUTH_JWT_SECRET:-$(head -c 48 /dev/urandom | base64)}
+
+mkdir -p data/cluster
+PIDS=()
+for ((i = 0; i < NODES; i++)); do
+    ID=${IDS[$i]}
+    PORT=$((FIRST_PORT + i))
+    ASSESSMENT_CLUSTER_ENABLED=true \
+    ASSESSMENT_CLUSTER_NODE_ID=$ID \
+    ASSESSMENT_CLUSTER_NODES=$MEMBERS \
+    ASSESSMENT_CLUSTER_SECRET=$SECRET \
+    AUTH_JWT_ALGORITHM=hs256 \
+    AUTH_JWT_SECRET=$JWT_SECRET \
+    AUTH_JWT_REQUIRE_KEY=true \
+    ASSESSMENT_PERSISTENCE_MODE=${ASSESSMENT_PERSISTENCE_MODE:-wal} \
+    ASSESSMENT_WAL_DIR=data/cluster/$ID/wal \
+    ASSESSMENT_MAPPED_DIR=data/cluster/$ID/mapped \
+        java -jar "$JAR" --server.port=$PORT > data/cluster/$ID.log 2>&1 &
+    PIDS+=($!)
+    echo -e "${BLUE}[INFO]${NC} Node $ID on http://localhost:$PORT (log: data/cluster/$ID.log)"
+done
+
+trap 'kill ${PIDS[*]} 2>/dev/null; exit 0' INT TERM
+
+for ((i = 0; i < NODES; i++)); do
+    until curl -s http://localhost:$((FIRST_PORT + i))/health > /dev/null; do
+        sleep 1
+    done
+done
+echo -e "${GREEN}[SUCCESS]${NC} $NODES nodes are up: $MEMBERS"
+wait
@@ -2,6 +2,8 @@
 echo 🚀 Starting Mock Authentication System (No Docker Required)
 echo ================================================================
 
+:: Tokens are signed with this; a fixed local value keeps them valid across restarts
+if not defined AUTH_JWT_SECRET set AUTH_JWT_SECRET=local-development-jwt-secret-change-me-0123456789
 echo [INFO] Starting Spring Boot Backend with Mock Authentication...
 start "Backend" cmd /k "cd backend && .\mvnw.cmd spring-boot:run"
 